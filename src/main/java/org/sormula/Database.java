@@ -28,6 +28,7 @@ import java.util.GregorianCalendar;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Executor;
 
 import javax.naming.Context;
 import javax.naming.InitialContext;
@@ -37,16 +38,25 @@ import javax.sql.DataSource;
 import org.sormula.annotation.Column;
 import org.sormula.annotation.ExplicitTypeAnnotationReader;
 import org.sormula.annotation.ImplicitType;
+import org.sormula.annotation.Row;
 import org.sormula.builder.DatabaseBuilder;
+import org.sormula.dialect.Dialect;
+import org.sormula.flow.SelectPublisher;
 import org.sormula.log.SormulaLogger;
 import org.sormula.log.SormulaLoggerFactory;
 import org.sormula.operation.ModifyOperation;
+import org.sormula.operation.PrefetchSelectIterator;
 import org.sormula.operation.ReadOnlyException;
+import org.sormula.operation.SaveOperation;
 import org.sormula.operation.SqlOperation;
 import org.sormula.operation.cascade.lazy.AbstractLazySelector;
 import org.sormula.operation.cascade.lazy.DurableLazySelector;
 import org.sormula.operation.monitor.OperationTime;
+import org.sormula.reflect.FieldAccessType;
+import org.sormula.translator.ColumnTranslator;
 import org.sormula.translator.NameTranslator;
+import org.sormula.translator.RowCodec;
+import org.sormula.translator.RowTranslator;
 import org.sormula.translator.TypeTranslator;
 import org.sormula.translator.TypeTranslatorMap;
 import org.sormula.translator.standard.BigDecimalTranslator;
@@ -107,6 +117,15 @@ public class Database implements TypeTranslatorMap, AutoCloseable
     boolean readOnly;
     Map<String, TypeTranslator<?>> typeTranslatorMap; // key is row class canonical name
     boolean autoGeneratedKeys;
+    FieldAccessType fieldAccessType;
+    boolean compiledRowTranslators;
+    TableMetadataRegistry tableMetadataRegistry;
+    StatementCache statementCache;
+    int batchSize;
+    Dialect dialect;
+    boolean dialectSet; // true if set with setDialect()
+    boolean upsert;
+    Executor publisherExecutor;
     
     
     /**
@@ -361,6 +380,279 @@ public class Database implements TypeTranslatorMap, AutoCloseable
     }
     
     
+    /**
+     * Gets the field access type used for rows that do not specify a field access type with
+     * {@link Row#fieldAccess()} or {@link Column#fieldAccess()}. The default is {@link FieldAccessType#Default}.
+     * 
+     * @return field access type for all tables created by this database
+     * @since 4.4
+     */
+    public FieldAccessType getFieldAccessType()
+    {
+        return fieldAccessType;
+    }
+
+
+    /**
+     * Sets the field access type to use for all rows when neither {@link Column#fieldAccess()} nor
+     * {@link Row#fieldAccess()} is specified. Use {@link FieldAccessType#Generated} to avoid reflection
+     * overhead for every row read and written without annotating each row class.
+     * <p>
+     * Changing this value will have no affect on {@link Table} objects that have already been
+     * created.
+     * 
+     * @param fieldAccessType {@link FieldAccessType#Default} to use getter/setter methods (the behavior 
+     * prior to this method) or any other access type to use for all rows
+     * @since 4.4
+     * @see Row#fieldAccess()
+     */
+    public void setFieldAccessType(FieldAccessType fieldAccessType)
+    {
+        this.fieldAccessType = fieldAccessType;
+    }
+    
+    
+    /**
+     * Gets the default compiled mode for row translators of tables created by this database. The default is false.
+     * 
+     * @return true if {@link Table} objects created for this database read and write rows with {@link RowCodec}
+     * @since 4.4
+     * @see RowTranslator#setCompiled(boolean)
+     */
+    public boolean isCompiledRowTranslators()
+    {
+        return compiledRowTranslators;
+    }
+
+
+    /**
+     * Sets the default compiled mode for row translators of {@link Table} objects created by this database.
+     * When true, each row is read and written with a {@link RowCodec} that was created once for the row class
+     * instead of dispatching through each {@link ColumnTranslator}. Tables with custom column translators 
+     * are not affected.
+     * <p>
+     * Changing this value will have no affect on {@link Table} objects that have already been
+     * created. Use {@link RowTranslator#setCompiled(boolean)} to change an existing table.
+     * 
+     * @param compiledRowTranslators true to use compiled mode for new tables
+     * @since 4.4
+     */
+    public void setCompiledRowTranslators(boolean compiledRowTranslators)
+    {
+        this.compiledRowTranslators = compiledRowTranslators;
+    }
+    
+    
+    /**
+     * Gets the registry of row metadata that is shared with other databases.
+     * 
+     * @return registry or null if none
+     * @since 4.4
+     * @see #setTableMetadataRegistry(TableMetadataRegistry)
+     */
+    public TableMetadataRegistry getTableMetadataRegistry()
+    {
+        return tableMetadataRegistry;
+    }
+
+
+    /**
+     * Sets the registry of row metadata to use when {@link Table} objects are created by this database.
+     * Use the same registry for many short lived databases so that row classes are read only once for all
+     * of them. Default is null, each database reads row classes for its own tables.
+     * <p>
+     * Changing this value will have no affect on {@link Table} objects that have already been
+     * created.
+     * 
+     * @param tableMetadataRegistry registry to share or null for none
+     * @since 4.4
+     */
+    public void setTableMetadataRegistry(TableMetadataRegistry tableMetadataRegistry)
+    {
+        this.tableMetadataRegistry = tableMetadataRegistry;
+    }
+    
+    
+    /**
+     * Gets the cache of prepared statements for the connection of this database.
+     * 
+     * @return statement cache or null if {@link #getStatementCacheSize()} is zero
+     * @since 4.4
+     */
+    public StatementCache getStatementCache()
+    {
+        return statementCache;
+    }
+
+
+    /**
+     * Gets the maximum number of idle prepared statements to keep for reuse.
+     * 
+     * @return maximum number of statements in {@link #getStatementCache()}; zero if statements are not cached
+     * @since 4.4
+     */
+    public int getStatementCacheSize()
+    {
+        return statementCache != null ? statementCache.getMaximumSize() : 0;
+    }
+
+
+    /**
+     * Sets the maximum number of idle prepared statements to keep for reuse. When greater than zero, 
+     * {@link SqlOperation} borrows its prepared statement from {@link #getStatementCache()} and gives it back 
+     * when the operation is closed instead of closing it. This avoids preparing the same sql for every use of 
+     * methods like {@link Table#select(Object...)}, {@link Table#insert(Object)}, etc. Default is zero, 
+     * statements are not cached.
+     * <p>
+     * Any existing cached statements are closed.
+     * 
+     * @param statementCacheSize maximum number of statements to cache; zero for no cache
+     * @since 4.4
+     */
+    public void setStatementCacheSize(int statementCacheSize)
+    {
+        if (statementCache != null) statementCache.clear();
+        statementCache = statementCacheSize > 0 ? new StatementCache(statementCacheSize) : null;
+    }
+
+    
+    /**
+     * Gets the default maximum number of rows in one JDBC batch.
+     * 
+     * @return rows per batch; zero if all rows are executed in one batch
+     * @since 4.4
+     * @see #setBatchSize(int)
+     */
+    public int getBatchSize()
+    {
+        return batchSize;
+    }
+
+
+    /**
+     * Sets the default maximum number of rows in one JDBC batch for batch modify operations like
+     * {@link Table#insertAllBatch(java.util.Collection)}. Used by tables that do not specify 
+     * {@link Row#batchSize()}. Default is zero, all rows of an operation are executed in one batch.
+     * <p>
+     * Changing this value will affect {@link Table} objects that have already been created unless
+     * {@link Table#setBatchSize(int)} was used.
+     * 
+     * @param batchSize rows per batch; zero for one batch of all rows
+     * @since 4.4
+     * @see org.sormula.operation.ModifyOperation#setBatchSize(int)
+     */
+    public void setBatchSize(int batchSize)
+    {
+        this.batchSize = batchSize;
+    }
+
+    
+    /**
+     * Gets the sql dialect of the database. If no dialect has been set with {@link #setDialect(Dialect)},
+     * then the dialect is chosen with {@link Dialect#newInstance(String)} from the product name of 
+     * the connection meta data when this method is first used with a connection. The chosen dialect is 
+     * reset by {@link #setConnection(Connection)}. The standard dialect is used without keeping it when 
+     * there is no connection or meta data.
+     * 
+     * @return dialect of database; never null
+     * @since 4.4
+     */
+    public Dialect getDialect()
+    {
+        if (dialect == null)
+        {
+            String databaseProductName = null;
+            
+            try
+            {
+                Connection connection = getConnection();
+                if (connection != null) databaseProductName = connection.getMetaData().getDatabaseProductName();
+            }
+            catch (Exception e)
+            {
+                // don't throw since standard dialect can be used
+                log.error("error getting database product name", e);
+            }
+            
+            if (databaseProductName == null)
+            {
+                // don't keep so that dialect is chosen when connection is available
+                return Dialect.newInstance(null);
+            }
+            
+            dialect = Dialect.newInstance(databaseProductName);
+        }
+        
+        return dialect;
+    }
+
+
+    /**
+     * Sets the sql dialect of the database. Use when the dialect that is chosen by {@link #getDialect()}
+     * is not correct or to customize a dialect.
+     * 
+     * @param dialect dialect to use; null to choose from connection meta data
+     * @since 4.4
+     */
+    public void setDialect(Dialect dialect)
+    {
+        this.dialect = dialect;
+        dialectSet = dialect != null;
+    }
+
+    
+    /**
+     * Gets the default for {@link SaveOperation#setUpsert(boolean)}.
+     * 
+     * @return true if save operations use a single upsert statement when the dialect supports it
+     * @since 4.4
+     */
+    public boolean isUpsert()
+    {
+        return upsert;
+    }
+
+
+    /**
+     * Sets the default for {@link SaveOperation#setUpsert(boolean)} for all save operations 
+     * like {@link Table#save(Object)} and {@link Table#saveAllBatch(java.util.Collection)}. 
+     * Default is false, rows are saved with an update and then an insert for rows that were not updated.
+     * 
+     * @param upsert true to save with one upsert statement from {@link Dialect#createUpsertSql(String, List, List)}
+     * @since 4.4
+     */
+    public void setUpsert(boolean upsert)
+    {
+        this.upsert = upsert;
+    }
+
+    
+    /**
+     * Gets the executor for {@link SelectPublisher} created by {@link Table#publisher(String, Object...)} and
+     * for {@link PrefetchSelectIterator}.
+     * 
+     * @return executor; null for {@link SelectPublisher#getDefaultExecutor()}
+     * @since 4.4
+     */
+    public Executor getPublisherExecutor()
+    {
+        return publisherExecutor;
+    }
+
+
+    /**
+     * Sets the executor that runs the tasks that read and publish rows for {@link Table#publisher(String, Object...)}.
+     * It also runs the producer tasks of {@link PrefetchSelectIterator}.
+     * 
+     * @param publisherExecutor executor; null for {@link SelectPublisher#getDefaultExecutor()}
+     * @since 4.4
+     */
+    public void setPublisherExecutor(Executor publisherExecutor)
+    {
+        this.publisherExecutor = publisherExecutor;
+    }
+    
+    
     /**
      * Invoked by constructor to initialize.
      * 
@@ -379,6 +671,7 @@ public class Database implements TypeTranslatorMap, AutoCloseable
         totalOperationTime.setDescription("All operations for database");
         initTypeTranslatorMap();
         autoGeneratedKeys = true;
+        fieldAccessType = FieldAccessType.Default;
     }
 
     
@@ -548,6 +841,9 @@ public class Database implements TypeTranslatorMap, AutoCloseable
      */
     public void close()
     {
+        // cached statements are no longer needed
+        if (statementCache != null) statementCache.clear();
+        
         if (dataSource != null && connection != null)
         {
             // assume connection was obtained from data source
@@ -633,6 +929,12 @@ public class Database implements TypeTranslatorMap, AutoCloseable
             transaction.setConnection(connection); // throws SormulaException if transaction is active
         }
         
+        // statements are prepared for prior connection
+        if (statementCache != null) statementCache.clear();
+        
+        // new connection may be to a different database
+        if (!dialectSet) dialect = null;
+        
     	this.connection = connection;    
 	}
     
@@ -0,0 +1,220 @@
+/* sormula - Simple object relational mapping
+ * Copyright (C) 2011-2020 Jeff Miller
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sormula;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.sormula.log.SormulaLogger;
+import org.sormula.log.SormulaLoggerFactory;
+import org.sormula.operation.SqlOperation;
+
+
+/**
+ * Cache of {@link PreparedStatement} for the connection of a {@link Database}. Statements are 
+ * keyed by sql and any other values that are used to prepare the statement. {@link SqlOperation} 
+ * borrows a statement when it prepares and gives it back when it closes so that operations with the same 
+ * sql that are created and closed repeatedly, like the {@link Table} convenience methods, prepare 
+ * each statement only once. 
+ * <p>
+ * A borrowed statement is not available to other operations until it is given back so that nested operations 
+ * with the same sql do not use the same statement. At most {@link #getMaximumSize()} statements that are not 
+ * borrowed are kept. The least recently used statement is closed when a statement is given back to a full cache.
+ * <p>
+ * All statements are closed with {@link #clear()}. {@link Database} clears the cache when the connection is changed 
+ * or closed.
+ * 
+ * @author Jeff Miller
+ * @since 4.4
+ * @see Database#setStatementCacheSize(int)
+ */
+public class StatementCache
+{
+    private static final SormulaLogger log = SormulaLoggerFactory.getClassLogger();
+    int maximumSize;
+    Map<String, PreparedStatement> statementMap; // idle statements in least recently used order
+    Map<PreparedStatement, String> borrowedMap;  // statements in use, value is key
+    int hits;
+    int misses;
+    
+    
+    /**
+     * Prepares a statement when statement is not in cache.
+     */
+    @FunctionalInterface
+    public interface StatementFactory
+    {
+        /**
+         * @return new prepared statement
+         * @throws SQLException if error
+         */
+        PreparedStatement prepare() throws SQLException;
+    }
+    
+    
+    /**
+     * Constructs for a maximum size.
+     * 
+     * @param maximumSize maximum number of statements that are not borrowed to keep
+     */
+    public StatementCache(int maximumSize)
+    {
+        this.maximumSize = maximumSize;
+        statementMap = new LinkedHashMap<>(maximumSize * 2, 0.75f, true);
+        borrowedMap = new IdentityHashMap<>();
+    }
+    
+    
+    /**
+     * Gets a cached statement or prepares a new one. The statement must be given back with 
+     * {@link #giveBack(PreparedStatement)} when it is no longer needed.
+     * 
+     * @param key sql and any other values that were used to prepare statement 
+     * @param statementFactory prepares statement if none is in cache for key
+     * @return prepared statement for key
+     * @throws SQLException if error preparing statement
+     */
+    public synchronized PreparedStatement borrow(String key, StatementFactory statementFactory) throws SQLException
+    {
+        PreparedStatement preparedStatement = statementMap.remove(key);
+        
+        if (preparedStatement == null)
+        {
+            ++misses;
+            preparedStatement = statementFactory.prepare();
+        }
+        else
+        {
+            ++hits;
+            if (log.isDebugEnabled()) log.debug("reuse statement for " + key);
+        }
+        
+        borrowedMap.put(preparedStatement, key);
+        return preparedStatement;
+    }
+    
+    
+    /**
+     * Returns a statement that was obtained with {@link #borrow(String, StatementFactory)} so that it may be 
+     * used again. Parameters and batch of statement are cleared. The statement is closed if it was not borrowed from 
+     * this cache, if cache was cleared after it was borrowed, or if another statement with the same key is in the cache.
+     * 
+     * @param preparedStatement statement that is no longer used by borrower
+     * @throws SQLException if error
+     */
+    public synchronized void giveBack(PreparedStatement preparedStatement) throws SQLException
+    {
+        String key = borrowedMap.remove(preparedStatement);
+        
+        if (key == null || statementMap.containsKey(key) || maximumSize <= 0)
+        {
+            // not from this cache or already have one
+            preparedStatement.close();
+            return;
+        }
+        
+        try
+        {
+            preparedStatement.clearParameters();
+            preparedStatement.clearBatch();
+        }
+        catch (SQLException e)
+        {
+            // don't reuse statement that can't be reset
+            if (log.isDebugEnabled()) log.debug("can't reset statement for " + key + " " + e);
+            preparedStatement.close();
+            return;
+        }
+        
+        statementMap.put(key, preparedStatement);
+        
+        if (statementMap.size() > maximumSize)
+        {
+            // close least recently used
+            Iterator<PreparedStatement> iterator = statementMap.values().iterator();
+            PreparedStatement eldest = iterator.next();
+            iterator.remove();
+            eldest.close();
+        }
+    }
+    
+    
+    /**
+     * Closes all statements that are not borrowed. Statements that are borrowed will be closed when they are 
+     * given back. Invoke when statements are no longer valid, for example, when {@link Connection} is changed.
+     */
+    public synchronized void clear()
+    {
+        if (log.isDebugEnabled()) log.debug("clear " + statementMap.size() + " statements");
+        
+        for (PreparedStatement ps : statementMap.values())
+        {
+            try
+            {
+                ps.close();
+            }
+            catch (SQLException e)
+            {
+                log.error("error closing statement", e);
+            }
+        }
+        
+        statementMap.clear();
+        borrowedMap.clear();
+    }
+
+
+    /**
+     * @return maximum number of statements that are not borrowed to keep
+     */
+    public int getMaximumSize()
+    {
+        return maximumSize;
+    }
+
+
+    /**
+     * @return number of statements in cache that are not borrowed
+     */
+    public synchronized int size()
+    {
+        return statementMap.size();
+    }
+    
+    
+    /**
+     * @return number of times {@link #borrow(String, StatementFactory)} used a cached statement
+     */
+    public synchronized int getHits()
+    {
+        return hits;
+    }
+
+
+    /**
+     * @return number of times {@link #borrow(String, StatementFactory)} prepared a new statement
+     */
+    public synchronized int getMisses()
+    {
+        return misses;
+    }
+}
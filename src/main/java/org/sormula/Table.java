@@ -24,11 +24,15 @@ import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 import org.sormula.annotation.Column;
 import org.sormula.annotation.ExplicitTypeAnnotationReader;
 import org.sormula.annotation.OrderBy;
 import org.sormula.annotation.Row;
+import org.sormula.annotation.Where;
 import org.sormula.annotation.cache.Cached;
 import org.sormula.annotation.cache.CachedAnnotationReader;
 import org.sormula.annotation.cascade.SelectCascade;
@@ -36,12 +40,17 @@ import org.sormula.annotation.cascade.SelectCascadeAnnotationReader;
 import org.sormula.builder.TableBuilder;
 import org.sormula.cache.Cache;
 import org.sormula.cache.CacheException;
+import org.sormula.flow.SelectPublisher;
+import org.sormula.key.KeyGenerator;
+import org.sormula.key.KeyGeneratorColumn;
+import org.sormula.key.KeyGeneratorException;
 import org.sormula.log.SormulaLogger;
 import org.sormula.log.SormulaLoggerFactory;
 import org.sormula.operation.ArrayListSelectOperation;
 import org.sormula.operation.DeleteOperation;
 import org.sormula.operation.InsertOperation;
 import org.sormula.operation.ModifyOperation;
+import org.sormula.operation.OperationPlanCache;
 import org.sormula.operation.ReadOnlyException;
 import org.sormula.operation.SaveOperation;
 import org.sormula.operation.ScalarSelectOperation;
@@ -52,6 +61,11 @@ import org.sormula.operation.aggregate.SelectCountOperation;
 import org.sormula.operation.aggregate.SelectMaxOperation;
 import org.sormula.operation.aggregate.SelectMinOperation;
 import org.sormula.operation.aggregate.SelectSumOperation;
+import org.sormula.reflect.ConstructorRowFactory;
+import org.sormula.reflect.ReflectException;
+import org.sormula.reflect.RowField;
+import org.sormula.translator.AbstractColumnTranslator;
+import org.sormula.translator.ColumnTranslator;
 import org.sormula.translator.NameTranslator;
 import org.sormula.translator.RowTranslator;
 import org.sormula.translator.TranslatorException;
@@ -122,6 +136,10 @@ public class Table<R> implements TypeTranslatorMap, TransactionListener
     String[] requiredCascades;
     boolean autoGeneratedKeys; 
     boolean readOnly;
+    int batchSize;
+    Supplier<R> rowFactory;
+    OperationPlanCache operationPlanCache;
+    List<KeyGeneratorColumn<R>> keyGeneratorColumns;
     
 
     /**
@@ -159,6 +177,7 @@ public class Table<R> implements TypeTranslatorMap, TransactionListener
         this.rowClass = rowClass;
         
         requiredCascades = new String[0];
+        operationPlanCache = new OperationPlanCache();
         initTypeTranslatorMap();
         setAutoGeneratedKeys(database.isAutoGeneratedKeys());
         
@@ -167,11 +186,16 @@ public class Table<R> implements TypeTranslatorMap, TransactionListener
         if (rowAnnotation == null) rowAnnotation = getClass().getAnnotation(Row.class); 
         
         // set read-only based upon row annotation
-        if (rowAnnotation != null) readOnly = rowAnnotation.readOnly();
+        if (rowAnnotation != null) 
+        {
+            readOnly = rowAnnotation.readOnly();
+            batchSize = rowAnnotation.batchSize();
+        }
         
         nameTranslators = initNameTranslators(rowAnnotation);
         rowTranslator = initRowTranslator(rowAnnotation);
         tableName = initTableName(rowAnnotation);
+        keyGeneratorColumns = initKeyGeneratorColumns();
         cache = initCache(); 
         database.getTransaction().addListener(this); 
         
@@ -301,6 +325,34 @@ public class Table<R> implements TypeTranslatorMap, TransactionListener
     {
         this.readOnly = readOnly;
     }
+
+    
+    /**
+     * Gets the maximum number of rows in one JDBC batch for batch modify operations of this table.
+     * 
+     * @return value from {@link #setBatchSize(int)} if greater than zero, otherwise {@link Database#getBatchSize()}
+     * @since 4.4
+     * @see ModifyOperation#setBatchSize(int)
+     */
+    public int getBatchSize()
+    {
+        if (batchSize > 0) return batchSize;
+        return database.getBatchSize();
+    }
+
+
+    /**
+     * Sets the maximum number of rows in one JDBC batch for batch modify operations of this table.
+     * Default is {@link Row#batchSize()}.
+     * 
+     * @param batchSize rows per batch; zero to use {@link Database#getBatchSize()}
+     * @since 4.4
+     * @see ModifyOperation#setBatchSize(int)
+     */
+    public void setBatchSize(int batchSize)
+    {
+        this.batchSize = batchSize;
+    }
     
     
     /**
@@ -486,6 +538,62 @@ public class Table<R> implements TypeTranslatorMap, TransactionListener
     }
     
     
+    /**
+     * Creates key generators for all columns with {@link Column#keyGenerator()}.
+     * 
+     * @return key columns and their generators; empty list if none 
+     * @throws KeyGeneratorException if error
+     * @since 4.4
+     */
+    protected List<KeyGeneratorColumn<R>> initKeyGeneratorColumns() throws KeyGeneratorException
+    {
+        List<KeyGeneratorColumn<R>> keyGeneratorColumns = new ArrayList<>(2);
+        
+        for (ColumnTranslator<R> c : rowTranslator.getColumnTranslatorList())
+        {
+            Column columnAnnotation = c.getField().getAnnotation(Column.class);
+            if (columnAnnotation != null && columnAnnotation.keyGenerator() != KeyGenerator.class)
+            {
+                if (!(c instanceof AbstractColumnTranslator))
+                {
+                    throw new KeyGeneratorException("key generator requires standard column translator for " + c.getField());
+                }
+                
+                KeyGenerator keyGenerator;
+                try
+                {
+                    keyGenerator = columnAnnotation.keyGenerator().getDeclaredConstructor().newInstance();
+                }
+                catch (Exception e)
+                {
+                    throw new KeyGeneratorException("error creating key generator for " + c.getField(), e);
+                }
+                
+                keyGenerator.init(this, c.getField());
+                @SuppressWarnings("unchecked") // field type is not known at compile time
+                RowField<R, Object> rowField = ((AbstractColumnTranslator<R, Object>)c).getRowField();
+                keyGeneratorColumns.add(new KeyGeneratorColumn<>(rowField, keyGenerator));
+                if (log.isDebugEnabled()) log.debug(c.getField() + " key generator " + keyGenerator.getClass());
+            }
+        }
+        
+        return keyGeneratorColumns;
+    }
+    
+    
+    /**
+     * Gets the columns that have keys created by {@link KeyGenerator} prior to insert.
+     * 
+     * @return key columns and their generators; empty list if none
+     * @since 4.4
+     * @see Column#keyGenerator()
+     */
+    public List<KeyGeneratorColumn<R>> getKeyGeneratorColumns()
+    {
+        return keyGeneratorColumns;
+    }
+    
+    
     /**
      * Gets the annotation that defines caching. Subclasses can override to check for Cached 
      * annotation in other classes if desired.
@@ -542,6 +650,19 @@ public class Table<R> implements TypeTranslatorMap, TransactionListener
     public void setTableName(String tableName)
     {
         this.tableName = tableName;
+        operationPlanCache.clear(); // sql contains table name
+    }
+    
+    
+    /**
+     * Gets the cache of sql and translators that are shared by all operations for this table.
+     * 
+     * @return cache of operation plans
+     * @since 4.4
+     */
+    public OperationPlanCache getOperationPlanCache()
+    {
+        return operationPlanCache;
     }
 
 
@@ -637,9 +758,10 @@ public class Table<R> implements TypeTranslatorMap, TransactionListener
 
     /**
      * Creates new instance of row. Typically used by select operations for
-     * each row that is read from result set.
+     * each row that is read from result set. Since 4.4, the row is created with
+     * {@link #getRowFactory()}.
      * 
-     * @return new instance of row created with zero-arg constructor
+     * @return new instance of row created with row factory
      * @throws SormulaException if error
      * @since 1.7 and 2.1
      */
@@ -649,16 +771,62 @@ public class Table<R> implements TypeTranslatorMap, TransactionListener
         
         try
         {
-            row = rowClass.newInstance();
+            row = getRowFactory().get();
         }
-        catch (Exception e)
+        catch (RuntimeException e)
         {
-            throw new SormulaException("error creating row instance for " + rowClass.getName() +
-                    "; make sure row has public zero-arg constructor", e);
+            throw new SormulaException("error creating row instance for " + rowClass.getName(), e);
         }
         
         return row;
     }
+    
+    
+    /**
+     * Gets the factory used by {@link #newRow()}. If no factory has been set with 
+     * {@link #setRowFactory(Supplier)}, then a {@link ConstructorRowFactory} is created
+     * for the zero-arg constructor of row class upon first use.
+     * 
+     * @return row factory
+     * @throws SormulaException if no factory was set and default factory cannot be created
+     * @since 4.4
+     */
+    public Supplier<R> getRowFactory() throws SormulaException
+    {
+        if (rowFactory == null)
+        {
+            try
+            {
+                rowFactory = new ConstructorRowFactory<>(rowClass);
+            }
+            catch (ReflectException e)
+            {
+                throw new SormulaException("error creating row factory for " + rowClass.getName() +
+                        "; make sure row has zero-arg constructor", e);
+            }
+        }
+        
+        return rowFactory;
+    }
+
+
+    /**
+     * Sets the factory to use to create new rows in {@link #newRow()}. Use this method to
+     * supply rows from a pool, create rows that are pre-sized, or create rows for classes
+     * that do not have a zero-arg constructor.
+     * <p>
+     * Example:
+     * <blockquote><pre>
+     * table.setRowFactory(SomeRow::new);
+     * </pre></blockquote>
+     * 
+     * @param rowFactory supplier of new row instances or null to use default {@link ConstructorRowFactory}
+     * @since 4.4
+     */
+    public void setRowFactory(Supplier<R> rowFactory)
+    {
+        this.rowFactory = rowFactory;
+    }
 
 
     /**
@@ -827,6 +995,131 @@ public class Table<R> implements TypeTranslatorMap, TransactionListener
     }
     
     
+    /**
+     * Selects rows for where condition and parameters as a lazy stream. Rows are read from the database
+     * as the stream is consumed so that large results do not need to fit in memory. The stream must be 
+     * closed to close the underlying select operation.
+     * <p>
+     * Example:
+     * <blockquote><pre>
+     * Table&lt;Order&gt; table = database.getTable(Order.class);
+     * try (Stream&lt;Order&gt; orders = table.stream("byStatus", "open"))
+     * {
+     *     orders.forEach(o -&gt; report(o));
+     * }
+     * </pre></blockquote>
+     * Fetch size is from {@link Where#fetchSize()}, {@link Row#fetchSize()}, or 
+     * {@link ScalarSelectOperation#DEFAULT_STREAM_FETCH_SIZE}. See {@link ScalarSelectOperation#stream()}.
+     * 
+     * @param whereConditionName name of where condition to use; empty string to select all rows in table
+     * @param parameters parameter values for where condition
+     * @return stream of rows
+     * @throws SormulaException if error
+     * @since 4.4
+     */
+    public Stream<R> stream(String whereConditionName, Object...parameters) throws SormulaException
+    {
+        ScalarSelectOperation<R> operation = new ScalarSelectOperation<>(this, whereConditionName);
+        
+        try
+        {
+            Where whereAnnotation = operation.getWhereAnnotation();
+            if (whereAnnotation != null) operation.setFetchSize(whereAnnotation.fetchSize());
+            else if (rowAnnotation != null) operation.setFetchSize(rowAnnotation.fetchSize());
+            operation.setParameters(parameters);
+            return operation.stream(); // closing stream closes operation
+        }
+        catch (SormulaException e)
+        {
+            operation.close();
+            throw e;
+        }
+    }
+    
+    
+    /**
+     * Selects rows for where condition and parameters and supplies each to a consumer. A new row instance
+     * is created for each row. See {@link #forEach(String, boolean, Consumer, Object...)}.
+     * 
+     * @param whereConditionName name of where condition to use; empty string to select all rows in table
+     * @param consumer receives each row
+     * @param parameters parameter values for where condition
+     * @return number of rows supplied to consumer
+     * @throws SormulaException if error
+     * @since 4.4
+     */
+    public int forEach(String whereConditionName, Consumer<? super R> consumer, Object...parameters) throws SormulaException
+    {
+        return forEach(whereConditionName, false, consumer, parameters);
+    }
+    
+    
+    /**
+     * Selects rows for where condition and parameters and supplies each to a consumer without cascades
+     * or caching. Use for scans of many rows like aggregation or export where rows are examined once.
+     * <p>
+     * Example:
+     * <blockquote><pre>
+     * Table&lt;Order&gt; table = database.getTable(Order.class);
+     * DoubleAdder total = new DoubleAdder();
+     * table.forEach("byStatus", true, o -&gt; total.add(o.getAmount()), "open");
+     * </pre></blockquote>
+     * If reuseRow is true and row has only column fields, then the same row instance is refilled for every 
+     * row so consumer must not keep a reference to it. Fetch size is chosen as it is for {@link #stream(String, Object...)}. See
+     * {@link ScalarSelectOperation#scan(Consumer, boolean)}.
+     * 
+     * @param whereConditionName name of where condition to use; empty string to select all rows in table
+     * @param reuseRow true to read all rows into one row instance; false to create a new row for each
+     * @param consumer receives each row
+     * @param parameters parameter values for where condition
+     * @return number of rows supplied to consumer
+     * @throws SormulaException if error
+     * @since 4.4
+     */
+    public int forEach(String whereConditionName, boolean reuseRow, Consumer<? super R> consumer, Object...parameters) throws SormulaException
+    {
+        try (ScalarSelectOperation<R> operation = new ScalarSelectOperation<>(this, whereConditionName))
+        {
+            Where whereAnnotation = operation.getWhereAnnotation();
+            int fetchSize = whereAnnotation != null ? whereAnnotation.fetchSize() : rowAnnotation != null ? rowAnnotation.fetchSize() : 0;
+            operation.setFetchSize(database.getDialect().getStreamFetchSize(
+                    fetchSize > 0 ? fetchSize : ScalarSelectOperation.DEFAULT_STREAM_FETCH_SIZE));
+            operation.setParameters(parameters);
+            return operation.scan(consumer, reuseRow);
+        }
+    }
+    
+    
+    /**
+     * Creates a publisher of the rows for where condition and parameters. Rows are read as they are 
+     * requested by the subscriber with tasks from {@link Database#getPublisherExecutor()}. See
+     * {@link SelectPublisher}.
+     * <p>
+     * Example:
+     * <blockquote><pre>
+     * Table&lt;Order&gt; table = database.getTable(Order.class);
+     * table.publisher("byStatus", "open").subscribe(subscriber);
+     * </pre></blockquote>
+     * Fetch size is chosen as it is for {@link #stream(String, Object...)}.
+     * 
+     * @param whereConditionName name of where condition to use; empty string to select all rows in table
+     * @param parameters parameter values for where condition
+     * @return publisher for one subscriber
+     * @throws SormulaException if error
+     * @since 4.4
+     */
+    public SelectPublisher<R> publisher(String whereConditionName, Object...parameters) throws SormulaException
+    {
+        ScalarSelectOperation<R> operation = new ScalarSelectOperation<>(this, whereConditionName);
+        Where whereAnnotation = operation.getWhereAnnotation();
+        if (whereAnnotation != null) operation.setFetchSize(whereAnnotation.fetchSize());
+        else if (rowAnnotation != null) operation.setFetchSize(rowAnnotation.fetchSize());
+        operation.setParameters(parameters);
+        
+        return new SelectPublisher<>(operation, database.getPublisherExecutor()); // publisher closes operation
+    }
+    
+    
     /**
      * Select list of rows using custom sql.
      * <p>
@@ -1243,6 +1536,27 @@ public class Table<R> implements TypeTranslatorMap, TransactionListener
             return 0;
         }
     }
+
+    
+    /**
+     * Inserts rows from a stream in batch mode. Rows are read from the stream as they are added to 
+     * a batch, so that all rows do not need to be in memory at the same time when {@link #getBatchSize()}
+     * is greater than zero. Related cascades are batched also. See limitations about batch inserts 
+     * in {@link ModifyOperation#setBatch(boolean)}.
+     * 
+     * @param rows rows to insert
+     * @return count of rows affected
+     * @throws SormulaException if error
+     * @since 4.4
+     */
+    public int insertAllBatch(Stream<R> rows) throws SormulaException
+    {
+        try (InsertOperation<R> operation = new InsertOperation<>(this, autoGeneratedKeys))
+        {
+            operation.setBatch(true);
+            return operation.modifyAll(rows.iterator());
+        }
+    }
     
     
     /**
@@ -1353,6 +1667,27 @@ public class Table<R> implements TypeTranslatorMap, TransactionListener
             return 0;
         }
     }
+
+    
+    /**
+     * Updates rows from a stream in batch mode. Rows are read from the stream as they are added to 
+     * a batch, so that all rows do not need to be in memory at the same time when {@link #getBatchSize()}
+     * is greater than zero. Related cascades are batched also. See limitations about batch updates 
+     * in {@link ModifyOperation#setBatch(boolean)}.
+     * 
+     * @param rows rows to update
+     * @return count of rows affected
+     * @throws SormulaException if error
+     * @since 4.4
+     */
+    public int updateAllBatch(Stream<R> rows) throws SormulaException
+    {
+        try (UpdateOperation<R> operation = new UpdateOperation<>(this))
+        {
+            operation.setBatch(true);
+            return operation.modifyAll(rows.iterator());
+        }
+    }
     
     
     /**
@@ -1487,6 +1822,27 @@ public class Table<R> implements TypeTranslatorMap, TransactionListener
             return 0;
         }
     }
+
+    
+    /**
+     * Deletes rows from a stream in batch mode. Rows are read from the stream as they are added to 
+     * a batch, so that all rows do not need to be in memory at the same time when {@link #getBatchSize()}
+     * is greater than zero. Related cascades are batched also. See limitations about batch deletes 
+     * in {@link ModifyOperation#setBatch(boolean)}.
+     * 
+     * @param rows rows to delete
+     * @return count of rows affected
+     * @throws SormulaException if error
+     * @since 4.4
+     */
+    public int deleteAllBatch(Stream<R> rows) throws SormulaException
+    {
+        try (DeleteOperation<R> operation = new DeleteOperation<>(this))
+        {
+            operation.setBatch(true);
+            return operation.modifyAll(rows.iterator());
+        }
+    }
     
     
     /**
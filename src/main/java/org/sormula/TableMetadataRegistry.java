@@ -0,0 +1,142 @@
+/* sormula - Simple object relational mapping
+ * Copyright (C) 2011-2020 Jeff Miller
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sormula;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.sormula.log.SormulaLogger;
+import org.sormula.log.SormulaLoggerFactory;
+import org.sormula.translator.NameTranslator;
+import org.sormula.translator.RowMetadata;
+import org.sormula.translator.RowTranslator;
+
+
+/**
+ * Thread-safe registry of {@link RowMetadata} that may be shared by many {@link Database} objects.
+ * Without a registry, the first {@link Database#getTable(Class)} for a row class on every database
+ * reads the annotations of the row class and creates the column translators. When databases share 
+ * a registry, only the first {@link RowTranslator} for a row class reads the row class. All other
+ * row translators are initialized from the registered metadata.
+ * <p>
+ * Metadata is keyed by row class, {@link Table} class, schema, name translators, 
+ * {@link Database#getFieldAccessType()} and {@link Database#isCompiledRowTranslators()}. Type translators are 
+ * not part of the key so all databases that share a registry must use the same type translators for 
+ * the same row classes. This is typically the case when databases are created in the same way for the 
+ * same data source.
+ * <pre>
+ * TableMetadataRegistry registry = new TableMetadataRegistry();
+ * ...
+ * // for each request
+ * try (Database database = new Database(dataSource))
+ * {
+ *     database.setTableMetadataRegistry(registry);
+ *     ...
+ * }
+ * </pre>
+ * 
+ * @author Jeff Miller
+ * @since 4.4
+ * @see Database#setTableMetadataRegistry(TableMetadataRegistry)
+ */
+public class TableMetadataRegistry
+{
+    private static final SormulaLogger log = SormulaLoggerFactory.getClassLogger();
+    ConcurrentMap<List<Object>, RowMetadata<?>> metadataMap;
+    
+    
+    /**
+     * Constructs an empty registry.
+     */
+    public TableMetadataRegistry()
+    {
+        metadataMap = new ConcurrentHashMap<>();
+    }
+    
+    
+    /**
+     * Gets metadata for the row class of a table. 
+     * 
+     * @param table table that is creating its row translator
+     * @param <R> class of row
+     * @return metadata registered with {@link #put(Table, RowMetadata)} for a table with the same 
+     * configuration or null if none
+     */
+    @SuppressWarnings("unchecked") // key contains row class so metadata is for R
+    public <R> RowMetadata<R> get(Table<R> table)
+    {
+        return (RowMetadata<R>)metadataMap.get(createKey(table));
+    }
+    
+    
+    /**
+     * Registers metadata for the row class of a table. Metadata that was already registered for 
+     * the same configuration is not replaced.
+     * 
+     * @param table table that created metadata
+     * @param rowMetadata metadata from the row translator of table
+     * @param <R> class of row
+     */
+    public <R> void put(Table<R> table, RowMetadata<R> rowMetadata)
+    {
+        if (metadataMap.putIfAbsent(createKey(table), rowMetadata) == null)
+        {
+            if (log.isDebugEnabled()) log.debug("registered metadata for " + table.getRowClass().getCanonicalName());
+        }
+    }
+    
+    
+    /**
+     * Removes all metadata from registry. Use if row classes or database configuration changes.
+     */
+    public void clear()
+    {
+        metadataMap.clear();
+    }
+    
+    
+    /**
+     * Gets the number of row metadata that is registered.
+     * 
+     * @return number of registered metadata
+     */
+    public int size()
+    {
+        return metadataMap.size();
+    }
+    
+    
+    /**
+     * Creates the key for the configuration of a table. 
+     * 
+     * @param table create key for this table
+     * @return list of configuration values that affect row metadata
+     */
+    protected List<Object> createKey(Table<?> table)
+    {
+        Database database = table.getDatabase();
+        List<? extends NameTranslator> nameTranslators = table.getNameTranslators();
+        List<Class<?>> nameTranslatorClasses = new ArrayList<>(nameTranslators.size());
+        for (NameTranslator nt : nameTranslators) nameTranslatorClasses.add(nt.getClass());
+        
+        return Arrays.asList(table.getRowClass(), table.getClass(), database.getSchema(), nameTranslatorClasses,
+                database.getFieldAccessType(), database.isCompiledRowTranslators());
+    }
+}
@@ -29,6 +29,7 @@ import javax.sql.DataSource;
 import org.sormula.Database;
 import org.sormula.SormulaException;
 import org.sormula.Table;
+import org.sormula.TableMetadataRegistry;
 import org.sormula.active.builder.ActiveDatabaseBuilder;
 import org.sormula.annotation.Column;
 import org.sormula.operation.ModifyOperation;
@@ -61,6 +62,9 @@ public class ActiveDatabase implements Serializable
     // note: must be transient since can't serialize jdbc connection
     transient ActiveTransaction activeTransaction;
     
+    // note: transient since row metadata is not serializable, recreated when needed
+    transient TableMetadataRegistry tableMetadataRegistry;
+    
     
     /**
      * Creates builder for a data source.
@@ -388,6 +392,35 @@ public class ActiveDatabase implements Serializable
     }
     
     
+    /**
+     * Gets the registry of row metadata that is shared by all {@link Database} objects that are
+     * created for this active database. Since each active record operation uses a new database,
+     * the registry avoids reading the row classes for every operation.
+     * 
+     * @return registry that is used by {@link Database#setTableMetadataRegistry(TableMetadataRegistry)}; never null
+     * @since 4.4
+     */
+    public TableMetadataRegistry getTableMetadataRegistry()
+    {
+        if (tableMetadataRegistry == null) tableMetadataRegistry = new TableMetadataRegistry();
+        return tableMetadataRegistry;
+    }
+
+
+    /**
+     * Sets the registry of row metadata to use for all operations of this active database. By default
+     * each active database has its own registry. Use this method to share a registry with other active
+     * databases that are configured identically.
+     * 
+     * @param tableMetadataRegistry registry to share
+     * @since 4.4
+     */
+    public void setTableMetadataRegistry(TableMetadataRegistry tableMetadataRegistry)
+    {
+        this.tableMetadataRegistry = tableMetadataRegistry;
+    }
+    
+    
     /**
      * Writes all uncommitted cache to the database and removes all cached records. Delegates
      * to {@link Database#flush()}.
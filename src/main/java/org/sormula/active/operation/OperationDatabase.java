@@ -71,6 +71,7 @@ public class OperationDatabase extends Database
         
         setTimings(activeDatabase.isTimings());
         setAutoGeneratedKeys(activeDatabase.isAutoGeneratedKeys());
+        setTableMetadataRegistry(activeDatabase.getTableMetadataRegistry());
     }
     
     
@@ -26,6 +26,10 @@ import java.sql.Statement;
 
 import org.sormula.Database;
 import org.sormula.Table;
+import org.sormula.key.HiLoKeyGenerator;
+import org.sormula.key.KeyGenerator;
+import org.sormula.key.TimeOrderedKeyGenerator;
+import org.sormula.operation.InsertOperation;
 import org.sormula.reflect.FieldAccessType;
 import org.sormula.translator.ColumnTranslator;
 import org.sormula.translator.NameTranslator;
@@ -112,16 +116,39 @@ public @interface Column
      * {@link Row#fieldAccess()} if {@link #fieldAccess()} is not {@link FieldAccessType#Default}.
      * <p> 
      * Use {@link FieldAccessType#Method} to read/write the field value with getter/setter. Public 
-     * getter/setter methods are required.
+     * getter/setter methods are required. Primitive values are boxed since getter/setter are invoked 
+     * with {@link java.lang.reflect.Method#invoke(Object, Object...)}. Only {@link FieldAccessType#Direct} 
+     * and {@link FieldAccessType#Generated} read/write primitive fields without boxing (see 
+     * {@link org.sormula.translator.PrimitiveTypeTranslator}).
      * <p> 
      * Use {@link FieldAccessType#Direct} to read/write the field value with direct access 
      * {@link Field#equals(Object)} and {@link Field#set(Object, Object)}. No getter/setter are required.
      * <p> 
+     * Use {@link FieldAccessType#Generated} to read/write the field value with accessors that are bound 
+     * once per field (see {@link org.sormula.reflect.GeneratedAccessField}). Getter/setter are used if they 
+     * exist, otherwise the field is accessed directly.
+     * <p> 
      * If {@link Column} annotation is not specified or {@link #fieldAccess()} is {@link FieldAccessType#Default}, 
      * then {@link Row#fieldAccess()} determines how field is accessed.
      * 
-     * @return {@link FieldAccessType#Method}, {@link FieldAccessType#Direct}, or {@link FieldAccessType#Default}
+     * @return {@link FieldAccessType#Method}, {@link FieldAccessType#Direct}, {@link FieldAccessType#Generated}, 
+     * or {@link FieldAccessType#Default}
      * @since 3.4
      */
     FieldAccessType fieldAccess() default FieldAccessType.Default;
+    
+    
+    /**
+     * Defines class that creates key values for this column prior to insert. A new key is set in the 
+     * row by {@link InsertOperation} when the field is null or zero. Since key is known prior to insert,
+     * batch inserts and deferred cache inserts may be used. Typically used with {@link #primaryKey()}
+     * instead of {@link #identity()}.
+     * <p>
+     * {@link HiLoKeyGenerator} reserves blocks of keys from a database sequence. {@link TimeOrderedKeyGenerator} 
+     * creates increasing keys from the current time without accessing the database.
+     * 
+     * @return key generator class; {@link KeyGenerator} for no key generator
+     * @since 4.4
+     */
+    Class<? extends KeyGenerator> keyGenerator() default KeyGenerator.class;
 }
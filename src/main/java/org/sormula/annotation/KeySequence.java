@@ -0,0 +1,55 @@
+/* sormula - Simple object relational mapping
+ * Copyright (C) 2011-2020 Jeff Miller
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sormula.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.sormula.key.HiLoKeyGenerator;
+
+
+/**
+ * Database sequence used by {@link HiLoKeyGenerator} for a key column. Annotate the same field
+ * as {@link Column#keyGenerator()}. If omitted, sequence name is table name followed by "_seq" and 
+ * allocation size is 100.
+ * 
+ * @since 4.4
+ * @author Jeff Miller
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.FIELD)
+public @interface KeySequence
+{
+    /**
+     * Name of the database sequence. Include schema name if required.
+     * 
+     * @return sequence name; empty string for table name followed by "_seq"
+     */
+    String name() default "";
+    
+    
+    /**
+     * Number of keys that are reserved with each value from the sequence. Keys for value hi from 
+     * sequence are hi * allocationSize through hi * allocationSize + allocationSize - 1. The 
+     * sequence must increment by 1 and allocation size must not change after keys are generated.
+     * 
+     * @return keys per sequence value
+     */
+    int allocationSize() default 100;
+}
@@ -133,19 +133,36 @@ public @interface Row
      * or when {@link Column#fieldAccess()} is {@link FieldAccessType#Default}.
      * <p> 
      * Use {@link FieldAccessType#Method} to read/write all field values with getter/setter. Public 
-     * getter/setter methods are required.
+     * getter/setter methods are required. Primitive values are boxed, see {@link Column#fieldAccess()}.
      * <p> 
      * Use {@link FieldAccessType#Direct} to read/write all field values with direct access 
      * {@link Field#equals(Object)} and {@link Field#set(Object, Object)}. No getter/setter are required.
      * <p> 
+     * Use {@link FieldAccessType#Generated} to read/write all field values with accessors that are bound 
+     * once per field (see {@link org.sormula.reflect.GeneratedAccessField}). Getter/setter are used if they 
+     * exist, otherwise the field is accessed directly.
+     * <p> 
      * If no {@link Row} annotation is specified or {@link #fieldAccess()} is {@link FieldAccessType#Default}
      * then {@link Column#fieldAccess()} is used and {@link #fieldAccess()} is ignored.
      * <p>
      * If both {@link #fieldAccess()} and {@link Column#fieldAccess()} are {@link FieldAccessType#Default},
+     * then {@link org.sormula.Database#getFieldAccessType()} is used. If that is also {@link FieldAccessType#Default}, 
      * then getter/setter methods are used. This is the behavior of versions prior to 3.4.
      * 
-     * @return {@link FieldAccessType#Method}, {@link FieldAccessType#Direct}, or {@link FieldAccessType#Default}
+     * @return {@link FieldAccessType#Method}, {@link FieldAccessType#Direct}, {@link FieldAccessType#Generated}, 
+     * or {@link FieldAccessType#Default}
      * @since 3.4
      */
     FieldAccessType fieldAccess() default FieldAccessType.Default;
+    
+    
+    /**
+     * Maximum number of rows in one JDBC batch for batch modify operations like 
+     * {@link Table#insertAllBatch(java.util.Collection)}. Sets this value with 
+     * {@link org.sormula.operation.ModifyOperation#setBatchSize(int)}.
+     * 
+     * @return rows per batch; zero to use {@link org.sormula.Database#getBatchSize()}
+     * @since 4.4
+     */
+    int batchSize() default 0;
 }
@@ -0,0 +1,73 @@
+/* sormula - Simple object relational mapping
+ * Copyright (C) 2011-2020 Jeff Miller
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sormula.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.sormula.reflect.FieldAccessType;
+
+
+/**
+ * Defines the constructor to use to create rows that are read from the database. Annotates
+ * a constructor of a row class. The constructor is invoked once per row with the column values 
+ * of the fields named by {@link #fieldNames()}. Columns that are not constructor parameters are set 
+ * after construction with the usual field access.
+ * <p>
+ * Use this annotation for immutable row classes that have no zero-arg constructor or setters. 
+ * Java record classes do not need this annotation since the canonical constructor is used by default.
+ * <p>
+ * Fields of a row class with a row constructor use {@link FieldAccessType#Direct} when no field
+ * access is specified by {@link Row#fieldAccess()}, {@link Column#fieldAccess()}, or database default, 
+ * since immutable rows typically have no setters.
+ * <p>
+ * Example:
+ * <blockquote><pre>
+ * public class Product
+ * {
+ *     &#64;Column(primaryKey=true)
+ *     final int id;
+ *     final String description;
+ *     
+ *     &#64;RowConstructor(fieldNames={"id", "description"})
+ *     public Product(int id, String description)
+ *     {
+ *         this.id = id;
+ *         this.description = description;
+ *     }
+ *     ...
+ * }
+ * </pre></blockquote>
+ * 
+ * @since 4.4
+ * @author Jeff Miller
+ */
+@Target(ElementType.CONSTRUCTOR)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RowConstructor
+{
+    /**
+     * Names of the fields that correspond to the constructor parameters in parameter order. 
+     * If empty, then parameter names are obtained with {@link java.lang.reflect.Parameter#getName()} which 
+     * requires that row class is compiled with the -parameters option.
+     * 
+     * @return field names of constructor parameters
+     */
+    String[] fieldNames() default {};
+}
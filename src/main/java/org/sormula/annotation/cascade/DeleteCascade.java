@@ -85,4 +85,29 @@ public @interface DeleteCascade
      * @since 3.0
      */
     boolean setForeignKeyReference() default false;
+    
+    
+    /**
+     * Deletes target rows of all source rows with set based sql instead of deleting each target
+     * row separately. Target rows are deleted by foreign key like DELETE FROM target WHERE fk IN (?, ?, ...)
+     * with one statement for many source rows. So target rows do not need to be read or be in the
+     * target field of the source row. Note that all rows in target table with foreign key of source row 
+     * are deleted, not only the rows in the target field.
+     * <p>
+     * Foreign key columns are the target fields defined by {@link Cascade#foreignKeyValueFields()},
+     * {@link OneToManyCascade#foreignKeyValueFields()}, or {@link OneToOneCascade#foreignKeyValueFields()}.
+     * Target delete cascades that are also batched and have single column foreign keys are performed 
+     * first with subqueries like DELETE FROM grandchild WHERE fk IN (SELECT id FROM target WHERE fk IN (?, ?, ...)),
+     * so the deepest level is deleted first.
+     * <p>
+     * Set based delete is not used when target table is cached, target rows have delete cascades that
+     * cannot be set based, {@link #operation()} is not {@link DeleteOperation}, or foreign key value 
+     * fields are not defined. For those cases target rows are deleted from target field
+     * of source rows as if batched was false except that target rows of all source rows in a JDBC batch
+     * are deleted with one execution of the cascade operation when {@link DeleteOperation#isBatch()} is true.
+     * 
+     * @return true to delete target rows of many source rows together
+     * @since 4.4
+     */
+    boolean batched() default false;
 }
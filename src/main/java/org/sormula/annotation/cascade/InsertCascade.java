@@ -23,6 +23,7 @@ import java.lang.annotation.Target;
 
 import org.sormula.annotation.Column;
 import org.sormula.operation.InsertOperation;
+import org.sormula.operation.ModifyOperation;
 
 
 /**
@@ -84,4 +85,20 @@ public @interface InsertCascade
      * @since 3.0
      */
     boolean setForeignKeyReference() default true;
+    
+    
+    /**
+     * Collects target rows of all source rows in a JDBC batch when source operation 
+     * {@link ModifyOperation#isBatch()} is true and then inserts all target rows with one execution 
+     * of the cascade operation. So each cascade level sends one JDBC batch per target table 
+     * instead of one JDBC batch for each source row. Target rows of source rows that are not
+     * modified are not cascaded.
+     * <p>
+     * This value is ignored when source operation is not in batch mode.
+     * 
+     * @return true to cascade target rows of all source rows in a batch together; false to cascade
+     * target rows of each source row separately
+     * @since 4.4
+     */
+    boolean batched() default false;
 }
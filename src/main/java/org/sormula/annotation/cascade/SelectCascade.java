@@ -29,9 +29,11 @@ import org.sormula.operation.ArrayListSelectOperation;
 import org.sormula.operation.HashMapSelectOperation;
 import org.sormula.operation.MapSelectOperation;
 import org.sormula.operation.ScalarSelectOperation;
+import org.sormula.operation.SelectOperation;
 import org.sormula.operation.SqlOperation;
 import org.sormula.operation.cascade.lazy.AbstractLazySelector;
 import org.sormula.operation.cascade.lazy.DurableLazySelector;
+import org.sormula.operation.cascade.lazy.LazySelectGroup;
 import org.sormula.operation.cascade.lazy.LazySelectable;
 import org.sormula.operation.cascade.lazy.SimpleLazySelector;
 
@@ -184,4 +186,43 @@ public @interface SelectCascade
      * @see DurableLazySelector
      */
     boolean lazy() default false;
+    
+    
+    /**
+     * Selects target rows for all source rows read by {@link SelectOperation#readAll()} with one
+     * query per group of source rows instead of one query per source row. Target rows are selected
+     * with a condition like "WHERE fk IN (?, ?, ...)" and then added to the source row that has
+     * the same parameter values. Source rows with the same parameter values as an earlier source 
+     * row are cascaded one row at a time so that they do not share target rows.
+     * <p>
+     * Batched cascades are only performed when {@link #targetWhereName()} compares columns for 
+     * equality with parameters from source row fields and {@link #operation()} is 
+     * {@link ArrayListSelectOperation} or {@link ScalarSelectOperation}. Otherwise the
+     * cascade is performed for each source row as if batched was false. 
+     * <p>
+     * When {@link #lazy()} is also true, a lazy select of one row selects the field for all rows 
+     * from the same {@link SelectOperation#readAll()} that have not selected the field. See 
+     * {@link LazySelectGroup}.
+     * 
+     * @return true to select targets for many source rows with one query; false to select 
+     * targets with one query for each source row 
+     * @since 4.4
+     */
+    boolean batched() default false;
+    
+    
+    /**
+     * Selects target row in the same statement as the source row with a LEFT JOIN instead of
+     * with a second select for each source row. Columns of the target row are read from the
+     * source row result set.
+     * <p>
+     * Joined cascades are only performed for scalar target fields when {@link #targetWhereName()} 
+     * compares all target primary key columns for equality with source columns and the target row 
+     * has no cascades. Otherwise the cascade is performed with a second select as if join was false.
+     * 
+     * @return true to select target row with a join of the source table; false to select target
+     * row with a second select
+     * @since 4.4
+     */
+    boolean join() default false;
 }
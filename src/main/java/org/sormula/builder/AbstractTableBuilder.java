@@ -16,6 +16,8 @@
  */
 package org.sormula.builder;
 
+import java.util.function.Supplier;
+
 import org.sormula.Database;
 import org.sormula.SormulaException;
 import org.sormula.Table;
@@ -39,6 +41,7 @@ public abstract class AbstractTableBuilder<R, B extends AbstractTableBuilder, T
     boolean readOnly;
     String[] requiredCascades;
     String tableName;
+    Supplier<R> rowFactory;
     
     
     /**
@@ -75,6 +78,7 @@ public abstract class AbstractTableBuilder<R, B extends AbstractTableBuilder, T
         table.setReadOnly(readOnly);
         if (requiredCascades != null) table.setRequiredCascades(requiredCascades);
         if (tableName != null) table.setTableName(tableName);
+        if (rowFactory != null) table.setRowFactory(rowFactory);
     }
     
     
@@ -124,4 +128,16 @@ public abstract class AbstractTableBuilder<R, B extends AbstractTableBuilder, T
         this.tableName = tableName;
         return (B)this;
     }
+    
+    
+    /**
+     * @param rowFactory see {@link Table#setRowFactory(Supplier)}
+     * @return this
+     */
+    @SuppressWarnings("unchecked")
+    public B rowFactory(Supplier<R> rowFactory)
+    {
+        this.rowFactory = rowFactory;
+        return (B)this;
+    }
 }
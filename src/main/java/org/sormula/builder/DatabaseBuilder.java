@@ -17,11 +17,15 @@
 package org.sormula.builder;
 
 import java.sql.Connection;
+import java.util.concurrent.Executor;
 
 import javax.sql.DataSource;
 
 import org.sormula.Database;
 import org.sormula.SormulaException;
+import org.sormula.TableMetadataRegistry;
+import org.sormula.dialect.Dialect;
+import org.sormula.reflect.FieldAccessType;
 
 
 /**
@@ -49,6 +53,14 @@ public class DatabaseBuilder
     boolean autoGeneratedKeys;
     boolean readOnly;
     boolean timings;
+    FieldAccessType fieldAccessType;
+    boolean compiledRowTranslators;
+    TableMetadataRegistry tableMetadataRegistry;
+    int statementCacheSize;
+    int batchSize;
+    Dialect dialect;
+    boolean upsert;
+    Executor publisherExecutor;
     
     
     /**
@@ -85,6 +97,7 @@ public class DatabaseBuilder
     {
         schema = "";
         autoGeneratedKeys = true;
+        fieldAccessType = FieldAccessType.Default;
     }
     
     
@@ -114,6 +127,14 @@ public class DatabaseBuilder
         database.setAutoGeneratedKeys(autoGeneratedKeys);
         database.setReadOnly(readOnly);
         database.setTimings(timings);
+        database.setFieldAccessType(fieldAccessType);
+        database.setCompiledRowTranslators(compiledRowTranslators);
+        database.setTableMetadataRegistry(tableMetadataRegistry);
+        database.setStatementCacheSize(statementCacheSize);
+        database.setBatchSize(batchSize);
+        database.setDialect(dialect);
+        database.setUpsert(upsert);
+        database.setPublisherExecutor(publisherExecutor);
         
         return database;
     }
@@ -161,4 +182,92 @@ public class DatabaseBuilder
         this.timings = timings;
         return this;
     }
+    
+    
+    /**
+     * @param fieldAccessType see {@link Database#setFieldAccessType(FieldAccessType)}
+     * @return this
+     */
+    public DatabaseBuilder fieldAccessType(FieldAccessType fieldAccessType)
+    {
+        this.fieldAccessType = fieldAccessType;
+        return this;
+    }
+    
+    
+    /**
+     * @param compiledRowTranslators see {@link Database#setCompiledRowTranslators(boolean)}
+     * @return this
+     */
+    public DatabaseBuilder compiledRowTranslators(boolean compiledRowTranslators)
+    {
+        this.compiledRowTranslators = compiledRowTranslators;
+        return this;
+    }
+    
+    
+    /**
+     * @param tableMetadataRegistry see {@link Database#setTableMetadataRegistry(TableMetadataRegistry)}
+     * @return this
+     */
+    public DatabaseBuilder tableMetadataRegistry(TableMetadataRegistry tableMetadataRegistry)
+    {
+        this.tableMetadataRegistry = tableMetadataRegistry;
+        return this;
+    }
+    
+    
+    /**
+     * @param statementCacheSize see {@link Database#setStatementCacheSize(int)}
+     * @return this
+     */
+    public DatabaseBuilder statementCacheSize(int statementCacheSize)
+    {
+        this.statementCacheSize = statementCacheSize;
+        return this;
+    }
+    
+    
+    /**
+     * @param batchSize see {@link Database#setBatchSize(int)}
+     * @return this
+     */
+    public DatabaseBuilder batchSize(int batchSize)
+    {
+        this.batchSize = batchSize;
+        return this;
+    }
+    
+    
+    /**
+     * @param dialect see {@link Database#setDialect(Dialect)}
+     * @return this
+     */
+    public DatabaseBuilder dialect(Dialect dialect)
+    {
+        this.dialect = dialect;
+        return this;
+    }
+    
+    
+    /**
+     * @param upsert see {@link Database#setUpsert(boolean)}
+     * @return this
+     */
+    public DatabaseBuilder upsert(boolean upsert)
+    {
+        this.upsert = upsert;
+        return this;
+    }
+    
+    
+    /**
+     * @param publisherExecutor see {@link Database#setPublisherExecutor(Executor)}
+     * @return this
+     */
+    public DatabaseBuilder publisherExecutor(Executor publisherExecutor)
+    {
+        this.publisherExecutor = publisherExecutor;
+        return this;
+    }
 }
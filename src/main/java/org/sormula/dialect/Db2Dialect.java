@@ -0,0 +1,70 @@
+/* sormula - Simple object relational mapping
+ * Copyright (C) 2011-2020 Jeff Miller
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sormula.dialect;
+
+
+/**
+ * Dialect for IBM DB2.
+ * 
+ * @author Jeff Miller
+ * @since 4.4
+ */
+public class Db2Dialect extends Dialect
+{
+    /**
+     * {@inheritDoc}
+     * Limit of DB2.
+     */
+    @Override
+    public int getMaxParameters()
+    {
+        return 32767;
+    }
+    
+    
+    /**
+     * {@inheritDoc}
+     * Returns true.
+     */
+    @Override
+    public boolean isRowValueComparison()
+    {
+        return true;
+    }
+    
+    
+    /**
+     * {@inheritDoc}
+     * Returns true.
+     */
+    @Override
+    public boolean isWindowCount()
+    {
+        return true;
+    }
+    
+    
+    /**
+     * {@inheritDoc}
+     * Uses standard OFFSET offset ROWS FETCH FIRST maximumRows ROWS ONLY.
+     */
+    @Override
+    public String getLimitSql(int offset, int maximumRows, boolean ordered)
+    {
+        return createOffsetFetchSql(offset, maximumRows);
+    }
+}
@@ -0,0 +1,50 @@
+/* sormula - Simple object relational mapping
+ * Copyright (C) 2011-2020 Jeff Miller
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sormula.dialect;
+
+import java.util.List;
+
+
+/**
+ * Dialect for Apache Derby. Uses the standard parameter limit.
+ * 
+ * @author Jeff Miller
+ * @since 4.4
+ */
+public class DerbyDialect extends Dialect
+{
+    /**
+     * {@inheritDoc}
+     * Uses MERGE with SYSIBM.SYSDUMMY1 as source.
+     */
+    @Override
+    public UpsertSql createUpsertSql(String tableName, List<String> columnNames, List<String> keyColumnNames)
+    {
+        return createMergeUpsertSql(tableName, columnNames, keyColumnNames, "SYSIBM.SYSDUMMY1");
+    }
+    
+    
+    /**
+     * {@inheritDoc}
+     * Uses standard OFFSET offset ROWS FETCH FIRST maximumRows ROWS ONLY.
+     */
+    @Override
+    public String getLimitSql(int offset, int maximumRows, boolean ordered)
+    {
+        return createOffsetFetchSql(offset, maximumRows);
+    }
+}
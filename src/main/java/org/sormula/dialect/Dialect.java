@@ -0,0 +1,344 @@
+/* sormula - Simple object relational mapping
+ * Copyright (C) 2011-2020 Jeff Miller
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sormula.dialect;
+
+import java.util.ArrayList;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.List;
+
+import org.sormula.Database;
+import org.sormula.log.SormulaLogger;
+import org.sormula.log.SormulaLoggerFactory;
+
+
+/**
+ * Standard sql and limits. Super class for dialects of specific databases. Subclasses override
+ * methods for features that differ from standard sql. Dialects are immutable and may be shared
+ * by many {@link Database} objects.
+ * <p>
+ * {@link Database#getDialect()} chooses a dialect with {@link #newInstance(String)} from
+ * {@link java.sql.DatabaseMetaData#getDatabaseProductName()} unless one was set with
+ * {@link Database#setDialect(Dialect)}.
+ * 
+ * @author Jeff Miller
+ * @since 4.4
+ */
+public class Dialect
+{
+    private static final SormulaLogger log = SormulaLoggerFactory.getClassLogger();
+    
+    
+    /**
+     * Creates the dialect for a database product name. Unknown products use {@link Dialect}. 
+     * 
+     * @param databaseProductName name from {@link java.sql.DatabaseMetaData#getDatabaseProductName()}; may be null
+     * @return dialect for database
+     */
+    public static Dialect newInstance(String databaseProductName)
+    {
+        Dialect dialect;
+        String name = databaseProductName != null ? databaseProductName.toLowerCase() : "";
+        
+        if      (name.startsWith("hsql"))       dialect = new HsqlDialect();
+        else if (name.equals("h2"))             dialect = new H2Dialect();
+        else if (name.contains("derby"))        dialect = new DerbyDialect();
+        else if (name.startsWith("mysql"))      dialect = new MySqlDialect();
+        else if (name.startsWith("mariadb"))    dialect = new MariaDbDialect();
+        else if (name.startsWith("postgres"))   dialect = new PostgreSqlDialect();
+        else if (name.startsWith("sqlite"))     dialect = new SqliteDialect();
+        else if (name.contains("sql server"))   dialect = new SqlServerDialect();
+        else if (name.startsWith("oracle"))     dialect = new OracleDialect();
+        else if (name.startsWith("db2"))        dialect = new Db2Dialect();
+        else                                    dialect = new Dialect();
+        
+        if (log.isDebugEnabled()) log.debug(databaseProductName + " uses " + dialect.getClass().getCanonicalName());
+        return dialect;
+    }
+    
+    
+    /**
+     * Gets the maximum number of parameters that may be used in one prepared statement. Standard
+     * value is 999, the smallest limit of common databases.
+     * 
+     * @return maximum parameters per statement
+     */
+    public int getMaxParameters()
+    {
+        return 999;
+    }
+    
+    
+    /**
+     * Indicates if more than one row may be inserted with one statement like:<br>
+     * INSERT INTO table (c1, c2, ...) VALUES (?, ?, ...), (?, ?, ...), ...
+     * 
+     * @return true if multi-row VALUES is supported
+     */
+    public boolean isMultiRowInsert()
+    {
+        return true;
+    }
+    
+    
+    /**
+     * Indicates if the JDBC driver returns a generated key for every row of a batch with
+     * {@link Statement#getGeneratedKeys()} after {@link Statement#executeBatch()} when the statement
+     * was prepared with {@link Connection#prepareStatement(String, String[])}. Standard dialect 
+     * returns false since many drivers return keys only for the last row of a batch or none at all.
+     * 
+     * @return true if generated keys can be read for batched inserts
+     */
+    public boolean isBatchGeneratedKeys()
+    {
+        return false;
+    }
+    
+    
+    /**
+     * Gets the name of a generated key column as the JDBC driver expects it in 
+     * {@link Connection#prepareStatement(String, String[])}. Standard dialect returns the name unchanged.
+     * 
+     * @param columnName name of identity column as used in sql
+     * @return column name for JDBC driver
+     */
+    public String getGeneratedKeyColumnName(String columnName)
+    {
+        return columnName;
+    }
+    
+    
+    /**
+     * Gets sql that selects the next value of a sequence. Standard sql is VALUES NEXT VALUE FOR sequence.
+     * 
+     * @param sequenceName name of sequence
+     * @return sql that returns one row with next value as first column; null if database has no sequences
+     */
+    public String getNextSequenceValueSql(String sequenceName)
+    {
+        return "VALUES NEXT VALUE FOR " + sequenceName;
+    }
+    
+    
+    /**
+     * Gets the JDBC fetch size that causes the driver to read rows incrementally from a cursor 
+     * instead of reading the entire result set into memory. Standard dialect returns fetch size unchanged.
+     * 
+     * @param fetchSize desired rows per fetch, greater than zero
+     * @return fetch size to use for {@link Statement#setFetchSize(int)}
+     */
+    public int getStreamFetchSize(int fetchSize)
+    {
+        return fetchSize;
+    }
+    
+    
+    /**
+     * Indicates if auto commit must be off for the JDBC driver to read rows incrementally from a cursor.
+     * Standard dialect returns false.
+     * 
+     * @return true if auto commit must be off to stream rows
+     */
+    public boolean isStreamAutoCommitOff()
+    {
+        return false;
+    }
+    
+    
+    /**
+     * Gets sql that limits the rows of a select. The sql is appended to the end of the select statement 
+     * after any order by clause. Standard dialect returns null since not all databases can limit rows 
+     * in sql. When null, rows are limited only with {@link java.sql.PreparedStatement#setMaxRows(int)}. 
+     * Dialects for databases that support OFFSET and FETCH may use {@link #createOffsetFetchSql(int, int)}.
+     * 
+     * @param offset number of rows to skip; zero for none
+     * @param maximumRows maximum number of rows to select; {@link Integer#MAX_VALUE} for no limit
+     * @param ordered true if select has an order by clause
+     * @return limit sql or null if database cannot limit rows for select
+     */
+    public String getLimitSql(int offset, int maximumRows, boolean ordered)
+    {
+        return null;
+    }
+    
+    
+    /**
+     * Creates standard sql that limits the rows of a select, OFFSET offset ROWS FETCH FIRST maximumRows ROWS ONLY 
+     * where either part is omitted if not needed.
+     * 
+     * @param offset number of rows to skip; zero for none
+     * @param maximumRows maximum number of rows to select; {@link Integer#MAX_VALUE} for no limit
+     * @return limit sql
+     */
+    protected String createOffsetFetchSql(int offset, int maximumRows)
+    {
+        StringBuilder sql = new StringBuilder(50);
+        if (offset > 0) sql.append("OFFSET ").append(offset).append(" ROWS");
+        
+        if (maximumRows < Integer.MAX_VALUE)
+        {
+            if (sql.length() > 0) sql.append(' ');
+            sql.append("FETCH FIRST ").append(maximumRows).append(" ROWS ONLY");
+        }
+        
+        return sql.toString();
+    }
+    
+    
+    /**
+     * Indicates if database supports row value comparison like (c1, c2) &gt; (?, ?). Standard dialect
+     * returns false since it is not supported by all databases. When false, the equivalent 
+     * c1 &gt; ? OR (c1 = ? AND c2 &gt; ?) is used.
+     * 
+     * @return true if row value constructors can be compared with &lt; and &gt;
+     */
+    public boolean isRowValueComparison()
+    {
+        return false;
+    }
+    
+    
+    /**
+     * Indicates if database supports the window function COUNT(*) OVER() so that the total number of rows
+     * can be selected in the same statement as the rows. Standard dialect returns false.
+     * 
+     * @return true if COUNT(*) OVER() can be a select column
+     */
+    public boolean isWindowCount()
+    {
+        return false;
+    }
+    
+    
+    /**
+     * Creates sql for a statement that updates a row by primary key if the row exists or inserts 
+     * the row if it does not exist. Standard sql has no upsert that works for all databases so 
+     * the standard dialect returns null.
+     * 
+     * @param tableName qualified table name
+     * @param columnNames names of columns to insert in parameter order of an insert
+     * @param keyColumnNames names of primary key columns; all are in column names
+     * @return upsert sql or null if database has no upsert
+     */
+    public UpsertSql createUpsertSql(String tableName, List<String> columnNames, List<String> keyColumnNames)
+    {
+        return null;
+    }
+    
+    
+    /**
+     * Creates upsert sql as:<br>
+     * MERGE INTO table t USING source ON (t.k1 = ? AND ...) 
+     * WHEN MATCHED THEN UPDATE SET c2 = ?, ... 
+     * WHEN NOT MATCHED THEN INSERT (k1, c2, ...) VALUES (?, ?, ...)
+     * <p>
+     * Parameters are the key columns, the non key columns, and then all columns. Every parameter
+     * gets its type from the column it is compared with or assigned to so that no casts are needed. 
+     * 
+     * @param tableName qualified table name
+     * @param columnNames names of columns to insert
+     * @param keyColumnNames names of primary key columns
+     * @param source single row table to merge from like "SYSIBM.SYSDUMMY1" or "DUAL"
+     * @return merge sql
+     */
+    protected UpsertSql createMergeUpsertSql(String tableName, List<String> columnNames, List<String> keyColumnNames, String source)
+    {
+        List<Integer> parameterColumns = new ArrayList<>(columnNames.size() * 2 + keyColumnNames.size());
+        StringBuilder sql = new StringBuilder(100 + columnNames.size() * 30);
+        
+        sql.append("MERGE INTO ").append(tableName).append(" t USING ").append(source).append(" ON (");
+        String delimiter = "";
+        for (String k : keyColumnNames)
+        {
+            sql.append(delimiter).append("t.").append(k).append(" = ?");
+            parameterColumns.add(columnNames.indexOf(k));
+            delimiter = " AND ";
+        }
+        sql.append(")");
+        
+        delimiter = " WHEN MATCHED THEN UPDATE SET ";
+        for (int i = 0; i < columnNames.size(); ++i)
+        {
+            if (!keyColumnNames.contains(columnNames.get(i)))
+            {
+                sql.append(delimiter).append(columnNames.get(i)).append(" = ?");
+                parameterColumns.add(i);
+                delimiter = ", ";
+            }
+        }
+        
+        sql.append(" WHEN NOT MATCHED THEN INSERT (").append(String.join(", ", columnNames)).append(") VALUES (");
+        for (int i = 0; i < columnNames.size(); ++i)
+        {
+            sql.append(i == 0 ? "?" : ", ?");
+            parameterColumns.add(i);
+        }
+        sql.append(")");
+        
+        return new UpsertSql(sql.toString(), parameterColumns.stream().mapToInt(Integer::intValue).toArray());
+    }
+    
+    
+    /**
+     * Creates sql that inserts a row followed by a clause for existing rows. Parameters are in column order.
+     * 
+     * @param tableName qualified table name
+     * @param columnNames names of columns to insert
+     * @param conflictClause clause that follows INSERT INTO table (c1, c2, ...) VALUES (?, ?, ...)
+     * @return upsert sql
+     */
+    protected UpsertSql createInsertUpsertSql(String tableName, List<String> columnNames, String conflictClause)
+    {
+        StringBuilder sql = new StringBuilder(100 + columnNames.size() * 30 + conflictClause.length());
+        int[] parameterColumns = new int[columnNames.size()];
+        
+        sql.append("INSERT INTO ").append(tableName).append(" (").append(String.join(", ", columnNames)).append(") VALUES (");
+        for (int i = 0; i < columnNames.size(); ++i)
+        {
+            sql.append(i == 0 ? "?" : ", ?");
+            parameterColumns[i] = i;
+        }
+        sql.append(") ").append(conflictClause);
+        
+        return new UpsertSql(sql.toString(), parameterColumns);
+    }
+    
+    
+    /**
+     * Creates the SET assignments of non key columns.
+     * 
+     * @param columnNames names of all columns
+     * @param keyColumnNames names of primary key columns
+     * @param valueFormat format of new value where %s is column name like "EXCLUDED.%s"
+     * @return "c2 = value2, c3 = value3..." or empty string if all columns are keys
+     */
+    protected String createUpdateAssignments(List<String> columnNames, List<String> keyColumnNames, String valueFormat)
+    {
+        StringBuilder assignments = new StringBuilder(columnNames.size() * 30);
+        
+        for (String c : columnNames)
+        {
+            if (!keyColumnNames.contains(c))
+            {
+                if (assignments.length() > 0) assignments.append(", ");
+                assignments.append(c).append(" = ").append(String.format(valueFormat, c));
+            }
+        }
+        
+        return assignments.toString();
+    }
+}
@@ -0,0 +1,106 @@
+/* sormula - Simple object relational mapping
+ * Copyright (C) 2011-2020 Jeff Miller
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sormula.dialect;
+
+import java.util.List;
+
+
+/**
+ * Dialect for H2.
+ * 
+ * @author Jeff Miller
+ * @since 4.4
+ */
+public class H2Dialect extends Dialect
+{
+    /**
+     * {@inheritDoc}
+     * H2 has no fixed limit, 32767 keeps statements a reasonable size.
+     */
+    @Override
+    public int getMaxParameters()
+    {
+        return 32767;
+    }
+    
+    
+    /**
+     * {@inheritDoc}
+     * H2 returns keys for all rows of a batch.
+     */
+    @Override
+    public boolean isBatchGeneratedKeys()
+    {
+        return true;
+    }
+    
+    
+    /**
+     * {@inheritDoc}
+     * Uses MERGE INTO table (c1, c2, ...) KEY (k1, ...) VALUES (?, ?, ...).
+     */
+    @Override
+    public UpsertSql createUpsertSql(String tableName, List<String> columnNames, List<String> keyColumnNames)
+    {
+        StringBuilder sql = new StringBuilder(100 + columnNames.size() * 30);
+        int[] parameterColumns = new int[columnNames.size()];
+        
+        sql.append("MERGE INTO ").append(tableName).append(" (").append(String.join(", ", columnNames));
+        sql.append(") KEY (").append(String.join(", ", keyColumnNames)).append(") VALUES (");
+        for (int i = 0; i < columnNames.size(); ++i)
+        {
+            sql.append(i == 0 ? "?" : ", ?");
+            parameterColumns[i] = i;
+        }
+        sql.append(")");
+        
+        return new UpsertSql(sql.toString(), parameterColumns);
+    }
+    
+    
+    /**
+     * {@inheritDoc}
+     * Returns true.
+     */
+    @Override
+    public boolean isRowValueComparison()
+    {
+        return true;
+    }
+    
+    
+    /**
+     * {@inheritDoc}
+     * Returns true.
+     */
+    @Override
+    public boolean isWindowCount()
+    {
+        return true;
+    }
+    
+    
+    /**
+     * {@inheritDoc}
+     * Uses standard OFFSET offset ROWS FETCH FIRST maximumRows ROWS ONLY.
+     */
+    @Override
+    public String getLimitSql(int offset, int maximumRows, boolean ordered)
+    {
+        return createOffsetFetchSql(offset, maximumRows);
+    }
+}
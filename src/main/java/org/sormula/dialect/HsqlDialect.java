@@ -0,0 +1,83 @@
+/* sormula - Simple object relational mapping
+ * Copyright (C) 2011-2020 Jeff Miller
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sormula.dialect;
+
+import java.util.List;
+
+
+/**
+ * Dialect for HSQLDB.
+ * 
+ * @author Jeff Miller
+ * @since 4.4
+ */
+public class HsqlDialect extends Dialect
+{
+    /**
+     * {@inheritDoc}
+     * HSQLDB has no fixed limit, 32767 keeps statements a reasonable size.
+     */
+    @Override
+    public int getMaxParameters()
+    {
+        return 32767;
+    }
+    
+    
+    /**
+     * {@inheritDoc}
+     * Uses CALL NEXT VALUE FOR sequence.
+     */
+    @Override
+    public String getNextSequenceValueSql(String sequenceName)
+    {
+        return "CALL NEXT VALUE FOR " + sequenceName;
+    }
+    
+    
+    /**
+     * {@inheritDoc}
+     * HSQLDB returns keys for all rows of a batch.
+     */
+    @Override
+    public boolean isBatchGeneratedKeys()
+    {
+        return true;
+    }
+    
+    
+    /**
+     * {@inheritDoc}
+     * Uses MERGE with (VALUES(0)) AS s(sormula_source) as source.
+     */
+    @Override
+    public UpsertSql createUpsertSql(String tableName, List<String> columnNames, List<String> keyColumnNames)
+    {
+        return createMergeUpsertSql(tableName, columnNames, keyColumnNames, "(VALUES(0)) AS s(sormula_source)");
+    }
+    
+    
+    /**
+     * {@inheritDoc}
+     * Uses standard OFFSET offset ROWS FETCH FIRST maximumRows ROWS ONLY.
+     */
+    @Override
+    public String getLimitSql(int offset, int maximumRows, boolean ordered)
+    {
+        return createOffsetFetchSql(offset, maximumRows);
+    }
+}
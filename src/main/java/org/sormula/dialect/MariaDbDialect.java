@@ -0,0 +1,52 @@
+/* sormula - Simple object relational mapping
+ * Copyright (C) 2011-2020 Jeff Miller
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sormula.dialect;
+
+import java.util.List;
+
+
+/**
+ * Dialect for MariaDB. Same as {@link MySqlDialect} except that MariaDB has sequences and 
+ * no row alias for upsert.
+ * 
+ * @author Jeff Miller
+ * @since 4.4
+ */
+public class MariaDbDialect extends MySqlDialect
+{
+    /**
+     * {@inheritDoc}
+     * Uses SELECT NEXTVAL(sequence) which requires MariaDB 10.3 or later.
+     */
+    @Override
+    public String getNextSequenceValueSql(String sequenceName)
+    {
+        return "SELECT NEXTVAL(" + sequenceName + ")";
+    }
+    
+    
+    /**
+     * {@inheritDoc}
+     * Uses INSERT ... ON DUPLICATE KEY UPDATE c2 = VALUES(c2), ... since MariaDB does not support 
+     * a row alias.
+     */
+    @Override
+    public UpsertSql createUpsertSql(String tableName, List<String> columnNames, List<String> keyColumnNames)
+    {
+        return createDuplicateKeyUpsertSql(tableName, columnNames, keyColumnNames, "", "VALUES(%s)");
+    }
+}
@@ -0,0 +1,141 @@
+/* sormula - Simple object relational mapping
+ * Copyright (C) 2011-2020 Jeff Miller
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sormula.dialect;
+
+import java.util.List;
+
+
+/**
+ * Dialect for MySQL. Super class of {@link MariaDbDialect}.
+ * 
+ * @author Jeff Miller
+ * @since 4.4
+ */
+public class MySqlDialect extends Dialect
+{
+    /**
+     * {@inheritDoc}
+     * Limit of MySQL protocol.
+     */
+    @Override
+    public int getMaxParameters()
+    {
+        return 65535;
+    }
+    
+    
+    /**
+     * {@inheritDoc}
+     * MySQL driver streams rows one at a time only when fetch size is {@link Integer#MIN_VALUE} unless 
+     * connection property useCursorFetch is true.
+     */
+    @Override
+    public int getStreamFetchSize(int fetchSize)
+    {
+        return Integer.MIN_VALUE;
+    }
+    
+    
+    /**
+     * {@inheritDoc}
+     * MySQL has no sequences.
+     */
+    @Override
+    public String getNextSequenceValueSql(String sequenceName)
+    {
+        return null;
+    }
+    
+    
+    /**
+     * {@inheritDoc}
+     * Uses LIMIT maximumRows OFFSET offset. MySQL requires LIMIT with OFFSET so the largest
+     * limit is used when only offset is needed.
+     */
+    @Override
+    public String getLimitSql(int offset, int maximumRows, boolean ordered)
+    {
+        String sql = "LIMIT " + (maximumRows < Integer.MAX_VALUE ? Integer.toString(maximumRows) : "18446744073709551615");
+        if (offset > 0) sql += " OFFSET " + offset;
+        return sql;
+    }
+    
+    
+    /**
+     * {@inheritDoc}
+     * MySQL driver returns keys for all rows of a batch.
+     */
+    @Override
+    public boolean isBatchGeneratedKeys()
+    {
+        return true;
+    }
+    
+    
+    /**
+     * {@inheritDoc}
+     * Uses INSERT ... AS sormula_new ON DUPLICATE KEY UPDATE c2 = sormula_new.c2, ... which requires 
+     * MySQL 8.0.19 or later. MySQL reports 2 rows affected when an existing row is updated. 
+     * {@link org.sormula.operation.SaveOperation} counts it as 1 row.
+     */
+    @Override
+    public UpsertSql createUpsertSql(String tableName, List<String> columnNames, List<String> keyColumnNames)
+    {
+        return createDuplicateKeyUpsertSql(tableName, columnNames, keyColumnNames, "AS sormula_new ", "sormula_new.%s");
+    }
+    
+    
+    /**
+     * Creates INSERT ... ON DUPLICATE KEY UPDATE sql.
+     * 
+     * @param tableName name of table
+     * @param columnNames names of all columns in order of parameters
+     * @param keyColumnNames names of primary key columns
+     * @param rowAlias alias of inserted row followed by a space; empty string if none
+     * @param valueFormat format of new value where %s is column name like "VALUES(%s)"
+     * @return upsert sql
+     */
+    protected UpsertSql createDuplicateKeyUpsertSql(String tableName, List<String> columnNames, List<String> keyColumnNames, 
+            String rowAlias, String valueFormat)
+    {
+        String assignments = createUpdateAssignments(columnNames, keyColumnNames, valueFormat);
+        if (assignments.length() == 0) assignments = keyColumnNames.get(0) + " = " + keyColumnNames.get(0); // no change
+        return createInsertUpsertSql(tableName, columnNames, rowAlias + "ON DUPLICATE KEY UPDATE " + assignments);
+    }
+    
+    
+    /**
+     * {@inheritDoc}
+     * Returns true.
+     */
+    @Override
+    public boolean isRowValueComparison()
+    {
+        return true;
+    }
+    
+    
+    /**
+     * {@inheritDoc}
+     * Returns true.
+     */
+    @Override
+    public boolean isWindowCount()
+    {
+        return true;
+    }
+}
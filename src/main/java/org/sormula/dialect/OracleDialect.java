@@ -0,0 +1,116 @@
+/* sormula - Simple object relational mapping
+ * Copyright (C) 2011-2020 Jeff Miller
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sormula.dialect;
+
+import java.util.List;
+
+
+/**
+ * Dialect for Oracle.
+ * 
+ * @author Jeff Miller
+ * @since 4.4
+ */
+public class OracleDialect extends Dialect
+{
+    /**
+     * {@inheritDoc}
+     * Limit of Oracle.
+     */
+    @Override
+    public int getMaxParameters()
+    {
+        return 65535;
+    }
+    
+    
+    /**
+     * {@inheritDoc}
+     * Oracle does not support multiple rows in VALUES prior to version 23.
+     */
+    @Override
+    public boolean isMultiRowInsert()
+    {
+        return false;
+    }
+    
+    
+    /**
+     * {@inheritDoc}
+     * Oracle driver uses RETURNING INTO for generated key columns.
+     */
+    @Override
+    public boolean isBatchGeneratedKeys()
+    {
+        return true;
+    }
+    
+    
+    /**
+     * {@inheritDoc}
+     * Oracle expects upper case names for unquoted columns.
+     */
+    @Override
+    public String getGeneratedKeyColumnName(String columnName)
+    {
+        return columnName.toUpperCase();
+    }
+    
+    
+    /**
+     * {@inheritDoc}
+     * Uses SELECT sequence.NEXTVAL FROM DUAL.
+     */
+    @Override
+    public String getNextSequenceValueSql(String sequenceName)
+    {
+        return "SELECT " + sequenceName + ".NEXTVAL FROM DUAL";
+    }
+    
+    
+    /**
+     * {@inheritDoc}
+     * Uses MERGE with DUAL as source.
+     */
+    @Override
+    public UpsertSql createUpsertSql(String tableName, List<String> columnNames, List<String> keyColumnNames)
+    {
+        return createMergeUpsertSql(tableName, columnNames, keyColumnNames, "DUAL");
+    }
+    
+    
+    /**
+     * {@inheritDoc}
+     * Returns true.
+     */
+    @Override
+    public boolean isWindowCount()
+    {
+        return true;
+    }
+    
+    
+    /**
+     * {@inheritDoc}
+     * Uses standard OFFSET offset ROWS FETCH FIRST maximumRows ROWS ONLY.
+     */
+    @Override
+    public String getLimitSql(int offset, int maximumRows, boolean ordered)
+    {
+        return createOffsetFetchSql(offset, maximumRows);
+    }
+}
@@ -0,0 +1,119 @@
+/* sormula - Simple object relational mapping
+ * Copyright (C) 2011-2020 Jeff Miller
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sormula.dialect;
+
+import java.util.List;
+
+
+/**
+ * Dialect for PostgreSQL.
+ * 
+ * @author Jeff Miller
+ * @since 4.4
+ */
+public class PostgreSqlDialect extends Dialect
+{
+    /**
+     * {@inheritDoc}
+     * Limit of PostgreSQL JDBC driver.
+     */
+    @Override
+    public int getMaxParameters()
+    {
+        return 32767;
+    }
+    
+    
+    /**
+     * {@inheritDoc}
+     * PostgreSQL driver uses a cursor only when auto commit is off and fetch size is greater than zero.
+     */
+    @Override
+    public boolean isStreamAutoCommitOff()
+    {
+        return true;
+    }
+    
+    
+    /**
+     * {@inheritDoc}
+     * Uses SELECT nextval('sequence').
+     */
+    @Override
+    public String getNextSequenceValueSql(String sequenceName)
+    {
+        return "SELECT nextval('" + sequenceName + "')";
+    }
+    
+    
+    /**
+     * {@inheritDoc}
+     * PostgreSQL driver appends RETURNING for generated key columns.
+     */
+    @Override
+    public boolean isBatchGeneratedKeys()
+    {
+        return true;
+    }
+    
+    
+    /**
+     * {@inheritDoc}
+     * Uses INSERT ... ON CONFLICT (k1, ...) DO UPDATE SET c2 = EXCLUDED.c2, ...
+     */
+    @Override
+    public UpsertSql createUpsertSql(String tableName, List<String> columnNames, List<String> keyColumnNames)
+    {
+        String assignments = createUpdateAssignments(columnNames, keyColumnNames, "EXCLUDED.%s");
+        String conflictClause = "ON CONFLICT (" + String.join(", ", keyColumnNames) + ") DO " +
+                (assignments.length() > 0 ? "UPDATE SET " + assignments : "NOTHING");
+        return createInsertUpsertSql(tableName, columnNames, conflictClause);
+    }
+    
+    
+    /**
+     * {@inheritDoc}
+     * Returns true.
+     */
+    @Override
+    public boolean isRowValueComparison()
+    {
+        return true;
+    }
+    
+    
+    /**
+     * {@inheritDoc}
+     * Returns true.
+     */
+    @Override
+    public boolean isWindowCount()
+    {
+        return true;
+    }
+    
+    
+    /**
+     * {@inheritDoc}
+     * Uses standard OFFSET offset ROWS FETCH FIRST maximumRows ROWS ONLY.
+     */
+    @Override
+    public String getLimitSql(int offset, int maximumRows, boolean ordered)
+    {
+        return createOffsetFetchSql(offset, maximumRows);
+    }
+}
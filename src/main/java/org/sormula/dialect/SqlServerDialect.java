@@ -0,0 +1,74 @@
+/* sormula - Simple object relational mapping
+ * Copyright (C) 2011-2020 Jeff Miller
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sormula.dialect;
+
+
+/**
+ * Dialect for Microsoft SQL Server.
+ * 
+ * @author Jeff Miller
+ * @since 4.4
+ */
+public class SqlServerDialect extends Dialect
+{
+    /**
+     * {@inheritDoc}
+     * SQL Server allows 2100 parameters, some are reserved for driver use.
+     */
+    @Override
+    public int getMaxParameters()
+    {
+        return 2000;
+    }
+    
+    
+    /**
+     * {@inheritDoc}
+     * Uses SELECT NEXT VALUE FOR sequence.
+     */
+    @Override
+    public String getNextSequenceValueSql(String sequenceName)
+    {
+        return "SELECT NEXT VALUE FOR " + sequenceName;
+    }
+    
+    
+    /**
+     * {@inheritDoc}
+     * SQL Server allows OFFSET and FETCH only with ORDER BY so null is returned when select is not ordered.
+     * Uses OFFSET offset ROWS FETCH NEXT maximumRows ROWS ONLY.
+     */
+    @Override
+    public String getLimitSql(int offset, int maximumRows, boolean ordered)
+    {
+        if (!ordered) return null;
+        String sql = "OFFSET " + offset + " ROWS";
+        if (maximumRows < Integer.MAX_VALUE) sql += " FETCH NEXT " + maximumRows + " ROWS ONLY";
+        return sql;
+    }
+    
+    
+    /**
+     * {@inheritDoc}
+     * Returns true.
+     */
+    @Override
+    public boolean isWindowCount()
+    {
+        return true;
+    }
+}
@@ -0,0 +1,85 @@
+/* sormula - Simple object relational mapping
+ * Copyright (C) 2011-2020 Jeff Miller
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sormula.dialect;
+
+import java.util.List;
+
+
+/**
+ * Sql for a single statement that updates a row if it exists or inserts it if it does not. Created
+ * by {@link Dialect#createUpsertSql(String, List, List)}.
+ * 
+ * @author Jeff Miller
+ * @since 4.4
+ */
+public class UpsertSql
+{
+    final String sql;
+    final int[] parameterColumns;
+    
+    
+    /**
+     * Constructs for sql and the columns of parameters.
+     * 
+     * @param sql upsert statement with ? parameters
+     * @param parameterColumns for each parameter in sql, the index of the column in column names
+     * that were used to create the sql
+     */
+    public UpsertSql(String sql, int[] parameterColumns)
+    {
+        this.sql = sql;
+        this.parameterColumns = parameterColumns;
+    }
+
+    
+    /**
+     * @return upsert statement with ? parameters
+     */
+    public String getSql()
+    {
+        return sql;
+    }
+
+
+    /**
+     * Gets the column of each parameter. Columns of a row may be written more than once or
+     * in an order that is different from the column order.
+     * 
+     * @return for each parameter in sql, the index of the column in column names
+     */
+    public int[] getParameterColumns()
+    {
+        return parameterColumns.clone();
+    }
+    
+    
+    /**
+     * Tests if parameters are the columns in column order. When true, the row may be written with
+     * the same parameters as an insert.
+     * 
+     * @return true if parameter i is column i for all parameters
+     */
+    public boolean isColumnOrder()
+    {
+        for (int i = 0; i < parameterColumns.length; ++i)
+        {
+            if (parameterColumns[i] != i) return false;
+        }
+        
+        return true;
+    }
+}
@@ -0,0 +1,25 @@
+/* sormula - Simple object relational mapping
+ * Copyright (C) 2011-2020 Jeff Miller
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+/**
+ * Differences in sql and limits among databases. {@link org.sormula.dialect.Dialect} describes standard sql
+ * and is the super class of dialects for specific databases. The dialect for a database is
+ * chosen from the JDBC product name with {@link org.sormula.dialect.Dialect#newInstance(String)}
+ * unless it is set with {@link org.sormula.Database#setDialect(org.sormula.dialect.Dialect)}.
+ */
+package org.sormula.dialect;
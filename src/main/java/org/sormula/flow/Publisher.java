@@ -0,0 +1,37 @@
+/* sormula - Simple object relational mapping
+ * Copyright (C) 2011-2020 Jeff Miller
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sormula.flow;
+
+
+/**
+ * Producer of items that are received by a {@link Subscriber}. Same as java.util.concurrent.Flow.Publisher.
+ * 
+ * @author Jeff Miller
+ * @since 4.4
+ * @param <T> type of items published
+ */
+@FunctionalInterface
+public interface Publisher<T>
+{
+    /**
+     * Adds a subscriber. {@link Subscriber#onSubscribe(Subscription)} is invoked with a new subscription.
+     * If the subscription cannot be created, {@link Subscriber#onError(Throwable)} is invoked.
+     * 
+     * @param subscriber receives items
+     */
+    public void subscribe(Subscriber<? super T> subscriber);
+}
@@ -0,0 +1,321 @@
+/* sormula - Simple object relational mapping
+ * Copyright (C) 2011-2020 Jeff Miller
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sormula.flow;
+
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import org.sormula.Database;
+import org.sormula.annotation.cascade.SelectCascade;
+import org.sormula.log.SormulaLogger;
+import org.sormula.log.SormulaLoggerFactory;
+import org.sormula.operation.OperationException;
+import org.sormula.operation.ScalarSelectOperation;
+import org.sormula.operation.UncheckedOperationException;
+
+
+/**
+ * Publishes the rows of a {@link ScalarSelectOperation} to one {@link Subscriber}. Rows are read with 
+ * {@link ScalarSelectOperation#stream()} only as fast as they are requested with {@link Subscription#request(long)},
+ * so a slow subscriber slows the reading of the JDBC cursor instead of causing rows to be buffered. The rows 
+ * that are read ahead are bounded by the fetch size of the operation. {@link SelectCascade} and other
+ * features of {@link ScalarSelectOperation#readNext()} apply to each row.
+ * <p>
+ * Rows are read and sent to the subscriber by tasks of an {@link Executor}. At most one task is 
+ * active at a time for a subscription. The operation is executed when the first row is requested and it is 
+ * closed when all rows have been published, upon error, or upon cancel.
+ * <p>
+ * The connection of the database is used by the executor thread while rows are published. Do not
+ * use the same {@link Database} in other threads until the subscription is complete.
+ * 
+ * @author Jeff Miller
+ * @since 4.4
+ * @param <R> class of row
+ */
+public class SelectPublisher<R> implements Publisher<R>
+{
+    private static final SormulaLogger log = SormulaLoggerFactory.getClassLogger();
+    static Executor defaultExecutor;
+    
+    ScalarSelectOperation<R> selectOperation;
+    Executor executor;
+    AtomicBoolean subscribed;
+    
+    
+    /**
+     * Gets the executor that is used when none is supplied. It uses virtual threads if they are 
+     * available, otherwise it uses a cached pool of daemon threads.
+     * 
+     * @return executor shared by all publishers that do not supply an executor
+     */
+    public static synchronized Executor getDefaultExecutor()
+    {
+        if (defaultExecutor == null)
+        {
+            try
+            {
+                // Java 21 and later
+                defaultExecutor = (ExecutorService)Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+            }
+            catch (Exception e)
+            {
+                // virtual threads are not available
+                defaultExecutor = Executors.newCachedThreadPool(runnable ->
+                {
+                    Thread thread = new Thread(runnable, "sormula-publisher");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+            }
+            
+            if (log.isDebugEnabled()) log.debug("default executor " + defaultExecutor);
+        }
+        
+        return defaultExecutor;
+    }
+    
+    
+    /**
+     * Constructs for an operation and executor. All parameters must be set on operation prior to
+     * subscribing.
+     * 
+     * @param selectOperation operation that reads rows; it is closed by this publisher
+     * @param executor runs the tasks that read and publish rows; null for {@link #getDefaultExecutor()}
+     */
+    public SelectPublisher(ScalarSelectOperation<R> selectOperation, Executor executor)
+    {
+        this.selectOperation = selectOperation;
+        this.executor = executor != null ? executor : getDefaultExecutor();
+        subscribed = new AtomicBoolean();
+    }
+    
+    
+    /**
+     * {@inheritDoc}
+     * Only one subscriber is allowed since rows are read once. Other subscribers receive
+     * {@link Subscriber#onError(Throwable)} with {@link IllegalStateException}.
+     */
+    @Override
+    public void subscribe(Subscriber<? super R> subscriber)
+    {
+        Objects.requireNonNull(subscriber, "subscriber");
+        
+        if (subscribed.compareAndSet(false, true))
+        {
+            subscriber.onSubscribe(new SelectSubscription(subscriber));
+        }
+        else
+        {
+            subscriber.onSubscribe(new Subscription()
+            {
+                public void request(long n) {}
+                public void cancel() {}
+            });
+            subscriber.onError(new IllegalStateException("only one subscriber is allowed for " + getClass().getSimpleName()));
+        }
+    }
+
+
+    /**
+     * @return operation that reads rows
+     */
+    public ScalarSelectOperation<R> getSelectOperation()
+    {
+        return selectOperation;
+    }
+
+
+    /**
+     * @return executor that runs the tasks that read and publish rows
+     */
+    public Executor getExecutor()
+    {
+        return executor;
+    }
+    
+    
+    /**
+     * Subscription that reads rows as they are requested.
+     */
+    class SelectSubscription implements Subscription, Runnable
+    {
+        Subscriber<? super R> subscriber;
+        AtomicLong demand;
+        AtomicInteger workInProgress; // number of signals not yet processed by run()
+        volatile boolean cancelled;
+        volatile Throwable requestError;
+        boolean done; // only used by run()
+        Stream<R> stream;
+        Spliterator<R> spliterator;
+        
+        
+        SelectSubscription(Subscriber<? super R> subscriber)
+        {
+            this.subscriber = subscriber;
+            demand = new AtomicLong();
+            workInProgress = new AtomicInteger();
+        }
+        
+        
+        @Override
+        public void request(long n)
+        {
+            if (n <= 0)
+            {
+                requestError = new IllegalArgumentException("request must be positive, n=" + n);
+            }
+            else
+            {
+                // add without overflow
+                demand.getAndUpdate(d -> d + n < 0 ? Long.MAX_VALUE : d + n);
+            }
+            
+            signal();
+        }
+
+
+        @Override
+        public void cancel()
+        {
+            cancelled = true;
+            signal();
+        }
+        
+        
+        /**
+         * Starts a task to publish if one is not active.
+         */
+        void signal()
+        {
+            if (workInProgress.getAndIncrement() == 0) executor.execute(this);
+        }
+        
+        
+        /**
+         * Publishes until all signals have been processed.
+         */
+        @Override
+        public void run()
+        {
+            int missed = 1;
+            do
+            {
+                publish();
+                missed = workInProgress.addAndGet(-missed);
+            }
+            while (missed != 0);
+        }
+        
+        
+        /**
+         * Reads and sends rows while there is demand.
+         */
+        void publish()
+        {
+            if (done) return;
+            
+            if (cancelled)
+            {
+                finish(null, false);
+            }
+            else if (requestError != null)
+            {
+                finish(requestError, true);
+            }
+            else
+            {
+                try
+                {
+                    if (stream == null)
+                    {
+                        // first request
+                        stream = selectOperation.stream();
+                        spliterator = stream.spliterator();
+                    }
+                    
+                    while (demand.get() > 0 && !cancelled)
+                    {
+                        if (!spliterator.tryAdvance(subscriber::onNext))
+                        {
+                            // no more rows
+                            finish(null, true);
+                            return;
+                        }
+                        
+                        if (demand.get() != Long.MAX_VALUE) demand.decrementAndGet();
+                    }
+                    
+                    if (cancelled) finish(null, false);
+                }
+                catch (UncheckedOperationException e)
+                {
+                    finish(e.getCause(), true);
+                }
+                catch (OperationException e)
+                {
+                    finish(e, true);
+                }
+                catch (RuntimeException e)
+                {
+                    // subscriber is not allowed to throw, treat as cancel
+                    log.error("subscriber error", e);
+                    finish(null, false);
+                }
+            }
+        }
+        
+        
+        /**
+         * Closes operation and optionally notifies subscriber.
+         * 
+         * @param error error to send to subscriber; null for complete
+         * @param notify true to notify subscriber
+         */
+        void finish(Throwable error, boolean notify)
+        {
+            done = true;
+            if (log.isDebugEnabled()) log.debug("finish publishing error=" + error + " notify=" + notify);
+            
+            try
+            {
+                if (stream != null) stream.close();
+                else selectOperation.close();
+            }
+            catch (UncheckedOperationException e)
+            {
+                if (error == null) error = e.getCause();
+            }
+            catch (OperationException e)
+            {
+                if (error == null) error = e;
+            }
+            
+            if (notify)
+            {
+                if (error != null) subscriber.onError(error);
+                else subscriber.onComplete();
+            }
+        }
+    }
+}
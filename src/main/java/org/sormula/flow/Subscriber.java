@@ -0,0 +1,59 @@
+/* sormula - Simple object relational mapping
+ * Copyright (C) 2011-2020 Jeff Miller
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sormula.flow;
+
+
+/**
+ * Receiver of items from a {@link Publisher}. Same as java.util.concurrent.Flow.Subscriber. Methods are
+ * invoked in order and never concurrently for a subscription.
+ * 
+ * @author Jeff Miller
+ * @since 4.4
+ * @param <T> type of items received
+ */
+public interface Subscriber<T>
+{
+    /**
+     * Invoked prior to all other methods for a new subscription. Items are not received
+     * until {@link Subscription#request(long)} is invoked.
+     * 
+     * @param subscription subscription to request items or to cancel
+     */
+    public void onSubscribe(Subscription subscription);
+    
+    
+    /**
+     * Receives the next item.
+     * 
+     * @param item next item
+     */
+    public void onNext(T item);
+    
+    
+    /**
+     * Invoked when an error occurs. No other methods are invoked afterward.
+     * 
+     * @param throwable the error
+     */
+    public void onError(Throwable throwable);
+    
+    
+    /**
+     * Invoked when there are no more items. No other methods are invoked afterward.
+     */
+    public void onComplete();
+}
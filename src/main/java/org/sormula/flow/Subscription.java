@@ -0,0 +1,40 @@
+/* sormula - Simple object relational mapping
+ * Copyright (C) 2011-2020 Jeff Miller
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sormula.flow;
+
+
+/**
+ * Link between a {@link Publisher} and a {@link Subscriber}. Same as java.util.concurrent.Flow.Subscription.
+ * 
+ * @author Jeff Miller
+ * @since 4.4
+ */
+public interface Subscription
+{
+    /**
+     * Adds n items to the number of items that the subscriber is ready to receive.
+     * 
+     * @param n number of items; {@link Long#MAX_VALUE} for unbounded
+     */
+    public void request(long n);
+    
+    
+    /**
+     * Stops sending items to the subscriber. Items may still be received for a short time.
+     */
+    public void cancel();
+}
@@ -0,0 +1,26 @@
+/* sormula - Simple object relational mapping
+ * Copyright (C) 2011-2020 Jeff Miller
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+/**
+ * Reactive publishing of selected rows with backpressure. The interfaces {@link org.sormula.flow.Publisher}, 
+ * {@link org.sormula.flow.Subscriber}, and {@link org.sormula.flow.Subscription} have the same methods as the 
+ * interfaces of java.util.concurrent.Flow so that sormula can be used with Java 8. With Java 9 and later, 
+ * a Flow.Subscriber may be adapted with a lambda for each method. {@link org.sormula.flow.SelectPublisher} 
+ * publishes the rows of a select operation.
+ */
+package org.sormula.flow;
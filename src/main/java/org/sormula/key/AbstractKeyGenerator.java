@@ -0,0 +1,119 @@
+/* sormula - Simple object relational mapping
+ * Copyright (C) 2011-2020 Jeff Miller
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sormula.key;
+
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+import org.sormula.Table;
+
+
+/**
+ * Base class for generators of numeric keys. Subclasses create keys as long with {@link #nextLong()}.
+ * Keys are converted to the type of the field. Supported field types are long, int, {@link Long}, 
+ * {@link Integer}, {@link BigInteger}, {@link BigDecimal} and {@link String}. 
+ * 
+ * @author Jeff Miller
+ * @since 4.4
+ */
+public abstract class AbstractKeyGenerator implements KeyGenerator
+{
+    Table<?> table;
+    Field field;
+    Class<?> keyType;
+    
+    
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void init(Table<?> table, Field field) throws KeyGeneratorException
+    {
+        this.table = table;
+        this.field = field;
+        keyType = field.getType();
+        
+        if (keyType != long.class && keyType != Long.class && keyType != int.class && keyType != Integer.class &&
+            keyType != BigInteger.class && keyType != BigDecimal.class && keyType != String.class)
+        {
+            throw new KeyGeneratorException(getClass().getSimpleName() + " does not support type " + keyType + " of " + field);
+        }
+    }
+    
+    
+    /**
+     * Gets next key from {@link #nextLong()} as type of field.
+     * 
+     * @return next key
+     * @throws KeyGeneratorException if error or if key is too large for field
+     */
+    @Override
+    public Object nextKey() throws KeyGeneratorException
+    {
+        long key = nextLong();
+        
+        if (keyType == long.class || keyType == Long.class)
+        {
+            return key;
+        }
+        else if (keyType == int.class || keyType == Integer.class)
+        {
+            if (key > Integer.MAX_VALUE) throw new KeyGeneratorException("key " + key + " is too large for " + field);
+            return (int)key;
+        }
+        else if (keyType == BigInteger.class)
+        {
+            return BigInteger.valueOf(key);
+        }
+        else if (keyType == BigDecimal.class)
+        {
+            return BigDecimal.valueOf(key);
+        }
+        else
+        {
+            return Long.toString(key);
+        }
+    }
+    
+    
+    /**
+     * Creates the next key.
+     * 
+     * @return key
+     * @throws KeyGeneratorException if error
+     */
+    protected abstract long nextLong() throws KeyGeneratorException;
+
+
+    /**
+     * @return table of key column
+     */
+    public Table<?> getTable()
+    {
+        return table;
+    }
+
+
+    /**
+     * @return field of row class that is the key
+     */
+    public Field getField()
+    {
+        return field;
+    }
+}
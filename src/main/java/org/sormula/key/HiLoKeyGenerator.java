@@ -0,0 +1,143 @@
+/* sormula - Simple object relational mapping
+ * Copyright (C) 2011-2020 Jeff Miller
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sormula.key;
+
+import java.lang.reflect.Field;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+import org.sormula.Table;
+import org.sormula.annotation.KeySequence;
+import org.sormula.dialect.Dialect;
+import org.sormula.log.SormulaLogger;
+import org.sormula.log.SormulaLoggerFactory;
+
+
+/**
+ * Generates keys with the hi/lo algorithm. A block of {@link KeySequence#allocationSize()} keys is reserved 
+ * with one value (hi) from a database sequence. Keys within the block are assigned without accessing
+ * the database. Keys are unique among all generators that use the same sequence and allocation size 
+ * even if they are in different JVMs. 
+ * <p>
+ * The sql for the next sequence value is from {@link Dialect#getNextSequenceValueSql(String)}. The 
+ * sequence is read with the connection of the database of the table. Keys that are reserved but not
+ * used are lost.
+ * 
+ * @author Jeff Miller
+ * @since 4.4
+ * @see KeySequence
+ */
+public class HiLoKeyGenerator extends AbstractKeyGenerator
+{
+    private static final SormulaLogger log = SormulaLoggerFactory.getClassLogger();
+    String sequenceName;
+    int allocationSize;
+    long next;
+    long limit;
+    
+    
+    /**
+     * {@inheritDoc}
+     * Reads {@link KeySequence} from field.
+     */
+    @Override
+    public void init(Table<?> table, Field field) throws KeyGeneratorException
+    {
+        super.init(table, field);
+        
+        KeySequence keySequenceAnnotation = field.getAnnotation(KeySequence.class);
+        if (keySequenceAnnotation != null)
+        {
+            sequenceName = keySequenceAnnotation.name();
+            allocationSize = keySequenceAnnotation.allocationSize();
+        }
+        else
+        {
+            sequenceName = "";
+            allocationSize = 100;
+        }
+        
+        if (sequenceName.length() == 0) sequenceName = table.getTableName() + "_seq";
+        if (allocationSize < 1) throw new KeyGeneratorException("allocation size must be at least 1 for " + field);
+    }
+    
+    
+    /**
+     * {@inheritDoc}
+     * Reserves a new block of keys when all keys of the current block have been used.
+     */
+    @Override
+    protected synchronized long nextLong() throws KeyGeneratorException
+    {
+        if (next >= limit)
+        {
+            long hi = readSequence();
+            next = hi * allocationSize;
+            limit = next + allocationSize;
+            if (next == 0) ++next; // zero means no key
+            if (log.isDebugEnabled()) log.debug(sequenceName + " reserved keys " + next + " to " + (limit - 1));
+        }
+        
+        return next++;
+    }
+    
+    
+    /**
+     * Reads the next value of the sequence.
+     * 
+     * @return next sequence value
+     * @throws KeyGeneratorException if error
+     */
+    protected long readSequence() throws KeyGeneratorException
+    {
+        String sql = getTable().getDatabase().getDialect().getNextSequenceValueSql(sequenceName);
+        if (sql == null) throw new KeyGeneratorException("database does not support sequences for " + getField());
+        
+        try (Statement statement = getTable().getDatabase().getConnection().createStatement();
+             ResultSet resultSet = statement.executeQuery(sql))
+        {
+            if (!resultSet.next()) throw new KeyGeneratorException("no value from " + sql);
+            return resultSet.getLong(1);
+        }
+        catch (KeyGeneratorException e)
+        {
+            throw e;
+        }
+        catch (Exception e)
+        {
+            throw new KeyGeneratorException("error reading sequence " + sql, e);
+        }
+    }
+
+
+    /**
+     * @return name of database sequence
+     */
+    public String getSequenceName()
+    {
+        return sequenceName;
+    }
+
+
+    /**
+     * @return number of keys reserved with each sequence value
+     */
+    public int getAllocationSize()
+    {
+        return allocationSize;
+    }
+}
@@ -0,0 +1,58 @@
+/* sormula - Simple object relational mapping
+ * Copyright (C) 2011-2020 Jeff Miller
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sormula.key;
+
+import java.lang.reflect.Field;
+
+import org.sormula.Table;
+import org.sormula.annotation.Column;
+import org.sormula.operation.InsertOperation;
+
+
+/**
+ * Creates key values for a column prior to insert. Declare with {@link Column#keyGenerator()}. One
+ * instance is created with a no-argument constructor for each column of each {@link Table} that 
+ * declares a generator. {@link InsertOperation} sets the key in a row with {@link #nextKey()} when 
+ * the key field is null or zero. 
+ * <p>
+ * Implementations must be thread safe since a table may be used by more than one operation.
+ * 
+ * @author Jeff Miller
+ * @since 4.4
+ * @see HiLoKeyGenerator
+ * @see TimeOrderedKeyGenerator
+ */
+public interface KeyGenerator
+{
+    /**
+     * Initializes generator for a column. Invoked once when table is created.
+     * 
+     * @param table table of column
+     * @param field field of row class that is the key
+     * @throws KeyGeneratorException if field type is not supported or generator cannot be initialized
+     */
+    public void init(Table<?> table, Field field) throws KeyGeneratorException;
+    
+    
+    /**
+     * Gets the next key.
+     * 
+     * @return new key value of the field type
+     * @throws KeyGeneratorException if error
+     */
+    public Object nextKey() throws KeyGeneratorException;
+}
@@ -0,0 +1,115 @@
+/* sormula - Simple object relational mapping
+ * Copyright (C) 2011-2020 Jeff Miller
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sormula.key;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+import org.sormula.reflect.RowField;
+
+
+/**
+ * A key column of a row class and the generator that creates its keys.
+ * 
+ * @author Jeff Miller
+ * @since 4.4
+ * @param <R> class of row
+ */
+public class KeyGeneratorColumn<R>
+{
+    RowField<R, Object> rowField;
+    KeyGenerator keyGenerator;
+    
+    
+    /**
+     * Constructs for a field and generator.
+     * 
+     * @param rowField key field
+     * @param keyGenerator generator of keys for field
+     */
+    public KeyGeneratorColumn(RowField<R, Object> rowField, KeyGenerator keyGenerator)
+    {
+        this.rowField = rowField;
+        this.keyGenerator = keyGenerator;
+    }
+    
+    
+    /**
+     * Sets a new key in row if key field is null or zero. Keys that are already 
+     * set are not changed.
+     * 
+     * @param row row to receive key
+     * @return true if new key was set
+     * @throws KeyGeneratorException if error
+     */
+    public boolean generate(R row) throws KeyGeneratorException
+    {
+        try
+        {
+            if (isUnset(rowField.get(row)))
+            {
+                rowField.set(row, keyGenerator.nextKey());
+                return true;
+            }
+        }
+        catch (KeyGeneratorException e)
+        {
+            throw e;
+        }
+        catch (Exception e)
+        {
+            throw new KeyGeneratorException("error generating key for " + rowField.getField(), e);
+        }
+        
+        return false;
+    }
+    
+    
+    /**
+     * Tests if key value has not been set.
+     * 
+     * @param key value of key field
+     * @return true if null, numeric zero, or empty string
+     */
+    protected boolean isUnset(Object key)
+    {
+        if (key == null) return true;
+        else if (key instanceof BigDecimal) return ((BigDecimal)key).signum() == 0;
+        else if (key instanceof BigInteger) return ((BigInteger)key).signum() == 0;
+        else if (key instanceof Number) return ((Number)key).longValue() == 0;
+        else if (key instanceof String) return ((String)key).length() == 0;
+        else return false;
+    }
+
+
+    /**
+     * @return key field
+     */
+    public RowField<R, Object> getRowField()
+    {
+        return rowField;
+    }
+
+
+    /**
+     * @return generator of keys
+     */
+    public KeyGenerator getKeyGenerator()
+    {
+        return keyGenerator;
+    }
+}
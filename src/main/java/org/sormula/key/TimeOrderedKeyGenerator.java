@@ -0,0 +1,83 @@
+/* sormula - Simple object relational mapping
+ * Copyright (C) 2011-2020 Jeff Miller
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sormula.key;
+
+import java.lang.reflect.Field;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.sormula.Table;
+
+
+/**
+ * Generates increasing keys from the current time without accessing the database. A key is the 
+ * milliseconds since {@link #EPOCH} shifted left by {@link #COUNTER_BITS} plus a counter for keys 
+ * created within the same millisecond. Keys are unique within a JVM for all tables that use this 
+ * generator. Keys are not unique among JVMs that insert into the same table.
+ * <p>
+ * Keys are too large for int fields. Use long, {@link Long}, or {@link String} fields.
+ * 
+ * @author Jeff Miller
+ * @since 4.4
+ */
+public class TimeOrderedKeyGenerator extends AbstractKeyGenerator
+{
+    /**
+     * Start of time for keys, 2020-01-01T00:00:00Z in milliseconds.
+     */
+    public static final long EPOCH = 1577836800000L;
+    
+    /**
+     * Number of low bits of a key that count keys created within the same millisecond.
+     */
+    public static final int COUNTER_BITS = 16;
+    
+    static final AtomicLong lastKey = new AtomicLong();
+    
+    
+    /**
+     * {@inheritDoc}
+     * Int and {@link Integer} fields are not supported since all keys are greater than {@link Integer#MAX_VALUE}.
+     */
+    @Override
+    public void init(Table<?> table, Field field) throws KeyGeneratorException
+    {
+        super.init(table, field);
+        
+        if (keyType == int.class || keyType == Integer.class)
+        {
+            throw new KeyGeneratorException(getClass().getSimpleName() + " keys are too large for type " + keyType + " of " + field);
+        }
+    }
+    
+    
+    /**
+     * {@inheritDoc}
+     * Key is greater than all previous keys of the JVM.
+     */
+    @Override
+    protected long nextLong()
+    {
+        long timeKey = (System.currentTimeMillis() - EPOCH) << COUNTER_BITS;
+        
+        while (true)
+        {
+            long last = lastKey.get();
+            long key = Math.max(last + 1, timeKey);
+            if (lastKey.compareAndSet(last, key)) return key;
+        }
+    }
+}
@@ -0,0 +1,25 @@
+/* sormula - Simple object relational mapping
+ * Copyright (C) 2011-2020 Jeff Miller
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+/**
+ * Generators of primary key values that are assigned to rows by sormula prior to insert. A key
+ * generator is declared for a column with {@link org.sormula.annotation.Column#keyGenerator()}. Since the key is 
+ * known before the row is inserted, batch inserts and deferred inserts of {@link org.sormula.cache.Cache} may be
+ * used for tables with generated keys.
+ */
+package org.sormula.key;
@@ -151,13 +151,23 @@ public class DeleteOperation<R> extends ModifyOperation<R>
      */
     protected void initBaseSql()
     {
-        String tableName = getTable().getQualifiedTableName();
-        StringBuilder sql = new StringBuilder(tableName.length() + 50);
+        // same for all delete operations on table
+        OperationPlanCache operationPlanCache = getTable().getOperationPlanCache();
+        List<Object> key = OperationPlanCache.key("baseSql", DeleteOperation.class);
+        String baseSql = operationPlanCache.get(key);
         
-        sql.append("DELETE FROM ");
-        sql.append(tableName);
+        if (baseSql == null)
+        {
+            String tableName = getTable().getQualifiedTableName();
+            StringBuilder sql = new StringBuilder(tableName.length() + 50);
+            
+            sql.append("DELETE FROM ");
+            sql.append(tableName);
+            
+            baseSql = operationPlanCache.put(key, sql.toString());
+        }
         
-        setBaseSql(sql.toString());
+        setBaseSql(baseSql);
     }
     
     
@@ -168,7 +178,7 @@ public class DeleteOperation<R> extends ModifyOperation<R>
     protected List<CascadeOperation<R, ?>> prepareCascades(Field field) throws OperationException
     {
         List<CascadeOperation<R, ?>> co = null;
-        DeleteCascadeAnnotationReader car = new DeleteCascadeAnnotationReader(field);
+        DeleteCascadeAnnotationReader car = getCascadeAnnotationReader(field, DeleteCascadeAnnotationReader.class, DeleteCascadeAnnotationReader::new);
         DeleteCascade[] deleteCascades = car.getDeleteCascades();
         
         if (deleteCascades.length > 0 && isRequiredCascade(car.getName()))
@@ -186,7 +196,7 @@ public class DeleteOperation<R> extends ModifyOperation<R>
                 if (log.isDebugEnabled()) log.debug("prepare cascade " + c.operation());
                 @SuppressWarnings("unchecked") // target field type is not known at compile time
                 CascadeOperation<R, ?> operation = new DeleteCascadeOperation(this, targetField, targetTable, c);
-                if (c.setForeignKeyValues()) operation.setForeignKeyFieldNames(car.getForeignKeyValueFields());
+                if (c.setForeignKeyValues() || c.batched()) operation.setForeignKeyFieldNames(car.getForeignKeyValueFields()); // batched deletes by foreign keys
                 if (c.setForeignKeyReference()) operation.setForeignKeyReferenceFieldName(car.getForeignKeyReferenceField());
 
                 operation.prepare();
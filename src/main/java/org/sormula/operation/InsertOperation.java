@@ -17,6 +17,7 @@
 package org.sormula.operation;
 
 import java.lang.reflect.Field;
+import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
@@ -24,18 +25,25 @@ import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 
+import org.sormula.StatementCache;
 import org.sormula.Table;
+import org.sormula.annotation.Column;
 import org.sormula.annotation.cascade.InsertCascade;
 import org.sormula.annotation.cascade.InsertCascadeAnnotationReader;
 import org.sormula.cache.Cache;
 import org.sormula.cache.CacheException;
+import org.sormula.dialect.Dialect;
+import org.sormula.key.KeyGeneratorColumn;
+import org.sormula.key.KeyGeneratorException;
 import org.sormula.log.SormulaLogger;
 import org.sormula.log.SormulaLoggerFactory;
 import org.sormula.operation.builder.InsertOperationBuilder;
 import org.sormula.operation.cascade.CascadeOperation;
 import org.sormula.operation.cascade.InsertCascadeOperation;
+import org.sormula.operation.monitor.OperationTime;
 import org.sormula.reflect.RowField;
 import org.sormula.translator.ColumnTranslator;
 import org.sormula.translator.RowTranslator;
@@ -53,6 +61,8 @@ public class InsertOperation<R> extends ModifyOperation<R>
     private static final SormulaLogger log = SormulaLoggerFactory.getClassLogger();
     ColumnTranslator<R> identityColumnTranslator;
     boolean autoGeneratedKeys;
+    int multiRowSize;
+    List<KeyGeneratorColumn<R>> keyGeneratorColumns;
 
     
     /**
@@ -107,6 +117,7 @@ public class InsertOperation<R> extends ModifyOperation<R>
             setAutoGeneratedKeys(identity);
         }
         
+        keyGeneratorColumns = table.getKeyGeneratorColumns();
         initBaseSql();
     }
 
@@ -138,7 +149,11 @@ public class InsertOperation<R> extends ModifyOperation<R>
     
     /**
      * {@inheritDoc}
-     * Logs error if batch and {@link #isAutoGeneratedKeys()} are both true.
+     * When batch and {@link #isAutoGeneratedKeys()} are both true, the statement is prepared with
+     * {@link Connection#prepareStatement(String, String[])} for the identity column and the generated keys
+     * of each batch are read with {@link Statement#getGeneratedKeys()} after {@link Statement#executeBatch()}.
+     * This requires {@link Dialect#isBatchGeneratedKeys()}. For other databases, {@link #execute()} logs 
+     * an error and sets auto generated keys to false. Set prior to first execute.
      *  
      * @since 4.3
      */
@@ -146,15 +161,304 @@ public class InsertOperation<R> extends ModifyOperation<R>
     public void setBatch(boolean batch)
     {
         super.setBatch(batch);
+    }
+
+    
+    /**
+     * Gets the maximum number of rows to insert with one multi-row statement.
+     * 
+     * @return rows per statement; 0 or 1 if each row is inserted with a separate statement
+     * @since 4.4
+     * @see #setMultiRowSize(int)
+     */
+    public int getMultiRowSize()
+    {
+        return multiRowSize;
+    }
+
+
+    /**
+     * Sets the maximum number of rows to insert with one statement like:<br>
+     * INSERT INTO table (c1, c2, c3, ...) VALUES (?, ?, ?, ...), (?, ?, ?, ...), ...
+     * <p>
+     * When greater than 1, {@link #execute()} inserts rows in groups of multi-row size rows with one
+     * {@link PreparedStatement#executeUpdate()} for each group. Multi-row inserts send fewer statements
+     * to the database than JDBC batches for drivers that send each batched row separately. The number
+     * of rows per statement is reduced when necessary so that the number of parameters does not exceed
+     * {@link Dialect#getMaxParameters()}. The statement for a full group is prepared once per execute and 
+     * reused for all full groups. 
+     * <p>
+     * Multi-row mode is used instead of {@link #isBatch()} for rows from {@link #setRows(Collection)}, 
+     * {@link #setRows(Iterator)}, etc. Rows are inserted one at a time if {@link Dialect#isMultiRowInsert()} 
+     * is false or if custom sql is used. Multi-row inserts are not cached, so when table is cached, 
+     * then table cache is flushed prior to executing. Multi-row mode does not support identity columns.
+     * 
+     * @param multiRowSize rows per statement; 0 or 1 to insert each row with a separate statement 
+     * @since 4.4
+     */
+    public void setMultiRowSize(int multiRowSize)
+    {
+        this.multiRowSize = multiRowSize;
         
-        if (batch && isAutoGeneratedKeys())
+        if (multiRowSize > 1 && isAutoGeneratedKeys())
         {
-            log.error("identity columns are not supported for batch mode");
+            log.error("identity columns are not supported for multi-row mode");
             setAutoGeneratedKeys(false); // avoid errors 
         }
     }
     
     
+    /**
+     * {@inheritDoc}
+     * Uses {@link #executeMultiRow()} when {@link #getMultiRowSize()} is greater than 1.
+     * 
+     * @since 4.4
+     */
+    @Override
+    public void execute() throws OperationException
+    {
+        if (multiRowSize > 1 && (rows != null || rowIterator != null) && getCustomSql() == null &&
+            getTable().getDatabase().getDialect().isMultiRowInsert())
+        {
+            executeMultiRow();
+        }
+        else
+        {
+            if (isBatch() && isAutoGeneratedKeys())
+            {
+                Dialect dialect = getTable().getDatabase().getDialect();
+                if (!dialect.isBatchGeneratedKeys())
+                {
+                    log.error("generated keys are not supported for batch mode by " + dialect.getClass().getSimpleName());
+                    setAutoGeneratedKeys(false); // avoid errors 
+                }
+            }
+            
+            super.execute();
+        }
+    }
+    
+    
+    /**
+     * Inserts rows with multi-row statements. See {@link #setMultiRowSize(int)}.
+     * 
+     * @throws OperationException if error
+     * @throws BatchException if cascading and the number of rows affected by a statement is not 
+     * the number of rows in the statement
+     * @throws ReadOnlyException if row or table is read only
+     * @since 4.4
+     */
+    protected void executeMultiRow() throws OperationException
+    {
+        if (readOnly) throw new ReadOnlyException("Attempt to modify when table or operation is read-only");
+        
+        initOperationTime();
+        OperationTime operationTime = getOperationTime();
+        RowTranslator<R> rowTranslator = getTable().getRowTranslator();
+        int allRowsAffected = 0;
+        PreparedStatement fullPreparedStatement = null;
+        
+        try
+        {
+            // multi-row inserts are not cached, flush to avoid inconsistencies
+            getTable().flush();
+            if (!cascadesPrepared) prepareCascades();
+
+            int rowsPerStatement = getMultiRowCount();
+            List<R> insertRows = new ArrayList<>(rowsPerStatement);
+            Iterator<R> iterator = getRowIterator();
+            initModifyCounts();
+            
+            while (iterator.hasNext())
+            {
+                insertRows.clear();
+                while (insertRows.size() < rowsPerStatement && iterator.hasNext()) insertRows.add(iterator.next());
+                int insertRowCount = insertRows.size();
+                
+                PreparedStatement ps;
+                if (insertRowCount == rowsPerStatement)
+                {
+                    // same statement for all full groups
+                    if (fullPreparedStatement == null) fullPreparedStatement = prepareMultiRow(rowsPerStatement);
+                    ps = fullPreparedStatement;
+                }
+                else
+                {
+                    // last group
+                    ps = prepareMultiRow(insertRowCount);
+                }
+                
+                try
+                {
+                    // parameters for all rows
+                    int parameterIndex = 1;
+                    for (R row: insertRows)
+                    {
+                        if (log.isDebugEnabled()) log.debug("write multi-row parameters from row=" + row);
+                        if (isCascading()) preExecuteCascade(row);
+                        preExecute(row);
+                        operationTime.startWriteTime();
+                        generateKeys(row);
+                        rowTranslator.setIncludeIdentityColumns(isIncludeIdentityColumns());
+                        rowTranslator.setIncludeReadOnlyColumns(false);
+                        parameterIndex = rowTranslator.write(ps, parameterIndex, row);
+                        operationTime.stop();
+                    }
+                    
+                    if (log.isDebugEnabled()) log.debug("execute multi-row insert of " + insertRowCount + " rows");
+                    operationTime.startExecuteTime();
+                    int updateCount = ps.executeUpdate();
+                    operationTime.stop();
+                    allRowsAffected += updateCount;
+                    
+                    if (updateCount != insertRowCount && isCascading())
+                    {
+                        throw new BatchException(updateCount + " rows affected by multi-row insert of " + 
+                                insertRowCount + " rows; cascade cannot be determined");
+                    }
+                    
+                    // count per row is only known when all rows were inserted
+                    int rowCount = updateCount == insertRowCount ? 1 : Statement.SUCCESS_NO_INFO;
+                    for (R row: insertRows)
+                    {
+                        addModifyCount(rowCount);
+                        
+                        if (updateCount > 0)
+                        {
+                            postExecute(row);
+                            if (isCascading()) postExecuteCascade(row);
+                        }
+                    }
+                }
+                finally
+                {
+                    if (ps != fullPreparedStatement) closeMultiRow(ps);
+                }
+            }
+            
+            trimModifyCounts();
+        }
+        catch (Exception e)
+        {
+            throw new OperationException("executeMultiRow() error", e);
+        }
+        finally
+        {
+            if (fullPreparedStatement != null)
+            {
+                try
+                {
+                    closeMultiRow(fullPreparedStatement);
+                }
+                catch (SQLException e)
+                {
+                    log.error("error closing multi-row statement", e);
+                }
+            }
+        }
+        
+        setRowsAffected(allRowsAffected);
+    }
+    
+    
+    /**
+     * Gets the number of rows that are inserted by one multi-row statement. The count is
+     * {@link #getMultiRowSize()} reduced if necessary so that parameters for all rows do not
+     * exceed {@link Dialect#getMaxParameters()}.
+     * 
+     * @return rows per multi-row statement
+     * @since 4.4
+     */
+    protected int getMultiRowCount()
+    {
+        int parametersPerRow = getInsertRowTranslator().getIncludedColumnCount();
+        
+        int count = multiRowSize;
+        if (parametersPerRow > 0) count = Math.min(count, getTable().getDatabase().getDialect().getMaxParameters() / parametersPerRow);
+        return Math.max(count, 1);
+    }
+    
+    
+    /**
+     * Creates sql that inserts a number of rows with one statement.
+     * 
+     * @param rowCount number of rows in VALUES
+     * @return INSERT INTO table (c1, c2, ...) VALUES (?, ?, ...), (?, ?, ...), ...
+     * @since 4.4
+     */
+    protected String getMultiRowSql(int rowCount)
+    {
+        // same for all insert operations on table
+        OperationPlanCache operationPlanCache = getTable().getOperationPlanCache();
+        List<Object> key = OperationPlanCache.key("multiRowSql", InsertOperation.class, isIncludeIdentityColumns(), rowCount);
+        String sql = operationPlanCache.get(key);
+        
+        if (sql == null)
+        {
+            String baseSql = getBaseSql();
+            String valuesSql = getMultiRowValuesSql();
+            StringBuilder multiRowSql = new StringBuilder(baseSql.length() + (valuesSql.length() + 2) * (rowCount - 1));
+            multiRowSql.append(baseSql);
+            for (int i = 1; i < rowCount; ++i)
+            {
+                multiRowSql.append(", ");
+                multiRowSql.append(valuesSql);
+            }
+            
+            sql = operationPlanCache.put(key, multiRowSql.toString());
+        }
+        
+        return sql;
+    }
+    
+    
+    /**
+     * Creates the values of one row as in base sql.
+     * 
+     * @return "(?, ?, ...)" with a parameter for each included column and values of unused columns
+     */
+    String getMultiRowValuesSql()
+    {
+        RowTranslator<R> rowTranslator = getInsertRowTranslator();
+        return "(" + rowTranslator.createParameterPhrase() + rowTranslator.getUnusedColumnInsertValuesSql() + ")";
+    }
+    
+    
+    /**
+     * Gets row translator with columns included as in {@link #initBaseSql()}.
+     */
+    RowTranslator<R> getInsertRowTranslator()
+    {
+        RowTranslator<R> rowTranslator = getTable().getRowTranslator();
+        rowTranslator.setIncludeIdentityColumns(isIncludeIdentityColumns());
+        rowTranslator.setIncludeReadOnlyColumns(false);
+        return rowTranslator;
+    }
+    
+    
+    PreparedStatement prepareMultiRow(int rowCount) throws SQLException
+    {
+        String sql = getMultiRowSql(rowCount);
+        if (log.isDebugEnabled()) log.debug("prepare multi-row " + sql);
+        
+        PreparedStatement ps;
+        StatementCache statementCache = getTable().getDatabase().getStatementCache();
+        if (statementCache != null) ps = statementCache.borrow(sql, () -> getConnection().prepareStatement(sql));
+        else ps = getConnection().prepareStatement(sql);
+        ps.setQueryTimeout(getQueryTimeout());
+        
+        return ps;
+    }
+    
+    
+    void closeMultiRow(PreparedStatement ps) throws SQLException
+    {
+        StatementCache statementCache = getTable().getDatabase().getStatementCache();
+        if (statementCache != null) statementCache.giveBack(ps);
+        else ps.close();
+    }
+    
+    
     /**
      * Inserts a row. Set parameters, executes, closes. 
      * Alias for {@link #modify(Object)}.
@@ -211,7 +515,15 @@ public class InsertOperation<R> extends ModifyOperation<R>
         
         if (isAutoGeneratedKeys())
         {
-            preparedStatement = getConnection().prepareStatement(preparedSql, Statement.RETURN_GENERATED_KEYS);
+            if (isBatch())
+            {
+                // name the key column since some drivers return all columns for RETURN_GENERATED_KEYS
+                preparedStatement = getConnection().prepareStatement(preparedSql, new String[] { getGeneratedKeyColumnName() });
+            }
+            else
+            {
+                preparedStatement = getConnection().prepareStatement(preparedSql, Statement.RETURN_GENERATED_KEYS);
+            }
         }
         else
         {
@@ -222,6 +534,37 @@ public class InsertOperation<R> extends ModifyOperation<R>
     }
     
     
+    /**
+     * {@inheritDoc}
+     * Key includes {@link #isAutoGeneratedKeys()} and the key column name for batches.
+     * 
+     * @since 4.4
+     */
+    @Override
+    protected String getStatementCacheKey()
+    {
+        if (isAutoGeneratedKeys())
+        {
+            if (isBatch()) return "GENERATED_KEYS " + getGeneratedKeyColumnName() + " " + preparedSql;
+            else return "RETURN_GENERATED_KEYS " + preparedSql;
+        }
+        
+        return preparedSql;
+    }
+    
+    
+    /**
+     * Gets the name of the identity column for {@link Connection#prepareStatement(String, String[])}.
+     * 
+     * @return identity column name as expected by {@link Dialect#getGeneratedKeyColumnName(String)}
+     * @since 4.4
+     */
+    protected String getGeneratedKeyColumnName()
+    {
+        return getTable().getDatabase().getDialect().getGeneratedKeyColumnName(identityColumnTranslator.getColumnName());
+    }
+    
+    
     /**
      * Sets base sql with {@link #setBaseSql(String)}.
      */
@@ -231,25 +574,36 @@ public class InsertOperation<R> extends ModifyOperation<R>
         RowTranslator<R> rowTranslator = getTable().getRowTranslator();
         rowTranslator.setIncludeIdentityColumns(isIncludeIdentityColumns()); // usually false for inserts that have identity columns
         rowTranslator.setIncludeReadOnlyColumns(false);
-        String columnPhrase = rowTranslator.createColumnPhrase();
-        String unusedColumnNames = rowTranslator.getUnusedColumnInsertNamesSql();
-        String parameterPhrase = rowTranslator.createParameterPhrase();
-        String unusedColumnValues = rowTranslator.getUnusedColumnInsertValuesSql();
         
-        StringBuilder sql = new StringBuilder(columnPhrase.length() + unusedColumnNames.length() +
-                parameterPhrase.length() + unusedColumnValues.length() + tableName.length() + 50);
+        // same for all insert operations on table
+        OperationPlanCache operationPlanCache = getTable().getOperationPlanCache();
+        List<Object> key = OperationPlanCache.key("baseSql", InsertOperation.class, isIncludeIdentityColumns());
+        String baseSql = operationPlanCache.get(key);
         
-        sql.append("INSERT INTO ");
-        sql.append(tableName);
-        sql.append("(");
-        sql.append(columnPhrase);
-        sql.append(unusedColumnNames);
-        sql.append(") VALUES (");
-        sql.append(parameterPhrase);
-        sql.append(unusedColumnValues);
-        sql.append(")");
+        if (baseSql == null)
+        {
+            String columnPhrase = rowTranslator.createColumnPhrase();
+            String unusedColumnNames = rowTranslator.getUnusedColumnInsertNamesSql();
+            String parameterPhrase = rowTranslator.createParameterPhrase();
+            String unusedColumnValues = rowTranslator.getUnusedColumnInsertValuesSql();
+            
+            StringBuilder sql = new StringBuilder(columnPhrase.length() + unusedColumnNames.length() +
+                    parameterPhrase.length() + unusedColumnValues.length() + tableName.length() + 50);
+            
+            sql.append("INSERT INTO ");
+            sql.append(tableName);
+            sql.append("(");
+            sql.append(columnPhrase);
+            sql.append(unusedColumnNames);
+            sql.append(") VALUES (");
+            sql.append(parameterPhrase);
+            sql.append(unusedColumnValues);
+            sql.append(")");
+            
+            baseSql = operationPlanCache.put(key, sql.toString());
+        }
         
-        setBaseSql(sql.toString());
+        setBaseSql(baseSql);
     }
     
     
@@ -260,7 +614,7 @@ public class InsertOperation<R> extends ModifyOperation<R>
     protected List<CascadeOperation<R, ?>> prepareCascades(Field field) throws OperationException
     {
         List<CascadeOperation<R, ?>> co;
-        InsertCascadeAnnotationReader car = new InsertCascadeAnnotationReader(field);
+        InsertCascadeAnnotationReader car = getCascadeAnnotationReader(field, InsertCascadeAnnotationReader.class, InsertCascadeAnnotationReader::new);
         InsertCascade[] insertCascades = car.getInsertCascades();
         
         if (insertCascades.length > 0 && isRequiredCascade(car.getName()))
@@ -296,7 +650,46 @@ public class InsertOperation<R> extends ModifyOperation<R>
 
     
     /**
-     * Updates identity column with generated key if {@link #isAutoGeneratedKeys()} is true.
+     * {@inheritDoc}
+     * Sets keys with {@link #generateKeys(Object)} prior to writing columns.
+     * 
+     * @since 4.4
+     */
+    @Override
+    protected void writeColumns(R row) throws OperationException
+    {
+        generateKeys(row);
+        super.writeColumns(row);
+    }
+    
+    
+    /**
+     * Sets new keys in row for all columns of {@link Table#getKeyGeneratorColumns()} that have no key.
+     * 
+     * @param row row to receive keys
+     * @throws OperationException if error
+     * @since 4.4
+     * @see Column#keyGenerator()
+     */
+    protected void generateKeys(R row) throws OperationException
+    {
+        for (KeyGeneratorColumn<R> kgc : keyGeneratorColumns)
+        {
+            try
+            {
+                kgc.generate(row);
+            }
+            catch (KeyGeneratorException e)
+            {
+                throw new OperationException("error generating key", e);
+            }
+        }
+    }
+    
+    
+    /**
+     * Updates identity column with generated key if {@link #isAutoGeneratedKeys()} is true. For
+     * batches, keys are read by {@link #postExecuteBatch(List, int[])}.
      * 
      * @param row row to affect
      * @throws OperationException if error
@@ -304,13 +697,31 @@ public class InsertOperation<R> extends ModifyOperation<R>
     @Override
     protected void postExecute(R row) throws OperationException
     {
-        if (isAutoGeneratedKeys())
+        if (isAutoGeneratedKeys() && !isBatch())
         {
             processIdentityColumn(row);
         }
     }
     
     
+    /**
+     * Updates identity columns of all rows in batch with generated keys if {@link #isAutoGeneratedKeys()} is true.
+     * 
+     * @param batchRows rows of the batch in the order that they were added to the batch
+     * @param rowsAffected return of {@link PreparedStatement#executeBatch()}
+     * @throws OperationException if error
+     * @since 4.4
+     */
+    @Override
+    protected void postExecuteBatch(List<R> batchRows, int[] rowsAffected) throws OperationException
+    {
+        if (isAutoGeneratedKeys())
+        {
+            processIdentityColumns(batchRows);
+        }
+    }
+    
+    
     /**
      * Reads the generated key using {@link PreparedStatement#getGeneratedKeys()}. The 
      * generated key is set in row using the {@link ColumnTranslator} from the table for 
@@ -337,6 +748,37 @@ public class InsertOperation<R> extends ModifyOperation<R>
         }
     }
 
+    
+    /**
+     * Reads the generated keys of a batch using {@link PreparedStatement#getGeneratedKeys()}. The 
+     * generated keys are in the same order as the rows of the batch. Each key is set in its row using
+     * the {@link ColumnTranslator} from the table for this operation as 
+     * {@link RowTranslator#getIdentityColumnTranslator()}.
+     * 
+     * @param batchRows rows of the batch in the order that they were added to the batch
+     * @throws OperationException if error or if fewer keys than rows are returned
+     * @since 4.4
+     */
+    protected void processIdentityColumns(List<R> batchRows) throws OperationException
+    {
+        try (ResultSet rs = getPreparedStatement().getGeneratedKeys())
+        {
+            for (R row: batchRows)
+            {
+                if (!rs.next()) throw new OperationException("fewer generated keys than rows in batch of " + batchRows.size());
+                identityColumnTranslator.read(rs, 1, row);
+            }
+        }
+        catch (OperationException e)
+        {
+            throw e;
+        }
+        catch (Exception e)
+        {
+            throw new OperationException("error getting auto generated keys for batch", e);
+        }
+    }
+
 
     /**
      * Tests if row is managed by cache. Delegates to {@link Cache#insert(Object)}.
@@ -350,6 +792,8 @@ public class InsertOperation<R> extends ModifyOperation<R>
     @Override
     protected boolean notifyCacheModify(R row) throws OperationException
     {
+        generateKeys(row); // cache needs key
+        
         try
         {
             return getTable().getCache().insert(row);
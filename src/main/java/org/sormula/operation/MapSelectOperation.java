@@ -21,6 +21,8 @@ import java.util.Map;
 import java.util.function.Function;
 
 import org.sormula.Table;
+import org.sormula.reflect.GeneratedAccessField;
+import org.sormula.reflect.ReflectException;
 
 
 /**
@@ -34,6 +36,7 @@ import org.sormula.Table;
 public abstract class MapSelectOperation<K, R> extends SelectOperation<R, Map<K, R>>
 {
 	Method getKeyMethod;
+	Function<R, K> getKeyMethodFunction;
 	Function<R, K> keyFunction;
 	
 	
@@ -85,8 +88,11 @@ public abstract class MapSelectOperation<K, R> extends SelectOperation<R, Map<K,
         try
         {
             getKeyMethod = getTable().getRowTranslator().getRowClass().getMethod(getKeyMethodName);
+            
+            // bind once to avoid reflection for each row, null if method can't be bound 
+            getKeyMethodFunction = GeneratedAccessField.createGetterFunction(getKeyMethod);
         }
-        catch (NoSuchMethodException e)
+        catch (NoSuchMethodException | ReflectException e)
         {
             throw new OperationException("error getting key method " + getKeyMethodName, e);
         }
@@ -186,6 +192,11 @@ public abstract class MapSelectOperation<K, R> extends SelectOperation<R, Map<K,
 			// function specified, use it
 			return keyFunction.apply(row);
 		}
+		else if (getKeyMethodFunction != null)
+		{
+		    // key method bound to function
+		    return getKeyMethodFunction.apply(row);
+		}
 		else
 		{
 			// assume method name specified, get key with method
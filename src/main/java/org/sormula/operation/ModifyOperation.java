@@ -21,18 +21,25 @@ import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 
 import org.sormula.Database;
 import org.sormula.Table;
+import org.sormula.annotation.Row;
 import org.sormula.annotation.cascade.DeleteCascade;
 import org.sormula.annotation.cascade.InsertCascade;
 import org.sormula.annotation.cascade.SaveCascade;
 import org.sormula.annotation.cascade.UpdateCascade;
 import org.sormula.cache.Cache;
 import org.sormula.cache.CacheException;
+import org.sormula.dialect.Dialect;
 import org.sormula.log.SormulaLogger;
 import org.sormula.log.SormulaLoggerFactory;
+import org.sormula.operation.cascade.CascadeOperation;
+import org.sormula.operation.cascade.ModifyCascadeOperation;
 import org.sormula.operation.monitor.OperationTime;
 
 
@@ -47,10 +54,22 @@ public abstract class ModifyOperation<R> extends SqlOperation<R>
 {
     private static final SormulaLogger log = SormulaLoggerFactory.getClassLogger();
     
+    /**
+     * Number of rows in first batch when {@link #setAdaptiveBatchMillis(long)} is used and
+     * {@link #getBatchSize()} is zero.
+     * @since 4.4
+     */
+    public static final int DEFAULT_ADAPTIVE_BATCH_SIZE = 1000;
+    
     Collection<R> rows;
+    Iterator<R> rowIterator;
     int rowsAffected;
     boolean batch;
+    int batchSize;
+    long adaptiveBatchMillis;
+    boolean batchedCascading; // true while rows are modified with batched cascades
     int[] modifyCounts;
+    int modifyCountSize;
     
     
     /**
@@ -62,6 +81,7 @@ public abstract class ModifyOperation<R> extends SqlOperation<R>
     public ModifyOperation(Table<R> table) throws OperationException
     {
         super(table);
+        batchSize = table.getBatchSize();
     }
     
     
@@ -75,6 +95,7 @@ public abstract class ModifyOperation<R> extends SqlOperation<R>
     {
         rows = new ArrayList<>(1);
         rows.add(row);
+        rowIterator = null;
     }
     
     
@@ -98,6 +119,7 @@ public abstract class ModifyOperation<R> extends SqlOperation<R>
     public void setRows(Collection<R> rows)
     {
         this.rows = rows;
+        rowIterator = null;
         
         // rows and object parameters are mutually exclusive
         super.setParameters((Object)null); // note: must invoke super method
@@ -112,24 +134,74 @@ public abstract class ModifyOperation<R> extends SqlOperation<R>
     public void setRows(Map<?, R> rows)
     {
         this.rows = rows.values();
+        rowIterator = null;
         
         // rows and object parameters are mutually exclusive
         super.setParameters((Object)null); // note: must invoke super method
     }
+    
+    
+    /**
+     * Sets parameters from rows that are read from an iterator. Rows are read from the iterator
+     * when {@link #execute()} is invoked and only a reference to the current row, or to the rows of the
+     * current batch when {@link #isBatch()} is true, is kept. Use with {@link #setBatchSize(int)} 
+     * to modify more rows than can be kept in memory at the same time.
+     * <p>
+     * {@link #getRows()} returns null when rows are from an iterator.
+     *     
+     * @param rowIterator source of row objects to modify
+     * @since 4.4
+     */
+    public void setRows(Iterator<R> rowIterator)
+    {
+        this.rowIterator = rowIterator;
+        rows = null;
+        
+        // rows and object parameters are mutually exclusive
+        super.setParameters((Object)null); // note: must invoke super method
+    }
+    
+    
+    /**
+     * Sets parameters from rows in a stream. Same as {@link #setRows(Iterator)} with
+     * {@link Stream#iterator()}.
+     *     
+     * @param rows row objects to modify
+     * @since 4.4
+     */
+    public void setRows(Stream<R> rows)
+    {
+        setRows(rows.iterator());
+    }
 
     
     /**
-     * Gets the rows that will be modified. All of the setter methods for setting rows convert
-     * parameters to {@link Collection} so this method will get the row(s) regardless of setter
-     * method that was used.
+     * Gets the rows that will be modified. All of the setter methods for setting rows except 
+     * {@link #setRows(Iterator)} and {@link #setRows(Stream)} convert parameters to {@link Collection} 
+     * so this method will get the row(s) regardless of setter method that was used.
      * 
-     * @return rows to be modified or null if {@link #setParameters(Object...)} was used
+     * @return rows to be modified or null if {@link #setParameters(Object...)}, {@link #setRows(Iterator)},
+     * or {@link #setRows(Stream)} was used
      * @since 3.0
      */
     public Collection<R> getRows()
     {
         return rows;
     }
+    
+    
+    /**
+     * Gets the iterator of rows that will be modified.
+     * 
+     * @return iterator set with {@link #setRows(Iterator)} or {@link #setRows(Stream)}; iterator 
+     * of {@link #getRows()} if rows are a collection; null if {@link #setParameters(Object...)} was used
+     * @since 4.4
+     */
+    public Iterator<R> getRowIterator()
+    {
+        if (rows != null) return rows.iterator();
+        return rowIterator;
+    }
 
 
     /**
@@ -148,6 +220,7 @@ public abstract class ModifyOperation<R> extends SqlOperation<R>
         
         // rows and object parameters are mutually exclusive
         rows = null;
+        rowIterator = null;
     }
 
 
@@ -166,7 +239,8 @@ public abstract class ModifyOperation<R> extends SqlOperation<R>
 
     /**
      * Sets batch mode. Set to true prior to {@link #execute()} to insert/update/delete rows using
-     * JDBC batch mode. Batch mode does not support identity columns. Auto commit must 
+     * JDBC batch mode. Batch inserts of identity columns are supported only when 
+     * {@link Dialect#isBatchGeneratedKeys()} is true. Auto commit must 
      * be off for batch mode. {@link #preExecute(Object)} is invoked prior to batch add and 
      * {@link #postExecute(Object)} is invoked after batch execute.
      * <p>
@@ -185,6 +259,69 @@ public abstract class ModifyOperation<R> extends SqlOperation<R>
     {
         this.batch = batch;
     }
+    
+    
+    /**
+     * Gets the maximum number of rows in one JDBC batch.
+     * 
+     * @return number of rows added to batch before {@link PreparedStatement#executeBatch()} is invoked; 
+     * zero if all rows are executed in one batch
+     * @since 4.4
+     * @see #setBatchSize(int)
+     */
+    public int getBatchSize()
+    {
+        return batchSize;
+    }
+
+
+    /**
+     * Sets the maximum number of rows in one JDBC batch. When {@link #isBatch()} is true, rows 
+     * are added to the batch and {@link PreparedStatement#executeBatch()} is invoked each time that
+     * batch size rows have been added, so that the JDBC driver does not need to keep all rows 
+     * of a large modification at the same time. Default is {@link Table#getBatchSize()} which is
+     * from {@link Row#batchSize()} or {@link Database#getBatchSize()}.
+     * <p>
+     * Batches that have been executed are not undone when a later batch fails. Use a 
+     * transaction to undo all batches upon failure.
+     * 
+     * @param batchSize rows per batch; zero for one batch of all rows
+     * @since 4.4
+     */
+    public void setBatchSize(int batchSize)
+    {
+        this.batchSize = batchSize;
+    }
+
+
+    /**
+     * Gets the target duration of {@link PreparedStatement#executeBatch()} when batch size is adjusted
+     * to observed latency.
+     * 
+     * @return target duration in milliseconds; zero if batch size is not adjusted
+     * @since 4.4
+     * @see #setAdaptiveBatchMillis(long)
+     */
+    public long getAdaptiveBatchMillis()
+    {
+        return adaptiveBatchMillis;
+    }
+
+
+    /**
+     * Sets the target duration of each {@link PreparedStatement#executeBatch()} when {@link #isBatch()}
+     * is true. When greater than zero, the number of rows for the next batch is recalculated after each
+     * batch from the rows per millisecond that was observed for the batch. The batch size grows or shrinks by 
+     * no more than a factor of 2 for each batch. The first batch uses {@link #getBatchSize()} rows or
+     * {@link #DEFAULT_ADAPTIVE_BATCH_SIZE} if batch size is zero.
+     * 
+     * @param adaptiveBatchMillis target duration in milliseconds; zero to use fixed batch size
+     * @since 4.4
+     */
+    public void setAdaptiveBatchMillis(long adaptiveBatchMillis)
+    {
+        this.adaptiveBatchMillis = adaptiveBatchMillis;
+    }
 
 
     /**
@@ -228,89 +365,116 @@ public abstract class ModifyOperation<R> extends SqlOperation<R>
             if (batch)
             {
                 if (log.isDebugEnabled()) log.debug("begin batch");
+                batchedCascading = isCascading() && isBatchedCascades();
                 
                 // batch modifications are not cached, flush to avoid inconsistencies
                 table.flush();
+                initModifyCounts();
+                Iterator<R> iterator = getRowIterator();
                 
-                // execute all rows as a batch
-                if (rows != null && rows.size() > 0) 
+                // some drivers require at least one addBatch with executeBatch so perform only if there are rows
+                if (iterator != null && iterator.hasNext()) 
                 {
-                    // some drivers require at least one addBatch with executeBatch so perform only if there are rows
-                    modifyCounts = new int[rows.size()];
+                    int size = batchSize;
+                    if (size <= 0) size = adaptiveBatchMillis > 0 ? DEFAULT_ADAPTIVE_BATCH_SIZE : Integer.MAX_VALUE;
+                    List<R> batchRows = new ArrayList<>(rows != null ? Math.min(size, rows.size()) : Math.min(size, DEFAULT_ADAPTIVE_BATCH_SIZE));
                     
-                    // prepare
-                    for (R row: rows)
+                    while (iterator.hasNext())
                     {
-                        if (log.isDebugEnabled()) log.debug("write batch parameters from row=" + row);
-                        setNextParameter(1);
-                        if (isCascading()) preExecuteCascade(row);
-                        preExecute(row);
-                        operationTime.startWriteTime();
-                        writeColumns(row);
-                        writeWhere(row);
-                        ps.addBatch();
+                        // prepare at most size rows
+                        batchRows.clear();
+                        while (batchRows.size() < size && iterator.hasNext()) batchRows.add(iterator.next());
+                        if (batchedCascading) cascadeBatched(batchRows, false);
+                        
+                        for (R row: batchRows)
+                        {
+                            if (log.isDebugEnabled()) log.debug("write batch parameters from row=" + row);
+                            setNextParameter(1);
+                            if (isCascading()) preExecuteCascade(row);
+                            preExecute(row);
+                            operationTime.startWriteTime();
+                            writeColumns(row);
+                            writeWhere(row);
+                            ps.addBatch();
+                            operationTime.stop();
+                        }
+                        
+                        // execute
+                        if (log.isDebugEnabled()) log.debug("execute batch of " + batchRows.size() + " rows");
+                        operationTime.startExecuteTime();
+                        long batchStart = System.nanoTime();
+                        int[] rowsAffected = ps.executeBatch(); 
+                        long batchNanos = System.nanoTime() - batchStart;
+                        for (int r: rowsAffected)
+                        {
+                            addModifyCount(r);
+                            if (r > 0) allRowsAffected += r;
+                            else if (r == Statement.SUCCESS_NO_INFO) ++allRowsAffected; // assume 1 row
+                            else if (r == Statement.EXECUTE_FAILED) throw new BatchException("EXECUTE_FAILED returned for executeBatch()");
+                        }
                         operationTime.stop();
-                    }
-                    
-                    // execute
-                    if (log.isDebugEnabled()) log.debug("execute batch");
-                    operationTime.startExecuteTime();
-                    int[] rowsAffected = ps.executeBatch(); 
-                    int rowIndex = 0;
-                    for (int r: rowsAffected)
-                    {
-                        modifyCounts[rowIndex++] = r;
-                        if (r > 0) allRowsAffected += r;
-                        else if (r == Statement.SUCCESS_NO_INFO) ++allRowsAffected; // assume 1 row
-                        else if (r == Statement.EXECUTE_FAILED) throw new BatchException("EXECUTE_FAILED returned for executeBatch()");
-                    }
-                    operationTime.stop();
-
-                    if (log.isDebugEnabled())
-                    {
-                        log.debug("batch rows affected:");
-                        for (int r: rowsAffected) log.debug(Integer.toString(r));
-                    }
-                    
-                    // post execute
-                    int affectedIndex = 0;
-                    for (R row: rows)
-                    {
-                        int r = rowsAffected[affectedIndex];
-                        if (r > 0 || r == Statement.SUCCESS_NO_INFO)
+    
+                        if (log.isDebugEnabled())
                         {
-                            // perform only if row was affected
-                            postExecute(row);
-                            if (isCascading())
+                            log.debug("batch rows affected:");
+                            for (int r: rowsAffected) log.debug(Integer.toString(r));
+                        }
+                        
+                        postExecuteBatch(batchRows, rowsAffected);
+                        
+                        // post execute
+                        int affectedIndex = 0;
+                        List<R> affectedRows = batchedCascading ? new ArrayList<>(batchRows.size()) : null;
+                        for (R row: batchRows)
+                        {
+                            int r = rowsAffected[affectedIndex];
+                            if (r > 0 || r == Statement.SUCCESS_NO_INFO)
                             {
-                                if (r == Statement.SUCCESS_NO_INFO)
+                                // perform only if row was affected
+                                postExecute(row);
+                                if (isCascading())
                                 {
-                                    // cannot know if cascade should occur since no update count
-                                    throw new BatchException("SUCCESS_NO_INFO returned for executeBatch(); cascade cannot be determined");
+                                    if (r == Statement.SUCCESS_NO_INFO)
+                                    {
+                                        // cannot know if cascade should occur since no update count
+                                        throw new BatchException("SUCCESS_NO_INFO returned for executeBatch(); cascade cannot be determined");
+                                    }
+                                    
+                                    postExecuteCascade(row);
+                                    if (batchedCascading) affectedRows.add(row);
                                 }
-                                
-                                postExecuteCascade(row);
                             }
+                            
+                            ++affectedIndex;
                         }
                         
-                        ++affectedIndex;
+                        if (batchedCascading) cascadeBatched(affectedRows, true);
+                        
+                        ps.clearBatch();
+                        if (adaptiveBatchMillis > 0) size = nextBatchSize(size, batchRows.size(), batchNanos);
                     }
-                    
-                    ps.clearBatch();
-                }
-                else
-                {
-                    // no rows 
-                    modifyCounts = new int[0];
                 }
+                
+                trimModifyCounts();
             }
-            else if (rows != null)
+            else if (rows != null || rowIterator != null)
             {
                 // operation parameters from rows
-                modifyCounts = new int[rows.size()];
-                int rowIndex = 0;
-                for (R row: rows)
+                initModifyCounts();
+                Iterator<R> iterator = getRowIterator();
+                
+                // only cascades that are batched without batch mode are performed for all rows together
+                batchedCascading = rows != null && !isCached() && isCascading() && isBatchedCascades();
+                List<R> affectedRows = null;
+                if (batchedCascading)
                 {
+                    cascadeBatched(new ArrayList<>(rows), false);
+                    affectedRows = new ArrayList<>(rows.size());
+                }
+                
+                while (iterator.hasNext())
+                {
+                    R row = iterator.next();
                     boolean cacheAuthority = false;
                     
                     if (isCached())
@@ -320,7 +484,7 @@ public abstract class ModifyOperation<R> extends SqlOperation<R>
                         {
                             // cache will modify database, assume 1 row will be modified
                             ++allRowsAffected;
-                            modifyCounts[rowIndex++] = 1;
+                            addModifyCount(1);
                             cacheAuthority = true;
                             
                             if (isCascading())
@@ -348,7 +512,7 @@ public abstract class ModifyOperation<R> extends SqlOperation<R>
                         operationTime.startExecuteTime();
                         int updateCount = ps.executeUpdate();
                         allRowsAffected += updateCount;
-                        modifyCounts[rowIndex++] = updateCount;
+                        addModifyCount(updateCount);
                         if (log.isDebugEnabled()) log.debug("execute update =" + updateCount + " rows affected=" + allRowsAffected);
                         operationTime.stop();
                         
@@ -358,6 +522,7 @@ public abstract class ModifyOperation<R> extends SqlOperation<R>
                             postExecute(row);
                             
                             if (isCascading()) postExecuteCascade(row);
+                            if (batchedCascading) affectedRows.add(row);
                         }
                         
                         if (isCached() && updateCount > 0)
@@ -367,6 +532,9 @@ public abstract class ModifyOperation<R> extends SqlOperation<R>
                         }
                     }
                 }
+                
+                if (batchedCascading) cascadeBatched(affectedRows, true);
+                trimModifyCounts();
             }
             else if (getParameters() != null)
             {
@@ -388,11 +556,58 @@ public abstract class ModifyOperation<R> extends SqlOperation<R>
         {
             throw new OperationException("execute() error", e);
         }
+        finally
+        {
+            batchedCascading = false;
+        }
         
         setRowsAffected(allRowsAffected);
     }
     
 
+    /**
+     * Calculates the number of rows for the next batch when {@link #getAdaptiveBatchMillis()} is 
+     * greater than zero.
+     * 
+     * @param size rows per batch that was used for most recent batch
+     * @param executedRows number of rows in most recent batch
+     * @param batchNanos duration of {@link PreparedStatement#executeBatch()} for most recent batch
+     * @return rows for next batch
+     * @since 4.4
+     */
+    protected int nextBatchSize(int size, int executedRows, long batchNanos)
+    {
+        if (executedRows < size) return size; // last batch, not a full measurement
+        
+        double targetRows = (double)executedRows * adaptiveBatchMillis * 1_000_000 / Math.max(batchNanos, 1);
+        int next = (int)Math.max(Math.min(targetRows, 2.0 * size), size / 2.0);
+        if (next < 1) next = 1;
+        if (log.isDebugEnabled()) log.debug("adaptive batch size " + size + " -> " + next + " for " + batchNanos + "ns");
+        
+        return next;
+    }
+    
+    
+    void initModifyCounts()
+    {
+        modifyCounts = new int[rows != null ? rows.size() : 16];
+        modifyCountSize = 0;
+    }
+    
+    
+    void addModifyCount(int count)
+    {
+        if (modifyCountSize == modifyCounts.length) modifyCounts = Arrays.copyOf(modifyCounts, Math.max(16, modifyCountSize * 2));
+        modifyCounts[modifyCountSize++] = count;
+    }
+    
+    
+    void trimModifyCounts()
+    {
+        if (modifyCountSize != modifyCounts.length) modifyCounts = Arrays.copyOf(modifyCounts, modifyCountSize);
+    }
+    
+
     /**
      * {@inheritDoc}
      */
@@ -401,6 +616,7 @@ public abstract class ModifyOperation<R> extends SqlOperation<R>
     {
         super.close();
         rows = null;
+        rowIterator = null;
     }
 
 
@@ -493,6 +709,30 @@ public abstract class ModifyOperation<R> extends SqlOperation<R>
         return getRowsAffected();
     }
 
+    
+    /**
+     * Modifies rows from an iterator. Set parameters, executes, closes. See {@link #setRows(Iterator)}.
+     * 
+     * @param rowIterator source of rows to use as parameters 
+     * @return {@link #getRowsAffected()}
+     * @throws OperationException if error
+     * @since 4.4
+     */
+    public int modifyAll(Iterator<R> rowIterator) throws OperationException
+    {
+        setRows(rowIterator);
+        setRowsAffected(0);
+        try 
+        {
+        	execute();
+        }
+        finally
+        {
+        	close();
+        }
+        return getRowsAffected();
+    }
+
 
     /**
      * Modifies row(s) with sql parameters as Objects. Executes and then closes.
@@ -549,6 +789,21 @@ public abstract class ModifyOperation<R> extends SqlOperation<R>
     }
 
     
+    /**
+     * Invoked after each JDBC batch execute and before {@link #postExecute(Object)} is invoked
+     * for the rows of the batch. Override to read values that the database produced for all rows of 
+     * the batch. Default implementation does nothing.
+     * 
+     * @param batchRows rows of the batch in the order that they were added to the batch
+     * @param rowsAffected return of {@link PreparedStatement#executeBatch()}
+     * @throws OperationException if error
+     * @since 4.4
+     */
+    protected void postExecuteBatch(List<R> batchRows, int[] rowsAffected) throws OperationException
+    {
+    }
+
+    
     /**
      * Invoked prior to JDBC execute. Performs all modify cascade operations 
      * where post flag is false. 
@@ -582,6 +837,78 @@ public abstract class ModifyOperation<R> extends SqlOperation<R>
         cascade(row, true);
     }
     
+    
+    /**
+     * {@inheritDoc}
+     * Cascades with {@link ModifyCascadeOperation#isBatched()} true are skipped while rows are modified 
+     * with batched cascades since they are performed by {@link #cascadeBatched(List, boolean)}.
+     */
+    @Override
+    protected void cascade(R row, boolean post) throws OperationException
+    {
+        if (batchedCascading)
+        {
+            for (CascadeOperation<R, ?> o: cascadeOperations)
+            {
+                if (post == o.isPost() && !isBatched(o) && row != null) o.cascade(row);
+            }
+        }
+        else
+        {
+            super.cascade(row, post);
+        }
+    }
+    
+    
+    /**
+     * Performs all cascades with {@link ModifyCascadeOperation#isBatched()} true for many rows.
+     * Target rows of all rows are modified with one execution of each cascade operation.
+     * 
+     * @param rows rows in batch or all rows when not in batch mode; for post cascades, only rows that were modified 
+     * @param post true to perform post cascades; false to perform pre cascades
+     * @throws OperationException if error
+     * @since 4.4
+     */
+    protected void cascadeBatched(List<R> rows, boolean post) throws OperationException
+    {
+        if (rows.size() > 0)
+        {
+            for (CascadeOperation<R, ?> o: cascadeOperations)
+            {
+                if (post == o.isPost() && isBatched(o))
+                {
+                    ((ModifyCascadeOperation<R, ?>)o).cascade(rows);
+                }
+            }
+        }
+    }
+    
+    
+    /**
+     * Tests if at least one cascade is performed for many rows together. 
+     * 
+     * @return true if at least one cascade has {@link ModifyCascadeOperation#isBatched()} true
+     * @since 4.4
+     */
+    public boolean isBatchedCascades()
+    {
+        if (cascadeOperations != null)
+        {
+            for (CascadeOperation<R, ?> o: cascadeOperations)
+            {
+                if (isBatched(o)) return true;
+            }
+        }
+        
+        return false;
+    }
+    
+    
+    static boolean isBatched(CascadeOperation<?, ?> o)
+    {
+        return o instanceof ModifyCascadeOperation && ((ModifyCascadeOperation<?, ?>)o).isBatched();
+    }
+    
 
     /**
      * Sets the number of rows affected by operation
@@ -0,0 +1,122 @@
+/* sormula - Simple object relational mapping
+ * Copyright (C) 2011-2020 Jeff Miller
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sormula.operation;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.sormula.Table;
+import org.sormula.log.SormulaLogger;
+import org.sormula.log.SormulaLoggerFactory;
+import org.sormula.translator.OrderByTranslator;
+import org.sormula.translator.WhereTranslator;
+
+
+/**
+ * Parts of operations that are the same for every operation of the same type on the same table. 
+ * Base sql, {@link WhereTranslator}, {@link OrderByTranslator} and the final sql are created once 
+ * for each combination of operation class, where condition name, order by name, etc. and then used 
+ * by all new operations for the table. 
+ * <p>
+ * Plans are keyed by a list of the values that determine the plan. The first value in the key 
+ * is the type of plan, for example, "where" or "sql".
+ * <p>
+ * Each {@link Table} has its own cache, see {@link Table#getOperationPlanCache()}. Plans must not be modified
+ * after they are put into the cache since they are shared by many operations.
+ * 
+ * @author Jeff Miller
+ * @since 4.4
+ */
+public class OperationPlanCache
+{
+    private static final SormulaLogger log = SormulaLoggerFactory.getClassLogger();
+    ConcurrentMap<List<Object>, Object> planMap;
+    
+    
+    /**
+     * Constructs an empty cache.
+     */
+    public OperationPlanCache()
+    {
+        planMap = new ConcurrentHashMap<>();
+    }
+    
+    
+    /**
+     * Creates a key for {@link #get(List)} and {@link #put(List, Object)}.
+     * 
+     * @param keyValues type of plan followed by all values that determine the plan
+     * @return key
+     */
+    public static List<Object> key(Object... keyValues)
+    {
+        return Arrays.asList(keyValues);
+    }
+    
+    
+    /**
+     * Gets a plan.
+     * 
+     * @param key see {@link #key(Object...)}
+     * @param <T> type of plan
+     * @return plan or null if none has been put for key
+     */
+    @SuppressWarnings("unchecked") // type of plan is determined by key
+    public <T> T get(List<Object> key)
+    {
+        return (T)planMap.get(key);
+    }
+    
+    
+    /**
+     * Puts a plan into the cache if there is no plan for key.
+     * 
+     * @param key see {@link #key(Object...)}
+     * @param plan plan to put
+     * @param <T> type of plan
+     * @return plan for key; existing plan if one was put by some other operation
+     */
+    @SuppressWarnings("unchecked") // type of plan is determined by key
+    public <T> T put(List<Object> key, T plan)
+    {
+        T existing = (T)planMap.putIfAbsent(key, plan);
+        if (existing != null) return existing;
+        
+        if (log.isDebugEnabled()) log.debug("put plan " + key);
+        return plan;
+    }
+    
+    
+    /**
+     * Removes all plans. Invoked by {@link Table#setTableName(String)} since all sql contains table name.
+     */
+    public void clear()
+    {
+        planMap.clear();
+    }
+    
+    
+    /**
+     * @return number of plans in cache
+     */
+    public int size()
+    {
+        return planMap.size();
+    }
+}
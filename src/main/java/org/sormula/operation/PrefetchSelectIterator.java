@@ -0,0 +1,296 @@
+/* sormula - Simple object relational mapping
+ * Copyright (C) 2011-2020 Jeff Miller
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sormula.operation;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+import org.sormula.Database;
+import org.sormula.flow.SelectPublisher;
+import org.sormula.log.SormulaLogger;
+import org.sormula.log.SormulaLoggerFactory;
+
+
+/**
+ * Iterator for a {@link ScalarSelectOperation} that reads rows ahead of the consumer. A producer task 
+ * reads rows with {@link ScalarSelectOperation#readNext()} into a bounded queue while the consumer 
+ * processes rows that were read earlier. This overlaps the latency of JDBC fetches with the processing
+ * of rows. The producer waits when the queue is full so at most capacity rows are read ahead.
+ * <p>
+ * Errors of the producer are thrown by {@link #hasNext()} and {@link #next()} as 
+ * {@link UncheckedOperationException} after the rows that were read prior to the error have been consumed.
+ * <p>
+ * {@link #close()} must be invoked to stop the producer and to close the operation. Use try-with-resources or
+ * {@link ScalarSelectOperation#stream()} which closes iterator when stream is closed.
+ * <p>
+ * The connection of the database is used by the producer thread while rows are read. Do not
+ * use the same {@link Database} in other threads until the iterator is closed.
+ * 
+ * @since 4.4
+ * @author Jeff Miller
+ * @param <R> class type for row 
+ * @see ScalarSelectOperation#setPrefetchSize(int)
+ */
+public class PrefetchSelectIterator<R> implements Iterator<R>, AutoCloseable
+{
+    private static final SormulaLogger log = SormulaLoggerFactory.getClassLogger();
+    static final Object END = new Object(); // marks end of rows in queue
+    
+    ScalarSelectOperation<R> selectOperation;
+    Executor executor;
+    BlockingQueue<Object> queue;
+    CountDownLatch producerDone;
+    volatile boolean cancelled;
+    volatile OperationException error;
+    boolean started;
+    boolean ended;
+    R next;
+    
+    
+    /**
+     * Constructs for a select operation. All parameters must be set on operation prior to
+     * the first use of {@link #hasNext()}. If {@link ScalarSelectOperation#execute()} has not
+     * been invoked, then it will be upon first invocation of {@link #hasNext()}.
+     * 
+     * @param selectOperation operation to iterate over; it is closed by {@link #close()}
+     * @param capacity maximum number of rows to read ahead of consumer
+     * @param executor runs the producer task; null for {@link SelectPublisher#getDefaultExecutor()}
+     */
+    public PrefetchSelectIterator(ScalarSelectOperation<R> selectOperation, int capacity, Executor executor)
+    {
+        this.selectOperation = selectOperation;
+        this.executor = executor != null ? executor : SelectPublisher.getDefaultExecutor();
+        queue = new ArrayBlockingQueue<>(capacity);
+        producerDone = new CountDownLatch(1);
+    }
+    
+    
+    /**
+     * Tests if there is a row available for {@link #next()}. Waits for producer if no rows have been 
+     * read ahead. The producer is started upon first use.
+     * 
+     * @return true if at least one more row is available through {@link #next()}; false if not
+     * @throws UncheckedOperationException if error reading rows
+     */
+    @Override
+    public boolean hasNext() 
+    {
+        if (next == null && !ended)
+        {
+            if (!started) start();
+            
+            Object o;
+            try
+            {
+                o = queue.take();
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+                throw new UncheckedOperationException("interrupted waiting for next row", 
+                        new OperationException("interrupted", e));
+            }
+            
+            if (o == END)
+            {
+                ended = true;
+                if (error != null) throw new UncheckedOperationException("error reading next row", error);
+            }
+            else
+            {
+                @SuppressWarnings("unchecked") // only rows and END are in queue
+                R row = (R)o;
+                next = row;
+            }
+        }
+
+        return next != null;
+    }
+
+
+    /**
+     * Gets the next row that was read by producer.
+     * 
+     * @return next row
+     * @throws NoSuchElementException if no more rows
+     * @throws UncheckedOperationException if error reading rows
+     */
+    @Override
+    public R next()
+    {
+        if (!hasNext()) throw new NoSuchElementException();
+        R temp = next;
+        next = null;
+        return temp;
+    }
+
+
+    /**
+     * Stops the producer, waits for it to finish, and then closes the select operation. Rows that
+     * were read ahead and not consumed are discarded. A consumer that is waiting in {@link #hasNext()}
+     * in another thread is released and {@link #hasNext()} returns false.
+     * 
+     * @throws OperationException if error closing operation
+     */
+    @Override
+    public void close() throws OperationException
+    {
+        cancelled = true;
+        
+        if (started)
+        {
+            queue.clear(); // producer may be waiting for space
+            
+            try
+            {
+                producerDone.await();
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+                throw new OperationException("interrupted waiting for producer", e);
+            }
+        }
+        
+        // cancelled producer does not queue end, release consumer that may be waiting for a row
+        queue.clear();
+        queue.offer(END);
+        ended = true;
+        next = null;
+        selectOperation.close();
+    }
+    
+    
+    /**
+     * @return operation that reads rows
+     */
+    public ScalarSelectOperation<R> getSelectOperation()
+    {
+        return selectOperation;
+    }
+    
+    
+    /**
+     * @return maximum number of rows to read ahead
+     */
+    public int getCapacity()
+    {
+        return queue.size() + queue.remainingCapacity();
+    }
+    
+    
+    /**
+     * Executes operation if needed and starts the producer.
+     */
+    void start()
+    {
+        started = true;
+        
+        try
+        {
+            if (!selectOperation.isExecuted())
+            {
+                // operation has not executed query, do it now in consumer thread so that errors are thrown directly
+                selectOperation.execute();
+            }
+        }
+        catch (OperationException e)
+        {
+            producerDone.countDown();
+            ended = true;
+            throw new UncheckedOperationException("error executing operation", e);
+        }
+        
+        try
+        {
+            executor.execute(this::produce);
+        }
+        catch (RuntimeException e)
+        {
+            // producer will never run, close() must not wait for it
+            producerDone.countDown();
+            ended = true;
+            throw new UncheckedOperationException("error starting producer", 
+                    new OperationException("executor did not accept producer", e));
+        }
+    }
+    
+    
+    /**
+     * Reads rows into queue until no more rows, error, or cancelled.
+     */
+    void produce()
+    {
+        if (log.isDebugEnabled()) log.debug("begin prefetch capacity=" + getCapacity());
+        
+        try
+        {
+            R row;
+            while (!cancelled && (row = selectOperation.readNext()) != null)
+            {
+                put(row);
+            }
+        }
+        catch (OperationException e)
+        {
+            error = e;
+        }
+        catch (RuntimeException e)
+        {
+            error = new OperationException("prefetch error", e);
+        }
+        catch (InterruptedException e)
+        {
+            cancelled = true;
+        }
+        finally
+        {
+            try
+            {
+                put(END);
+            }
+            catch (InterruptedException e)
+            {
+                cancelled = true;
+            }
+            
+            producerDone.countDown();
+            if (log.isDebugEnabled()) log.debug("end prefetch cancelled=" + cancelled + " error=" + error);
+        }
+    }
+    
+    
+    /**
+     * Waits for space in queue and adds an element unless cancelled. {@link #close()} queues
+     * {@link #END} for a cancelled producer.
+     * 
+     * @param o row or {@link #END}
+     * @throws InterruptedException if interrupted while waiting
+     */
+    void put(Object o) throws InterruptedException
+    {
+        while (!cancelled)
+        {
+            if (queue.offer(o, 100, TimeUnit.MILLISECONDS)) break;
+        }
+    }
+}
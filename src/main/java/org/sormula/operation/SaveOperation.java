@@ -19,23 +19,29 @@ package org.sormula.operation;
 import java.lang.reflect.Field;
 import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 
 import org.sormula.Table;
+import org.sormula.annotation.Column;
 import org.sormula.annotation.cascade.Cascade;
 import org.sormula.annotation.cascade.OneToManyCascade;
 import org.sormula.annotation.cascade.OneToOneCascade;
 import org.sormula.annotation.cascade.SaveCascade;
 import org.sormula.annotation.cascade.SaveCascadeAnnotationReader;
 import org.sormula.cache.CacheException;
+import org.sormula.dialect.Dialect;
+import org.sormula.dialect.UpsertSql;
 import org.sormula.log.SormulaLogger;
 import org.sormula.log.SormulaLoggerFactory;
 import org.sormula.operation.builder.SaveOperationBuilder;
 import org.sormula.operation.cascade.CascadeOperation;
 import org.sormula.operation.cascade.SaveCascadeOperation;
 import org.sormula.reflect.RowField;
+import org.sormula.translator.ColumnTranslator;
+import org.sormula.translator.RowTranslator;
 
 
 /**
@@ -61,6 +67,10 @@ public class SaveOperation<R> extends ModifyOperation<R>
     UpdateOperation<R> updateOperation;
     boolean invokeSuper;
     int[] modifyCounts;
+    boolean upsert;
+    boolean upserting;
+    UpsertSql upsertSql;
+    List<ColumnTranslator<R>> upsertColumnTranslators;
 
     
     /**
@@ -234,6 +244,7 @@ public class SaveOperation<R> extends ModifyOperation<R>
 			}
 		};
         updateOperation.setWhere(whereConditionName);
+        upsert = table.getDatabase().isUpsert();
     }
 
 
@@ -242,6 +253,10 @@ public class SaveOperation<R> extends ModifyOperation<R>
     {
         insertOperation.close();
         updateOperation.close();
+        
+        // statement and cascades of this operation are only used for upsert
+        closeStatement();
+        closeCascades();
     }
 
     
@@ -274,6 +289,75 @@ public class SaveOperation<R> extends ModifyOperation<R>
         updateOperation.setBatch(batch);
     }
 
+    
+    /**
+     * Sets batch size for internal insert and update operations. When rows are from 
+     * {@link #setRows(java.util.Iterator)}, rows are also read from the iterator and saved
+     * in groups of batch size.
+     * 
+     * @param batchSize rows per batch; zero for one batch of all rows
+     * @since 4.4
+     */
+    @Override
+    public void setBatchSize(int batchSize)
+    {
+        super.setBatchSize(batchSize);
+        insertOperation.setBatchSize(batchSize);
+        updateOperation.setBatchSize(batchSize);
+    }
+
+
+    /**
+     * Sets adaptive batch duration for internal insert and update operations.
+     * 
+     * @param adaptiveBatchMillis target duration in milliseconds; zero to use fixed batch size
+     * @since 4.4
+     */
+    @Override
+    public void setAdaptiveBatchMillis(long adaptiveBatchMillis)
+    {
+        super.setAdaptiveBatchMillis(adaptiveBatchMillis);
+        insertOperation.setAdaptiveBatchMillis(adaptiveBatchMillis);
+        updateOperation.setAdaptiveBatchMillis(adaptiveBatchMillis);
+    }
+
+
+    /**
+     * Gets upsert mode.
+     * 
+     * @return true if rows are saved with one upsert statement when possible
+     * @since 4.4
+     * @see #setUpsert(boolean)
+     */
+    public boolean isUpsert()
+    {
+        return upsert;
+    }
+
+
+    /**
+     * Sets upsert mode. When true, rows are saved with one statement per row from 
+     * {@link Dialect#createUpsertSql(String, List, List)}, like MERGE or INSERT ... ON CONFLICT, instead 
+     * of an update followed by an insert of rows that were not updated. In batch mode, all rows are 
+     * saved with one batch. Default is {@link org.sormula.Database#isUpsert()}.
+     * <p>
+     * Upsert is used only if all of the following are true, otherwise rows are saved with update and insert:
+     * <ul>
+     * <li>dialect of database has an upsert statement</li>
+     * <li>rows are updated by primary key</li>
+     * <li>rows are from {@link #setRows(Collection)}, {@link #setRow(Object)}, etc. instead of {@link #setParameters(Object...)}</li>
+     * <li>identity column keys are not generated and no column has {@link Column#keyGenerator()}</li>
+     * <li>table is not cached and has no unused columns or custom sql</li>
+     * </ul>
+     * 
+     * @param upsert true to use upsert statement when possible
+     * @since 4.4
+     */
+    public void setUpsert(boolean upsert)
+    {
+        this.upsert = upsert;
+    }
+
 
     /**
      * Sets cached enabled state for internal insert and update operations.
@@ -362,6 +446,12 @@ public class SaveOperation<R> extends ModifyOperation<R>
     @Override
     public void execute() throws OperationException
     {
+        if ((rows != null || rowIterator != null) && initUpsert())
+        {
+            executeUpsert();
+            return;
+        }
+        
         int allRowsAffected = 0; 
         
         try
@@ -369,50 +459,32 @@ public class SaveOperation<R> extends ModifyOperation<R>
             if (rows != null)
             {
                 // operation parameters from rows
+                allRowsAffected = saveRows(rows);
+            }
+            else if (rowIterator != null)
+            {
+                // save rows from iterator in groups of batch size so that all rows are not in memory
+                int size = batchSize > 0 ? batchSize : Integer.MAX_VALUE;
+                List<R> saveRows = new ArrayList<>(Math.min(size, DEFAULT_ADAPTIVE_BATCH_SIZE));
+                int[] allModifyCounts = new int[16];
+                int allModifyCountSize = 0;
                 
-                // attempt to update all rows, for those not updated then insert
-                updateOperation.setRows(rows);
-                updateOperation.execute();
-                allRowsAffected = updateOperation.getRowsAffected();
-                modifyCounts = updateOperation.getModifyCounts();
-                
-                // build list of rows to insert - those with modify count of 0
-                List<R> insertRows = new ArrayList<>(rows.size());
-                int modifyRowIndex = 0;
-                for (R row: rows)
+                while (rowIterator.hasNext())
                 {
-                    int count = modifyCounts[modifyRowIndex];
-                    if (count == 0)
-                    {
-                        // row was not updated, add to insert list
-                        insertRows.add(row); 
-                    }
-                    else if (count == Statement.SUCCESS_NO_INFO)
-                    {
-                        throw new BatchException("SUCCESS_NO_INFO returned for executeBatch() update; cannot determine if insert is needed");
-                    }
+                    saveRows.clear();
+                    while (saveRows.size() < size && rowIterator.hasNext()) saveRows.add(rowIterator.next());
+                    allRowsAffected += saveRows(saveRows);
                     
-                    ++modifyRowIndex;
-                }
-                
-                // insert rows that were not updated
-                insertOperation.setRows(insertRows);
-                insertOperation.execute();
-                allRowsAffected += insertOperation.getRowsAffected();
-                int[] insertModifyCounts = insertOperation.getModifyCounts();
-                
-                // for inserted rows, set modifyCounts
-                int insertRowIndex = 0;
-                for (modifyRowIndex = 0; modifyRowIndex < modifyCounts.length; ++modifyRowIndex)
-                {
-                    if (modifyCounts[modifyRowIndex] == 0)
+                    // aggregate counts of all groups
+                    if (allModifyCountSize + modifyCounts.length > allModifyCounts.length)
                     {
-                        // modifyRowIndex was not updated, set insert count
-                        modifyCounts[modifyRowIndex] = insertModifyCounts[insertRowIndex++];
+                        allModifyCounts = Arrays.copyOf(allModifyCounts, Math.max(allModifyCounts.length * 2, allModifyCountSize + modifyCounts.length));
                     }
-                    
-                    ++modifyRowIndex;
+                    System.arraycopy(modifyCounts, 0, allModifyCounts, allModifyCountSize, modifyCounts.length);
+                    allModifyCountSize += modifyCounts.length;
                 }
+                
+                modifyCounts = Arrays.copyOf(allModifyCounts, allModifyCountSize);
             }
             else if (getParameters() != null)
             {
@@ -457,6 +529,187 @@ public class SaveOperation<R> extends ModifyOperation<R>
     }
 
 
+    /**
+     * Saves rows with upsert statement using {@link ModifyOperation#execute()}. Counts greater 
+     * than 1 are reported as 1 since some databases count an update as 2 rows. 
+     * 
+     * @throws OperationException if error
+     * @since 4.4
+     */
+    protected void executeUpsert() throws OperationException
+    {
+        upserting = true;
+        try
+        {
+            super.execute();
+        }
+        finally
+        {
+            upserting = false;
+        }
+        
+        modifyCounts = super.getModifyCounts();
+        int allRowsAffected = 0;
+        for (int i = 0; i < modifyCounts.length; ++i)
+        {
+            if (modifyCounts[i] > 1) modifyCounts[i] = 1;
+            if (modifyCounts[i] > 0 || modifyCounts[i] == Statement.SUCCESS_NO_INFO) ++allRowsAffected;
+        }
+        
+        setRowsAffected(allRowsAffected);
+    }
+    
+    
+    /**
+     * Determines if upsert can be used and prepares upsert sql if it can.
+     * 
+     * @return true if {@link #executeUpsert()} can be used
+     * @throws OperationException if error
+     * @since 4.4
+     */
+    protected boolean initUpsert() throws OperationException
+    {
+        if (!upsert) return false;
+        
+        if (upsertSql == null)
+        {
+            Table<R> table = getTable();
+            RowTranslator<R> rowTranslator = table.getRowTranslator();
+            
+            if (!"primaryKey".equals(updateOperation.whereConditionName) || 
+                (whereConditionName != null && !whereConditionName.equals("primaryKey")) || insertOperation.isAutoGeneratedKeys() ||
+                !table.getKeyGeneratorColumns().isEmpty() || table.isCached() || getCustomSql() != null || insertOperation.getCustomSql() != null || 
+                updateOperation.getCustomSql() != null || rowTranslator.getUnusedColumnInsertNamesSql().length() > 0)
+            {
+                if (log.isDebugEnabled()) log.debug("upsert is not possible for " + table.getRowClass());
+                return false;
+            }
+            
+            // same columns as insert
+            setIncludeIdentityColumns(insertOperation.isIncludeIdentityColumns());
+            List<ColumnTranslator<R>> columnTranslators = new ArrayList<>(rowTranslator.getColumnTranslatorList().size());
+            List<String> columnNames = new ArrayList<>(rowTranslator.getColumnTranslatorList().size());
+            for (ColumnTranslator<R> c : rowTranslator.getColumnTranslatorList())
+            {
+                if ((!c.isIdentity() || isIncludeIdentityColumns()) && !c.isReadOnly())
+                {
+                    columnTranslators.add(c);
+                    columnNames.add(c.getColumnName());
+                }
+            }
+            
+            List<String> keyColumnNames = new ArrayList<>();
+            for (ColumnTranslator<R> c : rowTranslator.getPrimaryKeyWhereTranslator().getColumnTranslatorList())
+            {
+                keyColumnNames.add(c.getColumnName());
+            }
+            
+            if (keyColumnNames.isEmpty() || !columnNames.containsAll(keyColumnNames)) return false;
+            
+            UpsertSql us = table.getDatabase().getDialect().createUpsertSql(table.getQualifiedTableName(), columnNames, keyColumnNames);
+            if (us == null) return false;
+            
+            if (log.isDebugEnabled()) log.debug("upsert sql " + us.getSql());
+            upsertColumnTranslators = columnTranslators;
+            upsertSql = us;
+            setBaseSql(us.getSql());
+            setWhereTranslator(null); // upsert sql contains primary key condition
+            closeStatement(); // in case prepared without upsert sql
+        }
+        
+        return true;
+    }
+    
+    
+    /**
+     * {@inheritDoc}
+     * Writes the parameters of upsert sql when upsert is used.
+     * 
+     * @since 4.4
+     */
+    @Override
+    protected void writeColumns(R row) throws OperationException
+    {
+        if (upsertSql.isColumnOrder())
+        {
+            super.writeColumns(row);
+        }
+        else
+        {
+            try
+            {
+                // columns may be written more than once
+                int parameterIndex = getNextParameter();
+                for (int c : upsertSql.getParameterColumns())
+                {
+                    upsertColumnTranslators.get(c).write(getPreparedStatement(), parameterIndex++, row);
+                }
+                setNextParameter(parameterIndex);
+            }
+            catch (Exception e)
+            {
+                throw new OperationException("error setting upsert parameters", e);
+            }
+        }
+    }
+
+
+    /**
+     * Saves a collection of rows. Sets {@link #getModifyCounts()} for the rows.
+     * 
+     * @param rows rows to update or insert
+     * @return count of rows affected
+     * @throws OperationException if error
+     * @since 4.4
+     */
+    protected int saveRows(Collection<R> rows) throws OperationException
+    {
+        // attempt to update all rows, for those not updated then insert
+        updateOperation.setRows(rows);
+        updateOperation.execute();
+        int allRowsAffected = updateOperation.getRowsAffected();
+        modifyCounts = updateOperation.getModifyCounts();
+        
+        // build list of rows to insert - those with modify count of 0
+        List<R> insertRows = new ArrayList<>(rows.size());
+        int modifyRowIndex = 0;
+        for (R row: rows)
+        {
+            int count = modifyCounts[modifyRowIndex];
+            if (count == 0)
+            {
+                // row was not updated, add to insert list
+                insertRows.add(row); 
+            }
+            else if (count == Statement.SUCCESS_NO_INFO)
+            {
+                throw new BatchException("SUCCESS_NO_INFO returned for executeBatch() update; cannot determine if insert is needed");
+            }
+            
+            ++modifyRowIndex;
+        }
+        
+        // insert rows that were not updated
+        insertOperation.setRows(insertRows);
+        insertOperation.execute();
+        allRowsAffected += insertOperation.getRowsAffected();
+        int[] insertModifyCounts = insertOperation.getModifyCounts();
+        
+        // for inserted rows, set modifyCounts
+        int insertRowIndex = 0;
+        for (modifyRowIndex = 0; modifyRowIndex < modifyCounts.length; ++modifyRowIndex)
+        {
+            if (modifyCounts[modifyRowIndex] == 0)
+            {
+                // modifyRowIndex was not updated, set insert count
+                modifyCounts[modifyRowIndex] = insertModifyCounts[insertRowIndex++];
+            }
+        }
+        
+        return allRowsAffected;
+    }
+
+
     /**
      * Creates save cascade operations based upon the save annotations for field.
      *
@@ -469,7 +722,7 @@ public class SaveOperation<R> extends ModifyOperation<R>
     protected List<CascadeOperation<R, ?>> prepareCascades(Field field) throws OperationException
     {
         List<CascadeOperation<R, ?>> co = null;
-        SaveCascadeAnnotationReader scar = new SaveCascadeAnnotationReader(field);
+        SaveCascadeAnnotationReader scar = getCascadeAnnotationReader(field, SaveCascadeAnnotationReader.class, SaveCascadeAnnotationReader::new);
         SaveCascade[] saveCascades = scar.getSaveCascades();
         
         if (saveCascades.length > 0 && isRequiredCascade(scar.getName()))
@@ -534,6 +787,9 @@ public class SaveOperation<R> extends ModifyOperation<R>
 	{
 		// indicate to invoke InsertOperation/UpdateOperation equivalent method
 		invokeSuper = true;
+		
+		// upsert has no InsertOperation/UpdateOperation, cascade from this operation
+		if (upserting) super.preExecuteCascade(row);
 	}
 
 
@@ -545,6 +801,9 @@ public class SaveOperation<R> extends ModifyOperation<R>
 	{
 		// indicate to invoke InsertOperation/UpdateOperation equivalent method
 		invokeSuper = true;
+		
+		// upsert has no InsertOperation/UpdateOperation, cascade from this operation
+		if (upserting) super.postExecuteCascade(row);
 	}
 
 
@@ -17,6 +17,7 @@
 package org.sormula.operation;
 
 import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
@@ -24,11 +25,21 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.function.BiPredicate;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
+import org.sormula.Database;
+import org.sormula.SormulaException;
 import org.sormula.Table;
 import org.sormula.annotation.Column;
 import org.sormula.annotation.OrderBy;
@@ -39,11 +50,13 @@ import org.sormula.annotation.cascade.SelectCascade;
 import org.sormula.annotation.cascade.SelectCascadeAnnotationReader;
 import org.sormula.cache.Cache;
 import org.sormula.cache.CacheException;
+import org.sormula.dialect.Dialect;
 import org.sormula.log.SormulaLogger;
 import org.sormula.log.SormulaLoggerFactory;
 import org.sormula.operation.builder.ScalarSelectOperationBuilder;
 import org.sormula.operation.cascade.CascadeOperation;
 import org.sormula.operation.cascade.SelectCascadeOperation;
+import org.sormula.operation.cascade.lazy.LazySelectGroup;
 import org.sormula.operation.cascade.lazy.LazySelectable;
 import org.sormula.operation.monitor.OperationTime;
 import org.sormula.reflect.RowField;
@@ -64,15 +77,36 @@ public class ScalarSelectOperation<R> extends SqlOperation<R> implements Iterabl
 {
     private static final SormulaLogger log = SormulaLoggerFactory.getClassLogger();
     
+    /**
+     * Fetch size used by {@link #stream()} when {@link #getFetchSize()} is zero.
+     * 
+     * @since 4.4
+     */
+    public static final int DEFAULT_STREAM_FETCH_SIZE = 1000;
+    
     ResultSet resultSet;
     R rowParameters;
     String orderByName;
     OrderByTranslator<R> orderByTranslator;
     RowTranslator<R> rowTranslator;
     int maximumRowsRead = Integer.MAX_VALUE;
+    int offset;
+    boolean sqlLimit;
+    String limitSql; // set by execute()
+    int fetchSize;
+    int streamRestoreFetchSize; // fetch size prior to stream()
+    boolean streamFetchSize; // set by stream()
+    int resultSetType = ResultSet.TYPE_FORWARD_ONLY;
+    int prefetchSize;
     int rowsReadCount;
     boolean lazySelectsCascades;
     boolean notifyLazySelects;
+    LazySelectGroup<R> lazySelectGroup; // not null while readAll groups rows with lazy selects
+    boolean batchedSelectCascades;
+    List<R> batchedCascadeRows; // not null while batched select cascades are deferred
+    boolean joinedSelectCascades;
+    boolean joinFetch; // set by prepare() if joined select cascades are in sql
+    String joinBaseSql;
     boolean cachePrimaryKeySelect; // set by execute() 
     boolean cacheContainsPrimaryKey; // set by execute() if cache hit
     boolean executed;
@@ -129,17 +163,107 @@ public class ScalarSelectOperation<R> extends SqlOperation<R> implements Iterabl
     /**
      * Creates iterator for results of this operation.
      * 
-     * @return {@link SelectIterator}
+     * @return {@link SelectIterator} or {@link PrefetchSelectIterator} if {@link #getPrefetchSize()} is greater than zero
      * 
      * @since 3.0
      */
     @Override
     public Iterator<R> iterator()
     {
+        if (prefetchSize > 0) return new PrefetchSelectIterator<>(this, prefetchSize, table.getDatabase().getPublisherExecutor());
         return new SelectIterator<>(this);
     }
     
     
+    /**
+     * Executes this operation and returns a lazy stream of the selected rows. Rows are read from the 
+     * result set with {@link #readNext()} only as the stream is consumed, so that all rows do not need
+     * to be in memory at the same time. Stream is ordered and sequential. All parameters must be set
+     * prior to invoking this method. Errors while reading are thrown as {@link UncheckedOperationException}.
+     * <p>
+     * The stream must be closed to close this operation. Use try-with-resources like:
+     * <blockquote><pre>
+     * try (Stream&lt;Order&gt; orders = operation.stream())
+     * {
+     *     orders.forEach(...);
+     * }
+     * </pre></blockquote>
+     * Fetch size is set to {@link Dialect#getStreamFetchSize(int)} of {@link #getFetchSize()} or 
+     * of {@link #DEFAULT_STREAM_FETCH_SIZE} if fetch size is zero. If {@link Dialect#isStreamAutoCommitOff()} is
+     * true, then rows are read incrementally only within an active transaction. Auto commit of the connection 
+     * is not changed, so when auto commit is on, rows are fetched normally with {@link #getFetchSize()}.
+     * The fetch size prior to this method is restored when this operation is closed.
+     * <p>
+     * If {@link #getPrefetchSize()} is greater than zero, then rows are read ahead of the stream consumer
+     * with {@link PrefetchSelectIterator}.
+     * 
+     * @return stream of rows that closes this operation when stream is closed
+     * @throws OperationException if error
+     * @since 4.4
+     */
+    public Stream<R> stream() throws OperationException
+    {
+        Dialect dialect = table.getDatabase().getDialect();
+        
+        try
+        {
+            if (dialect.isStreamAutoCommitOff() && getConnection().getAutoCommit())
+            {
+                // driver reads all rows unless auto commit is off, changing auto commit would commit other work
+                if (log.isDebugEnabled()) log.debug("auto commit is on, stream uses normal fetch");
+            }
+            else
+            {
+                if (!streamFetchSize)
+                {
+                    streamRestoreFetchSize = fetchSize;
+                    streamFetchSize = true;
+                }
+                setFetchSize(dialect.getStreamFetchSize(fetchSize > 0 ? fetchSize : DEFAULT_STREAM_FETCH_SIZE));
+                
+                // statement from earlier execute was prepared (and is cached) for other fetch size
+                if (getPreparedStatement() != null) closeStatement();
+            }
+        }
+        catch (SQLException e)
+        {
+            throw new OperationException("error initializing stream", e);
+        }
+        
+        execute();
+        
+        if (prefetchSize > 0)
+        {
+            PrefetchSelectIterator<R> prefetchSelectIterator = new PrefetchSelectIterator<>(this, prefetchSize, 
+                    table.getDatabase().getPublisherExecutor());
+            return StreamSupport.stream(Spliterators.spliteratorUnknownSize(prefetchSelectIterator, 
+                    Spliterator.ORDERED | Spliterator.NONNULL), false).onClose(() ->
+            {
+                try
+                {
+                    prefetchSelectIterator.close();
+                }
+                catch (OperationException e)
+                {
+                    throw new UncheckedOperationException("error closing stream", e);
+                }
+            });
+        }
+        
+        return StreamSupport.stream(new SelectSpliterator<>(this), false).onClose(() ->
+        {
+            try
+            {
+                close();
+            }
+            catch (OperationException e)
+            {
+                throw new UncheckedOperationException("error closing stream", e);
+            }
+        });
+    }
+    
+    
     /**
      * Gets the maximum number of rows to read from result set. The default
      * is {@link Integer#MAX_VALUE}.
@@ -154,11 +278,13 @@ public class ScalarSelectOperation<R> extends SqlOperation<R> implements Iterabl
 
 
     /**
-     * Sets the maximum number of rows to read from result set. This method 
-     * does NOT alter SQL to contain anything to limit query but only 
-     * limits the number of rows read by {@link #readNext()} and 
-     * {@link SelectOperation#readAll()}. Limiting rows read is useful to avoid
+     * Sets the maximum number of rows to read from result set. Limits the number of rows read by 
+     * {@link #readNext()} and {@link SelectOperation#readAll()}. Limiting rows read is useful to avoid
      * reading too many rows and thus creating memory or display problems.
+     * <p>
+     * When {@link #isSqlLimit()} is true, the limit is also added to the sql with {@link Dialect#getLimitSql(int, int, boolean)}
+     * and set with {@link PreparedStatement#setMaxRows(int)} so that the database does not select more rows 
+     * than are read. See {@link #isSqlLimit()} for when the limit is not added to sql.
      * 
      * @param maximumRowsRead 0..{@link Integer#MAX_VALUE}
      * @since 1.4
@@ -169,6 +295,188 @@ public class ScalarSelectOperation<R> extends SqlOperation<R> implements Iterabl
     }
     
     
+    /**
+     * Gets the number of rows of the result set to skip.
+     * 
+     * @return number of rows to skip; zero for none
+     * @since 4.4
+     */
+    public int getOffset()
+    {
+        return offset;
+    }
+
+
+    /**
+     * Sets the number of rows of the result set to skip prior to the first row that is read. Use
+     * with {@link #setMaximumRowsRead(int)} and an order by for server side paging. The offset is added to the sql 
+     * under the same conditions as maximum rows (see {@link #isSqlLimit()}). Otherwise rows are skipped 
+     * in the result set by {@link #execute()}. The default is zero.
+     * 
+     * @param offset number of rows to skip; zero for none
+     * @since 4.4
+     */
+    public void setOffset(int offset)
+    {
+        this.offset = offset;
+    }
+
+
+    /**
+     * Indicates if {@link #getMaximumRowsRead()} and {@link #getOffset()} are added to the sql and 
+     * {@link PreparedStatement#setMaxRows(int)}. The default is false. Even when true, the limit is not 
+     * added to sql when result set type is not {@link ResultSet#TYPE_FORWARD_ONLY} (like with 
+     * {@link org.sormula.selector.PaginatedSelector}), when a filter is active, or when table is cached 
+     * since in those cases rows of the result set may be positioned or skipped by this operation.
+     * 
+     * @return true to limit rows in sql
+     * @since 4.4
+     */
+    public boolean isSqlLimit()
+    {
+        return sqlLimit;
+    }
+
+
+    /**
+     * Sets if maximum rows read and offset are added to sql. Sql is limited only when the dialect supports it 
+     * (see {@link Dialect#getLimitSql(int, int, boolean)}). Do not set to true if {@link #resetRowsReadCount()} 
+     * is used to read more than maximum rows from the same result set.
+     * 
+     * @param sqlLimit true to limit rows in sql; false to limit rows only when reading result set
+     * @since 4.4
+     */
+    public void setSqlLimit(boolean sqlLimit)
+    {
+        this.sqlLimit = sqlLimit;
+    }
+    
+    
+    /**
+     * Gets the sql that limits rows that was used by most recent {@link #execute()}.
+     * 
+     * @return limit sql from {@link Dialect#getLimitSql(int, int, boolean)} or null if none
+     * @since 4.4
+     */
+    public String getLimitSql()
+    {
+        return limitSql;
+    }
+    
+    
+    /**
+     * Gets the JDBC fetch size set with {@link #setFetchSize(int)}. The default is zero.
+     * 
+     * @return result set fetch size
+     * @since 3.0
+     * @see PreparedStatement#setFetchSize(int)
+     */
+    public int getFetchSize()
+    {
+        return fetchSize;
+    }
+
+
+    /**
+     * Sets the JDBC fetch size to use for prepared statement. Fetch size is set on
+     * prepared statement during {@link #prepare()} with
+     * {@link PreparedStatement#setFetchSize(int)}.
+     * 
+     * @param fetchSize prepared statement fetch size
+     * @since 3.0
+     * @see PreparedStatement#setFetchSize(int)
+     */
+    public void setFetchSize(int fetchSize)
+    {
+        this.fetchSize = fetchSize;
+    }
+
+    
+    /**
+     * Gets the type of result set to use. 
+     * 
+     * @return {@link ResultSet#TYPE_FORWARD_ONLY}, {@link ResultSet#TYPE_SCROLL_INSENSITIVE}, or 
+     * {@link ResultSet#TYPE_SCROLL_SENSITIVE}
+     * @since 4.3
+     */
+    public int getResultSetType()
+    {
+        return resultSetType;
+    }
+
+
+    /**
+     * Sets the type of result set to use. The default is {@link ResultSet#TYPE_FORWARD_ONLY}. Use this
+     * method prior to {@link #execute()}. Setting result set type after {@link #execute()} has no affect. 
+     * 
+     * @param resultSetType {@link ResultSet#TYPE_FORWARD_ONLY}, {@link ResultSet#TYPE_SCROLL_INSENSITIVE}, or 
+     * {@link ResultSet#TYPE_SCROLL_SENSITIVE}
+     * 
+     * @since 4.3
+     */
+    public void setResultSetType(int resultSetType)
+    {
+        this.resultSetType = resultSetType;
+    }
+
+
+    /**
+     * Gets the number of rows to read ahead in a background thread for {@link #iterator()} and {@link #stream()}.
+     * The default is zero.
+     * 
+     * @return maximum rows to read ahead; zero if rows are read only when requested
+     * @since 4.4
+     */
+    public int getPrefetchSize()
+    {
+        return prefetchSize;
+    }
+
+
+    /**
+     * Sets the number of rows to read ahead for {@link #iterator()} and {@link #stream()}. When greater than zero,
+     * a producer task of {@link Database#getPublisherExecutor()} reads rows into a bounded queue while the 
+     * consumer processes earlier rows. See {@link PrefetchSelectIterator}. Prefetch is useful when the time 
+     * to fetch rows from a remote database is similar to the time to process them. 
+     * 
+     * @param prefetchSize maximum rows to read ahead; zero to read rows only when requested
+     * @since 4.4
+     */
+    public void setPrefetchSize(int prefetchSize)
+    {
+        this.prefetchSize = prefetchSize;
+    }
+
+
+    /**
+     * {@inheritDoc}
+     * Prepares statement with result set type supplied in {@link #setResultSetType(int)} and
+     * concurrency of {@link ResultSet#CONCUR_READ_ONLY}.
+     * 
+     * @since 4.3
+     */
+    @Override
+    protected PreparedStatement prepareStatement() throws SQLException
+    {
+        PreparedStatement preparedStatement = getConnection().prepareStatement(preparedSql, resultSetType, ResultSet.CONCUR_READ_ONLY);
+        preparedStatement.setFetchSize(fetchSize);
+        return preparedStatement;
+    }
+    
+    
+    /**
+     * {@inheritDoc}
+     * Key includes result set type and fetch size.
+     * 
+     * @since 4.4
+     */
+    @Override
+    protected String getStatementCacheKey()
+    {
+        return resultSetType + " " + fetchSize + " " + preparedSql;
+    }
+    
+
     /**
      * Gets the count of rows that were read since the most recent {@link #execute()}.
      * 
@@ -284,6 +592,14 @@ public class ScalarSelectOperation<R> extends SqlOperation<R> implements Iterabl
         if (!cacheContainsPrimaryKey)
         {
             // not cached or read will be a cache miss so prepare sql to query database
+            String executeLimitSql = createLimitSql();
+            if (!Objects.equals(executeLimitSql, limitSql))
+            {
+                // sql is different from prepared sql
+                closeStatement();
+                limitSql = executeLimitSql;
+            }
+            
             prepareCheck();
             OperationTime operationTime = getOperationTime();
             
@@ -303,9 +619,17 @@ public class ScalarSelectOperation<R> extends SqlOperation<R> implements Iterabl
             try
             {
                 PreparedStatement ps = getPreparedStatement();
+                ps.setMaxRows(getMaxRows()); // statement may be shared by statement cache so always set
                 operationTime.startExecuteTime();
                 resultSet = ps.executeQuery();
                 operationTime.stop();
+                
+                if (offset > 0 && limitSql == null)
+                {
+                    // offset is not in sql
+                    int skipped = 0;
+                    while (skipped < offset && resultSet.next()) ++skipped;
+                }
             }
             catch (Exception e)
             {
@@ -349,6 +673,13 @@ public class ScalarSelectOperation<R> extends SqlOperation<R> implements Iterabl
         }
         
         super.close();
+        
+        if (streamFetchSize)
+        {
+            // fetch size was changed by stream()
+            fetchSize = streamRestoreFetchSize;
+            streamFetchSize = false;
+        }
     }
     
     
@@ -451,15 +782,23 @@ public class ScalarSelectOperation<R> extends SqlOperation<R> implements Iterabl
                 {
                     //  within maximum and at least one more row
                     boolean complete = false;
-                    row = table.newRow();
+                    boolean constructed = rowTranslator.getConstructorTranslator() != null;
+                    if (!constructed) row = table.newRow();
                     
                     while (!complete)
                     {
+                        if (constructed)
+                        {
+                            // row constructor requires column values so row is read prior to pre read events
+                            row = rowTranslator.readNew(resultSet, 1);
+                        }
+                        
                         if (notifyLazySelects) 
                         {
                             // inform row of pending select cascades
                             LazySelectable lazySelectCascadeRow = (LazySelectable)row;
-                            lazySelectCascadeRow.pendingLazySelects(table.getDatabase());
+                            if (lazySelectGroup != null) lazySelectCascadeRow.pendingLazySelects(table.getDatabase(), lazySelectGroup);
+                            else lazySelectCascadeRow.pendingLazySelects(table.getDatabase());
                         }
                         
                         operationTime.pause();
@@ -467,7 +806,7 @@ public class ScalarSelectOperation<R> extends SqlOperation<R> implements Iterabl
                         preRead(row);
                         
                         operationTime.resume();
-                        rowTranslator.read(resultSet, 1, row);
+                        if (!constructed) rowTranslator.read(resultSet, 1, row);
                         operationTime.stop();
                         postRead(row);
                         
@@ -551,6 +890,114 @@ public class ScalarSelectOperation<R> extends SqlOperation<R> implements Iterabl
     }
     
 
+    /**
+     * Executes this operation and supplies each selected row to a consumer. This is a lightweight
+     * alternative to {@link #readNext()} for rows that only need to be examined once like for aggregation
+     * or export. Cascades and caching are not used while scanning. {@link #preRead(Object)}, {@link #postRead(Object)}, 
+     * filters, and {@link #getMaximumRowsRead()} apply as they do for {@link #readNext()}.
+     * <p>
+     * If reuseRow is true, then one row instance is created and the columns of each selected row are 
+     * read into it. Consumer must not keep a reference to the row since it is overwritten by the next row. 
+     * Only columns are read, so a row is reused only when all of its fields are columns (see {@link #isColumnsOnly()}).
+     * Otherwise a new row is created for each selected row so that values of other fields are not carried from
+     * the previous row. Rows are not reused when rows are created with a row constructor 
+     * (see {@link RowTranslator#getConstructorTranslator()}).
+     * <p>
+     * All parameters must be set prior to invoking this method. This operation is not closed.
+     * 
+     * @param consumer receives each row
+     * @param reuseRow true to read all rows into the same row instance; false to create a new row for each
+     * @return number of rows supplied to consumer
+     * @throws OperationException if error
+     * @since 4.4
+     */
+    public int scan(Consumer<? super R> consumer, boolean reuseRow) throws OperationException
+    {
+        boolean cascade = isCascade();
+        boolean cached = isCached();
+        setCascade(false);
+        setCached(false);
+        
+        try
+        {
+            execute();
+            
+            boolean constructed = rowTranslator.getConstructorTranslator() != null;
+            boolean reuse = reuseRow && !constructed && isColumnsOnly();
+            if (log.isDebugEnabled()) log.debug("scan() reuse=" + reuse);
+            
+            R row = reuse ? table.newRow() : null;
+            operationTime.startReadTime();
+            
+            while (rowsReadCount < maximumRowsRead && resultSet.next())
+            {
+                if (constructed)
+                {
+                    row = rowTranslator.readNew(resultSet, 1);
+                    preRead(row);
+                }
+                else
+                {
+                    if (!reuse) row = table.newRow();
+                    preRead(row);
+                    rowTranslator.read(resultSet, 1, row);
+                }
+                
+                postRead(row);
+                
+                if (filterPredicate == null || filterPredicate.test(row, false))
+                {
+                    ++rowsReadCount;
+                    operationTime.pause();
+                    consumer.accept(row);
+                    operationTime.resume();
+                }
+            }
+            
+            operationTime.stop();
+        }
+        catch (SQLException | SormulaException e)
+        {
+            throw new OperationException("scan() error", e);
+        }
+        finally
+        {
+            // no affect if stopped, otherwise error or consumer threw exception
+            if (operationTime != null) operationTime.cancel();
+            
+            setCascade(cascade);
+            setCached(cached);
+        }
+        
+        return rowsReadCount;
+    }
+    
+    
+    /**
+     * Tests if all instance fields of row class are columns. {@link #scan(Consumer, boolean)} reuses 
+     * a row only when this is true since reading a row sets only the column fields.
+     * 
+     * @return true if row class has no instance fields other than columns
+     * @since 4.4
+     */
+    public boolean isColumnsOnly()
+    {
+        Set<Field> columnFields = new HashSet<>();
+        rowTranslator.getColumnTranslatorList().forEach(ct -> columnFields.add(ct.getField()));
+        
+        for (Field f : rowTranslator.getDeclaredFields())
+        {
+            if (!Modifier.isStatic(f.getModifiers()) && !f.isSynthetic() && !columnFields.contains(f))
+            {
+                if (log.isDebugEnabled()) log.debug("isColumnsOnly() " + f.getName() + " is not a column");
+                return false;
+            }
+        }
+        
+        return true;
+    }
+    
+    
     /**
      * Sets order of results in list. Setting the order condition affects the
      * order of the rows are read from database but is only meaningful if the 
@@ -568,17 +1015,28 @@ public class ScalarSelectOperation<R> extends SqlOperation<R> implements Iterabl
         {
             try
             {
-                // look for order annotation in operation, table class, row class (in that order)
-                OrderBy orderByAnnotation = new OrderByAnnotationReader(
-                        this.getClass(), table.getClass(), table.getRowClass()).getAnnotation(orderByName);
-                if (orderByAnnotation != null)
-                {
-                    setOrderByTranslator(new OrderByTranslator<>(table.getRowTranslator(), orderByAnnotation));
-                }
-                else
+                // translator depends upon operation class since order by annotation may be on operation
+                OperationPlanCache operationPlanCache = table.getOperationPlanCache();
+                List<Object> key = OperationPlanCache.key("orderBy", getClass(), orderByName);
+                OrderByTranslator<R> orderByTranslator = operationPlanCache.get(key);
+                
+                if (orderByTranslator == null)
                 {
-                    throw new OperationException("no OrderBy annotation named, " + orderByName);
+                    // look for order annotation in operation, table class, row class (in that order)
+                    OrderBy orderByAnnotation = new OrderByAnnotationReader(
+                            this.getClass(), table.getClass(), table.getRowClass()).getAnnotation(orderByName);
+                    if (orderByAnnotation != null)
+                    {
+                        orderByTranslator = operationPlanCache.put(key, 
+                                new OrderByTranslator<>(table.getRowTranslator(), orderByAnnotation));
+                    }
+                    else
+                    {
+                        throw new OperationException("no OrderBy annotation named, " + orderByName);
+                    }
                 }
+                
+                setOrderByTranslator(orderByTranslator);
             }
             catch (TranslatorException e)
             {
@@ -679,6 +1137,32 @@ public class ScalarSelectOperation<R> extends SqlOperation<R> implements Iterabl
     }
 
 
+    /**
+     * Reports that operation has at least one select cascade with {@link SelectCascade#batched()} true 
+     * that can be performed for many rows with one query. This status is set during {@link #prepare()}.
+     * 
+     * @return true if there are batched select cascades
+     * @since 4.4
+     */
+    public boolean isBatchedSelectCascades()
+    {
+        return batchedSelectCascades;
+    }
+
+
+    /**
+     * Reports that operation has at least one select cascade with {@link SelectCascade#join()} true 
+     * that can be selected with the source row. This status is set during {@link #prepare()}.
+     * 
+     * @return true if there are joined select cascades
+     * @since 4.4
+     */
+    public boolean isJoinedSelectCascades()
+    {
+        return joinedSelectCascades;
+    }
+
+
     /**
      * Reports that {@link #isLazySelectsCascades()} is true and row is instance of {@link LazySelectable}. This is
      * set as an optimization so the {@link #readNext()} only tests a boolean to know when to invoke 
@@ -844,6 +1328,21 @@ public class ScalarSelectOperation<R> extends SqlOperation<R> implements Iterabl
     }
 
 
+    /**
+     * {@inheritDoc}
+     * Key includes order by translator.
+     * 
+     * @since 4.4
+     */
+    @Override
+    protected List<Object> getSqlPlanKey()
+    {
+        List<Object> key = super.getSqlPlanKey();
+        if (key != null) key = OperationPlanCache.key(key, orderByTranslator, limitSql);
+        return key;
+    }
+    
+    
     /**
      * {@inheritDoc}
      * Order by clause is appended to super{@link #getSql()}.
@@ -859,10 +1358,68 @@ public class ScalarSelectOperation<R> extends SqlOperation<R> implements Iterabl
             sql += " " + orderByTranslator.createSql();
         }
         
+        if (limitSql != null)
+        {
+            // maximum rows and/or offset
+            sql += " " + limitSql;
+        }
+        
         return sql;
     }
     
     
+    /**
+     * Creates the sql that limits rows for the current maximum rows, offset, and order.
+     * 
+     * @return sql from {@link Dialect#getLimitSql(int, int, boolean)} or null if rows are not limited in sql
+     * @since 4.4
+     */
+    protected String createLimitSql()
+    {
+        if (isSqlLimitUsed())
+        {
+            String sql = table.getDatabase().getDialect().getLimitSql(offset, maximumRowsRead, orderByTranslator != null);
+            if (sql != null && sql.length() > 0) return sql;
+        }
+        
+        return null;
+    }
+    
+    
+    /**
+     * Gets the value for {@link PreparedStatement#setMaxRows(int)}.
+     * 
+     * @return maximum rows for statement; zero for no limit
+     * @since 4.4
+     */
+    protected int getMaxRows()
+    {
+        if (isSqlLimitUsed() && maximumRowsRead < Integer.MAX_VALUE)
+        {
+            // offset rows are in result set when offset is not in sql
+            long maxRows = limitSql == null ? (long)maximumRowsRead + offset : maximumRowsRead;
+            if (maxRows < Integer.MAX_VALUE) return (int)maxRows;
+        }
+        
+        return 0;
+    }
+    
+    
+    /**
+     * Tests if limits should be used for sql and statement.
+     * 
+     * @return true if maximum rows and offset may be added to sql 
+     */
+    boolean isSqlLimitUsed()
+    {
+        return sqlLimit &&
+               resultSetType == ResultSet.TYPE_FORWARD_ONLY && // positioned result sets read past limit 
+               filterPredicate == null &&                      // filters may skip rows
+               !(isCached() && table.isCached()) &&            // cache may skip deleted rows
+               (offset > 0 || (maximumRowsRead > 0 && maximumRowsRead < Integer.MAX_VALUE));
+    }
+    
+    
     /**
      * Gets the result set of the most recent select.
      * 
@@ -874,6 +1431,69 @@ public class ScalarSelectOperation<R> extends SqlOperation<R> implements Iterabl
     }
 
 
+    /**
+     * Prepares cascades prior to preparing statement since joined select cascades are part 
+     * of the sql. 
+     * 
+     * @throws OperationException if error
+     */
+    @Override
+    protected void prepare() throws OperationException
+    {
+        if (!cascadesPrepared) prepareCascades();
+        joinFetch = joinedSelectCascades && isCascade() && !isCached();
+        super.prepare();
+    }
+    
+    
+    /**
+     * Gets base sql. When {@link #isJoinedSelectCascades()} is true, base sql includes columns and 
+     * joins for targets of joined select cascades.
+     * 
+     * @return sql that was set by {@link #setBaseSql(String)} with joins if any
+     */
+    @Override
+    protected String getBaseSql()
+    {
+        if (joinFetch)
+        {
+            if (joinBaseSql == null) joinBaseSql = createJoinBaseSql();
+            return joinBaseSql;
+        }
+        
+        return super.getBaseSql();
+    }
+    
+    
+    /**
+     * Creates base sql that selects target rows of joined select cascades with source rows like:<br>
+     * SELECT c1, c2, ..., j1.j1_0, ... FROM table LEFT JOIN (SELECT ... FROM target) j1 ON ...
+     * 
+     * @return base sql with joins
+     * @since 4.4
+     */
+    protected String createJoinBaseSql()
+    {
+        String baseSql = super.getBaseSql();
+        int from = baseSql.lastIndexOf(" FROM ");
+        StringBuilder columnPhrase = new StringBuilder(baseSql.substring(0, from));
+        StringBuilder joinPhrase = new StringBuilder(baseSql.substring(from));
+        int columnIndex = rowTranslator.getIncludedColumnCount() + 1;
+        int join = 1;
+        
+        for (CascadeOperation<R, ?> o: cascadeOperations)
+        {
+            if (isJoined(o))
+            {
+                columnIndex = ((SelectCascadeOperation<R, ?>)o).prepareJoin("sormula_j" + join++, 
+                        columnIndex, columnPhrase, joinPhrase);
+            }
+        }
+        
+        return columnPhrase.append(joinPhrase).toString();
+    }
+    
+    
     /**
      * Sets the base sql with {@link #setBaseSql(String)}.
      */
@@ -883,15 +1503,26 @@ public class ScalarSelectOperation<R> extends SqlOperation<R> implements Iterabl
         RowTranslator<R> rowTranslator = getTable().getRowTranslator();
         rowTranslator.setIncludeIdentityColumns(isIncludeIdentityColumns()); // usually true for selects
         rowTranslator.setIncludeReadOnlyColumns(true);
-        String selectColumnPhrase = rowTranslator.createColumnPhrase(); 
-        StringBuilder sql = new StringBuilder(selectColumnPhrase.length() + tableName.length() + 50);
         
-        sql.append("SELECT ");
-        sql.append(selectColumnPhrase);
-        sql.append(" FROM ");
-        sql.append(tableName);
+        // same for all select operations on table
+        OperationPlanCache operationPlanCache = getTable().getOperationPlanCache();
+        List<Object> key = OperationPlanCache.key("baseSql", ScalarSelectOperation.class, isIncludeIdentityColumns());
+        String baseSql = operationPlanCache.get(key);
         
-        setBaseSql(sql.toString());
+        if (baseSql == null)
+        {
+            String selectColumnPhrase = rowTranslator.createColumnPhrase(); 
+            StringBuilder sql = new StringBuilder(selectColumnPhrase.length() + tableName.length() + 50);
+            
+            sql.append("SELECT ");
+            sql.append(selectColumnPhrase);
+            sql.append(" FROM ");
+            sql.append(tableName);
+            
+            baseSql = operationPlanCache.put(key, sql.toString());
+        }
+        
+        setBaseSql(baseSql);
     }
 
     
@@ -939,7 +1570,78 @@ public class ScalarSelectOperation<R> extends SqlOperation<R> implements Iterabl
      */
     protected void postReadCascade(R row) throws OperationException
     {
-        cascade(row, true);
+        if (batchedCascadeRows == null && !joinFetch)
+        {
+            cascade(row, true);
+        }
+        else if (row != null)
+        {
+            for (CascadeOperation<R, ?> o: cascadeOperations)
+            {
+                if (o.isPost())
+                {
+                    if (joinFetch && isJoined(o))
+                    {
+                        // target row is in current row of result set
+                        ((SelectCascadeOperation<R, ?>)o).cascade(row, resultSet);
+                    }
+                    else if (batchedCascadeRows == null || !isBatched(o))
+                    {
+                        o.cascade(row);
+                    }
+                }
+            }
+            
+            // batched select cascades are performed by postReadBatchedCascade after all rows are read
+            if (batchedCascadeRows != null) batchedCascadeRows.add(row);
+        }
+    }
+    
+    
+    /**
+     * Invoked after reading all rows with {@link SelectOperation#readAll()}. Performs all select 
+     * cascade operations where {@link SelectCascade#batched()} is true for all rows. 
+     * 
+     * @param rows rows that were read
+     * @throws OperationException if error 
+     * @since 4.4
+     */
+    protected void postReadBatchedCascade(List<R> rows) throws OperationException
+    {
+        if (rows.size() > 0)
+        {
+            for (CascadeOperation<R, ?> o: cascadeOperations)
+            {
+                if (isBatched(o))
+                {
+                    if (log.isDebugEnabled()) log.debug("batched cascade depth=" + getCascadeDepth() + 
+                            " field=" + o.getTargetField().getField().getName() + " rows=" + rows.size());
+                    ((SelectCascadeOperation<R, ?>)o).cascade(rows);
+                }
+            }
+        }
+    }
+    
+    
+    /**
+     * Tests if readAll may defer batched cascades. Filters are tested on cascaded rows so
+     * batched cascades are not deferred when a filter is used.
+     */
+    boolean isDeferBatchedCascades()
+    {
+        return batchedSelectCascades && isCascading() && filterPredicate == null;
+    }
+    
+    
+    static boolean isBatched(CascadeOperation<?, ?> o)
+    {
+        return o instanceof SelectCascadeOperation && ((SelectCascadeOperation<?, ?>)o).isBatched();
+    }
+
+    
+    static boolean isJoined(CascadeOperation<?, ?> o)
+    {
+        return o instanceof SelectCascadeOperation && ((SelectCascadeOperation<?, ?>)o).isJoined();
     }
     
     
@@ -950,7 +1652,7 @@ public class ScalarSelectOperation<R> extends SqlOperation<R> implements Iterabl
     protected List<CascadeOperation<R, ?>> prepareCascades(Field field) throws OperationException
     {
         List<CascadeOperation<R, ?>> co = null;
-        SelectCascadeAnnotationReader car = new SelectCascadeAnnotationReader(field);
+        SelectCascadeAnnotationReader car = getCascadeAnnotationReader(field, SelectCascadeAnnotationReader.class, SelectCascadeAnnotationReader::new);
         SelectCascade[] selectCascades = car.getSelectCascades();
         
         if (selectCascades.length > 0 && isRequiredCascade(car.getName()))
@@ -981,6 +1683,8 @@ public class ScalarSelectOperation<R> extends SqlOperation<R> implements Iterabl
 
                     operation.prepare();
                     co.add(operation);
+                    if (operation.isBatched()) batchedSelectCascades = true;
+                    if (operation.isJoined()) joinedSelectCascades = true;
                 }
             }
             
@@ -16,13 +16,13 @@
  */
 package org.sormula.operation;
 
-import java.sql.PreparedStatement;
-import java.sql.ResultSet;
-import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 
 import org.sormula.Table;
 import org.sormula.annotation.Where;
+import org.sormula.operation.cascade.lazy.LazySelectGroup;
 
 
 /**
@@ -37,8 +37,6 @@ public abstract class SelectOperation<R, C> extends ScalarSelectOperation<R>
 {
     int defaultReadAllSize;
     C selectedRows;
-    int fetchSize;
-    int resultSetType;
     
     
     /**
@@ -51,7 +49,6 @@ public abstract class SelectOperation<R, C> extends ScalarSelectOperation<R>
     public SelectOperation(Table<R> table) throws OperationException
     {
         super(table);
-        setResultSetType(ResultSet.TYPE_FORWARD_ONLY);
         setDefaultReadAllSize(20);
     }
     
@@ -68,7 +65,6 @@ public abstract class SelectOperation<R, C> extends ScalarSelectOperation<R>
     public SelectOperation(Table<R> table, String whereConditionName) throws OperationException
     {
         super(table, whereConditionName);
-        setResultSetType(ResultSet.TYPE_FORWARD_ONLY);
         
         if (getWhereAnnotation() == null)
         {
@@ -132,14 +128,35 @@ public abstract class SelectOperation<R, C> extends ScalarSelectOperation<R>
     public C readAll() throws OperationException
     {
         selectedRows = createReadAllCollection();
+        List<R> batchedRows = null;
         
-        while (true)
+        if (isDeferBatchedCascades())
         {
-            R row = readNext();
-            if (row == null) break; 
-            add(row);
+            // perform batched select cascades after all rows are read
+            batchedRows = new ArrayList<>(defaultReadAllSize);
+            batchedCascadeRows = batchedRows;
         }
         
+        // rows with lazy selects can select lazy fields for each other
+        if (notifyLazySelects) lazySelectGroup = new LazySelectGroup<>();
+        
+        try
+        {
+            while (true)
+            {
+                R row = readNext();
+                if (row == null) break; 
+                add(row);
+            }
+        }
+        finally
+        {
+            batchedCascadeRows = null;
+            lazySelectGroup = null;
+        }
+        
+        if (batchedRows != null) postReadBatchedCascade(batchedRows);
+        
         return selectedRows;
     }
     
@@ -222,78 +239,6 @@ public abstract class SelectOperation<R, C> extends ScalarSelectOperation<R>
     }
 
 
-    /**
-     * Gets the JDBC fetch size set with {@link #setFetchSize(int)}. The default is zero.
-     * 
-     * @return result set fetch size
-     * @since 3.0
-     * @see PreparedStatement#setFetchSize(int)
-     */
-    public int getFetchSize()
-    {
-        return fetchSize;
-    }
-
-
-    /**
-     * Sets the JDBC fetch size to use for prepared statement. Fetch size is set on
-     * prepared statement during {@link #prepare()} with
-     * {@link PreparedStatement#setFetchSize(int)}.
-     * 
-     * @param fetchSize prepared statement fetch size
-     * @since 3.0
-     * @see PreparedStatement#setFetchSize(int)
-     */
-    public void setFetchSize(int fetchSize)
-    {
-        this.fetchSize = fetchSize;
-    }
-
-    
-    /**
-     * Gets the type of result set to use. 
-     * 
-     * @return {@link ResultSet#TYPE_FORWARD_ONLY}, {@link ResultSet#TYPE_SCROLL_INSENSITIVE}, or 
-     * {@link ResultSet#TYPE_SCROLL_SENSITIVE}
-     * @since 4.3
-     */
-    public int getResultSetType()
-    {
-        return resultSetType;
-    }
-
-
-    /**
-     * Sets the type of result set to use. The default is {@link ResultSet#TYPE_FORWARD_ONLY}. Use this
-     * method prior to {@link #execute()}. Setting result set type after {@link #execute()} has no affect. 
-     * 
-     * @param resultSetType {@link ResultSet#TYPE_FORWARD_ONLY}, {@link ResultSet#TYPE_SCROLL_INSENSITIVE}, or 
-     * {@link ResultSet#TYPE_SCROLL_SENSITIVE}
-     * 
-     * @since 4.3
-     */
-    public void setResultSetType(int resultSetType)
-    {
-        this.resultSetType = resultSetType;
-    }
-
-
-    /**
-     * {@inheritDoc}
-     * Prepares statement with result set type supplied in {@link #setResultSetType(int)} and
-     * concurrency of {@link ResultSet#CONCUR_READ_ONLY}.
-     * 
-     * @since 4.3
-     */
-	@Override
-	protected PreparedStatement prepareStatement() throws SQLException
-	{
-	    PreparedStatement preparedStatement = getConnection().prepareStatement(preparedSql, resultSetType, ResultSet.CONCUR_READ_ONLY);
-	    preparedStatement.setFetchSize(fetchSize);
-	    return preparedStatement;
-	}
-	
-
     /**
      * Implement to create collection to use by {@link #readAll()}.
      * 
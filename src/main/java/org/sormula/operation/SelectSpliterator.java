@@ -0,0 +1,79 @@
+/* sormula - Simple object relational mapping
+ * Copyright (C) 2011-2020 Jeff Miller
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sormula.operation;
+
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+
+
+/**
+ * Spliterator for rows of a {@link ScalarSelectOperation}. Each {@link #tryAdvance(Consumer)} reads one row 
+ * with {@link ScalarSelectOperation#readNext()}. Rows are ordered and not null. The spliterator does not
+ * split so streams that use it are sequential. Used by {@link ScalarSelectOperation#stream()}.
+ * <p>
+ * Unlike {@link SelectIterator}, errors are not logged and ignored. They are thrown as 
+ * {@link UncheckedOperationException}.
+ * 
+ * @since 4.4
+ * @author Jeff Miller
+ * @param <R> class type for row 
+ */
+public class SelectSpliterator<R> extends Spliterators.AbstractSpliterator<R>
+{
+    ScalarSelectOperation<R> selectOperation;
+    
+    
+    /**
+     * Constructs for a select operation. {@link ScalarSelectOperation#execute()} must be
+     * invoked prior to the first use of {@link #tryAdvance(Consumer)}.
+     * 
+     * @param selectOperation operation that reads the rows
+     */
+    public SelectSpliterator(ScalarSelectOperation<R> selectOperation)
+    {
+        super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+        this.selectOperation = selectOperation;
+    }
+
+
+    /**
+     * Reads the next row and supplies it to action.
+     * 
+     * @param action receives the next row
+     * @return false if no more rows
+     * @throws UncheckedOperationException if error reading row
+     */
+    @Override
+    public boolean tryAdvance(Consumer<? super R> action)
+    {
+        R row;
+        
+        try
+        {
+            row = selectOperation.readNext();
+        }
+        catch (OperationException e)
+        {
+            throw new UncheckedOperationException("error reading next row", e);
+        }
+        
+        if (row == null) return false;
+        action.accept(row);
+        return true;
+    }
+}
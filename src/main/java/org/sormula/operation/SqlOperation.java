@@ -26,9 +26,11 @@ import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
 
 import org.sormula.Database;
 import org.sormula.SormulaException;
+import org.sormula.StatementCache;
 import org.sormula.Table;
 import org.sormula.annotation.Column;
 import org.sormula.annotation.Row;
@@ -36,6 +38,7 @@ import org.sormula.annotation.Where;
 import org.sormula.annotation.WhereAnnotationReader;
 import org.sormula.annotation.WhereField;
 import org.sormula.annotation.cascade.Cascade;
+import org.sormula.annotation.cascade.CascadeAnnotationReader;
 import org.sormula.annotation.cascade.OneToManyCascade;
 import org.sormula.annotation.cascade.OneToOneCascade;
 import org.sormula.annotation.cascade.SelectCascade;
@@ -71,6 +74,29 @@ public abstract class SqlOperation<R> implements AutoCloseable
     private static final SormulaLogger log = SormulaLoggerFactory.getClassLogger();
     private static NoOperationTime noOperationTime = new NoOperationTime();
     
+    // true if getSql() is not overridden by operation class other than sormula operations
+    static final ClassValue<Boolean> STANDARD_SQL = new ClassValue<Boolean>()
+    {
+        @Override
+        protected Boolean computeValue(Class<?> operationClass)
+        {
+            for (Class<?> c = operationClass; c != SqlOperation.class && c != ScalarSelectOperation.class; c = c.getSuperclass())
+            {
+                try
+                {
+                    c.getDeclaredMethod("getSql");
+                    return false;
+                }
+                catch (NoSuchMethodException e)
+                {
+                    // not overridden by this class, check super class
+                }
+            }
+            
+            return true;
+        }
+    };
+    
     Table<R> table;
     String whereConditionName;
     AbstractWhereTranslator<R> whereTranslator;
@@ -358,6 +384,21 @@ public abstract class SqlOperation<R> implements AutoCloseable
     }
     
     
+    /**
+     * Gets the cascade operations for all cascade annotations of row class. Cascades are prepared
+     * if they have not been prepared by {@link #prepare()}.
+     * 
+     * @return cascade operations or null if none
+     * @throws OperationException if error
+     * @since 4.4
+     */
+    public List<CascadeOperation<R, ?>> getCascadeOperations() throws OperationException
+    {
+        if (!cascadesPrepared) prepareCascades();
+        return cascadeOperations;
+    }
+    
+    
     /**
      * Prepares statement and then sets all parameters with {@link #writeParameter(int, Object)}.
      * {@link #prepareCheck()} or {@link #prepare()} must be invoked prior to using this method.
@@ -680,7 +721,9 @@ public abstract class SqlOperation<R> implements AutoCloseable
         {
             if (preparedStatement != null)
             {
-                preparedStatement.close();
+                StatementCache statementCache = table.getDatabase().getStatementCache();
+                if (statementCache != null) statementCache.giveBack(preparedStatement); // closes if not from cache
+                else preparedStatement.close();
                 preparedStatement = null;
             }
         }
@@ -773,12 +816,27 @@ public abstract class SqlOperation<R> implements AutoCloseable
     {
         operationTime.startPrepareTime();
         setNextParameter(1);
-        preparedSql = getSql();
+        
+        List<Object> sqlPlanKey = getSqlPlanKey();
+        if (sqlPlanKey != null)
+        {
+            // same sql for all operations with same key
+            OperationPlanCache operationPlanCache = table.getOperationPlanCache();
+            preparedSql = operationPlanCache.get(sqlPlanKey);
+            if (preparedSql == null) preparedSql = operationPlanCache.put(sqlPlanKey, getSql());
+        }
+        else
+        {
+            preparedSql = getSql();
+        }
+        
         
         try
         {
             if (log.isDebugEnabled()) log.debug("prepare() " + preparedSql);
-            preparedStatement = prepareStatement();
+            StatementCache statementCache = table.getDatabase().getStatementCache();
+            if (statementCache != null) preparedStatement = statementCache.borrow(getStatementCacheKey(), this::prepareStatement);
+            else preparedStatement = prepareStatement();
             preparedStatement.setQueryTimeout(queryTimeout);
         }
         catch (Exception e)
@@ -809,6 +867,21 @@ public abstract class SqlOperation<R> implements AutoCloseable
     }
     
     
+    /**
+     * Gets the key of the prepared statement in {@link StatementCache}. The key must contain all values
+     * that {@link #prepareStatement()} uses to prepare a statement. Subclasses that override
+     * {@link #prepareStatement()} should override this method when they prepare with additional values.
+     * 
+     * @return sql that is prepared
+     * @since 4.4
+     * @see Database#setStatementCacheSize(int)
+     */
+    protected String getStatementCacheKey()
+    {
+        return preparedSql;
+    }
+    
+    
     /**
      * Prepares cascades for all cascade annotations on row class. Cascade annotations
      * are {@link OneToManyCascade}, {@link OneToOneCascade}, and {@link Cascade}.
@@ -937,21 +1010,72 @@ public abstract class SqlOperation<R> implements AutoCloseable
      */
     protected RowField<R, ?> createRowField(Table<R> targetTable, Field field) throws OperationException
     {
-        RowField<R, ?> rowField;
+        // row fields are stateless so one per field is kept for all operations of table
+        OperationPlanCache operationPlanCache = table.getOperationPlanCache();
+        List<Object> key = OperationPlanCache.key("rowField", targetTable.getRowClass(), field);
+        RowField<R, ?> rowField = operationPlanCache.get(key);
         
-        try
-        {
-            rowField = targetTable.getRowTranslator().createRowField(field);
-        }
-        catch (TranslatorException e)
+        if (rowField == null)
         {
-            throw new OperationException("error creating field access for " + field, e);
+            try
+            {
+                rowField = operationPlanCache.put(key, targetTable.getRowTranslator().createRowField(field));
+            }
+            catch (TranslatorException e)
+            {
+                throw new OperationException("error creating field access for " + field, e);
+            }
         }
         
         return rowField;
     }
+    
+    
+    /**
+     * Gets the cascade annotation reader for a field of row class. A reader is created once for each
+     * field and reader class and kept in {@link Table#getOperationPlanCache()} so that cascade annotations
+     * are not parsed each time that an operation is prepared. Readers obtained with this method are 
+     * shared by all operations of table and must not be modified.
+     * 
+     * @param field cascade field of row class
+     * @param readerClass class of reader to get
+     * @param readerFactory creates reader for field when none has been cached
+     * @param <C> type of cascade annotation reader
+     * @return reader for field
+     * @since 4.4
+     */
+    protected <C extends CascadeAnnotationReader> C getCascadeAnnotationReader(Field field, 
+            Class<C> readerClass, Function<Field, C> readerFactory)
+    {
+        OperationPlanCache operationPlanCache = table.getOperationPlanCache();
+        List<Object> key = OperationPlanCache.key("cascadeReader", readerClass, field);
+        C reader = operationPlanCache.get(key);
+        if (reader == null) reader = operationPlanCache.put(key, readerFactory.apply(field));
+        return reader;
+    }
 
     
+    /**
+     * Gets the key of the sql in {@link Table#getOperationPlanCache()}. The sql from {@link #getSql()} is 
+     * created once for each key and then used by all operations of the table with the same key. 
+     * <p>
+     * Default key is operation class, base sql, custom sql and where translator. Null is returned when
+     * the where condition uses a collection operand (since sql depends upon parameters) or when the operation class 
+     * overrides {@link #getSql()} (since sql may depend upon values that are not in key). Subclasses that add to the 
+     * sql should include the values that they add in the key.
+     * 
+     * @return key or null if sql should not be cached
+     * @since 4.4
+     */
+    protected List<Object> getSqlPlanKey()
+    {
+        AbstractWhereTranslator<R> wt = getWhereTranslator(); 
+        if ((wt != null && wt.isCollectionOperand()) || !STANDARD_SQL.get(getClass())) return null;
+        
+        return OperationPlanCache.key("sql", getClass(), getBaseSql(), customSql, wt);
+    }
+    
+    
     /**
      * Gets full sql statement to prepare. Default implementation is to use base 
      * sql + custom sql + where sql. Subclasses may override to create more detailed sql.
@@ -970,7 +1094,8 @@ public abstract class SqlOperation<R> implements AutoCloseable
         AbstractWhereTranslator<R> wt = getWhereTranslator(); 
         if (wt != null)
         {
-            wt.setParameters(getParameters());
+            // only collection operand sql depends upon parameters, other translators are shared by operations
+            if (wt.isCollectionOperand()) wt.setParameters(getParameters());
             sql += " " + wt.createSql();
         }
         
@@ -1059,19 +1184,33 @@ public abstract class SqlOperation<R> implements AutoCloseable
             
             try
             {
-                // look for where annotation
-                // in operation, row class, table class (in that order)
-                whereAnnotation = new WhereAnnotationReader(
-                    this.getClass(), table.getClass(), table.getRowClass()).getAnnotation(whereConditionName);
+                // translator depends upon operation class since where annotation may be on operation
+                OperationPlanCache operationPlanCache = table.getOperationPlanCache();
+                List<Object> key = OperationPlanCache.key("where", getClass(), whereConditionName);
+                WhereTranslator<R> whereTranslator = operationPlanCache.get(key);
                 
-                if (whereAnnotation != null)
+                if (whereTranslator == null)
                 {
-                    setWhereTranslator(new WhereTranslator<>(table.getRowTranslator(), whereAnnotation));
-                }
-                else
-                {
-                    throw new OperationException("no Where annotation named, " + whereConditionName);
+                    // look for where annotation
+                    // in operation, row class, table class (in that order)
+                    whereAnnotation = new WhereAnnotationReader(
+                        this.getClass(), table.getClass(), table.getRowClass()).getAnnotation(whereConditionName);
+                    
+                    if (whereAnnotation != null)
+                    {
+                        whereTranslator = new WhereTranslator<>(table.getRowTranslator(), whereAnnotation);
+                        
+                        // collection operand sql depends upon parameters so don't share
+                        if (!whereTranslator.isCollectionOperand()) operationPlanCache.put(key, whereTranslator);
+                    }
+                    else
+                    {
+                        throw new OperationException("no Where annotation named, " + whereConditionName);
+                    }
                 }
+                
+                whereAnnotation = whereTranslator.getWhereAnnotation();
+                setWhereTranslator(whereTranslator);
             }
             catch (TranslatorException e)
             {
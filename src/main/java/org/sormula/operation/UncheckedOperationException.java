@@ -0,0 +1,55 @@
+/* sormula - Simple object relational mapping
+ * Copyright (C) 2011-2020 Jeff Miller
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sormula.operation;
+
+
+/**
+ * Wraps an {@link OperationException} that occurs where checked exceptions cannot be thrown like
+ * within a {@link java.util.stream.Stream} of rows. Since it is a runtime exception, try/catch/finally 
+ * blocks are optional.
+ * 
+ * @since 4.4
+ * @author Jeff Miller
+ */
+public class UncheckedOperationException extends RuntimeException
+{
+    private static final long serialVersionUID = 1L;
+
+
+    /**
+     * Constructs for a message and cause.
+     * 
+     * @param message exception message
+     * @param cause cause of exception
+     */
+    public UncheckedOperationException(String message, OperationException cause)
+    {
+        super(message, cause);
+    }
+    
+    
+    /**
+     * Gets the operation exception that was wrapped.
+     * 
+     * @return cause of this exception
+     */
+    @Override
+    public OperationException getCause()
+    {
+        return (OperationException)super.getCause();
+    }
+}
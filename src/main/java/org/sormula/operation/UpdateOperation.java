@@ -154,15 +154,26 @@ public class UpdateOperation<R> extends ModifyOperation<R>
         RowTranslator<R> rowTranslator = getTable().getRowTranslator();
         rowTranslator.setIncludeIdentityColumns(isIncludeIdentityColumns()); // usually false for updates that have identity column
         rowTranslator.setIncludeReadOnlyColumns(false);
-        String columnParameterPhrase = rowTranslator.createColumnParameterPhrase();
         
-        StringBuilder sql = new StringBuilder(columnParameterPhrase.length() +  tableName.length() + 50);
-        sql.append("UPDATE ");
-        sql.append(tableName);
-        sql.append(" SET ");
-        sql.append(columnParameterPhrase);
+        // same for all update operations on table
+        OperationPlanCache operationPlanCache = getTable().getOperationPlanCache();
+        List<Object> key = OperationPlanCache.key("baseSql", UpdateOperation.class, isIncludeIdentityColumns());
+        String baseSql = operationPlanCache.get(key);
         
-        setBaseSql(sql.toString());
+        if (baseSql == null)
+        {
+            String columnParameterPhrase = rowTranslator.createColumnParameterPhrase();
+            
+            StringBuilder sql = new StringBuilder(columnParameterPhrase.length() +  tableName.length() + 50);
+            sql.append("UPDATE ");
+            sql.append(tableName);
+            sql.append(" SET ");
+            sql.append(columnParameterPhrase);
+            
+            baseSql = operationPlanCache.put(key, sql.toString());
+        }
+        
+        setBaseSql(baseSql);
     }
     
     
@@ -173,7 +184,7 @@ public class UpdateOperation<R> extends ModifyOperation<R>
     protected List<CascadeOperation<R, ?>> prepareCascades(Field field) throws OperationException
     {
         List<CascadeOperation<R, ?>> co = null;
-        UpdateCascadeAnnotationReader car = new UpdateCascadeAnnotationReader(field);
+        UpdateCascadeAnnotationReader car = getCascadeAnnotationReader(field, UpdateCascadeAnnotationReader.class, UpdateCascadeAnnotationReader::new);
         UpdateCascade[] updateCascades = car.getUpdateCascades();
         
         if (updateCascades.length > 0 && isRequiredCascade(car.getName()))
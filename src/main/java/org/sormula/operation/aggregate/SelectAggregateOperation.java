@@ -24,6 +24,7 @@ import org.sormula.log.SormulaLoggerFactory;
 import org.sormula.operation.OperationException;
 import org.sormula.operation.ScalarSelectOperation;
 import org.sormula.reflect.RowField;
+import org.sormula.translator.AbstractColumnTranslator;
 import org.sormula.translator.ColumnTranslator;
 
 
@@ -82,6 +83,7 @@ public class SelectAggregateOperation<R, T> extends ScalarSelectOperation<R>
         this.function = function;
         this.expression = expression;
         initBaseSql();
+        setCascade(false); // aggregate sql has no cascades
         
         columnTranslator = getTable().getRowTranslator().getColumnTranslator(expression);
         if (columnTranslator != null)
@@ -129,7 +131,15 @@ public class SelectAggregateOperation<R, T> extends ScalarSelectOperation<R>
         {
             if (rs.next())
             {
-                if (columnTranslator != null)
+                if (columnTranslator instanceof AbstractColumnTranslator &&
+                    getTable().getRowTranslator().getConstructorTranslator() != null)
+                {
+                    // rows are created by row constructor, read result with type translator of column
+                    @SuppressWarnings("unchecked")
+                    T temp = ((AbstractColumnTranslator<R, T>)columnTranslator).getTypeTranslator().read(rs, 1);
+                    result = temp;
+                }
+                else if (columnTranslator != null)
                 {
                     // read result into a row using column translator of column for row
                     R row = getTable().newRow();
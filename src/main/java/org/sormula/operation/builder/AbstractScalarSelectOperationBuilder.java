@@ -36,6 +36,11 @@ public abstract class AbstractScalarSelectOperationBuilder<R, B extends Abstract
     String orderByName;
     Integer maximumRowsRead;
     R rowParameters;
+    Integer fetchSize;
+    Integer resultSetType;
+    Integer prefetchSize;
+    Integer offset;
+    Boolean sqlLimit;
     
     
     /**
@@ -59,6 +64,11 @@ public abstract class AbstractScalarSelectOperationBuilder<R, B extends Abstract
         if (orderByName != null) operation.setOrderBy(orderByName);
         if (maximumRowsRead != null) operation.setMaximumRowsRead(maximumRowsRead);
         if (rowParameters != null) operation.setRowParameters(rowParameters);
+        if (fetchSize != null) operation.setFetchSize(fetchSize);
+        if (resultSetType != null) operation.setResultSetType(resultSetType);
+        if (prefetchSize != null) operation.setPrefetchSize(prefetchSize);
+        if (offset != null) operation.setOffset(offset);
+        if (sqlLimit != null) operation.setSqlLimit(sqlLimit);
     }
     
     
@@ -96,4 +106,67 @@ public abstract class AbstractScalarSelectOperationBuilder<R, B extends Abstract
         this.rowParameters = rowParameters;
         return (B)this;
     }
+    
+
+    /**
+     * @param fetchSize see {@link ScalarSelectOperation}
+     * @return this
+     */
+    @SuppressWarnings("unchecked")
+    public B fetchSize(int fetchSize)
+    {
+        this.fetchSize = fetchSize;
+        return (B)this;
+    }
+    
+    
+    /**
+     * @param resultSetType see {@link ScalarSelectOperation}
+     * @return this
+     */
+    @SuppressWarnings("unchecked")
+    public B resultSetType(int resultSetType)
+    {
+        this.resultSetType = resultSetType;
+        return (B)this;
+    }
+    
+    
+    /**
+     * @param prefetchSize see {@link ScalarSelectOperation#setPrefetchSize(int)}
+     * @return this
+     * @since 4.4
+     */
+    @SuppressWarnings("unchecked")
+    public B prefetchSize(int prefetchSize)
+    {
+        this.prefetchSize = prefetchSize;
+        return (B)this;
+    }
+    
+    
+    /**
+     * @param offset see {@link ScalarSelectOperation#setOffset(int)}
+     * @return this
+     * @since 4.4
+     */
+    @SuppressWarnings("unchecked")
+    public B offset(int offset)
+    {
+        this.offset = offset;
+        return (B)this;
+    }
+    
+    
+    /**
+     * @param sqlLimit see {@link ScalarSelectOperation#setSqlLimit(boolean)}
+     * @return this
+     * @since 4.4
+     */
+    @SuppressWarnings("unchecked")
+    public B sqlLimit(boolean sqlLimit)
+    {
+        this.sqlLimit = sqlLimit;
+        return (B)this;
+    }
 }
@@ -31,6 +31,9 @@ import org.sormula.operation.InsertOperation;
 public class InsertOperationBuilder<R>
     extends ModifyOperationBuilder<R, InsertOperationBuilder<R>, InsertOperation<R>>
 {
+    Integer multiRowSize;
+    
+    
     /**
      * Constructs for a table.
      * 
@@ -52,4 +55,26 @@ public class InsertOperationBuilder<R>
         init(operation);
         return operation;
     }
+    
+    
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void init(InsertOperation<R> operation) throws SormulaException
+    {
+        super.init(operation);
+        if (multiRowSize != null) operation.setMultiRowSize(multiRowSize);
+    }
+    
+    
+    /**
+     * @param multiRowSize see {@link InsertOperation#setMultiRowSize(int)}
+     * @return this
+     */
+    public InsertOperationBuilder<R> multiRowSize(int multiRowSize)
+    {
+        this.multiRowSize = multiRowSize;
+        return this;
+    }
 }
@@ -17,6 +17,7 @@
 package org.sormula.operation.builder;
 
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.Map;
 
 import org.sormula.SormulaException;
@@ -37,11 +38,14 @@ public abstract class ModifyOperationBuilder<R, B extends ModifyOperationBuilder
     extends SqlOperationBuilder<R, B, T>
 {
     Boolean batch;
+    Integer batchSize;
+    Long adaptiveBatchMillis;
     Object[] parameters;
     R row;
     Collection<R> rowCollection;
     R[] rowArray;
     Map<?, R> rowMap;
+    Iterator<R> rowIterator;
     
     
     /**
@@ -63,12 +67,15 @@ public abstract class ModifyOperationBuilder<R, B extends ModifyOperationBuilder
     {
         super.init(operation);
         if (batch != null) operation.setBatch(batch);
+        if (batchSize != null) operation.setBatchSize(batchSize);
+        if (adaptiveBatchMillis != null) operation.setAdaptiveBatchMillis(adaptiveBatchMillis);
         
         if (parameters != null) operation.setParameters(parameters);
         else if (row != null) operation.setRow(row);
         else if (rowCollection != null) operation.setRows(rowCollection);
         else if (rowArray != null) operation.setRows(rowArray);
         else if (rowMap != null) operation.setRows(rowMap);
+        else if (rowIterator != null) operation.setRows(rowIterator);
     }
     
     
@@ -84,6 +91,30 @@ public abstract class ModifyOperationBuilder<R, B extends ModifyOperationBuilder
     }
     
     
+    /**
+     * @param batchSize see {@link ModifyOperation#setBatchSize(int)}
+     * @return this
+     */
+    @SuppressWarnings("unchecked")
+    public B batchSize(int batchSize)
+    {
+        this.batchSize = batchSize;
+        return (B)this;
+    }
+    
+    
+    /**
+     * @param adaptiveBatchMillis see {@link ModifyOperation#setAdaptiveBatchMillis(long)}
+     * @return this
+     */
+    @SuppressWarnings("unchecked")
+    public B adaptiveBatchMillis(long adaptiveBatchMillis)
+    {
+        this.adaptiveBatchMillis = adaptiveBatchMillis;
+        return (B)this;
+    }
+    
+    
     /**
      * @param parameters see {@link ModifyOperation}
      * @return this
@@ -142,4 +173,16 @@ public abstract class ModifyOperationBuilder<R, B extends ModifyOperationBuilder
         rowArray = rows;
         return (B)this;
     }
+    
+    
+    /**
+     * @param rowIterator see {@link ModifyOperation#setRows(Iterator)}
+     * @return this
+     */
+    @SuppressWarnings("unchecked")
+    public B rows(Iterator<R> rowIterator)
+    {
+        this.rowIterator = rowIterator;
+        return (B)this;
+    }
 }
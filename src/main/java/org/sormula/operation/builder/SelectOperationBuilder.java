@@ -35,8 +35,6 @@ public abstract class SelectOperationBuilder<R, C, B extends SelectOperationBuil
     extends AbstractScalarSelectOperationBuilder<R, B, T>
 {
     Integer defaultReadAllSize;
-    Integer fetchSize;
-    Integer resultSetType;
     
     
     /**
@@ -59,8 +57,6 @@ public abstract class SelectOperationBuilder<R, C, B extends SelectOperationBuil
         super.init(operation);
         
         if (defaultReadAllSize != null) operation.setDefaultReadAllSize(defaultReadAllSize);
-        if (fetchSize != null) operation.setFetchSize(fetchSize);
-        if (resultSetType != null) operation.setResultSetType(resultSetType);
     }
     
     
@@ -74,28 +70,4 @@ public abstract class SelectOperationBuilder<R, C, B extends SelectOperationBuil
         this.defaultReadAllSize = defaultReadAllSize;
         return (B)this;
     }
-    
-
-    /**
-     * @param fetchSize see {@link SelectOperation}
-     * @return this
-     */
-    @SuppressWarnings("unchecked")
-    public B fetchSize(int fetchSize)
-    {
-        this.fetchSize = fetchSize;
-        return (B)this;
-    }
-    
-    
-    /**
-     * @param resultSetType see {@link SelectOperation}
-     * @return this
-     */
-    @SuppressWarnings("unchecked")
-    public B resultSetType(int resultSetType)
-    {
-        this.resultSetType = resultSetType;
-        return (B)this;
-    }
 }
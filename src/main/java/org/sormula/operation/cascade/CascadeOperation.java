@@ -19,6 +19,7 @@ package org.sormula.operation.cascade;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
@@ -27,10 +28,12 @@ import org.sormula.Table;
 import org.sormula.annotation.cascade.Cascade;
 import org.sormula.annotation.cascade.OneToManyCascade;
 import org.sormula.annotation.cascade.OneToOneCascade;
+import org.sormula.dialect.Dialect;
 import org.sormula.log.SormulaLogger;
 import org.sormula.log.SormulaLoggerFactory;
 import org.sormula.operation.MissingFieldException;
 import org.sormula.operation.OperationException;
+import org.sormula.operation.OperationPlanCache;
 import org.sormula.operation.SqlOperation;
 import org.sormula.reflect.ReflectException;
 import org.sormula.reflect.RowField;
@@ -373,6 +376,24 @@ public abstract class CascadeOperation<S, T> implements AutoCloseable
     {
         if (foreignKeyValueFieldNames != null)
         {
+            // mapping depends only upon source table, target table, and names so it is created once per source table
+            OperationPlanCache operationPlanCache = getSourceTable().getOperationPlanCache();
+            List<Object> key = OperationPlanCache.key("foreignKeyValueFields", getTargetTable().getRowClass(), 
+                    Arrays.asList(foreignKeyValueFieldNames));
+            List<List<RowField<?, Object>>> keyFieldLists = operationPlanCache.get(key);
+            
+            if (keyFieldLists != null)
+            {
+                @SuppressWarnings("unchecked") // first list is always for source
+                List<RowField<S, Object>> s = (List<RowField<S, Object>>)(List<?>)keyFieldLists.get(0);
+                sourceKeyFieldList = s;
+                @SuppressWarnings("unchecked") // second list is always for target
+                List<RowField<T, Object>> t = (List<RowField<T, Object>>)(List<?>)keyFieldLists.get(1);
+                targetForeignKeyValueFieldList = t;
+                keyFieldCount = sourceKeyFieldList.size();
+                return;
+            }
+            
             // at least one foreign key in target
             RowTranslator<S> sourceRowTranslator = getSourceTable().getRowTranslator();
             RowTranslator<T> targetRowTranslator = getTargetTable().getRowTranslator();
@@ -426,6 +447,9 @@ public abstract class CascadeOperation<S, T> implements AutoCloseable
             
             // provides quick test if any mapping is needed
             keyFieldCount = sourceKeyFieldList.size();
+            
+            // lists are only read after prepare so they may be shared by all cascade operations
+            operationPlanCache.put(key, Arrays.asList(sourceKeyFieldList, targetForeignKeyValueFieldList));
         }
     }
 
@@ -442,6 +466,12 @@ public abstract class CascadeOperation<S, T> implements AutoCloseable
     { 
         if (foreignKeyReferenceFieldName != null)
         {
+            OperationPlanCache operationPlanCache = getSourceTable().getOperationPlanCache();
+            List<Object> key = OperationPlanCache.key("foreignKeyReferenceField", getTargetTable().getRowClass(), 
+                    foreignKeyReferenceFieldName);
+            targetForeignReferenceField = operationPlanCache.get(key);
+            if (targetForeignReferenceField != null) return;
+            
             String targetFieldName;
             if (foreignKeyReferenceFieldName.equals("class"))
             {
@@ -460,7 +490,7 @@ public abstract class CascadeOperation<S, T> implements AutoCloseable
             {
                 RowTranslator<T> rowTranslator = getTargetTable().getRowTranslator();
                 Field field = rowTranslator.getDeclaredField(targetFieldName);
-                if (field != null) targetForeignReferenceField = (RowField<T, Object>)rowTranslator.createRowField(field); 
+                if (field != null) targetForeignReferenceField = operationPlanCache.put(key, (RowField<T, Object>)rowTranslator.createRowField(field)); 
                 else throw new MissingFieldException(targetFieldName, getTargetTable().getRowClass());
                 
                 if (log.isDebugEnabled())
@@ -567,4 +597,75 @@ public abstract class CascadeOperation<S, T> implements AutoCloseable
     {
         return targetForeignKeyValueFieldList;
     }
+
+    
+    /**
+     * Creates a where condition that matches any of many keys. Condition is like:<br>
+     * k IN (?, ?, ...) for single column keys<br>
+     * (k1, k2, ...) IN ((?, ?, ...), ...) when {@link Dialect#isRowValueComparison()} is true<br>
+     * ((k1 = ? AND k2 = ?) OR ...) otherwise
+     * 
+     * @param keyColumnNames column names of key
+     * @param keyCount number of keys in condition
+     * @param dialect dialect of database
+     * @return sql condition with parameters for all columns of all keys in key order
+     * @since 4.4
+     */
+    static String createKeySql(List<String> keyColumnNames, int keyCount, Dialect dialect)
+    {
+        StringBuilder sql = new StringBuilder(keyCount * keyColumnNames.size() * 20);
+        
+        if (keyColumnNames.size() == 1)
+        {
+            // k IN (?, ?, ...)
+            sql.append(keyColumnNames.get(0)).append(" IN (");
+            for (int i = 0; i < keyCount; ++i) sql.append(i > 0 ? ", ?" : "?");
+            sql.append(")");
+        }
+        else if (dialect.isRowValueComparison())
+        {
+            // (k1, k2, ...) IN ((?, ?, ...), ...)
+            StringBuilder parameterPhrase = new StringBuilder("(");
+            sql.append("(");
+            for (int c = 0; c < keyColumnNames.size(); ++c)
+            {
+                if (c > 0)
+                {
+                    sql.append(", ");
+                    parameterPhrase.append(", ");
+                }
+                
+                sql.append(keyColumnNames.get(c));
+                parameterPhrase.append("?");
+            }
+            parameterPhrase.append(")");
+            
+            sql.append(") IN (");
+            for (int i = 0; i < keyCount; ++i)
+            {
+                if (i > 0) sql.append(", ");
+                sql.append(parameterPhrase);
+            }
+            sql.append(")");
+        }
+        else
+        {
+            // ((k1 = ? AND k2 = ?) OR ...)
+            sql.append("(");
+            for (int i = 0; i < keyCount; ++i)
+            {
+                if (i > 0) sql.append(" OR ");
+                sql.append("(");
+                for (int c = 0; c < keyColumnNames.size(); ++c)
+                {
+                    if (c > 0) sql.append(" AND ");
+                    sql.append(keyColumnNames.get(c)).append(" = ?");
+                }
+                sql.append(")");
+            }
+            sql.append(")");
+        }
+        
+        return sql.toString();
+    }
 }
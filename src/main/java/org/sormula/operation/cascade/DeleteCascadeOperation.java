@@ -16,11 +16,20 @@
  */
 package org.sormula.operation.cascade;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 import org.sormula.Table;
 import org.sormula.annotation.cascade.DeleteCascade;
+import org.sormula.log.SormulaLogger;
+import org.sormula.log.SormulaLoggerFactory;
 import org.sormula.operation.DeleteOperation;
 import org.sormula.operation.OperationException;
 import org.sormula.operation.SqlOperation;
+import org.sormula.reflect.ReflectException;
 import org.sormula.reflect.RowField;
 
 
@@ -34,6 +43,12 @@ import org.sormula.reflect.RowField;
  */
 public class DeleteCascadeOperation<S, T> extends ModifyCascadeOperation<S, T>
 {
+    private static final SormulaLogger log = SormulaLoggerFactory.getClassLogger();
+    DeleteCascade deleteCascadeAnnotation;
+    boolean setBased;
+    List<KeyDeleteOperation<?>> keyDeleteOperations; // deepest level first
+    
+    
     /**
      * Constructor used by {@link DeleteOperation}.
      *  
@@ -46,7 +61,9 @@ public class DeleteCascadeOperation<S, T> extends ModifyCascadeOperation<S, T>
     public DeleteCascadeOperation(DeleteOperation<S> sourceOperation, RowField<S, ?> targetField, Table<T> targetTable, DeleteCascade deleteCascadeAnnotation)
     {
         super(sourceOperation, targetField, targetTable, deleteCascadeAnnotation.operation());
+        this.deleteCascadeAnnotation = deleteCascadeAnnotation;
         setPost(deleteCascadeAnnotation.post());
+        setBatched(deleteCascadeAnnotation.batched());
     }
 
     
@@ -63,4 +80,281 @@ public class DeleteCascadeOperation<S, T> extends ModifyCascadeOperation<S, T>
         
         return modifyOperation;
     }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void prepare() throws OperationException
+    {
+        super.prepare();
+        setBased = deleteCascadeAnnotation.batched() && isSetBasable();
+        
+        if (setBased)
+        {
+            keyDeleteOperations = new ArrayList<>();
+            List<String> keyColumnNames = new ArrayList<>(keyFieldCount);
+            for (RowField<T, Object> f : targetForeignKeyValueFieldList) keyColumnNames.add(getColumnName(getTargetTable(), f));
+            addKeyDeleteOperations(keyDeleteOperations, keyColumnNames, "", "");
+        }
+    }
+    
+    
+    /**
+     * Reports if target rows of many source rows are deleted together. 
+     * 
+     * @return true if target rows are deleted by foreign key with {@link #isSetBased()} or
+     * if {@link DeleteCascade#batched()} is true and source operation is in batch mode
+     * @since 4.4
+     */
+    @Override
+    public boolean isBatched()
+    {
+        return setBased || super.isBatched();
+    }
+    
+    
+    /**
+     * Reports if target rows are deleted by foreign key with set based sql.
+     * 
+     * @return true if {@link DeleteCascade#batched()} is true and set based sql can be used
+     * @since 4.4
+     */
+    public boolean isSetBased()
+    {
+        return setBased;
+    }
+    
+    
+    /**
+     * Deletes target rows of all source rows. When {@link #isSetBased()} is true, target rows
+     * are deleted by foreign key values of source rows in chunks of at most {@link org.sormula.dialect.Dialect#getMaxParameters()}
+     * parameters. Otherwise target rows in target field of all source rows are deleted with 
+     * {@link ModifyCascadeOperation#cascade(List)}.
+     * 
+     * @param sourceRows rows in parent table that are source of the cascade
+     * @throws OperationException if error
+     * @since 4.4
+     */
+    @Override
+    public void cascade(List<S> sourceRows) throws OperationException
+    {
+        if (!setBased)
+        {
+            super.cascade(sourceRows);
+            return;
+        }
+        
+        // unique foreign key values of source rows
+        Map<List<Object>, Object[]> keyMap = new LinkedHashMap<>(sourceRows.size() * 2);
+        try
+        {
+            for (S s : sourceRows)
+            {
+                Object[] key = new Object[keyFieldCount];
+                for (int i = 0; i < keyFieldCount; ++i) key[i] = sourceKeyFieldList.get(i).get(s);
+                keyMap.putIfAbsent(Arrays.asList(key), key);
+            }
+        }
+        catch (ReflectException e)
+        {
+            throw new OperationException("error getting source key", e);
+        }
+        
+        List<Object[]> keys = new ArrayList<>(keyMap.values());
+        int keysPerStatement = Math.max(1, getTargetTable().getDatabase().getDialect().getMaxParameters() / keyFieldCount);
+        if (log.isDebugEnabled()) log.debug("set based delete for " + keys.size() + " keys, keys per statement=" + keysPerStatement);
+        
+        for (int k = 0; k < keys.size(); k += keysPerStatement)
+        {
+            List<Object[]> statementKeys = keys.subList(k, Math.min(keys.size(), k + keysPerStatement));
+            
+            for (KeyDeleteOperation<?> o : keyDeleteOperations)
+            {
+                o.setKeyParameters(statementKeys);
+                o.execute();
+            }
+        }
+    }
+    
+    
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void close() throws OperationException
+    {
+        super.close();
+        
+        if (keyDeleteOperations != null)
+        {
+            for (KeyDeleteOperation<?> o : keyDeleteOperations) o.close();
+        }
+    }
+    
+    
+    /**
+     * Sets foreign key values only when {@link DeleteCascade#setForeignKeyValues()} is true. Foreign key
+     * field names are also needed for set based deletes when {@link DeleteCascade#batched()} is true.
+     */
+    @Override
+    protected void setForeignKeyValues(T row) throws OperationException
+    {
+        if (deleteCascadeAnnotation.setForeignKeyValues()) super.setForeignKeyValues(row);
+    }
+    
+    
+    /**
+     * Tests if target rows can be deleted by foreign key. Target rows must not be cached and
+     * all target delete cascades must also be set based with single column foreign keys 
+     * so that they can be deleted with subqueries.
+     * 
+     * @return true if target rows can be deleted by foreign key
+     * @throws OperationException if error
+     * @since 4.4
+     */
+    protected boolean isSetBasable() throws OperationException
+    {
+        String reason = null;
+        
+        if (deleteCascadeAnnotation.operation() != DeleteOperation.class)
+            reason = "operation is " + deleteCascadeAnnotation.operation();
+        else if (keyFieldCount == 0)
+            reason = "no foreign key value fields";
+        else if (getTargetTable().isCached())
+            reason = "target table is cached";
+        else if (modifyOperation.isCascade())
+        {
+            List<? extends CascadeOperation<T, ?>> targetCascades = modifyOperation.getCascadeOperations();
+            if (targetCascades != null)
+            {
+                for (CascadeOperation<T, ?> o : targetCascades)
+                {
+                    if (!(o instanceof DeleteCascadeOperation) || !((DeleteCascadeOperation<T, ?>)o).isSetBased())
+                        reason = "target cascade " + o.getTargetField().getField() + " is not set based";
+                    else if (o.isPost())
+                        reason = "target cascade " + o.getTargetField().getField() + " is post";
+                    else if (o.keyFieldCount != 1)
+                        reason = "target cascade " + o.getTargetField().getField() + " foreign key is not single column";
+                    
+                    if (reason != null) break;
+                }
+            }
+        }
+        
+        if (reason != null)
+        {
+            if (log.isDebugEnabled()) log.debug("not set based since " + reason + " for " + getTargetField().getField());
+            return false;
+        }
+        
+        return true;
+    }
+    
+    
+    /**
+     * Adds operations to delete rows of target table and rows of all target cascades. Target
+     * cascade operations are added first since they must be deleted before target rows.
+     *  
+     * @param operations add to these operations
+     * @param keyColumnNames column names of key in condition
+     * @param conditionPrefix sql that precedes key condition 
+     * @param conditionSuffix sql that follows key condition
+     * @throws OperationException if error
+     */
+    void addKeyDeleteOperations(List<KeyDeleteOperation<?>> operations, List<String> keyColumnNames, 
+            String conditionPrefix, String conditionSuffix) throws OperationException
+    {
+        if (modifyOperation.isCascade())
+        {
+            List<? extends CascadeOperation<T, ?>> targetCascades = modifyOperation.getCascadeOperations();
+            if (targetCascades != null)
+            {
+                for (CascadeOperation<T, ?> o : targetCascades)
+                {
+                    // fk IN (SELECT k FROM target WHERE ...)
+                    DeleteCascadeOperation<T, ?> d = (DeleteCascadeOperation<T, ?>)o;
+                    String nestedPrefix = getColumnName(d.getTargetTable(), d.targetForeignKeyValueFieldList.get(0)) + 
+                            " IN (SELECT " + getColumnName(getTargetTable(), d.sourceKeyFieldList.get(0)) + 
+                            " FROM " + getTargetTable().getQualifiedTableName() + " WHERE " + conditionPrefix;
+                    d.addKeyDeleteOperations(operations, keyColumnNames, nestedPrefix, conditionSuffix + ")");
+                }
+            }
+        }
+        
+        operations.add(new KeyDeleteOperation<>(getTargetTable(), keyColumnNames, conditionPrefix, conditionSuffix));
+    }
+    
+    
+    static String getColumnName(Table<?> table, RowField<?, ?> rowField)
+    {
+        return table.getRowTranslator().getColumnTranslator(rowField.getField().getName()).getColumnName();
+    }
+    
+    
+    /**
+     * Deletes rows that match many keys in one statement. Statement is prepared again when number of keys changes.
+     */
+    static class KeyDeleteOperation<T> extends DeleteOperation<T>
+    {
+        List<String> keyColumnNames;
+        String conditionPrefix;
+        String conditionSuffix;
+        List<Object[]> keyParameters;
+        int keyCount; // number of keys in prepared statement
+        
+        
+        KeyDeleteOperation(Table<T> table, List<String> keyColumnNames, String conditionPrefix, String conditionSuffix) throws OperationException
+        {
+            super(table, "");
+            this.keyColumnNames = keyColumnNames;
+            this.conditionPrefix = conditionPrefix;
+            this.conditionSuffix = conditionSuffix;
+            setCascade(false); // target cascades are key delete operations
+        }
+        
+        
+        void setKeyParameters(List<Object[]> keyParameters) throws OperationException
+        {
+            if (keyParameters.size() != keyCount)
+            {
+                // sql is different
+                closeStatement();
+                keyCount = keyParameters.size();
+            }
+            
+            this.keyParameters = keyParameters;
+            setParameters(new Object[0]); // parameters are written from keys
+        }
+        
+        
+        @Override
+        protected String getSql()
+        {
+            return getBaseSql() + " WHERE " + conditionPrefix + 
+                    createKeySql(keyColumnNames, keyCount, getTable().getDatabase().getDialect()) + conditionSuffix;
+        }
+        
+        
+        @Override
+        protected void writeParameters() throws OperationException
+        {
+            int index = 1;
+            
+            try
+            {
+                for (Object[] parameters : keyParameters)
+                {
+                    for (Object p : parameters) writeParameter(index++, p);
+                }
+            }
+            catch (Exception e)
+            {
+                throw new OperationException("error writing key parameter " + index, e);
+            }
+            
+            setNextParameter(index);
+        }
+    }
 }
@@ -49,5 +49,6 @@ public class InsertCascadeOperation<S, T> extends ModifyCascadeOperation<S, T>
         super(sourceOperation, targetField, targetTable, insertCascadeAnnotation.operation());
         this.insertCascadeAnnotation = insertCascadeAnnotation;
         setPost(insertCascadeAnnotation.post());
+        setBatched(insertCascadeAnnotation.batched());
     }
 }
@@ -16,11 +16,16 @@
  */
 package org.sormula.operation.cascade;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 
 import org.sormula.Table;
 import org.sormula.annotation.Column;
+import org.sormula.annotation.cascade.InsertCascade;
+import org.sormula.dialect.Dialect;
 import org.sormula.log.SormulaLogger;
 import org.sormula.log.SormulaLoggerFactory;
 import org.sormula.operation.InsertOperation;
@@ -42,6 +47,7 @@ public abstract class ModifyCascadeOperation<S, T> extends CascadeOperation<S, T
 {
     private static final SormulaLogger log = SormulaLoggerFactory.getClassLogger();
     ModifyOperation<T> modifyOperation;
+    boolean batched;
     
     
     /**
@@ -64,8 +70,9 @@ public abstract class ModifyCascadeOperation<S, T> extends CascadeOperation<S, T
     /**
      * Returns source operation {@link ModifyOperation#isBatch()}.
      * <p>
-     * Note that batch operations do not support identity operations ({@link InsertOperation#setAutoGeneratedKeys(boolean)}
-     * and {@link Column#identity()}). So cascaded inserts cannot have values generated for identity columns.
+     * Note that batch operations support identity operations ({@link InsertOperation#setAutoGeneratedKeys(boolean)}
+     * and {@link Column#identity()}) only when {@link Dialect#isBatchGeneratedKeys()} is true. Otherwise cascaded 
+     * inserts cannot have values generated for identity columns.
      * @return true if rows are to be inserted/updated/deleted in batch mode
      * @since 4.1
      */
@@ -75,6 +82,31 @@ public abstract class ModifyCascadeOperation<S, T> extends CascadeOperation<S, T
     }
 
 
+    /**
+     * Reports if target rows of all source rows in a batch are cascaded together with 
+     * {@link #cascade(List)}.
+     * 
+     * @return true if batched cascade was requested and source operation is in batch mode 
+     * @since 4.4
+     */
+    public boolean isBatched()
+    {
+        return batched && isBatch();
+    }
+
+
+    /**
+     * Sets batched cascade mode. See {@link InsertCascade#batched()}.
+     * 
+     * @param batched true to cascade target rows of all source rows in a batch together
+     * @since 4.4
+     */
+    public void setBatched(boolean batched)
+    {
+        this.batched = batched;
+    }
+
+
     /**
      * {@inheritDoc}
      */
@@ -82,7 +114,71 @@ public abstract class ModifyCascadeOperation<S, T> extends CascadeOperation<S, T
     public void cascade(S sourceRow) throws OperationException
     {
         super.cascade(sourceRow);
+        Collection<T> targetRows = getTargetRows(sourceRow);
+        
+        if (targetRows != null)
+        {
+            modifyOperation.setRows(targetRows);
+            setForeignKeyValues(targetRows);
+            setForeignKeyReference(targetRows);
+            modifyOperation.execute();
+        }
+        else
+        {
+            if (log.isDebugEnabled()) log.debug("value is null, nothing to cascade");
+        }
+    }
+    
+    
+    /**
+     * Performs cascade for many source rows with one execution of the cascade operation. Target 
+     * rows of all source rows are collected, foreign keys are set, and then all target rows
+     * are modified together.
+     * 
+     * @param sourceRows rows in parent table that are source of the cascade
+     * @throws OperationException if error
+     * @since 4.4
+     */
+    public void cascade(List<S> sourceRows) throws OperationException
+    {
+        List<T> allTargetRows = new ArrayList<>(sourceRows.size() * 4);
+        
+        for (S s : sourceRows)
+        {
+            super.cascade(s);
+            Collection<T> targetRows = getTargetRows(s);
+            
+            if (targetRows != null)
+            {
+                setForeignKeyValues(targetRows);
+                setForeignKeyReference(targetRows);
+                allTargetRows.addAll(targetRows);
+            }
+        }
+        
+        if (log.isDebugEnabled()) log.debug("cascade() " + getTargetField().getField() + " " + allTargetRows.size() + 
+                " target rows for " + sourceRows.size() + " source rows");
+        
+        if (allTargetRows.size() > 0)
+        {
+            modifyOperation.setRows(allTargetRows);
+            modifyOperation.execute();
+        }
+    }
+    
+    
+    /**
+     * Gets the rows to cascade from target field of source row.
+     * 
+     * @param sourceRow row in parent table
+     * @return rows in target field or null if target field is null
+     * @throws OperationException if error
+     * @since 4.4
+     */
+    protected Collection<T> getTargetRows(S sourceRow) throws OperationException
+    {
         RowField<S, ?> tf = (RowField<S, ?>)getTargetField();
+        Collection<T> targetRows = null;
         
         try
         {
@@ -96,47 +192,42 @@ public abstract class ModifyCascadeOperation<S, T> extends CascadeOperation<S, T
                     // non collection/map type
                     @SuppressWarnings("unchecked") // target field type is not known at compile time
                     T row = (T)value;
-                    modifyOperation.setRow(row);
+                    targetRows = new ArrayList<>(1);
+                    targetRows.add(row);
                 }
                 else if (tf.isArray())
                 {
                     // array
                     @SuppressWarnings("unchecked") // target field type is not known at compile time
                     T[] array = (T[])value;
-                    modifyOperation.setRows(array);
+                    targetRows = Arrays.asList(array);
                 }
                 else if (tf.isCollection())
                 {
                     // collection
                     @SuppressWarnings("unchecked") // target field type is not known at compile time
                     Collection<T> collection = (Collection<T>)value;
-                    modifyOperation.setRows(collection);
+                    targetRows = collection;
                 }
                 else if (tf.isMap())
                 {
                     // collection
                     @SuppressWarnings("unchecked") // target field type is not known at compile time
                     Map<?, T> map = (Map<?, T>)value;
-                    modifyOperation.setRows(map);
+                    targetRows = map.values();
                 }
                 else
                 {
                     throw new OperationException("unknown operation type for target field " + tf.getField().getType()); 
                 }
-            
-                setForeignKeyValues(modifyOperation.getRows());
-                setForeignKeyReference(modifyOperation.getRows());
-                modifyOperation.execute();
-            }
-            else
-            {
-                if (log.isDebugEnabled()) log.debug("value is null, nothing to cascade");
             }
         }
         catch (ReflectException e)
         {
             throw new OperationException("error getting value from " + tf, e);
         }
+        
+        return targetRows;
     }
 
 
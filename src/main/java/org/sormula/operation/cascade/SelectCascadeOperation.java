@@ -18,9 +18,12 @@ package org.sormula.operation.cascade;
 
 import java.lang.reflect.Array;
 import java.lang.reflect.Field;
+import java.sql.ResultSet;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.function.BiPredicate;
@@ -29,6 +32,7 @@ import org.sormula.Table;
 import org.sormula.annotation.cascade.SelectCascade;
 import org.sormula.log.SormulaLogger;
 import org.sormula.log.SormulaLoggerFactory;
+import org.sormula.operation.ArrayListSelectOperation;
 import org.sormula.operation.MapSelectOperation;
 import org.sormula.operation.MissingFieldException;
 import org.sormula.operation.OperationException;
@@ -37,7 +41,9 @@ import org.sormula.operation.SelectOperation;
 import org.sormula.reflect.MethodAccessField;
 import org.sormula.reflect.ReflectException;
 import org.sormula.reflect.RowField;
+import org.sormula.translator.AbstractWhereTranslator;
 import org.sormula.translator.ColumnTranslator;
+import org.sormula.translator.OrderByTranslator;
 import org.sormula.translator.RowTranslator;
 import org.sormula.translator.TranslatorException;
 import org.sormula.translator.WhereTranslator;
@@ -59,6 +65,12 @@ public class SelectCascadeOperation<S, T> extends CascadeOperation<S, T>
 	ScalarSelectOperation<T> selectOperation;
 	String[] parameterFieldNames;
 	List<RowField<S, ?>> parameterFields;
+	boolean batched;
+	List<RowField<T, ?>> batchKeyFields; // target fields that correspond to parameterFields
+	BatchSelectOperation<T> batchSelectOperation; // created by first batched cascade
+	boolean joined;
+	int joinColumnIndex; // result set index of first target column
+	int joinKeyColumnIndex; // result set index of target column that is null when no target row
     
     
     /**
@@ -180,6 +192,421 @@ public class SelectCascadeOperation<S, T> extends CascadeOperation<S, T>
     }
     
 
+    /**
+     * Performs cascade for many source rows. When {@link #isBatched()} is true, target rows for 
+     * all source rows are selected with one query for each group of source rows and then added to 
+     * the source row that has the same parameter values. Otherwise {@link #cascade(Object)} is 
+     * invoked for each source row.
+     * <p>
+     * Source rows with a null parameter value and source rows with the same parameter values as an 
+     * earlier source row are cascaded with {@link #cascade(Object)} so that each source row gets its 
+     * own target rows and foreign key references.
+     * 
+     * @param sourceRows rows in parent table that are source of the cascade
+     * @throws OperationException if error
+     * @since 4.4
+     */
+    public void cascade(List<S> sourceRows) throws OperationException
+    {
+        if (!batched)
+        {
+            for (S s : sourceRows) cascade(s);
+            return;
+        }
+        
+        // source rows by parameter values 
+        Map<List<Object>, S> sourceRowMap = new LinkedHashMap<>(sourceRows.size() * 2);
+        Map<List<Object>, Object[]> parameterMap = new HashMap<>(sourceRows.size() * 2);
+        List<S> unbatchedRows = new ArrayList<>();
+        
+        try
+        {
+            for (S s : sourceRows)
+            {
+                Object[] parameters = new Object[parameterFields.size()];
+                List<Object> key = new ArrayList<>(parameters.length);
+                
+                for (int i = 0; i < parameters.length; ++i)
+                {
+                    parameters[i] = parameterFields.get(i).get(s);
+                    key.add(toKeyValue(parameters[i]));
+                }
+                
+                if (key.contains(null) || sourceRowMap.containsKey(key))
+                {
+                    // can't be matched to target rows by key or target rows would be shared
+                    unbatchedRows.add(s);
+                }
+                else
+                {
+                    sourceRowMap.put(key, s);
+                    parameterMap.put(key, parameters);
+                }
+            }
+        }
+        catch (ReflectException e)
+        {
+            throw new OperationException("error getting parameter value", e);
+        }
+        
+        if (batchSelectOperation == null) prepareBatchSelectOperation();
+        
+        // limit keys per query to maximum parameters allowed
+        List<List<Object>> keys = new ArrayList<>(sourceRowMap.keySet());
+        int keysPerQuery = Math.max(1, getTargetTable().getDatabase().getDialect().getMaxParameters() / parameterFields.size());
+        if (log.isDebugEnabled()) log.debug("batched cascade for " + keys.size() + " keys, " + unbatchedRows.size() + 
+                " unbatched rows, keys per query=" + keysPerQuery);
+        
+        for (int k = 0; k < keys.size(); k += keysPerQuery)
+        {
+            List<List<Object>> queryKeys = keys.subList(k, Math.min(keys.size(), k + keysPerQuery));
+            List<Object[]> queryParameters = new ArrayList<>(queryKeys.size());
+            for (List<Object> key : queryKeys) queryParameters.add(parameterMap.get(key));
+            
+            // select targets for all keys
+            batchSelectOperation.setKeyParameters(queryParameters);
+            batchSelectOperation.execute();
+            Map<List<Object>, List<T>> targetRowMap = groupByKey(batchSelectOperation.readAll());
+            
+            // set targets in source rows
+            for (List<Object> key : queryKeys)
+            {
+                List<T> targetRows = targetRowMap.get(key);
+                if (targetRows == null) targetRows = new ArrayList<>(0);
+                
+                setTargetRows(sourceRowMap.get(key), targetRows);
+            }
+        }
+        
+        for (S s : unbatchedRows) cascade(s);
+    }
+    
+    
+    /**
+     * Groups target rows by the values of the target fields that correspond to the source
+     * parameter fields. Order of target rows within a group is the order that they were selected.
+     * 
+     * @param targetRows rows selected by batch query
+     * @return map of key values to target rows
+     * @throws OperationException if error
+     */
+    protected Map<List<Object>, List<T>> groupByKey(List<T> targetRows) throws OperationException
+    {
+        Map<List<Object>, List<T>> targetRowMap = new HashMap<>(targetRows.size() * 2);
+        
+        try
+        {
+            for (T t : targetRows)
+            {
+                List<Object> key = new ArrayList<>(batchKeyFields.size());
+                for (RowField<T, ?> f : batchKeyFields) key.add(toKeyValue(f.get(t)));
+                targetRowMap.computeIfAbsent(key, k -> new ArrayList<>()).add(t);
+            }
+        }
+        catch (ReflectException e)
+        {
+            throw new OperationException("error getting target key value", e);
+        }
+        
+        return targetRowMap;
+    }
+    
+    
+    /**
+     * Sets target rows in target field of source row. Foreign key values and foreign key reference
+     * are set in target rows as in {@link #cascade(Object)}.
+     * 
+     * @param sourceRow row in parent table
+     * @param targetRows target rows selected for source row
+     * @throws OperationException if error
+     */
+    protected void setTargetRows(S sourceRow, List<T> targetRows) throws OperationException
+    {
+        super.cascade(sourceRow);
+        
+        @SuppressWarnings("unchecked") // target field type is not known at compile time
+        RowField<S, Object> targetField = (RowField<S, Object>)getTargetField();
+        
+        try
+        {
+            if (targetField.isScalar())
+            {
+                // first target row as with readNext()
+                T targetRow = null;
+                if (targetRows.size() > 0)
+                {
+                    targetRow = targetRows.get(0);
+                    setForeignKeyValues(targetRow);
+                    setForeignKeyReference(targetRow);
+                }
+                targetField.set(sourceRow, targetRow);
+            }
+            else
+            {
+                setForeignKeyValues(targetRows);
+                setForeignKeyReference(targetRows);
+                
+                if (targetField.isArray()) targetField.set(sourceRow, toTargetArray(targetRows));
+                else                       targetField.set(sourceRow, targetRows);
+            }
+        }
+        catch (ReflectException e)
+        {
+            throw new OperationException("error setting cascade results to " + targetField, e);
+        }
+    }
+    
+    
+    /**
+     * Reports if target rows for many source rows are selected with one query. True when
+     * {@link SelectCascade#batched()} is true and the cascade configuration allows target
+     * rows to be matched to source rows by parameter values. This status is set during {@link #prepare()}.
+     * 
+     * @return true if {@link #cascade(List)} selects target rows for many source rows with one query
+     * @since 4.4
+     */
+    public boolean isBatched()
+    {
+        return batched;
+    }
+    
+    
+    /**
+     * Tests if cascade can be batched. Target rows must be selected with a where condition that
+     * only tests columns for equality with source field values.
+     * 
+     * @return true if target rows can be selected for many source rows with one query
+     * @throws OperationException if error
+     * @since 4.4
+     */
+    protected boolean isBatchable() throws OperationException
+    {
+        Class<?> operationClass = selectCascadeAnnotation.operation();
+        RowField<S, ?> tf = getTargetField();
+        AbstractWhereTranslator<T> wt = selectOperation.getWhereTranslator();
+        String reason = null;
+        
+        if (operationClass != ArrayListSelectOperation.class && operationClass != ScalarSelectOperation.class)
+            reason = "operation is " + operationClass;
+        else if (!tf.isScalar() && !tf.isArray() && !tf.getField().getType().isAssignableFrom(ArrayList.class))
+            reason = "target field type is " + tf.getField().getType();
+        else if (parameterFields == null || parameterFields.size() == 0 || parameterFields.contains(null))
+            reason = "parameters are not all source fields";
+        else if (wt == null || !wt.isEqualParameters() || wt.getColumnTranslatorList().size() != parameterFields.size())
+            reason = "where condition is not only equal comparisons with parameters";
+        else if (selectOperation.getMaximumRowsRead() != Integer.MAX_VALUE)
+            reason = "maximum rows is limited";
+        
+        if (reason != null)
+        {
+            if (log.isDebugEnabled()) log.debug("not batched since " + reason + " for " + tf.getField());
+            return false;
+        }
+        
+        // target fields to match target rows to source rows
+        batchKeyFields = new ArrayList<>(parameterFields.size());
+        try
+        {
+            RowTranslator<T> targetRowTranslator = getTargetTable().getRowTranslator();
+            for (ColumnTranslator<T> ct : wt.getColumnTranslatorList())
+            {
+                batchKeyFields.add(targetRowTranslator.createRowField(ct.getField()));
+            }
+        }
+        catch (TranslatorException e)
+        {
+            throw new OperationException("error creating access to target key field", e);
+        }
+        
+        return true;
+    }
+    
+    
+    /**
+     * Sets target row in target field of source row from the columns that were selected with
+     * the source row by a join created by {@link #prepareJoin(String, int, StringBuilder, StringBuilder)}. 
+     * 
+     * @param sourceRow row in parent table that was source of the cascade
+     * @param resultSet result set of source operation positioned at source row
+     * @throws OperationException if error
+     * @since 4.4
+     */
+    public void cascade(S sourceRow, ResultSet resultSet) throws OperationException
+    {
+        List<T> targetRows = new ArrayList<>(1);
+        
+        try
+        {
+            if (resultSet.getObject(joinKeyColumnIndex) != null)
+            {
+                // left join matched a target row
+                T targetRow = getTargetTable().newRow();
+                int p = joinColumnIndex;
+                for (ColumnTranslator<T> ct : getTargetTable().getRowTranslator().getColumnTranslatorList())
+                {
+                    ct.read(resultSet, p++, targetRow);
+                }
+                
+                targetRows.add(targetRow);
+            }
+        }
+        catch (Exception e)
+        {
+            throw new OperationException("error reading joined columns for " + getTargetField().getField(), e);
+        }
+        
+        setTargetRows(sourceRow, targetRows);
+    }
+    
+    
+    /**
+     * Reports if target row is selected with the source row. True when {@link SelectCascade#join()} 
+     * is true and the cascade configuration allows target row to be joined to source row. This 
+     * status is set during {@link #prepare()}.
+     * 
+     * @return true if target row can be read by {@link #cascade(Object, ResultSet)}
+     * @since 4.4
+     */
+    public boolean isJoined()
+    {
+        return joined;
+    }
+    
+    
+    /**
+     * Tests if target row can be selected with a join of source table. The where condition must
+     * compare all target primary key columns for equality with source columns so that at most
+     * one target row is joined to each source row. Target rows must not require cascades. 
+     * 
+     * @return true if target row can be joined to source row
+     * @throws OperationException if error
+     * @since 4.4
+     */
+    protected boolean isJoinable() throws OperationException
+    {
+        Class<?> operationClass = selectCascadeAnnotation.operation();
+        AbstractWhereTranslator<T> wt = selectOperation.getWhereTranslator();
+        RowTranslator<T> targetRowTranslator = getTargetTable().getRowTranslator();
+        String reason = null;
+        
+        if (!getTargetField().isScalar())
+            reason = "target field is not scalar";
+        else if (operationClass != ArrayListSelectOperation.class && operationClass != ScalarSelectOperation.class)
+            reason = "operation is " + operationClass;
+        else if (parameterFields == null || parameterFields.size() == 0 || parameterFields.contains(null))
+            reason = "parameters are not all source fields";
+        else if (wt == null || !wt.isEqualParameters() || wt.getColumnTranslatorList().size() != parameterFields.size())
+            reason = "where condition is not only equal comparisons with parameters";
+        else if (!wt.getColumnTranslatorList().containsAll(targetRowTranslator.getPrimaryKeyWhereTranslator().getColumnTranslatorList()))
+            reason = "where condition does not include all primary key columns";
+        else if (targetRowTranslator.getConstructorTranslator() != null)
+            reason = "target rows are created by constructor";
+        else if (targetRowTranslator.getCascadeFieldList().size() > 0)
+            reason = "target rows have cascades";
+        else if (selectOperation.isCached())
+            reason = "target table is cached";
+        else if (getFilterPredicateMap() != null && getFilterPredicateMap().size() > 0)
+            reason = "filters are used";
+        else
+        {
+            RowTranslator<S> sourceRowTranslator = getSourceTable().getRowTranslator();
+            for (RowField<S, ?> f : parameterFields)
+            {
+                if (sourceRowTranslator.getColumnTranslator(f.getField().getName()) == null)
+                {
+                    reason = "parameter " + f.getField().getName() + " is not a source column";
+                    break;
+                }
+            }
+        }
+        
+        if (reason != null)
+        {
+            if (log.isDebugEnabled()) log.debug("not joined since " + reason + " for " + getTargetField().getField());
+            return false;
+        }
+        
+        return true;
+    }
+    
+    
+    /**
+     * Appends the sql to select target row with source row. Target columns are selected from 
+     * a derived table with unique column names so that source where and order by phrases remain 
+     * unambiguous like:<br>
+     * LEFT JOIN (SELECT c1 AS a_1, c2 AS a_2, ... FROM target) a ON a.a_k = source.fk
+     * 
+     * @param alias unique name of target table within source sql
+     * @param columnIndex result set index of first target column
+     * @param columnPhrase append target column names to this select column phrase
+     * @param joinPhrase append LEFT JOIN to this phrase
+     * @return result set index that follows target columns
+     * @since 4.4
+     */
+    public int prepareJoin(String alias, int columnIndex, StringBuilder columnPhrase, StringBuilder joinPhrase)
+    {
+        List<ColumnTranslator<T>> targetColumns = getTargetTable().getRowTranslator().getColumnTranslatorList();
+        List<ColumnTranslator<T>> keyColumns = selectOperation.getWhereTranslator().getColumnTranslatorList();
+        RowTranslator<S> sourceRowTranslator = getSourceTable().getRowTranslator();
+        joinColumnIndex = columnIndex;
+        
+        // derived table of target columns
+        joinPhrase.append(" LEFT JOIN (SELECT ");
+        for (int i = 0; i < targetColumns.size(); ++i)
+        {
+            String name = alias + "_" + i;
+            if (i > 0) joinPhrase.append(", ");
+            joinPhrase.append(targetColumns.get(i).getColumnName()).append(" AS ").append(name);
+            columnPhrase.append(", ").append(alias).append(".").append(name);
+        }
+        joinPhrase.append(" FROM ").append(getTargetTable().getQualifiedTableName()).append(") ").append(alias);
+        
+        // target keys equal source parameters
+        joinPhrase.append(" ON ");
+        for (int i = 0; i < keyColumns.size(); ++i)
+        {
+            int targetIndex = targetColumns.indexOf(keyColumns.get(i));
+            if (i == 0) joinKeyColumnIndex = columnIndex + targetIndex;
+            else joinPhrase.append(" AND ");
+            
+            joinPhrase.append(alias).append(".").append(alias).append("_").append(targetIndex);
+            joinPhrase.append(" = ").append(getSourceTable().getQualifiedTableName()).append(".");
+            joinPhrase.append(sourceRowTranslator.getColumnTranslator(parameterFields.get(i).getField().getName()).getColumnName());
+        }
+        
+        return columnIndex + targetColumns.size();
+    }
+    
+    
+    /**
+     * Creates operation that selects target rows for many source rows. 
+     * 
+     * @throws OperationException if error
+     * @since 4.4
+     */
+    protected void prepareBatchSelectOperation() throws OperationException
+    {
+        batchSelectOperation = new BatchSelectOperation<>(getTargetTable(), 
+                selectOperation.getWhereTranslator().getColumnTranslatorList());
+        batchSelectOperation.setCascadeDepth(getDepth());
+        batchSelectOperation.setRequiredCascades(getRequiredCascades());
+        batchSelectOperation.setNamedParameterMap(getNamedParameterMap());
+        batchSelectOperation.setFilterPredicateMap(getFilterPredicateMap());
+        batchSelectOperation.setOrderBy(selectCascadeAnnotation.targetOrderByName());
+    }
+    
+    
+    /**
+     * Converts integral numbers to long so that source and target values of different 
+     * integral types are equal keys.
+     */
+    static Object toKeyValue(Object value)
+    {
+        if (value instanceof Integer || value instanceof Short || value instanceof Byte) return ((Number)value).longValue();
+        return value;
+    }
+    
+
     /**
      * {@inheritDoc}
      */
@@ -262,6 +689,9 @@ public class SelectCascadeOperation<S, T> extends CascadeOperation<S, T>
         	throw new OperationException(tf.getClass().getName() + " is not assignable from " +
         			getTargetTable().getRowTranslator().getRowClass().getName());
         }
+        
+        joined = selectCascadeAnnotation.join() && isJoinable();
+        batched = !joined && selectCascadeAnnotation.batched() && isBatchable();
     }
     
 
@@ -539,6 +969,7 @@ public class SelectCascadeOperation<S, T> extends CascadeOperation<S, T>
     public void close() throws OperationException
     {
         selectOperation.close();
+        if (batchSelectOperation != null) batchSelectOperation.close();
     }
     
     
@@ -568,4 +999,80 @@ public class SelectCascadeOperation<S, T> extends CascadeOperation<S, T>
             throw new OperationException("error creating new array for target field " + getTargetField().getField(), e);
         }
     }
+    
+    
+    /**
+     * Selects target rows for many keys with one query like "WHERE k IN (?, ?, ...)" or
+     * "WHERE (k1, k2) IN ((?, ?), ...)" when more than one key column.
+     */
+    static class BatchSelectOperation<T> extends ArrayListSelectOperation<T>
+    {
+        List<ColumnTranslator<T>> keyColumns;
+        List<Object[]> keyParameters;
+        int keyCount; // number of keys in prepared statement
+        
+        
+        BatchSelectOperation(Table<T> table, List<ColumnTranslator<T>> keyColumns) throws OperationException
+        {
+            super(table, "");
+            this.keyColumns = keyColumns;
+        }
+        
+        
+        /**
+         * Sets parameter values for each key. Statement is prepared again when number of keys changes.
+         */
+        void setKeyParameters(List<Object[]> keyParameters) throws OperationException
+        {
+            if (keyParameters.size() != keyCount)
+            {
+                // sql is different
+                closeStatement();
+                keyCount = keyParameters.size();
+            }
+            
+            this.keyParameters = keyParameters;
+        }
+        
+        
+        @Override
+        protected String getSql()
+        {
+            String sql = getBaseSql() + " WHERE " + createKeySql();
+            
+            OrderByTranslator<T> orderByTranslator = getOrderByTranslator();
+            if (orderByTranslator != null) sql += " " + orderByTranslator.createSql();
+            
+            return sql;
+        }
+        
+        
+        String createKeySql()
+        {
+            List<String> keyColumnNames = new ArrayList<>(keyColumns.size());
+            for (ColumnTranslator<T> c : keyColumns) keyColumnNames.add(c.getColumnName());
+            return CascadeOperation.createKeySql(keyColumnNames, keyCount, getTable().getDatabase().getDialect());
+        }
+        
+        
+        @Override
+        protected void writeParameters() throws OperationException
+        {
+            int index = 1;
+            
+            try
+            {
+                for (Object[] parameters : keyParameters)
+                {
+                    for (Object p : parameters) writeParameter(index++, p);
+                }
+            }
+            catch (Exception e)
+            {
+                throw new OperationException("error writing key parameter " + index, e);
+            }
+            
+            setNextParameter(index);
+        }
+    }
 }
@@ -46,7 +46,8 @@ public class UpdateCascadeOperation<S, T> extends ModifyCascadeOperation<S, T>
     public UpdateCascadeOperation(UpdateOperation<S> sourceOperation, RowField<S, ?> targetField, Table<T> targetTable, UpdateCascade updateCascadeAnnotation)
     {
         super(sourceOperation, targetField, targetTable, updateCascadeAnnotation.operation());
-        setPost(updateCascadeAnnotation.post()); 
+        setPost(updateCascadeAnnotation.post());
+        setBatched(updateCascadeAnnotation.batched()); 
     }
 
     
@@ -32,6 +32,7 @@ import org.sormula.annotation.cascade.SelectCascadeAnnotationReader;
 import org.sormula.log.SormulaLogger;
 import org.sormula.log.SormulaLoggerFactory;
 import org.sormula.operation.ScalarSelectOperation;
+import org.sormula.operation.SelectOperation;
 import org.sormula.operation.cascade.SelectCascadeOperation;
 import org.sormula.reflect.RowField;
 
@@ -75,6 +76,9 @@ abstract public class AbstractLazySelector<R> implements LazySelectable, Seriali
     @Transient
     boolean localTransaction;
     
+    @Transient
+    transient LazySelectGroup<R> lazySelectGroup; // rows from same readAll, not serialized since it has operations
+    
 
     /**
      * Constructs for use when AbstractLazySelector is base class of row that will contain lazy select fields. Typically 
@@ -237,6 +241,39 @@ abstract public class AbstractLazySelector<R> implements LazySelectable, Seriali
         pendingLazySelects = true;
     }
     
+    
+    /**
+     * Notifies selector that at least one field has lazy select to be performed and that the row
+     * was read with the other rows of group. Invokes {@link #pendingLazySelects(Database)} and then 
+     * adds this selector to the group.
+     * 
+     * @param database perform lazy selects from this database
+     * @param group rows that were read by the same {@link SelectOperation#readAll()}
+     * @throws LazyCascadeException if error
+     * @since 4.4
+     */
+    @Override
+    @SuppressWarnings("unchecked") // group is created for rows of type R
+    public void pendingLazySelects(Database database, LazySelectGroup<?> group) throws LazyCascadeException
+    {
+        pendingLazySelects(database);
+        lazySelectGroup = (LazySelectGroup<R>)group;
+        lazySelectGroup.add(this);
+    }
+    
+    
+    /**
+     * Gets the rows that were read with this row.
+     * 
+     * @return group of rows or null if row was not read by {@link SelectOperation#readAll()} or has no
+     * pending lazy selects
+     * @since 4.4
+     */
+    public LazySelectGroup<R> getLazySelectGroup()
+    {
+        return lazySelectGroup;
+    }
+    
 
     /**
      * Checks if field should be selected. If field is defined with a lazy select and the
@@ -272,6 +309,7 @@ abstract public class AbstractLazySelector<R> implements LazySelectable, Seriali
                 
                 // more to do?
                 pendingLazySelects = pendingLazySelectFields.size() > 0;
+                if (!pendingLazySelects) leaveLazySelectGroup();
             }
             
             closeDatabase();
@@ -281,7 +319,9 @@ abstract public class AbstractLazySelector<R> implements LazySelectable, Seriali
     
     /**
      * Performs lazy select for all select cascades of field where {@link SelectCascade#lazy()} is
-     * true.
+     * true. When row belongs to a {@link LazySelectGroup} and all lazy select cascades of field
+     * have {@link SelectCascade#batched()} true, the field is selected for all rows of the group
+     * that have the field pending.
      * 
      * @param field field to affect
      * @throws LazyCascadeException if error
@@ -299,31 +339,45 @@ abstract public class AbstractLazySelector<R> implements LazySelectable, Seriali
             RowField<R, ?> targetField = (RowField<R, ?>)targetTable.getRowTranslator().createRowField(scar.getSource());
             
             begin();
-
-            // for select cascade annotation(s)
+            
+            boolean grouped = lazySelectGroup != null;
             for (SelectCascade c: scar.getSelectCascades())
             {
-                if (c.lazy())
+                if (c.lazy() && !c.batched()) grouped = false;
+            }
+            
+            if (grouped)
+            {
+                // all rows of group with field pending
+                lazySelectGroup.lazySelect(this, field);
+            }
+            else
+            {
+                // for select cascade annotation(s)
+                for (SelectCascade c: scar.getSelectCascades())
                 {
-                    // select cascade currently does not use source table so can't write test to verify source table is correct
-                    @SuppressWarnings("unchecked") // source field type is not known at compile time
-                    Table<R> sourceTable = (Table<R>)getDatabase().getTable(field.getDeclaringClass());
+                    if (c.lazy())
+                    {
+                        // select cascade currently does not use source table so can't write test to verify source table is correct
+                        @SuppressWarnings("unchecked") // source field type is not known at compile time
+                        Table<R> sourceTable = (Table<R>)getDatabase().getTable(field.getDeclaringClass());
                     
-                    // use phantom operation to provide default values for cascade 
-                    // since operation that triggered cascade is not available
-                    // see SelectCascadeOperation#deriveSqlOperationAttributes
-                    ScalarSelectOperation<R> phantomSourceOperation = new ScalarSelectOperation<>(sourceTable);
+                        // use phantom operation to provide default values for cascade 
+                        // since operation that triggered cascade is not available
+                        // see SelectCascadeOperation#deriveSqlOperationAttributes
+                        ScalarSelectOperation<R> phantomSourceOperation = new ScalarSelectOperation<>(sourceTable);
                     
-                    try (@SuppressWarnings("unchecked") // target field type is not known at compile time
-                         SelectCascadeOperation<R, ?> operation = new SelectCascadeOperation(phantomSourceOperation, targetField, targetTable, c))
-                    {
-                        // does it make sense to allow filters for lazy selects since filter must be specified when AbstractLazySelector#checkLazySelects is invoked?
-                        // operation.setSelectCascadeFilters(selectCascadeFilters);
+                        try (@SuppressWarnings("unchecked") // target field type is not known at compile time
+                             SelectCascadeOperation<R, ?> operation = new SelectCascadeOperation(phantomSourceOperation, targetField, targetTable, c))
+                        {
+                            // does it make sense to allow filters for lazy selects since filter must be specified when AbstractLazySelector#checkLazySelects is invoked?
+                            // operation.setSelectCascadeFilters(selectCascadeFilters);
                         
-                        if (c.setForeignKeyValues()) operation.setForeignKeyFieldNames(scar.getForeignKeyValueFields());
-                        if (c.setForeignKeyReference()) operation.setForeignKeyReferenceFieldName(scar.getForeignKeyReferenceField());
-                        operation.prepare();
-                        operation.cascade(source);
+                            if (c.setForeignKeyValues()) operation.setForeignKeyFieldNames(scar.getForeignKeyValueFields());
+                            if (c.setForeignKeyReference()) operation.setForeignKeyReferenceFieldName(scar.getForeignKeyReferenceField());
+                            operation.prepare();
+                            operation.cascade(source);
+                        }
                     }
                 }
             }
@@ -354,6 +408,45 @@ abstract public class AbstractLazySelector<R> implements LazySelectable, Seriali
      * @throws LazyCascadeException if error
      */
     protected void initPendingLazySelectCascadeFields() throws LazyCascadeException
+    {
+        initPendingLazySelectCascadeFields(getDatabase());
+    }
+    
+    
+    /**
+     * Removes field from pending lazy select fields when field was selected by {@link LazySelectGroup}
+     * for this row.
+     * 
+     * @param fieldName name of field that was selected
+     * @param database database that selected field; used to initialize pending fields if needed 
+     * @throws LazyCascadeException if error
+     */
+    void lazySelected(String fieldName, Database database) throws LazyCascadeException
+    {
+        if (pendingLazySelectFields == null) initPendingLazySelectCascadeFields(database);
+        pendingLazySelectFields.remove(fieldName);
+        pendingLazySelects = pendingLazySelectFields.size() > 0;
+        
+        // group removes this selector
+        if (!pendingLazySelects) lazySelectGroup = null;
+    }
+    
+    
+    /**
+     * Removes this row from its {@link LazySelectGroup} when no more lazy selects are pending so that
+     * this row does not keep the other rows of the group.
+     */
+    void leaveLazySelectGroup()
+    {
+        if (lazySelectGroup != null)
+        {
+            lazySelectGroup.remove(this);
+            lazySelectGroup = null;
+        }
+    }
+    
+    
+    void initPendingLazySelectCascadeFields(Database database) throws LazyCascadeException
     {
         try
         {
@@ -361,7 +454,7 @@ abstract public class AbstractLazySelector<R> implements LazySelectable, Seriali
             if (log.isDebugEnabled()) log.debug("initPendingLazySelectCascadeFields() for source=" + source);
             
             // create map of field name to field for all that contain lazy select cascade
-            List<Field> lazyFields = getDatabase().getTable(source.getClass()).getLazySelectCascadeFields();
+            List<Field> lazyFields = database.getTable(source.getClass()).getLazySelectCascadeFields();
             pendingLazySelectFields = new HashMap<>(lazyFields.size() * 2);
             for (Field f: lazyFields) pendingLazySelectFields.put(f.getName(), f);
         }
@@ -21,6 +21,7 @@ import javax.sql.DataSource;
 import org.sormula.Database;
 import org.sormula.SormulaException;
 import org.sormula.Table;
+import org.sormula.TableMetadataRegistry;
 import org.sormula.annotation.Transient;
 import org.sormula.annotation.cascade.SelectCascade;
 
@@ -55,6 +56,9 @@ public class DurableLazySelector<R> extends AbstractLazySelector<R>
     @Transient
     String schema;
     
+    @Transient
+    TableMetadataRegistry tableMetadataRegistry;
+    
     
     /**
      * Constructs for use when DurableLazySelector is base class of row that will contain lazy select fields. Typically 
@@ -93,6 +97,7 @@ public class DurableLazySelector<R> extends AbstractLazySelector<R>
         dataSourceName = database.getDataSourceName();
         dataSource = database.getDataSource();
         schema = database.getSchema();
+        tableMetadataRegistry = database.getTableMetadataRegistry();
         
         if (dataSourceName == null && dataSource == null)
         {
@@ -159,6 +164,9 @@ public class DurableLazySelector<R> extends AbstractLazySelector<R>
                 // create from data source
                 setDatabase(new Database(dataSource, schema));
             }
+            
+            // share row metadata with database that selected source row
+            getDatabase().setTableMetadataRegistry(tableMetadataRegistry);
         }
         catch (SormulaException e)
         {
@@ -0,0 +1,242 @@
+/* sormula - Simple object relational mapping
+ * Copyright (C) 2011-2020 Jeff Miller
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sormula.operation.cascade.lazy;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.sormula.Database;
+import org.sormula.SormulaException;
+import org.sormula.Table;
+import org.sormula.annotation.cascade.SelectCascade;
+import org.sormula.annotation.cascade.SelectCascadeAnnotationReader;
+import org.sormula.log.SormulaLogger;
+import org.sormula.log.SormulaLoggerFactory;
+import org.sormula.operation.OperationException;
+import org.sormula.operation.ScalarSelectOperation;
+import org.sormula.operation.SelectOperation;
+import org.sormula.operation.cascade.SelectCascadeOperation;
+import org.sormula.reflect.RowField;
+
+
+/**
+ * Rows that were selected by the same {@link SelectOperation#readAll()} and have pending lazy selects. When
+ * one row performs a lazy select for a field where all lazy {@link SelectCascade} annotations have
+ * {@link SelectCascade#batched()} true, the field is selected for all rows of the group that have not yet 
+ * selected the field. So iterating the rows and getting the lazy field of each row uses one query 
+ * (or a few for many rows) instead of one query per row.
+ * <p>
+ * Cascade operations are prepared once per field and reused for later lazy selects of the field by rows
+ * of the group while the same {@link Database} is used. They are closed when no row of the group has 
+ * the field pending.
+ * <p>
+ * Rows leave the group when they have no more pending lazy selects, so that a row that is kept after 
+ * its lazy selects does not keep the other rows of the group.
+ * <p>
+ * A group is created by {@link SelectOperation#readAll()} and is provided to each row with
+ * {@link LazySelectable#pendingLazySelects(Database, LazySelectGroup)}.
+ * 
+ * @author Jeff Miller
+ * @since 4.4
+ * @param <R> type of row class that is to be lazily selected
+ */
+public class LazySelectGroup<R>
+{
+    private static final SormulaLogger log = SormulaLoggerFactory.getClassLogger();
+    List<AbstractLazySelector<R>> selectors;
+    Database operationDatabase;
+    Map<String, List<SelectCascadeOperation<R, ?>>> operationMap; // key is field name
+    
+    
+    /**
+     * Constructs for an empty group.
+     */
+    public LazySelectGroup()
+    {
+        selectors = new ArrayList<>();
+        operationMap = new HashMap<>();
+    }
+    
+    
+    /**
+     * Adds a lazy selector to the group.
+     * 
+     * @param selector selector of row that was read with other rows of group
+     */
+    public void add(AbstractLazySelector<R> selector)
+    {
+        selectors.add(selector);
+    }
+    
+    
+    /**
+     * Removes a lazy selector from the group.
+     * 
+     * @param selector selector of row that has no pending lazy selects
+     */
+    void remove(AbstractLazySelector<R> selector)
+    {
+        selectors.remove(selector);
+    }
+    
+    
+    /**
+     * Gets the selectors of rows in the group that have pending lazy selects.
+     * 
+     * @return selectors in order read
+     */
+    public List<AbstractLazySelector<R>> getSelectors()
+    {
+        return selectors;
+    }
+    
+    
+    /**
+     * Selects field for all rows of group that have the field pending. 
+     * 
+     * @param selector selector that initiated the lazy select; database of this selector is used
+     * @param field field to select
+     * @throws SormulaException if error
+     */
+    public void lazySelect(AbstractLazySelector<R> selector, Field field) throws SormulaException
+    {
+        // rows with field pending
+        String fieldName = field.getName();
+        List<AbstractLazySelector<R>> pendingSelectors = getPendingSelectors(fieldName);
+        if (!pendingSelectors.contains(selector)) pendingSelectors.add(selector);
+        List<R> sources = new ArrayList<>(pendingSelectors.size());
+        for (AbstractLazySelector<R> s : pendingSelectors) sources.add(s.getSource());
+        
+        if (log.isDebugEnabled()) log.debug("lazySelect() " + fieldName + " for " + sources.size() + " rows");
+        Database database = selector.getDatabase();
+        boolean keepOperations = false;
+        
+        try
+        {
+            for (SelectCascadeOperation<R, ?> operation : getOperations(database, field))
+            {
+                operation.cascade(sources);
+            }
+            
+            // other rows no longer have field pending
+            for (AbstractLazySelector<R> s : pendingSelectors)
+            {
+                if (s != selector) s.lazySelected(fieldName, database);
+            }
+            
+            // rows with nothing pending leave group, initiating row leaves after this method if done
+            selectors.removeIf(s -> s != selector && !s.isPendingLazySelects());
+            
+            // at most the initiating row which removes field after this method
+            keepOperations = getPendingSelectors(fieldName).size() > 1;
+        }
+        finally
+        {
+            // operations are not reused after an error since their state is unknown
+            if (!keepOperations) closeOperations(fieldName);
+        }
+    }
+    
+    
+    /**
+     * Closes all cascade operations of group.
+     * 
+     * @throws OperationException if error
+     */
+    public void close() throws OperationException
+    {
+        for (String fieldName : new ArrayList<>(operationMap.keySet())) closeOperations(fieldName);
+    }
+    
+    
+    List<AbstractLazySelector<R>> getPendingSelectors(String fieldName)
+    {
+        List<AbstractLazySelector<R>> pendingSelectors = new ArrayList<>(selectors.size());
+        
+        for (AbstractLazySelector<R> s : selectors)
+        {
+            if (s.isPendingLazySelects() && (s.getPendingLazySelectFields() == null || s.getPendingLazySelectFields().containsKey(fieldName)))
+            {
+                pendingSelectors.add(s);
+            }
+        }
+        
+        return pendingSelectors;
+    }
+    
+    
+    /**
+     * Gets prepared cascade operations for field. Operations are prepared the first time for the field
+     * or when database is different from database of prior lazy select.
+     */
+    List<SelectCascadeOperation<R, ?>> getOperations(Database database, Field field) throws SormulaException
+    {
+        if (database != operationDatabase)
+        {
+            // operations are prepared for a different database
+            close();
+            operationDatabase = database;
+        }
+        
+        List<SelectCascadeOperation<R, ?>> operations = operationMap.get(field.getName());
+        
+        if (operations == null)
+        {
+            // prepare once for field
+            SelectCascadeAnnotationReader scar = new SelectCascadeAnnotationReader(field);
+            Table<?> targetTable = database.getTable(scar.getTargetClass());
+            @SuppressWarnings("unchecked") // target type not known at compile time
+            RowField<R, ?> targetField = (RowField<R, ?>)targetTable.getRowTranslator().createRowField(scar.getSource());
+            @SuppressWarnings("unchecked") // source field type is not known at compile time
+            Table<R> sourceTable = (Table<R>)database.getTable(field.getDeclaringClass());
+            operations = new ArrayList<>(scar.getSelectCascades().length);
+            
+            for (SelectCascade c: scar.getSelectCascades())
+            {
+                if (c.lazy())
+                {
+                    // phantom operation provides default values for cascade, see AbstractLazySelector#lazySelect
+                    ScalarSelectOperation<R> phantomSourceOperation = new ScalarSelectOperation<>(sourceTable);
+                    @SuppressWarnings("unchecked") // target field type is not known at compile time
+                    SelectCascadeOperation<R, ?> operation = new SelectCascadeOperation(phantomSourceOperation, targetField, targetTable, c);
+                    if (c.setForeignKeyValues()) operation.setForeignKeyFieldNames(scar.getForeignKeyValueFields());
+                    if (c.setForeignKeyReference()) operation.setForeignKeyReferenceFieldName(scar.getForeignKeyReferenceField());
+                    operation.prepare();
+                    operations.add(operation);
+                }
+            }
+            
+            operationMap.put(field.getName(), operations);
+        }
+        
+        return operations;
+    }
+    
+    
+    void closeOperations(String fieldName) throws OperationException
+    {
+        List<SelectCascadeOperation<R, ?>> operations = operationMap.remove(fieldName);
+        
+        if (operations != null)
+        {
+            for (SelectCascadeOperation<R, ?> o : operations) o.close();
+        }
+    }
+}
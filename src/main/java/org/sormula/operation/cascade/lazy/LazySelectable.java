@@ -20,6 +20,7 @@ import org.sormula.Database;
 import org.sormula.Table;
 import org.sormula.annotation.cascade.SelectCascade;
 import org.sormula.operation.ScalarSelectOperation;
+import org.sormula.operation.SelectOperation;
 
 
 /**
@@ -49,4 +50,22 @@ public interface LazySelectable
      * @throws LazyCascadeException if error
      */
     public void checkLazySelects(String fieldName) throws LazyCascadeException;
+    
+    
+    /**
+     * Informs a lazy selector that there are lazy selects to be performed for a row that was read with 
+     * other rows by {@link SelectOperation#readAll()}. Invoked by {@link ScalarSelectOperation#readNext()}
+     * instead of {@link #pendingLazySelects(Database)} while rows are read by {@link SelectOperation#readAll()}.
+     * Default implementation ignores group and invokes {@link #pendingLazySelects(Database)}.
+     * 
+     * @param database the database where lazy select fields are to be read
+     * @param group all rows read by the same {@link SelectOperation#readAll()}
+     * @throws LazyCascadeException if error
+     * @since 4.4
+     * @see LazySelectGroup
+     */
+    default void pendingLazySelects(Database database, LazySelectGroup<?> group) throws LazyCascadeException
+    {
+        pendingLazySelects(database);
+    }
 }
@@ -0,0 +1,137 @@
+/* sormula - Simple object relational mapping
+ * Copyright (C) 2011-2020 Jeff Miller
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sormula.reflect;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.util.function.Supplier;
+
+import org.sormula.Table;
+
+
+/**
+ * Creates new row instances with the zero-argument constructor of a row class. The constructor is
+ * resolved and bound once when this factory is created so that no access checks are performed for 
+ * each new row. This is the default row factory for {@link Table#newRow()}.
+ * <p>
+ * The constructor is bound with {@link LambdaMetafactory} if row class and constructor are public.
+ * Otherwise it is bound with a {@link MethodHandle}.
+ * 
+ * @author Jeff Miller
+ * @since 4.4
+ * @param <R> row class
+ * @see Table#setRowFactory(Supplier)
+ */
+public class ConstructorRowFactory<R> implements Supplier<R>
+{
+    private static final MethodHandles.Lookup lookup = MethodHandles.lookup();
+    Class<R> rowClass;
+    Supplier<R> supplier;
+    MethodHandle constructorHandle;
+    
+    
+    /**
+     * Constructs for a row class.
+     * 
+     * @param rowClass class with a zero-argument constructor
+     * @throws ReflectException if row class has no zero-argument constructor or constructor cannot be bound
+     */
+    public ConstructorRowFactory(Class<R> rowClass) throws ReflectException
+    {
+        this.rowClass = rowClass;
+        
+        try
+        {
+            Constructor<R> constructor = rowClass.getDeclaredConstructor();
+            
+            if (Modifier.isPublic(constructor.getModifiers()) && isLinkable(rowClass))
+            {
+                MethodHandle mh = lookup.unreflectConstructor(constructor);
+                CallSite callSite = LambdaMetafactory.metafactory(lookup, "get",
+                        MethodType.methodType(Supplier.class),
+                        MethodType.methodType(Object.class),
+                        mh, MethodType.methodType(rowClass));
+                
+                @SuppressWarnings("unchecked") // metafactory returns Object, type not known at compile time
+                Supplier<R> s = (Supplier<R>)callSite.getTarget().invoke();
+                supplier = s;
+            }
+            else
+            {
+                constructor.setAccessible(true);
+                constructorHandle = lookup.unreflectConstructor(constructor).asType(MethodType.methodType(Object.class));
+            }
+        }
+        catch (Throwable e)
+        {
+            throw new ReflectException("error binding zero-arg constructor for " + rowClass.getName(), e);
+        }
+    }
+    
+    
+    /**
+     * Creates a new row instance.
+     * 
+     * @return new instance of row class
+     * @throws UndeclaredThrowableException if constructor throws a checked exception
+     */
+    @Override
+    public R get()
+    {
+        if (supplier != null) return supplier.get();
+        
+        try
+        {
+            @SuppressWarnings("unchecked") // handle returns Object, type not known at compile time
+            R row = (R)constructorHandle.invokeExact();
+            return row;
+        }
+        catch (RuntimeException | Error e)
+        {
+            throw e;
+        }
+        catch (Throwable e)
+        {
+            throw new UndeclaredThrowableException(e);
+        }
+    }
+    
+    
+    static boolean isLinkable(Class<?> rowClass)
+    {
+        for (Class<?> c = rowClass; c != null; c = c.getEnclosingClass())
+        {
+            if (!Modifier.isPublic(c.getModifiers())) return false;
+        }
+        
+        try
+        {
+            // generated class is defined in the sormula class loader
+            return Class.forName(rowClass.getName(), false, ConstructorRowFactory.class.getClassLoader()) == rowClass;
+        }
+        catch (ClassNotFoundException e)
+        {
+            return false;
+        }
+    }
+}
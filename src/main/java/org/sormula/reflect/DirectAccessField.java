@@ -96,4 +96,312 @@ public class DirectAccessField<C, T> extends RowField<C, T>
             throw new ReflectException("error setting value=" + value + " for " + field, e);
         }
     }
+    
+    
+    /**
+     * Gets field value with {@link Field#getInt(Object)}.
+     * 
+     * @param object instance of field to get 
+     * @return return value of field instance
+     * @throws ReflectException if error
+     * @since 4.4
+     */
+    @Override
+    public int getInt(C object) throws ReflectException
+    {
+        try
+        {
+            return field.getInt(object);
+        }
+        catch (Exception e)
+        {
+            throw new ReflectException("error getting value for " + field, e);
+        }
+    }
+    
+    
+    /**
+     * Sets field value with {@link Field#setInt(Object, int)}.
+     * 
+     * @param object instance of field to set new value
+     * @param value new value of field instance
+     * @throws ReflectException if error
+     * @since 4.4
+     */
+    @Override
+    public void setInt(C object, int value) throws ReflectException
+    {
+        try
+        {
+            field.setInt(object, value);
+        }
+        catch (Exception e)
+        {
+            throw new ReflectException("error setting value=" + value + " for " + field, e);
+        }
+    }
+    
+    
+    /**
+     * Gets field value with {@link Field#getLong(Object)}.
+     * 
+     * @param object instance of field to get 
+     * @return return value of field instance
+     * @throws ReflectException if error
+     * @since 4.4
+     */
+    @Override
+    public long getLong(C object) throws ReflectException
+    {
+        try
+        {
+            return field.getLong(object);
+        }
+        catch (Exception e)
+        {
+            throw new ReflectException("error getting value for " + field, e);
+        }
+    }
+    
+    
+    /**
+     * Sets field value with {@link Field#setLong(Object, long)}.
+     * 
+     * @param object instance of field to set new value
+     * @param value new value of field instance
+     * @throws ReflectException if error
+     * @since 4.4
+     */
+    @Override
+    public void setLong(C object, long value) throws ReflectException
+    {
+        try
+        {
+            field.setLong(object, value);
+        }
+        catch (Exception e)
+        {
+            throw new ReflectException("error setting value=" + value + " for " + field, e);
+        }
+    }
+    
+    
+    /**
+     * Gets field value with {@link Field#getDouble(Object)}.
+     * 
+     * @param object instance of field to get 
+     * @return return value of field instance
+     * @throws ReflectException if error
+     * @since 4.4
+     */
+    @Override
+    public double getDouble(C object) throws ReflectException
+    {
+        try
+        {
+            return field.getDouble(object);
+        }
+        catch (Exception e)
+        {
+            throw new ReflectException("error getting value for " + field, e);
+        }
+    }
+    
+    
+    /**
+     * Sets field value with {@link Field#setDouble(Object, double)}.
+     * 
+     * @param object instance of field to set new value
+     * @param value new value of field instance
+     * @throws ReflectException if error
+     * @since 4.4
+     */
+    @Override
+    public void setDouble(C object, double value) throws ReflectException
+    {
+        try
+        {
+            field.setDouble(object, value);
+        }
+        catch (Exception e)
+        {
+            throw new ReflectException("error setting value=" + value + " for " + field, e);
+        }
+    }
+    
+    
+    /**
+     * Gets field value with {@link Field#getFloat(Object)}.
+     * 
+     * @param object instance of field to get 
+     * @return return value of field instance
+     * @throws ReflectException if error
+     * @since 4.4
+     */
+    @Override
+    public float getFloat(C object) throws ReflectException
+    {
+        try
+        {
+            return field.getFloat(object);
+        }
+        catch (Exception e)
+        {
+            throw new ReflectException("error getting value for " + field, e);
+        }
+    }
+    
+    
+    /**
+     * Sets field value with {@link Field#setFloat(Object, float)}.
+     * 
+     * @param object instance of field to set new value
+     * @param value new value of field instance
+     * @throws ReflectException if error
+     * @since 4.4
+     */
+    @Override
+    public void setFloat(C object, float value) throws ReflectException
+    {
+        try
+        {
+            field.setFloat(object, value);
+        }
+        catch (Exception e)
+        {
+            throw new ReflectException("error setting value=" + value + " for " + field, e);
+        }
+    }
+    
+    
+    /**
+     * Gets field value with {@link Field#getShort(Object)}.
+     * 
+     * @param object instance of field to get 
+     * @return return value of field instance
+     * @throws ReflectException if error
+     * @since 4.4
+     */
+    @Override
+    public short getShort(C object) throws ReflectException
+    {
+        try
+        {
+            return field.getShort(object);
+        }
+        catch (Exception e)
+        {
+            throw new ReflectException("error getting value for " + field, e);
+        }
+    }
+    
+    
+    /**
+     * Sets field value with {@link Field#setShort(Object, short)}.
+     * 
+     * @param object instance of field to set new value
+     * @param value new value of field instance
+     * @throws ReflectException if error
+     * @since 4.4
+     */
+    @Override
+    public void setShort(C object, short value) throws ReflectException
+    {
+        try
+        {
+            field.setShort(object, value);
+        }
+        catch (Exception e)
+        {
+            throw new ReflectException("error setting value=" + value + " for " + field, e);
+        }
+    }
+    
+    
+    /**
+     * Gets field value with {@link Field#getByte(Object)}.
+     * 
+     * @param object instance of field to get 
+     * @return return value of field instance
+     * @throws ReflectException if error
+     * @since 4.4
+     */
+    @Override
+    public byte getByte(C object) throws ReflectException
+    {
+        try
+        {
+            return field.getByte(object);
+        }
+        catch (Exception e)
+        {
+            throw new ReflectException("error getting value for " + field, e);
+        }
+    }
+    
+    
+    /**
+     * Sets field value with {@link Field#setByte(Object, byte)}.
+     * 
+     * @param object instance of field to set new value
+     * @param value new value of field instance
+     * @throws ReflectException if error
+     * @since 4.4
+     */
+    @Override
+    public void setByte(C object, byte value) throws ReflectException
+    {
+        try
+        {
+            field.setByte(object, value);
+        }
+        catch (Exception e)
+        {
+            throw new ReflectException("error setting value=" + value + " for " + field, e);
+        }
+    }
+    
+    
+    /**
+     * Gets field value with {@link Field#getBoolean(Object)}.
+     * 
+     * @param object instance of field to get 
+     * @return return value of field instance
+     * @throws ReflectException if error
+     * @since 4.4
+     */
+    @Override
+    public boolean getBoolean(C object) throws ReflectException
+    {
+        try
+        {
+            return field.getBoolean(object);
+        }
+        catch (Exception e)
+        {
+            throw new ReflectException("error getting value for " + field, e);
+        }
+    }
+    
+    
+    /**
+     * Sets field value with {@link Field#setBoolean(Object, boolean)}.
+     * 
+     * @param object instance of field to set new value
+     * @param value new value of field instance
+     * @throws ReflectException if error
+     * @since 4.4
+     */
+    @Override
+    public void setBoolean(C object, boolean value) throws ReflectException
+    {
+        try
+        {
+            field.setBoolean(object, value);
+        }
+        catch (Exception e)
+        {
+            throw new ReflectException("error setting value=" + value + " for " + field, e);
+        }
+    }
 }
@@ -22,7 +22,7 @@ import org.sormula.annotation.Row;
 
 /**
  * Defines the type of access for a row field. Annotations {@link Column#fieldAccess()} and {@link Row#fieldAccess()}
- * define how a row field is to be accessed either directly or with getter/setter methods.
+ * define how a row field is to be accessed either directly, with getter/setter methods, or with generated accessors.
  * 
  * @author Jeff Miller
  * @since 3.4
@@ -45,5 +45,16 @@ public enum FieldAccessType
     /**
      * Field is accessed with getter/setter methods.
      */
-    Method;
+    Method,
+    
+    
+    /**
+     * Field is accessed with getter/setter methods, or directly when no getter/setter exists, through 
+     * accessors that are bound once with {@link java.lang.invoke.LambdaMetafactory} or 
+     * {@link java.lang.invoke.MethodHandle}. This avoids reflection for each get/set.
+     * 
+     * @see GeneratedAccessField
+     * @since 4.4
+     */
+    Generated;
 }
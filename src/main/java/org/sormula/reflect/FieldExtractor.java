@@ -20,6 +20,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 import org.sormula.cache.CacheKey;
+import org.sormula.translator.AbstractColumnTranslator;
 import org.sormula.translator.AbstractWhereTranslator;
 import org.sormula.translator.ColumnTranslator;
 import org.sormula.translator.RowTranslator;
@@ -77,8 +78,16 @@ public class FieldExtractor<R>
         {
             for (ColumnTranslator<R> c: columnTranslatorList)
             {
-                // create with row translator to get the correct type of field access
-                rowFieldList.add(rowTranslator.createRowField(c.getField()));
+                if (c instanceof AbstractColumnTranslator)
+                {
+                    // reuse field access that was created for column to avoid binding accessors again 
+                    rowFieldList.add(((AbstractColumnTranslator<R, ?>)c).getRowField());
+                }
+                else
+                {
+                    // create with row translator to get the correct type of field access
+                    rowFieldList.add(rowTranslator.createRowField(c.getField()));
+                }
             }
         }
         catch (TranslatorException e)
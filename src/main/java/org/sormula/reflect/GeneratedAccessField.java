@@ -0,0 +1,656 @@
+/* sormula - Simple object relational mapping
+ * Copyright (C) 2011-2020 Jeff Miller
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sormula.reflect;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+import org.sormula.annotation.Column;
+import org.sormula.annotation.Row;
+import org.sormula.log.SormulaLogger;
+import org.sormula.log.SormulaLoggerFactory;
+
+
+/**
+ * Provides access to a field within a row class with accessors that are bound once when the
+ * field is created. This class is used for fields where {@link Column#fieldAccess()} or
+ * {@link Row#fieldAccess()} is {@link FieldAccessType#Generated}.
+ * <p>
+ * Getter/setter methods are used when they exist, otherwise the field is accessed directly.
+ * Public methods of public classes are bound with {@link LambdaMetafactory} so that each get/set
+ * is a plain interface call that the JVM can inline. All other methods and fields are bound with
+ * a {@link MethodHandle}. Either way, no {@link Method#invoke(Object, Object...)} or
+ * {@link Field#get(Object)} is performed per row.
+ *
+ * @author Jeff Miller
+ * @since 4.4
+ *
+ * @param <C> class containing the field
+ * @param <T> class of field
+ */
+public class GeneratedAccessField<C, T> extends RowField<C, T>
+{
+    private static final SormulaLogger log = SormulaLoggerFactory.getClassLogger();
+    private static final MethodHandles.Lookup lookup = MethodHandles.lookup();
+    Function<C, T> getter;
+    BiConsumer<C, T> setter;
+    MethodHandle getHandle;
+    MethodHandle setHandle;
+    MethodHandle primitiveGetHandle; // exact type (Object)primitive, null if field is not primitive
+    MethodHandle primitiveSetHandle; // exact type (Object,primitive)void, null if field is not primitive
+
+
+    /**
+     * Constructs for a field.
+     *
+     * @param field java reflection Field that corresponds to class variable
+     * @throws ReflectException if error
+     */
+    public GeneratedAccessField(Field field) throws ReflectException
+    {
+        super(field);
+        initAccessors();
+    }
+
+
+    /**
+     * Creates a function that invokes a no-argument method on an object. The function is created
+     * with {@link LambdaMetafactory} so it may be used in place of {@link Method#invoke(Object, Object...)}.
+     *
+     * @param method a public no-argument instance method of a public class
+     * @return function that invokes method or null if method cannot be bound with {@link LambdaMetafactory}
+     * @throws ReflectException if error
+     * @param <C> class containing the method
+     * @param <V> method return type
+     */
+    public static <C, V> Function<C, V> createGetterFunction(Method method) throws ReflectException
+    {
+        if (method.getParameterCount() != 0 || !isLinkable(method)) return null;
+
+        try
+        {
+            MethodHandle mh = lookup.unreflect(method);
+            CallSite callSite = LambdaMetafactory.metafactory(lookup, "apply",
+                    MethodType.methodType(Function.class),
+                    MethodType.methodType(Object.class, Object.class),
+                    mh, mh.type().wrap());
+
+            @SuppressWarnings("unchecked") // metafactory returns Object, type not known at compile time
+            Function<C, V> function = (Function<C, V>)callSite.getTarget().invoke();
+            return function;
+        }
+        catch (Throwable e)
+        {
+            throw new ReflectException("error creating getter function for " + method, e);
+        }
+    }
+
+
+    /**
+     * Creates a consumer that invokes a one-argument method on an object. The consumer is created
+     * with {@link LambdaMetafactory} so it may be used in place of {@link Method#invoke(Object, Object...)}.
+     *
+     * @param method a public one-argument instance method of a public class
+     * @return consumer that invokes method or null if method cannot be bound with {@link LambdaMetafactory}
+     * @throws ReflectException if error
+     * @param <C> class containing the method
+     * @param <V> method parameter type
+     */
+    public static <C, V> BiConsumer<C, V> createSetterConsumer(Method method) throws ReflectException
+    {
+        if (method.getParameterCount() != 1 || !isLinkable(method)) return null;
+
+        try
+        {
+            MethodHandle mh = lookup.unreflect(method);
+            CallSite callSite = LambdaMetafactory.metafactory(lookup, "accept",
+                    MethodType.methodType(BiConsumer.class),
+                    MethodType.methodType(void.class, Object.class, Object.class),
+                    mh, mh.type().wrap().changeReturnType(void.class));
+
+            @SuppressWarnings("unchecked") // metafactory returns Object, type not known at compile time
+            BiConsumer<C, V> consumer = (BiConsumer<C, V>)callSite.getTarget().invoke();
+            return consumer;
+        }
+        catch (Throwable e)
+        {
+            throw new ReflectException("error creating setter consumer for " + method, e);
+        }
+    }
+
+
+    /**
+     * Tests if generated lambda class can invoke method. Method must be a public instance method
+     * of a public class that is visible to the sormula class loader.
+     *
+     * @param method test this method
+     * @return true if {@link LambdaMetafactory} may be used for method
+     */
+    static boolean isLinkable(Method method)
+    {
+        if (Modifier.isStatic(method.getModifiers()) || !Modifier.isPublic(method.getModifiers())) return false;
+
+        Class<?> declaringClass = method.getDeclaringClass();
+        for (Class<?> c = declaringClass; c != null; c = c.getEnclosingClass())
+        {
+            if (!Modifier.isPublic(c.getModifiers())) return false;
+        }
+
+        try
+        {
+            // generated class is defined in the sormula class loader
+            return Class.forName(declaringClass.getName(), false, GeneratedAccessField.class.getClassLoader()) == declaringClass;
+        }
+        catch (ClassNotFoundException e)
+        {
+            return false;
+        }
+    }
+
+
+    void initAccessors() throws ReflectException
+    {
+        String methodBaseName = field.getName().substring(0, 1).toUpperCase() + field.getName().substring(1);
+        Class<?> declaringClass = field.getDeclaringClass();
+        Method getMethod = findMethod(declaringClass, (isBooleanMethod() ? "is" : "get") + methodBaseName);
+        Method setMethod = findMethod(declaringClass, "set" + methodBaseName, field.getType());
+
+        try
+        {
+            if (getMethod != null)
+            {
+                getter = createGetterFunction(getMethod);
+                if (getter == null)
+                {
+                    getMethod.setAccessible(true);
+                    getHandle = lookup.unreflect(getMethod).asType(MethodType.methodType(Object.class, Object.class));
+                }
+            }
+            else
+            {
+                field.setAccessible(true);
+                getHandle = lookup.unreflectGetter(field).asType(MethodType.methodType(Object.class, Object.class));
+            }
+
+            if (setMethod != null)
+            {
+                setter = createSetterConsumer(setMethod);
+                if (setter == null)
+                {
+                    setMethod.setAccessible(true);
+                    setHandle = lookup.unreflect(setMethod).asType(MethodType.methodType(void.class, Object.class, Object.class));
+                }
+            }
+            else if (!Modifier.isFinal(field.getModifiers()))
+            {
+                field.setAccessible(true);
+                setHandle = lookup.unreflectSetter(field).asType(MethodType.methodType(void.class, Object.class, Object.class));
+            }
+            // else final field without setter can only be set by row constructor, see RowConstructor
+        }
+        catch (IllegalAccessException | RuntimeException e)
+        {
+            throw new ReflectException("error binding accessors for " + field, e);
+        }
+        
+        if (field.getType().isPrimitive()) initPrimitiveAccessors(getMethod, setMethod);
+
+        if (log.isDebugEnabled()) log.debug(field + " getter=" + (getter != null ? "lambda" : "handle") +
+                " setter=" + (setter != null ? "lambda" : "handle"));
+    }
+
+
+    /**
+     * Binds accessors with exact primitive types so that {@link #getInt(Object)}, {@link #setInt(Object, int)}, etc.
+     * do not box values.
+     */
+    void initPrimitiveAccessors(Method getMethod, Method setMethod) throws ReflectException
+    {
+        Class<?> type = field.getType();
+        
+        try
+        {
+            if (getMethod != null)
+            {
+                getMethod.setAccessible(true);
+                primitiveGetHandle = lookup.unreflect(getMethod);
+            }
+            else
+            {
+                primitiveGetHandle = lookup.unreflectGetter(field);
+            }
+            
+            if (setMethod != null)
+            {
+                setMethod.setAccessible(true);
+                primitiveSetHandle = lookup.unreflect(setMethod);
+            }
+            else if (!Modifier.isFinal(field.getModifiers()))
+            {
+                primitiveSetHandle = lookup.unreflectSetter(field);
+            }
+            
+            primitiveGetHandle = primitiveGetHandle.asType(MethodType.methodType(type, Object.class));
+            if (primitiveSetHandle != null) primitiveSetHandle = primitiveSetHandle.asType(MethodType.methodType(void.class, Object.class, type));
+        }
+        catch (IllegalAccessException | RuntimeException e)
+        {
+            throw new ReflectException("error binding primitive accessors for " + field, e);
+        }
+    }
+    
+    
+    Method findMethod(Class<?> c, String methodName, Class<?>... parameterTypes)
+    {
+        try
+        {
+            return c.getMethod(methodName, parameterTypes);
+        }
+        catch (NoSuchMethodException e)
+        {
+            // no method, use field
+            return null;
+        }
+    }
+
+
+    /**
+     * Gets field value with bound accessor.
+     *
+     * @param object instance of field to get
+     * @return return value of field instance
+     * @throws ReflectException if error
+     */
+    @Override
+    public T get(C object) throws ReflectException
+    {
+        try
+        {
+            T value;
+            if (getter != null)
+            {
+                value = getter.apply(object);
+            }
+            else
+            {
+                @SuppressWarnings("unchecked") // handle returns Object, type not known at compile time
+                T v = (T)getHandle.invokeExact(object);
+                value = v;
+            }
+
+            if (log.isDebugEnabled()) log.debug("get field="+field.getName() + " value="+value);
+            return value;
+        }
+        catch (Throwable e)
+        {
+            throw new ReflectException("error getting value for " + field, e);
+        }
+    }
+
+
+    /**
+     * Sets field value with bound accessor.
+     *
+     * @param object instance of field to set
+     * @throws ReflectException if error
+     */
+    @Override
+    public void set(C object, T value) throws ReflectException
+    {
+        try
+        {
+            if (log.isDebugEnabled()) log.debug("set field="+field.getName() + " value="+value);
+
+            if (setter != null)
+            {
+                setter.accept(object, value);
+            }
+            else if (setHandle != null)
+            {
+                setHandle.invokeExact(object, (Object)value);
+            }
+            else
+            {
+                throw new ReflectException("no setter for final field " + field);
+            }
+        }
+        catch (ReflectException e)
+        {
+            throw e;
+        }
+        catch (Throwable e)
+        {
+            throw new ReflectException("error setting value=" + value + " for " + field, e);
+        }
+    }
+    
+    
+    /**
+     * {@inheritDoc}
+     * Uses bound accessor without boxing.
+     */
+    @Override
+    public int getInt(C object) throws ReflectException
+    {
+        if (primitiveGetHandle == null) return super.getInt(object);
+        
+        try
+        {
+            return (int)primitiveGetHandle.invokeExact((Object)object);
+        }
+        catch (Throwable e)
+        {
+            throw new ReflectException("error getting value for " + field, e);
+        }
+    }
+    
+    
+    /**
+     * {@inheritDoc}
+     * Uses bound accessor without boxing.
+     */
+    @Override
+    public void setInt(C object, int value) throws ReflectException
+    {
+        if (primitiveSetHandle == null) 
+        {
+            super.setInt(object, value);
+            return;
+        }
+        
+        try
+        {
+            primitiveSetHandle.invokeExact((Object)object, value);
+        }
+        catch (Throwable e)
+        {
+            throw new ReflectException("error setting value=" + value + " for " + field, e);
+        }
+    }
+    
+    
+    /**
+     * {@inheritDoc}
+     * Uses bound accessor without boxing.
+     */
+    @Override
+    public long getLong(C object) throws ReflectException
+    {
+        if (primitiveGetHandle == null) return super.getLong(object);
+        
+        try
+        {
+            return (long)primitiveGetHandle.invokeExact((Object)object);
+        }
+        catch (Throwable e)
+        {
+            throw new ReflectException("error getting value for " + field, e);
+        }
+    }
+    
+    
+    /**
+     * {@inheritDoc}
+     * Uses bound accessor without boxing.
+     */
+    @Override
+    public void setLong(C object, long value) throws ReflectException
+    {
+        if (primitiveSetHandle == null) 
+        {
+            super.setLong(object, value);
+            return;
+        }
+        
+        try
+        {
+            primitiveSetHandle.invokeExact((Object)object, value);
+        }
+        catch (Throwable e)
+        {
+            throw new ReflectException("error setting value=" + value + " for " + field, e);
+        }
+    }
+    
+    
+    /**
+     * {@inheritDoc}
+     * Uses bound accessor without boxing.
+     */
+    @Override
+    public double getDouble(C object) throws ReflectException
+    {
+        if (primitiveGetHandle == null) return super.getDouble(object);
+        
+        try
+        {
+            return (double)primitiveGetHandle.invokeExact((Object)object);
+        }
+        catch (Throwable e)
+        {
+            throw new ReflectException("error getting value for " + field, e);
+        }
+    }
+    
+    
+    /**
+     * {@inheritDoc}
+     * Uses bound accessor without boxing.
+     */
+    @Override
+    public void setDouble(C object, double value) throws ReflectException
+    {
+        if (primitiveSetHandle == null) 
+        {
+            super.setDouble(object, value);
+            return;
+        }
+        
+        try
+        {
+            primitiveSetHandle.invokeExact((Object)object, value);
+        }
+        catch (Throwable e)
+        {
+            throw new ReflectException("error setting value=" + value + " for " + field, e);
+        }
+    }
+    
+    
+    /**
+     * {@inheritDoc}
+     * Uses bound accessor without boxing.
+     */
+    @Override
+    public float getFloat(C object) throws ReflectException
+    {
+        if (primitiveGetHandle == null) return super.getFloat(object);
+        
+        try
+        {
+            return (float)primitiveGetHandle.invokeExact((Object)object);
+        }
+        catch (Throwable e)
+        {
+            throw new ReflectException("error getting value for " + field, e);
+        }
+    }
+    
+    
+    /**
+     * {@inheritDoc}
+     * Uses bound accessor without boxing.
+     */
+    @Override
+    public void setFloat(C object, float value) throws ReflectException
+    {
+        if (primitiveSetHandle == null) 
+        {
+            super.setFloat(object, value);
+            return;
+        }
+        
+        try
+        {
+            primitiveSetHandle.invokeExact((Object)object, value);
+        }
+        catch (Throwable e)
+        {
+            throw new ReflectException("error setting value=" + value + " for " + field, e);
+        }
+    }
+    
+    
+    /**
+     * {@inheritDoc}
+     * Uses bound accessor without boxing.
+     */
+    @Override
+    public short getShort(C object) throws ReflectException
+    {
+        if (primitiveGetHandle == null) return super.getShort(object);
+        
+        try
+        {
+            return (short)primitiveGetHandle.invokeExact((Object)object);
+        }
+        catch (Throwable e)
+        {
+            throw new ReflectException("error getting value for " + field, e);
+        }
+    }
+    
+    
+    /**
+     * {@inheritDoc}
+     * Uses bound accessor without boxing.
+     */
+    @Override
+    public void setShort(C object, short value) throws ReflectException
+    {
+        if (primitiveSetHandle == null) 
+        {
+            super.setShort(object, value);
+            return;
+        }
+        
+        try
+        {
+            primitiveSetHandle.invokeExact((Object)object, value);
+        }
+        catch (Throwable e)
+        {
+            throw new ReflectException("error setting value=" + value + " for " + field, e);
+        }
+    }
+    
+    
+    /**
+     * {@inheritDoc}
+     * Uses bound accessor without boxing.
+     */
+    @Override
+    public byte getByte(C object) throws ReflectException
+    {
+        if (primitiveGetHandle == null) return super.getByte(object);
+        
+        try
+        {
+            return (byte)primitiveGetHandle.invokeExact((Object)object);
+        }
+        catch (Throwable e)
+        {
+            throw new ReflectException("error getting value for " + field, e);
+        }
+    }
+    
+    
+    /**
+     * {@inheritDoc}
+     * Uses bound accessor without boxing.
+     */
+    @Override
+    public void setByte(C object, byte value) throws ReflectException
+    {
+        if (primitiveSetHandle == null) 
+        {
+            super.setByte(object, value);
+            return;
+        }
+        
+        try
+        {
+            primitiveSetHandle.invokeExact((Object)object, value);
+        }
+        catch (Throwable e)
+        {
+            throw new ReflectException("error setting value=" + value + " for " + field, e);
+        }
+    }
+    
+    
+    /**
+     * {@inheritDoc}
+     * Uses bound accessor without boxing.
+     */
+    @Override
+    public boolean getBoolean(C object) throws ReflectException
+    {
+        if (primitiveGetHandle == null) return super.getBoolean(object);
+        
+        try
+        {
+            return (boolean)primitiveGetHandle.invokeExact((Object)object);
+        }
+        catch (Throwable e)
+        {
+            throw new ReflectException("error getting value for " + field, e);
+        }
+    }
+    
+    
+    /**
+     * {@inheritDoc}
+     * Uses bound accessor without boxing.
+     */
+    @Override
+    public void setBoolean(C object, boolean value) throws ReflectException
+    {
+        if (primitiveSetHandle == null) 
+        {
+            super.setBoolean(object, value);
+            return;
+        }
+        
+        try
+        {
+            primitiveSetHandle.invokeExact((Object)object, value);
+        }
+        catch (Throwable e)
+        {
+            throw new ReflectException("error setting value=" + value + " for " + field, e);
+        }
+    }
+}
@@ -29,6 +29,10 @@ import org.sormula.log.SormulaLoggerFactory;
  * Provides method access to a field within a row class. Getter/setter methods are used to access field. 
  * This class is used for fields where {@link Column#fieldAccess()} or {@link Row#fieldAccess()} is 
  * {@link FieldAccessType#Method}.
+ * <p>
+ * {@link Method#invoke(Object, Object...)} takes and returns objects, so primitive values are boxed. 
+ * {@link #getInt(Object)}, {@link #setInt(Object, int)}, etc. are not overridden. Use {@link DirectAccessField} 
+ * or {@link GeneratedAccessField} to access primitive fields without boxing.
  * 
  * @author Jeff Miller
  * 
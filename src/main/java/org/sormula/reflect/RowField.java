@@ -41,9 +41,9 @@ public abstract class RowField<C, T>
     /**
      * Factory method to create concrete {@link RowField} subclass instance for a field.
      * 
-     * @param fieldAccessType direct or method access
+     * @param fieldAccessType direct, method, or generated access
      * @param field field to access
-     * @return {@link MethodAccessField} or {@link DirectAccessField}
+     * @return {@link MethodAccessField}, {@link DirectAccessField}, or {@link GeneratedAccessField}
      * @throws ReflectException if error
 	 * @param <C> class containing the field
 	 * @param <T> class of field
@@ -58,6 +58,10 @@ public abstract class RowField<C, T>
         {
             return new MethodAccessField<>(field);
         }
+        else if (fieldAccessType == FieldAccessType.Generated)
+        {
+            return new GeneratedAccessField<>(field);
+        }
         else
         {
             // not likely
@@ -183,4 +187,221 @@ public abstract class RowField<C, T>
      * @throws ReflectException if error
      */
     public abstract void set(C object, T value) throws ReflectException;
+    
+    
+    /**
+     * Gets value of field of type int. The default implementation unboxes the value of {@link #get(Object)}. 
+     * Subclasses override to get the value without boxing.
+     * 
+     * @param object instance of field to get 
+     * @return return value of field instance
+     * @throws ReflectException if error
+     * @since 4.4
+     */
+    public int getInt(C object) throws ReflectException
+    {
+        return (Integer)get(object);
+    }
+    
+    
+    /**
+     * Sets value of field of type int. The default implementation boxes the value for {@link #set(Object, Object)}.
+     * Subclasses override to set the value without boxing.
+     * 
+     * @param object instance of field to set new value
+     * @param value new value of field instance
+     * @throws ReflectException if error
+     * @since 4.4
+     */
+    @SuppressWarnings("unchecked") // field type is not known at compile time
+    public void setInt(C object, int value) throws ReflectException
+    {
+        set(object, (T)Integer.valueOf(value));
+    }
+    
+    
+    /**
+     * Gets value of field of type long. The default implementation unboxes the value of {@link #get(Object)}. 
+     * Subclasses override to get the value without boxing.
+     * 
+     * @param object instance of field to get 
+     * @return return value of field instance
+     * @throws ReflectException if error
+     * @since 4.4
+     */
+    public long getLong(C object) throws ReflectException
+    {
+        return (Long)get(object);
+    }
+    
+    
+    /**
+     * Sets value of field of type long. The default implementation boxes the value for {@link #set(Object, Object)}.
+     * Subclasses override to set the value without boxing.
+     * 
+     * @param object instance of field to set new value
+     * @param value new value of field instance
+     * @throws ReflectException if error
+     * @since 4.4
+     */
+    @SuppressWarnings("unchecked") // field type is not known at compile time
+    public void setLong(C object, long value) throws ReflectException
+    {
+        set(object, (T)Long.valueOf(value));
+    }
+    
+    
+    /**
+     * Gets value of field of type double. The default implementation unboxes the value of {@link #get(Object)}. 
+     * Subclasses override to get the value without boxing.
+     * 
+     * @param object instance of field to get 
+     * @return return value of field instance
+     * @throws ReflectException if error
+     * @since 4.4
+     */
+    public double getDouble(C object) throws ReflectException
+    {
+        return (Double)get(object);
+    }
+    
+    
+    /**
+     * Sets value of field of type double. The default implementation boxes the value for {@link #set(Object, Object)}.
+     * Subclasses override to set the value without boxing.
+     * 
+     * @param object instance of field to set new value
+     * @param value new value of field instance
+     * @throws ReflectException if error
+     * @since 4.4
+     */
+    @SuppressWarnings("unchecked") // field type is not known at compile time
+    public void setDouble(C object, double value) throws ReflectException
+    {
+        set(object, (T)Double.valueOf(value));
+    }
+    
+    
+    /**
+     * Gets value of field of type float. The default implementation unboxes the value of {@link #get(Object)}. 
+     * Subclasses override to get the value without boxing.
+     * 
+     * @param object instance of field to get 
+     * @return return value of field instance
+     * @throws ReflectException if error
+     * @since 4.4
+     */
+    public float getFloat(C object) throws ReflectException
+    {
+        return (Float)get(object);
+    }
+    
+    
+    /**
+     * Sets value of field of type float. The default implementation boxes the value for {@link #set(Object, Object)}.
+     * Subclasses override to set the value without boxing.
+     * 
+     * @param object instance of field to set new value
+     * @param value new value of field instance
+     * @throws ReflectException if error
+     * @since 4.4
+     */
+    @SuppressWarnings("unchecked") // field type is not known at compile time
+    public void setFloat(C object, float value) throws ReflectException
+    {
+        set(object, (T)Float.valueOf(value));
+    }
+    
+    
+    /**
+     * Gets value of field of type short. The default implementation unboxes the value of {@link #get(Object)}. 
+     * Subclasses override to get the value without boxing.
+     * 
+     * @param object instance of field to get 
+     * @return return value of field instance
+     * @throws ReflectException if error
+     * @since 4.4
+     */
+    public short getShort(C object) throws ReflectException
+    {
+        return (Short)get(object);
+    }
+    
+    
+    /**
+     * Sets value of field of type short. The default implementation boxes the value for {@link #set(Object, Object)}.
+     * Subclasses override to set the value without boxing.
+     * 
+     * @param object instance of field to set new value
+     * @param value new value of field instance
+     * @throws ReflectException if error
+     * @since 4.4
+     */
+    @SuppressWarnings("unchecked") // field type is not known at compile time
+    public void setShort(C object, short value) throws ReflectException
+    {
+        set(object, (T)Short.valueOf(value));
+    }
+    
+    
+    /**
+     * Gets value of field of type byte. The default implementation unboxes the value of {@link #get(Object)}. 
+     * Subclasses override to get the value without boxing.
+     * 
+     * @param object instance of field to get 
+     * @return return value of field instance
+     * @throws ReflectException if error
+     * @since 4.4
+     */
+    public byte getByte(C object) throws ReflectException
+    {
+        return (Byte)get(object);
+    }
+    
+    
+    /**
+     * Sets value of field of type byte. The default implementation boxes the value for {@link #set(Object, Object)}.
+     * Subclasses override to set the value without boxing.
+     * 
+     * @param object instance of field to set new value
+     * @param value new value of field instance
+     * @throws ReflectException if error
+     * @since 4.4
+     */
+    @SuppressWarnings("unchecked") // field type is not known at compile time
+    public void setByte(C object, byte value) throws ReflectException
+    {
+        set(object, (T)Byte.valueOf(value));
+    }
+    
+    
+    /**
+     * Gets value of field of type boolean. The default implementation unboxes the value of {@link #get(Object)}. 
+     * Subclasses override to get the value without boxing.
+     * 
+     * @param object instance of field to get 
+     * @return return value of field instance
+     * @throws ReflectException if error
+     * @since 4.4
+     */
+    public boolean getBoolean(C object) throws ReflectException
+    {
+        return (Boolean)get(object);
+    }
+    
+    
+    /**
+     * Sets value of field of type boolean. The default implementation boxes the value for {@link #set(Object, Object)}.
+     * Subclasses override to set the value without boxing.
+     * 
+     * @param object instance of field to set new value
+     * @param value new value of field instance
+     * @throws ReflectException if error
+     * @since 4.4
+     */
+    @SuppressWarnings("unchecked") // field type is not known at compile time
+    public void setBoolean(C object, boolean value) throws ReflectException
+    {
+        set(object, (T)Boolean.valueOf(value));
+    }
 }
@@ -0,0 +1,562 @@
+/* sormula - Simple object relational mapping
+ * Copyright (C) 2011-2020 Jeff Miller
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sormula.selector;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.sormula.SormulaException;
+import org.sormula.Table;
+import org.sormula.annotation.OrderBy;
+import org.sormula.dialect.Dialect;
+import org.sormula.log.SormulaLogger;
+import org.sormula.log.SormulaLoggerFactory;
+import org.sormula.operation.ArrayListSelectOperation;
+import org.sormula.operation.OperationException;
+import org.sormula.translator.AbstractWhereTranslator;
+import org.sormula.translator.ColumnTranslator;
+import org.sormula.translator.OrderByTranslator;
+
+
+/**
+ * Selects pages of rows with keyset (seek) pagination. Instead of positioning a scrollable result set 
+ * like {@link PaginatedSelector}, each page is selected with a where condition that continues from the 
+ * last row of the previous page (or the first row of the next page when moving backward) and a limit 
+ * of page size rows. So the cost of selecting a page does not depend upon how deep the page is.
+ * <p>
+ * The columns of the {@link OrderBy} are the keyset. For next page the sql is like:
+ * <blockquote><pre>
+ * SELECT ... WHERE (where condition) AND (k1, k2) &gt; (?, ?) ORDER BY k1, k2 FETCH FIRST pageSize ROWS ONLY
+ * </pre></blockquote>
+ * where the keyset values are from the last row of the current page. {@link Dialect#isRowValueComparison()}
+ * determines if row values are compared or if the equivalent k1 &gt; ? OR (k1 = ? AND k2 &gt; ?) is used. The 
+ * latter is also used when order has a mix of ascending and descending columns. The order by columns must not 
+ * contain nulls and must uniquely identify a row, typically by including the primary key as the last order by column.
+ * <p>
+ * Pages are navigated relative to the most recently selected page so pages must be selected in order
+ * with {@link #selectPage()}, {@link #nextPage()}, and {@link #previousPage()}.
+ * <p>
+ * Example:
+ * <blockquote><pre>
+ * try (KeysetPaginatedSelector&lt;Order&gt; selector = new KeysetPaginatedSelector&lt;&gt;(20, table, "byDate"))
+ * {
+ *     selector.setWhere("byStatus");
+ *     selector.setParameters("open");
+ *     for (List&lt;Order&gt; page = selector.selectPage(); page.size() &gt; 0; page = selector.nextPage())
+ *     {
+ *         ...
+ *     }
+ * }
+ * </pre></blockquote>
+ * 
+ * @author Jeff Miller
+ * @since 4.4
+ * @param <R> Class associated with a row in table
+ */
+public class KeysetPaginatedSelector<R> implements AutoCloseable
+{
+    private static final SormulaLogger log = SormulaLoggerFactory.getClassLogger();
+    int pageSize;
+    Table<R> table;
+    String whereConditionName;
+    Object[] parameters;
+    boolean totalCount;
+    long count;
+    int pageNumber;
+    List<R> page;
+    KeysetSelectOperation<R> selectOperation;
+    
+    
+    /**
+     * Constructs for a page size, table, and order.
+     * 
+     * @param pageSize rows per page
+     * @param table select rows from this table
+     * @param orderByName name of {@link OrderBy} with the keyset columns
+     * @throws SelectorException if error
+     */
+    public KeysetPaginatedSelector(int pageSize, Table<R> table, String orderByName) throws SelectorException
+    {
+        this.pageSize = pageSize;
+        this.table = table;
+        whereConditionName = "";
+        count = -1;
+        
+        try
+        {
+            selectOperation = new KeysetSelectOperation<>(table);
+            selectOperation.setOrderBy(orderByName);
+            selectOperation.setMaximumRowsRead(pageSize);
+            selectOperation.setSqlLimit(true);
+        }
+        catch (OperationException e)
+        {
+            throw new SelectorException("error initializing select operation", e);
+        }
+    }
+    
+    
+    /**
+     * Sets the where condition to use for all pages. The default is empty string to select all rows.
+     * 
+     * @param whereConditionName name of where condition to use
+     * @throws SelectorException if error
+     */
+    public void setWhere(String whereConditionName) throws SelectorException
+    {
+        this.whereConditionName = whereConditionName;
+        
+        try
+        {
+            selectOperation.setWhere(whereConditionName);
+            selectOperation.setMaximumRowsRead(pageSize); // where annotation may have set maximum
+        }
+        catch (OperationException e)
+        {
+            throw new SelectorException("error setting where " + whereConditionName, e);
+        }
+    }
+    
+    
+    /**
+     * @return name of where condition
+     */
+    public String getWhereConditionName()
+    {
+        return whereConditionName;
+    }
+
+
+    /**
+     * Sets the parameters for the where condition.
+     * 
+     * @param parameters where condition parameters
+     */
+    public void setParameters(Object... parameters)
+    {
+        this.parameters = parameters;
+    }
+
+
+    /**
+     * Indicates if the total number of rows is selected with the first page. 
+     * 
+     * @return true if {@link #getTotalCount()} is available after first page is selected
+     */
+    public boolean isTotalCount()
+    {
+        return totalCount;
+    }
+
+
+    /**
+     * Sets if the total number of rows for the where condition is selected with the first page. When 
+     * {@link Dialect#isWindowCount()} is true, the count is selected in the same statement as the first
+     * page with COUNT(*) OVER(). Otherwise it is selected with {@link Table#selectCount(String, Object...)}. 
+     * The default is false.
+     * 
+     * @param totalCount true to select total count
+     */
+    public void setTotalCount(boolean totalCount)
+    {
+        this.totalCount = totalCount;
+    }
+    
+    
+    /**
+     * Gets the total number of rows for the where condition.
+     * 
+     * @return number of rows; -1 if not known
+     * @see #setTotalCount(boolean)
+     */
+    public long getTotalCount()
+    {
+        return count;
+    }
+
+
+    /**
+     * @return rows per page
+     */
+    public int getPageSize()
+    {
+        return pageSize;
+    }
+    
+    
+    /**
+     * Gets the number of the most recently selected page.
+     * 
+     * @return 1 for first page; 0 if no page has been selected
+     */
+    public int getPageNumber()
+    {
+        return pageNumber;
+    }
+
+
+    /**
+     * Selects the first page if no page has been selected, otherwise selects the current page again 
+     * with the same keyset.
+     * 
+     * @return rows of page
+     * @throws SelectorException if error
+     */
+    public List<R> selectPage() throws SelectorException
+    {
+        if (pageNumber == 0) return firstPage();
+        return select();
+    }
+    
+    
+    /**
+     * Selects the first page.
+     * 
+     * @return rows of first page
+     * @throws SelectorException if error
+     */
+    public List<R> firstPage() throws SelectorException
+    {
+        pageNumber = 1;
+        selectOperation.setKeyset(null, false, totalCount && table.getDatabase().getDialect().isWindowCount());
+        List<R> rows = select();
+        
+        if (totalCount && !selectOperation.isCountOver())
+        {
+            // separate count
+            try
+            {
+                count = table.selectCount(whereConditionName, parameters != null ? parameters : new Object[0]);
+            }
+            catch (SormulaException e)
+            {
+                throw new SelectorException("error selecting count", e);
+            }
+        }
+        
+        return rows;
+    }
+
+
+    /**
+     * Selects the page that follows the most recently selected page. The rows of the next page are 
+     * the rows that follow the last row of the current page. If there are no more rows, the page is empty and the 
+     * page number is not changed.
+     * 
+     * @return rows of next page; empty if no more rows
+     * @throws SelectorException if error
+     */
+    public List<R> nextPage() throws SelectorException
+    {
+        if (pageNumber == 0) return firstPage();
+        if (page.isEmpty()) return page;
+        
+        return navigate(page.get(page.size() - 1), false, pageNumber + 1);
+    }
+
+
+    /**
+     * Selects the page that precedes the most recently selected page. The rows of the previous page are
+     * the rows that precede the first row of the current page. 
+     * 
+     * @return rows of previous page; empty if no previous rows
+     * @throws SelectorException if error
+     */
+    public List<R> previousPage() throws SelectorException
+    {
+        if (pageNumber <= 2) return firstPage();
+        if (page.isEmpty()) return page;
+        
+        return navigate(page.get(0), true, pageNumber - 1);
+    }
+
+
+    /**
+     * Closes the select operation.
+     */
+    @Override
+    public void close() throws SelectorException
+    {
+        try
+        {
+            selectOperation.close();
+        }
+        catch (OperationException e)
+        {
+            throw new SelectorException("close error", e);
+        }
+    }
+    
+    
+    /**
+     * Selects page relative to a row and keeps it as current page if not empty.
+     */
+    List<R> navigate(R anchorRow, boolean backward, int newPageNumber) throws SelectorException
+    {
+        List<R> previous = page;
+        int previousPageNumber = pageNumber;
+        KeysetSelectOperation<R> o = selectOperation;
+        R previousAnchorRow = o.anchorRow;
+        boolean previousBackward = o.backward;
+        
+        o.setKeyset(anchorRow, backward, false);
+        pageNumber = newPageNumber;
+        List<R> rows = select();
+        
+        if (rows.isEmpty())
+        {
+            // stay on current page
+            if (log.isDebugEnabled()) log.debug("no rows for page " + newPageNumber);
+            o.setKeyset(previousAnchorRow, previousBackward, false);
+            page = previous;
+            pageNumber = previousPageNumber;
+        }
+        
+        return rows;
+    }
+    
+    
+    /**
+     * Selects rows with current keyset of operation.
+     */
+    List<R> select() throws SelectorException
+    {
+        try
+        {
+            selectOperation.setParameters(parameters);
+            selectOperation.selectedCount = -1;
+            selectOperation.execute();
+            List<R> rows = selectOperation.readAll();
+            if (selectOperation.backward) Collections.reverse(rows);
+            if (selectOperation.isCountOver()) count = Math.max(selectOperation.selectedCount, 0); // no rows if not selected
+            page = rows;
+            return rows;
+        }
+        catch (OperationException e)
+        {
+            throw new SelectorException("select page error", e);
+        }
+    }
+    
+    
+    /**
+     * Select operation that adds keyset condition to where condition and reverses order when
+     * selecting backward.
+     */
+    static class KeysetSelectOperation<R> extends ArrayListSelectOperation<R>
+    {
+        R anchorRow;
+        boolean backward;
+        boolean countOver;
+        long selectedCount;
+        List<ColumnTranslator<R>> keysetParameterColumns;
+        
+        
+        KeysetSelectOperation(Table<R> table) throws OperationException
+        {
+            super(table, "");
+            keysetParameterColumns = new ArrayList<>();
+        }
+        
+        
+        /**
+         * Sets the row from which to select the page. Statement is prepared again when sql changes.
+         */
+        void setKeyset(R anchorRow, boolean backward, boolean countOver) throws SelectorException
+        {
+            if ((anchorRow == null) != (this.anchorRow == null) || backward != this.backward || countOver != this.countOver)
+            {
+                // sql is different
+                try
+                {
+                    closeStatement();
+                }
+                catch (OperationException e)
+                {
+                    throw new SelectorException("error closing statement", e);
+                }
+            }
+            
+            this.anchorRow = anchorRow;
+            this.backward = backward;
+            this.countOver = countOver;
+        }
+        
+        
+        boolean isCountOver()
+        {
+            return countOver;
+        }
+        
+        
+        @Override
+        protected String getSql()
+        {
+            String sql = getBaseSql();
+            if (countOver) sql = sql.replaceFirst(" FROM ", ", COUNT(*) OVER() FROM ");
+            
+            String whereSql = null;
+            AbstractWhereTranslator<R> wt = getWhereTranslator(); 
+            if (wt != null)
+            {
+                // only collection operand sql depends upon parameters, other translators are shared by operations
+                if (wt.isCollectionOperand()) wt.setParameters(getParameters());
+                whereSql = wt.createSql().substring("WHERE ".length());
+            }
+            
+            OrderByTranslator<R> orderByTranslator = getOrderByTranslator();
+            String keysetSql = anchorRow != null ? createKeysetSql(orderByTranslator) : null;
+            
+            if (whereSql != null && keysetSql != null) sql += " WHERE (" + whereSql + ") AND " + keysetSql;
+            else if (whereSql != null)                 sql += " WHERE " + whereSql;
+            else if (keysetSql != null)                sql += " WHERE " + keysetSql;
+            
+            // order by, reverse when selecting backward
+            List<ColumnTranslator<R>> columns = orderByTranslator.getColumnTranslatorList();
+            StringBuilder orderBy = new StringBuilder(" ORDER BY ");
+            for (int i = 0; i < columns.size(); ++i)
+            {
+                if (i > 0) orderBy.append(", ");
+                orderBy.append(columns.get(i).getColumnName());
+                orderBy.append(orderByTranslator.isDescending(i) != backward ? " DESC" : " ASC");
+            }
+            sql += orderBy;
+            
+            if (getLimitSql() != null) sql += " " + getLimitSql();
+            
+            return sql;
+        }
+        
+        
+        /**
+         * Creates condition that selects rows after anchor row in order of selection.
+         */
+        String createKeysetSql(OrderByTranslator<R> orderByTranslator)
+        {
+            List<ColumnTranslator<R>> columns = orderByTranslator.getColumnTranslatorList();
+            boolean sameDirection = true;
+            for (int i = 1; i < columns.size(); ++i)
+            {
+                if (orderByTranslator.isDescending(i) != orderByTranslator.isDescending(0)) sameDirection = false;
+            }
+            
+            keysetParameterColumns.clear();
+            StringBuilder sql = new StringBuilder(columns.size() * 40);
+            
+            if (sameDirection && getTable().getDatabase().getDialect().isRowValueComparison())
+            {
+                // (k1, k2, ...) > (?, ?, ...)
+                String operator = orderByTranslator.isDescending(0) != backward ? " < " : " > ";
+                StringBuilder parameterPhrase = new StringBuilder();
+                sql.append("(");
+                
+                for (int i = 0; i < columns.size(); ++i)
+                {
+                    if (i > 0)
+                    {
+                        sql.append(", ");
+                        parameterPhrase.append(", ");
+                    }
+                    
+                    sql.append(columns.get(i).getColumnName());
+                    parameterPhrase.append("?");
+                    keysetParameterColumns.add(columns.get(i));
+                }
+                
+                sql.append(")").append(operator).append("(").append(parameterPhrase).append(")");
+            }
+            else
+            {
+                // (k1 > ? OR (k1 = ? AND k2 > ?) OR ...)
+                sql.append("(");
+                
+                for (int i = 0; i < columns.size(); ++i)
+                {
+                    if (i > 0) sql.append(" OR ");
+                    sql.append("(");
+                    
+                    for (int j = 0; j < i; ++j)
+                    {
+                        sql.append(columns.get(j).getColumnName()).append(" = ? AND ");
+                        keysetParameterColumns.add(columns.get(j));
+                    }
+                    
+                    String operator = orderByTranslator.isDescending(i) != backward ? " < ?" : " > ?";
+                    sql.append(columns.get(i).getColumnName()).append(operator);
+                    keysetParameterColumns.add(columns.get(i));
+                    sql.append(")");
+                }
+                
+                sql.append(")");
+            }
+            
+            return sql.toString();
+        }
+        
+        
+        @Override
+        protected void writeParameters() throws OperationException
+        {
+            super.writeParameters();
+            
+            if (anchorRow != null)
+            {
+                int index = getNextParameter();
+                
+                try
+                {
+                    for (ColumnTranslator<R> c : keysetParameterColumns)
+                    {
+                        c.write(getPreparedStatement(), index++, anchorRow);
+                    }
+                }
+                catch (Exception e)
+                {
+                    throw new OperationException("error writing keyset parameter " + index, e);
+                }
+                
+                setNextParameter(index);
+            }
+        }
+        
+        
+        @Override
+        public R readNext() throws OperationException
+        {
+            R row = super.readNext();
+            
+            if (row != null && countOver && selectedCount < 0)
+            {
+                // count is last column
+                try
+                {
+                    ResultSet resultSet = getResultSet();
+                    selectedCount = resultSet.getLong(resultSet.getMetaData().getColumnCount());
+                }
+                catch (SQLException e)
+                {
+                    throw new OperationException("error reading count", e);
+                }
+            }
+            
+            return row;
+        }
+    }
+}
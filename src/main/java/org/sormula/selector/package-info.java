@@ -20,5 +20,7 @@
  * Classes that select subsets of rows. The most common type of selector would
  * be a page selector (see {@link org.sormula.selector.PaginatedListSelector}. Create
  * a custom selector by implementing {@link org.sormula.selector.PaginatedSelector}.
+ * Use {@link org.sormula.selector.KeysetPaginatedSelector} to page through large results
+ * without scrollable result sets.
  */
 package org.sormula.selector;
\ No newline at end of file
@@ -18,6 +18,7 @@ package org.sormula.translator;
 
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
+import java.lang.reflect.Method;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 
@@ -43,6 +44,7 @@ public abstract class AbstractColumnTranslator<R, T> implements ColumnTranslator
     String columnName;
     RowField<R, T> rowField;
     TypeTranslator<T> typeTranslator;
+    PrimitiveTypeTranslator<T> primitiveTypeTranslator;
     boolean identity;
     boolean readOnly;
     
@@ -140,6 +142,69 @@ public abstract class AbstractColumnTranslator<R, T> implements ColumnTranslator
     public void setTypeTranslator(TypeTranslator<T> typeTranslator)
     {
         this.typeTranslator = typeTranslator;
+        
+        if (typeTranslator instanceof PrimitiveTypeTranslator && getField().getType().isPrimitive() &&
+            isPrimitiveTranslated(typeTranslator.getClass()))
+        {
+            // field value can be read/written without boxing
+            primitiveTypeTranslator = (PrimitiveTypeTranslator<T>)typeTranslator;
+        }
+        else
+        {
+            primitiveTypeTranslator = null;
+        }
+    }
+    
+    
+    /**
+     * Gets the translator used for primitive fields. 
+     * 
+     * @return type translator if it is a {@link PrimitiveTypeTranslator} and field is a primitive type
+     * and read and write are not overridden by a subclass without also overriding readField and writeField;
+     * otherwise null
+     * @since 4.4
+     */
+    public PrimitiveTypeTranslator<T> getPrimitiveTypeTranslator()
+    {
+        return primitiveTypeTranslator;
+    }
+    
+    
+    /**
+     * Tests if {@link PrimitiveTypeTranslator#readField(ResultSet, int, Object, RowField)} and 
+     * {@link PrimitiveTypeTranslator#writeField(PreparedStatement, int, Object, RowField)} are declared
+     * by the same class or a subclass of the class that declares read and write. Otherwise a 
+     * subclass has changed read or write and readField and writeField would bypass the change.
+     * 
+     * @param typeTranslatorClass class of {@link PrimitiveTypeTranslator}
+     * @return true if primitive methods may be used instead of read and write
+     */
+    static boolean isPrimitiveTranslated(Class<?> typeTranslatorClass)
+    {
+        boolean readField = false;
+        boolean writeField = false;
+        
+        for (Class<?> c = typeTranslatorClass; c != null && !(readField && writeField); c = c.getSuperclass())
+        {
+            for (Method m : c.getDeclaredMethods())
+            {
+                if      (m.getName().equals("readField"))  readField = true;
+                else if (m.getName().equals("writeField")) writeField = true;
+            }
+            
+            for (Method m : c.getDeclaredMethods())
+            {
+                Class<?>[] parameterTypes = m.getParameterTypes();
+                if ((m.getName().equals("read") && !readField && parameterTypes.length == 2 && parameterTypes[0] == ResultSet.class) ||
+                    (m.getName().equals("write") && !writeField && parameterTypes.length == 3 && parameterTypes[0] == PreparedStatement.class))
+                {
+                    if (log.isDebugEnabled()) log.debug(typeTranslatorClass + " overrides " + m.getName() + " so primitive methods are not used");
+                    return false;
+                }
+            }
+        }
+        
+        return true;
     }
 
 
@@ -192,7 +257,11 @@ public abstract class AbstractColumnTranslator<R, T> implements ColumnTranslator
      */
     public void write(PreparedStatement preparedStatement, int parameterIndex, R row) throws Exception
     {
-        if (typeTranslator != null)
+        if (primitiveTypeTranslator != null)
+        {
+            primitiveTypeTranslator.writeField(preparedStatement, parameterIndex, row, rowField);
+        }
+        else if (typeTranslator != null)
         {
             typeTranslator.write(preparedStatement, parameterIndex, rowField.get(row));
         }
@@ -208,7 +277,11 @@ public abstract class AbstractColumnTranslator<R, T> implements ColumnTranslator
      */
     public void read(ResultSet resultSet, int columnIndex, R row) throws Exception
     {
-        if (typeTranslator != null)
+        if (primitiveTypeTranslator != null)
+        {
+            primitiveTypeTranslator.readField(resultSet, columnIndex, row, rowField);
+        }
+        else if (typeTranslator != null)
         {
             rowField.set(row, typeTranslator.read(resultSet, columnIndex));
         }
@@ -156,6 +156,29 @@ public abstract class AbstractWhereTranslator<R> extends ColumnsTranslator<R>
     }
 
     
+    /**
+     * Tests if where condition only compares columns for equality with parameters like
+     * "c1 = ? AND c2 = ? AND ...".
+     * 
+     * @return true if all columns use "=" operator, "?" operand, and "AND" boolean operator
+     * @since 4.4
+     */
+    public boolean isEqualParameters()
+    {
+        for (int i = 0; i < whereFieldExpressionList.size(); ++i)
+        {
+            WhereFieldExpression wfe = whereFieldExpressionList.get(i);
+            if (!wfe.getComparisonOperator().trim().equals("=") || !wfe.getOperand().trim().equals("?") ||
+                (i > 0 && !wfe.getBooleanOperator().trim().equalsIgnoreCase("AND")))
+            {
+                return false;
+            }
+        }
+        
+        return true;
+    }
+
+    
     /**
      * Creates column phrase with parameter placeholders and comparison operators like:<br> 
      * "c1 cop1 a1 bo2 c2 cop2 a2 bo3 c3 cop3 a3..." where cN is column name,
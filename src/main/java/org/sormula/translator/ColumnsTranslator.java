@@ -256,6 +256,25 @@ public class ColumnsTranslator<R>
     }
     
     
+    /**
+     * Gets number of columns in {@link #createColumnPhrase()}.
+     * 
+     * @return number of columns that are included
+     * @since 4.4
+     */
+    public int getIncludedColumnCount()
+    {
+        int count = 0;
+        
+        for (ColumnTranslator<R> c: columnTranslatorList)
+        {
+            if (isIncluded(c)) ++count;
+        }
+        
+        return count;
+    }
+    
+    
     /**
      * Creates sql phrase of column names with parameters . Typically used
      * by where clause and update statement.
@@ -0,0 +1,290 @@
+/* sormula - Simple object relational mapping
+ * Copyright (C) 2011-2020 Jeff Miller
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sormula.translator;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.sql.ResultSet;
+import java.util.Arrays;
+import java.util.List;
+
+import org.sormula.annotation.RowConstructor;
+import org.sormula.log.SormulaLogger;
+import org.sormula.log.SormulaLoggerFactory;
+
+
+/**
+ * Creates rows from a result set by invoking a constructor once with the values of all columns
+ * that are constructor parameters. The constructor is the one annotated with {@link RowConstructor}
+ * or the canonical constructor of a Java record class.
+ * <p>
+ * Records are detected with reflection so that sormula can be used with Java versions prior to records.
+ *
+ * @author Jeff Miller
+ * @since 4.4
+ * @param <R> class of row to translate
+ * @see RowTranslator#readNew(ResultSet, int)
+ */
+public class ConstructorTranslator<R>
+{
+    private static final SormulaLogger log = SormulaLoggerFactory.getClassLogger();
+    Constructor<R> constructor;
+    String[] fieldNames;
+    MethodHandle constructorHandle;
+    Object[] defaultArguments; // for parameters of columns that are not included
+    int[] parameterIndexes; // index is column translator index, -1 if column is not a constructor parameter
+
+
+    /**
+     * Gets the row constructor for a row class.
+     *
+     * @param rowClass row class to examine
+     * @return translator for constructor annotated with {@link RowConstructor}, translator for canonical constructor
+     * if row class is a record, or null if neither
+     * @throws TranslatorException if error
+     * @param <R> class of row
+     */
+    public static <R> ConstructorTranslator<R> newInstance(Class<R> rowClass) throws TranslatorException
+    {
+        // annotated constructor
+        for (Constructor<?> c : rowClass.getDeclaredConstructors())
+        {
+            RowConstructor rowConstructorAnnotation = c.getAnnotation(RowConstructor.class);
+            if (rowConstructorAnnotation != null)
+            {
+                @SuppressWarnings("unchecked") // declared constructors of rowClass construct rowClass
+                Constructor<R> constructor = (Constructor<R>)c;
+                String[] fieldNames = rowConstructorAnnotation.fieldNames();
+
+                if (fieldNames.length == 0)
+                {
+                    // names from compiled parameter names
+                    Parameter[] parameters = constructor.getParameters();
+                    fieldNames = new String[parameters.length];
+                    for (int i = 0; i < parameters.length; ++i)
+                    {
+                        if (!parameters[i].isNamePresent()) throw new TranslatorException("RowConstructor.fieldNames are required for " +
+                                constructor + " since it was not compiled with -parameters");
+                        fieldNames[i] = parameters[i].getName();
+                    }
+                }
+
+                return new ConstructorTranslator<>(constructor, fieldNames);
+            }
+        }
+
+        // record canonical constructor
+        try
+        {
+            Method isRecord = Class.class.getMethod("isRecord");
+            if ((Boolean)isRecord.invoke(rowClass))
+            {
+                Object[] recordComponents = (Object[])Class.class.getMethod("getRecordComponents").invoke(rowClass);
+                String[] fieldNames = new String[recordComponents.length];
+                Class<?>[] parameterTypes = new Class<?>[recordComponents.length];
+
+                for (int i = 0; i < recordComponents.length; ++i)
+                {
+                    Class<?> recordComponentClass = recordComponents[i].getClass();
+                    fieldNames[i] = (String)recordComponentClass.getMethod("getName").invoke(recordComponents[i]);
+                    parameterTypes[i] = (Class<?>)recordComponentClass.getMethod("getType").invoke(recordComponents[i]);
+                }
+
+                return new ConstructorTranslator<>(rowClass.getDeclaredConstructor(parameterTypes), fieldNames);
+            }
+        }
+        catch (NoSuchMethodException e)
+        {
+            // java version prior to records
+        }
+        catch (Exception e)
+        {
+            throw new TranslatorException("error getting canonical constructor for record " + rowClass, e);
+        }
+
+        return null;
+    }
+
+
+    /**
+     * Constructs for a constructor.
+     *
+     * @param constructor row constructor
+     * @param fieldNames names of fields that correspond to constructor parameters in parameter order
+     * @throws TranslatorException if error
+     */
+    public ConstructorTranslator(Constructor<R> constructor, String[] fieldNames) throws TranslatorException
+    {
+        this.constructor = constructor;
+        this.fieldNames = fieldNames;
+        Class<?>[] parameterTypes = constructor.getParameterTypes();
+
+        if (fieldNames.length != parameterTypes.length)
+        {
+            throw new TranslatorException(fieldNames.length + " field names for " + parameterTypes.length +
+                    " parameters of " + constructor);
+        }
+
+        try
+        {
+            constructor.setAccessible(true);
+            constructorHandle = MethodHandles.lookup().unreflectConstructor(constructor)
+                    .asSpreader(Object[].class, parameterTypes.length)
+                    .asType(MethodType.methodType(Object.class, Object[].class));
+        }
+        catch (IllegalAccessException | RuntimeException e)
+        {
+            throw new TranslatorException("error binding row constructor " + constructor, e);
+        }
+
+        // parameters that are not read use zero values for primitives and null for objects
+        defaultArguments = new Object[parameterTypes.length];
+        for (int i = 0; i < parameterTypes.length; ++i)
+        {
+            if (parameterTypes[i].isPrimitive()) defaultArguments[i] = Array.get(Array.newInstance(parameterTypes[i], 1), 0);
+        }
+
+        if (log.isDebugEnabled()) log.debug(constructor + " field names=" + Arrays.asList(fieldNames));
+    }
+
+
+    /**
+     * Associates constructor parameters with columns. Every constructor parameter must correspond
+     * to a column with a standard column translator.
+     *
+     * @param columnTranslatorList all columns of row in sql column order
+     * @throws TranslatorException if a constructor parameter has no column
+     */
+    public void initColumns(List<ColumnTranslator<R>> columnTranslatorList) throws TranslatorException
+    {
+        parameterIndexes = new int[columnTranslatorList.size()];
+        Arrays.fill(parameterIndexes, -1);
+
+        for (int p = 0; p < fieldNames.length; ++p)
+        {
+            boolean found = false;
+
+            for (int c = 0; c < parameterIndexes.length; ++c)
+            {
+                ColumnTranslator<R> columnTranslator = columnTranslatorList.get(c);
+                if (columnTranslator.getField().getName().equals(fieldNames[p]))
+                {
+                    if (!(columnTranslator instanceof AbstractColumnTranslator))
+                    {
+                        throw new TranslatorException("constructor parameter " + fieldNames[p] + " can't use custom column translator " +
+                                columnTranslator.getClass());
+                    }
+
+                    parameterIndexes[c] = p;
+                    found = true;
+                    break;
+                }
+            }
+
+            if (!found) throw new TranslatorException("no column for constructor parameter " + fieldNames[p] + " of " + constructor);
+        }
+    }
+
+
+    /**
+     * Reads a row from a result set. Constructor parameter values are read first and then the row is constructed.
+     * Values of columns that are not constructor parameters are then set in the new row.
+     *
+     * @param columnsTranslator columns to read and which to include
+     * @param resultSet JDBC result set
+     * @param columnIndex starting column index
+     * @return new row
+     * @throws TranslatorException if error
+     */
+    public R read(ColumnsTranslator<R> columnsTranslator, ResultSet resultSet, int columnIndex) throws TranslatorException
+    {
+        List<ColumnTranslator<R>> columnTranslatorList = columnsTranslator.getColumnTranslatorList();
+        Object[] arguments = defaultArguments.clone();
+        int p = columnIndex;
+        R row;
+
+        try
+        {
+            // constructor parameters
+            for (int c = 0; c < parameterIndexes.length; ++c)
+            {
+                ColumnTranslator<R> columnTranslator = columnTranslatorList.get(c);
+                if (columnsTranslator.isIncluded(columnTranslator))
+                {
+                    if (parameterIndexes[c] >= 0)
+                    {
+                        arguments[parameterIndexes[c]] = ((AbstractColumnTranslator<R, ?>)columnTranslator).getTypeTranslator().read(resultSet, p);
+                    }
+
+                    ++p;
+                }
+            }
+
+            @SuppressWarnings("unchecked") // handle returns Object
+            R r = (R)constructorHandle.invokeExact(arguments);
+            row = r;
+        }
+        catch (Throwable e)
+        {
+            throw new TranslatorException("error constructing row with " + constructor, e);
+        }
+
+        // remaining columns
+        p = columnIndex;
+        try
+        {
+            for (int c = 0; c < parameterIndexes.length; ++c)
+            {
+                ColumnTranslator<R> columnTranslator = columnTranslatorList.get(c);
+                if (columnsTranslator.isIncluded(columnTranslator))
+                {
+                    if (parameterIndexes[c] < 0) columnTranslator.read(resultSet, p, row);
+                    ++p;
+                }
+            }
+        }
+        catch (Exception e)
+        {
+            throw new TranslatorException("error reading result set parameter " + p, e);
+        }
+
+        return row;
+    }
+
+
+    /**
+     * @return constructor used to create rows
+     */
+    public Constructor<R> getConstructor()
+    {
+        return constructor;
+    }
+
+
+    /**
+     * @return names of fields that correspond to constructor parameters in parameter order
+     */
+    public String[] getFieldNames()
+    {
+        return fieldNames;
+    }
+}
@@ -158,6 +158,19 @@ public class OrderByTranslator<R> extends ColumnsTranslator<R>
     }
 
 
+    /**
+     * Tests if a column is in descending order.
+     * 
+     * @param index index of column in {@link #getColumnTranslatorList()}
+     * @return true if column is ordered with DESC qualifier
+     * @since 4.4
+     */
+    public boolean isDescending(int index)
+    {
+        return "DESC".equalsIgnoreCase(orderQualifierList.get(index));
+    }
+    
+    
     /**
      * Creates order by phrase.
      * 
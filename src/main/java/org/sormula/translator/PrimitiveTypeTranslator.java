@@ -0,0 +1,74 @@
+/* sormula - Simple object relational mapping
+ * Copyright (C) 2011-2020 Jeff Miller
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sormula.translator;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+
+import org.sormula.reflect.RowField;
+
+
+/**
+ * A {@link TypeTranslator} that can move a value between a JDBC object and a primitive row field
+ * without boxing. {@link AbstractColumnTranslator} uses {@link #readField(ResultSet, int, Object, RowField)} 
+ * and {@link #writeField(PreparedStatement, int, Object, RowField)} instead of {@link #read(ResultSet, int)} and 
+ * {@link #write(PreparedStatement, int, Object)} when the field type is primitive. Wrapper typed fields
+ * are translated with {@link #read(ResultSet, int)} and {@link #write(PreparedStatement, int, Object)} so
+ * that null values are preserved.
+ * <p>
+ * Subclasses of implementations that override {@link #read(ResultSet, int)} or {@link #write(PreparedStatement, int, Object)}
+ * but not {@link #readField(ResultSet, int, Object, RowField)} and {@link #writeField(PreparedStatement, int, Object, RowField)}
+ * are translated with {@link #read(ResultSet, int)} and {@link #write(PreparedStatement, int, Object)}.
+ * <p>
+ * Values are not boxed only when the {@link RowField} accesses primitives directly, which is the case for 
+ * {@link org.sormula.reflect.FieldAccessType#Direct} and {@link org.sormula.reflect.FieldAccessType#Generated}. 
+ * With {@link org.sormula.reflect.FieldAccessType#Method}, which is the default, {@link RowField#getInt(Object)},
+ * {@link RowField#setInt(Object, int)}, etc. box through {@link RowField#get(Object)} and {@link RowField#set(Object, Object)}.
+ * 
+ * @since 4.4
+ * @author Jeff Miller
+ * @param <T> wrapper type of primitive Java field
+ */
+public interface PrimitiveTypeTranslator<T> extends TypeTranslator<T>
+{
+    /**
+     * Reads value from result set into primitive field of row. Null values cannot be
+     * set in a primitive field so {@link ResultSet#wasNull()} should be tested to 
+     * report null as an error.
+     * 
+     * @param resultSet read value from this result set
+     * @param columnIndex read value at this column index from result set
+     * @param row set field value in this row
+     * @param rowField primitive field to set
+     * @param <R> row class
+     * @throws Exception if error
+     */
+    public <R> void readField(ResultSet resultSet, int columnIndex, R row, RowField<R, T> rowField) throws Exception;
+    
+    
+    /**
+     * Sets parameter in prepared statement from primitive field of row.
+     * 
+     * @param preparedStatement JDBC prepared statement
+     * @param parameterIndex index of parameter to set
+     * @param row get field value from this row
+     * @param rowField primitive field to get
+     * @param <R> row class
+     * @throws Exception if error
+     */
+    public <R> void writeField(PreparedStatement preparedStatement, int parameterIndex, R row, RowField<R, T> rowField) throws Exception;
+}
@@ -0,0 +1,216 @@
+/* sormula - Simple object relational mapping
+ * Copyright (C) 2011-2020 Jeff Miller
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sormula.translator;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.sormula.log.SormulaLogger;
+import org.sormula.log.SormulaLoggerFactory;
+import org.sormula.reflect.RowField;
+import org.sormula.translator.standard.StandardColumnTranslator;
+
+
+/**
+ * Reads and writes all columns of a row in one pass without per column dispatch through
+ * {@link ColumnTranslator}. The {@link RowField} and {@link TypeTranslator} of every column are
+ * resolved once when the codec is created into flat arrays, one set of arrays for each combination of
+ * {@link ColumnsTranslator#isIncludeIdentityColumns()} and {@link ColumnsTranslator#isIncludeReadOnlyColumns()}.
+ * So {@link #read(ResultSet, int, Object, boolean, boolean)} and {@link #write(PreparedStatement, int, Object, boolean, boolean)}
+ * do not test which columns are included for each row.
+ * <p>
+ * A codec can only be created when all columns use {@link StandardColumnTranslator}. Use
+ * {@link #newInstance(List)} to create. It returns null when any column uses a custom {@link ColumnTranslator}
+ * so that the caller can use the column translators instead.
+ * <p>
+ * The type translator for each column is obtained when codec is created. A new codec must be created if
+ * {@link AbstractColumnTranslator#setTypeTranslator(TypeTranslator)} is used afterward.
+ *
+ * @author Jeff Miller
+ * @since 4.4
+ * @param <R> class of row to translate
+ * @see RowTranslator#setCompiled(boolean)
+ */
+public class RowCodec<R>
+{
+    private static final SormulaLogger log = SormulaLoggerFactory.getClassLogger();
+
+    // index is identity(2) + readonly(1)
+    final List<Columns<R>> columnsByInclusion;
+
+
+    /**
+     * Creates a codec for columns if possible.
+     *
+     * @param columnTranslatorList all columns of row in sql column order
+     * @return codec or null if some column cannot be read/written by codec
+     * @param <R> class of row to translate
+     */
+    public static <R> RowCodec<R> newInstance(List<ColumnTranslator<R>> columnTranslatorList)
+    {
+        for (ColumnTranslator<R> c : columnTranslatorList)
+        {
+            if (c.getClass() != StandardColumnTranslator.class)
+            {
+                if (log.isDebugEnabled()) log.debug("no codec since custom translator " + c.getClass() + " for " + c.getField());
+                return null;
+            }
+            else if (((AbstractColumnTranslator<R, ?>)c).getTypeTranslator() == null)
+            {
+                if (log.isDebugEnabled()) log.debug("no codec since no type translator for " + c.getField());
+                return null;
+            }
+        }
+
+        return new RowCodec<>(columnTranslatorList);
+    }
+
+
+    /**
+     * Constructs for columns. All column translators must be {@link StandardColumnTranslator}.
+     *
+     * @param columnTranslatorList all columns of row in sql column order
+     */
+    protected RowCodec(List<ColumnTranslator<R>> columnTranslatorList)
+    {
+        columnsByInclusion = new ArrayList<>(4);
+        columnsByInclusion.add(new Columns<>(columnTranslatorList, false, false));
+        columnsByInclusion.add(new Columns<>(columnTranslatorList, false, true));
+        columnsByInclusion.add(new Columns<>(columnTranslatorList, true, false));
+        columnsByInclusion.add(new Columns<>(columnTranslatorList, true, true));
+    }
+
+
+    /**
+     * Reads all included columns of a row from a result set.
+     *
+     * @param resultSet JDBC result set
+     * @param columnIndex starting column index
+     * @param row write values into this object
+     * @param includeIdentityColumns true to read identity columns
+     * @param includeReadOnlyColumns true to read readonly columns
+     * @return last parameter index + 1
+     * @throws TranslatorException if error
+     */
+    public int read(ResultSet resultSet, int columnIndex, R row,
+            boolean includeIdentityColumns, boolean includeReadOnlyColumns) throws TranslatorException
+    {
+        Columns<R> columns = getColumns(includeIdentityColumns, includeReadOnlyColumns);
+        RowField<R, Object>[] rowFields = columns.rowFields;
+        TypeTranslator<Object>[] typeTranslators = columns.typeTranslators;
+        PrimitiveTypeTranslator<Object>[] primitiveTypeTranslators = columns.primitiveTypeTranslators;
+        int length = rowFields.length;
+        int i = 0;
+
+        try
+        {
+            for (; i < length; ++i)
+            {
+                if (primitiveTypeTranslators[i] != null) primitiveTypeTranslators[i].readField(resultSet, columnIndex + i, row, rowFields[i]);
+                else rowFields[i].set(row, typeTranslators[i].read(resultSet, columnIndex + i));
+            }
+        }
+        catch (Exception e)
+        {
+            throw new TranslatorException("error reading result set parameter " + (columnIndex + i), e);
+        }
+
+        return columnIndex + length;
+    }
+
+
+    /**
+     * Sets parameters in a prepared statement for all included columns of a row.
+     *
+     * @param preparedStatement set parameters for this prepared statement
+     * @param parameterIndex starting parameter index
+     * @param row read parameters from this row object
+     * @param includeIdentityColumns true to write identity columns
+     * @param includeReadOnlyColumns true to write readonly columns
+     * @return last parameter index + 1
+     * @throws TranslatorException if error
+     */
+    public int write(PreparedStatement preparedStatement, int parameterIndex, R row,
+            boolean includeIdentityColumns, boolean includeReadOnlyColumns) throws TranslatorException
+    {
+        Columns<R> columns = getColumns(includeIdentityColumns, includeReadOnlyColumns);
+        RowField<R, Object>[] rowFields = columns.rowFields;
+        TypeTranslator<Object>[] typeTranslators = columns.typeTranslators;
+        PrimitiveTypeTranslator<Object>[] primitiveTypeTranslators = columns.primitiveTypeTranslators;
+        int length = rowFields.length;
+        int i = 0;
+
+        try
+        {
+            for (; i < length; ++i)
+            {
+                if (primitiveTypeTranslators[i] != null) primitiveTypeTranslators[i].writeField(preparedStatement, parameterIndex + i, row, rowFields[i]);
+                else typeTranslators[i].write(preparedStatement, parameterIndex + i, rowFields[i].get(row));
+            }
+        }
+        catch (Exception e)
+        {
+            throw new TranslatorException("error preparing parameter " + (parameterIndex + i), e);
+        }
+
+        return parameterIndex + length;
+    }
+
+
+    Columns<R> getColumns(boolean includeIdentityColumns, boolean includeReadOnlyColumns)
+    {
+        return columnsByInclusion.get((includeIdentityColumns ? 2 : 0) + (includeReadOnlyColumns ? 1 : 0));
+    }
+
+
+    /**
+     * Row fields and type translators for columns that are included for one combination of
+     * identity and readonly inclusion.
+     */
+    static class Columns<R>
+    {
+        RowField<R, Object>[] rowFields;
+        TypeTranslator<Object>[] typeTranslators;
+        PrimitiveTypeTranslator<Object>[] primitiveTypeTranslators; // null element if not primitive field
+
+
+        @SuppressWarnings({"unchecked", "rawtypes"}) // generic arrays are not allowed, field types are only known at runtime
+        Columns(List<ColumnTranslator<R>> columnTranslatorList, boolean includeIdentityColumns, boolean includeReadOnlyColumns)
+        {
+            List<AbstractColumnTranslator<R, Object>> included = new ArrayList<>(columnTranslatorList.size());
+            for (ColumnTranslator<R> c : columnTranslatorList)
+            {
+                if ((!c.isIdentity() || includeIdentityColumns) && (!c.isReadOnly() || includeReadOnlyColumns))
+                {
+                    included.add((AbstractColumnTranslator<R, Object>)c);
+                }
+            }
+
+            rowFields = new RowField[included.size()];
+            typeTranslators = new TypeTranslator[included.size()];
+            primitiveTypeTranslators = new PrimitiveTypeTranslator[included.size()];
+            for (int i = 0; i < rowFields.length; ++i)
+            {
+                rowFields[i] = included.get(i).getRowField();
+                typeTranslators[i] = included.get(i).getTypeTranslator();
+                primitiveTypeTranslators[i] = included.get(i).getPrimitiveTypeTranslator();
+            }
+        }
+    }
+}
@@ -0,0 +1,96 @@
+/* sormula - Simple object relational mapping
+ * Copyright (C) 2011-2020 Jeff Miller
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sormula.translator;
+
+import java.lang.reflect.Field;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.sormula.TableMetadataRegistry;
+import org.sormula.reflect.FieldAccessType;
+
+
+/**
+ * Immutable snapshot of the parts of a {@link RowTranslator} that depend only upon the row class
+ * and the configuration used to create it. A {@link RowTranslator} created with the same configuration 
+ * can be initialized from the snapshot instead of reading annotations and creating column translators 
+ * again. See {@link TableMetadataRegistry}.
+ * <p>
+ * The column translators, {@link RowCodec} and {@link ConstructorTranslator} in the snapshot are shared
+ * by all row translators that are initialized from it. They are not modified after initialization so 
+ * they may be used concurrently.
+ * 
+ * @author Jeff Miller
+ * @since 4.4
+ * @param <R> class of row
+ */
+public class RowMetadata<R>
+{
+    final Class<R> rowClass;
+    final List<ColumnTranslator<R>> columnTranslatorList;
+    final Map<String, ColumnTranslator<R>> columnTranslatorMap;
+    final ColumnTranslator<R> identityColumnTranslator;
+    final List<Field> cascadeFieldList;
+    final String unusedColumnInsertNamesSql;
+    final String unusedColumnInsertValuesSql;
+    final String unusedColumnUpdateSql;
+    final boolean inheritedFields;
+    final FieldAccessType fieldAccessType;
+    final RowCodec<R> rowCodec;
+    final ConstructorTranslator<R> constructorTranslator;
+    
+    
+    /**
+     * Constructs from a row translator that has been initialized.
+     * 
+     * @param rowTranslator snapshot metadata of this row translator
+     */
+    public RowMetadata(RowTranslator<R> rowTranslator)
+    {
+        rowClass = rowTranslator.getRowClass();
+        columnTranslatorList = Collections.unmodifiableList(rowTranslator.columnTranslatorList);
+        columnTranslatorMap = Collections.unmodifiableMap(rowTranslator.columnTranslatorMap);
+        identityColumnTranslator = rowTranslator.identityColumnTranslator;
+        cascadeFieldList = Collections.unmodifiableList(rowTranslator.cascadeFieldList);
+        unusedColumnInsertNamesSql = rowTranslator.unusedColumnInsertNamesSql;
+        unusedColumnInsertValuesSql = rowTranslator.unusedColumnInsertValuesSql;
+        unusedColumnUpdateSql = rowTranslator.unusedColumnUpdateSql;
+        inheritedFields = rowTranslator.inheritedFields;
+        fieldAccessType = rowTranslator.fieldAccessType;
+        rowCodec = rowTranslator.rowCodec;
+        constructorTranslator = rowTranslator.constructorTranslator;
+    }
+
+
+    /**
+     * @return class of row described by this metadata
+     */
+    public Class<R> getRowClass()
+    {
+        return rowClass;
+    }
+    
+    
+    /**
+     * @return columns of row in sql column order
+     */
+    public List<ColumnTranslator<R>> getColumnTranslatorList()
+    {
+        return columnTranslatorList;
+    }
+}
@@ -34,15 +34,21 @@ package org.sormula.translator;
 
 import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.sormula.Database;
+import org.sormula.SormulaException;
 import org.sormula.Table;
+import org.sormula.TableMetadataRegistry;
 import org.sormula.annotation.Column;
 import org.sormula.annotation.EnumType;
 import org.sormula.annotation.ImplicitType;
 import org.sormula.annotation.ImplicitTypeAnnotationReader;
 import org.sormula.annotation.Row;
+import org.sormula.annotation.RowConstructor;
 import org.sormula.annotation.Transient;
 import org.sormula.annotation.UnusedColumn;
 import org.sormula.annotation.UnusedColumns;
@@ -107,6 +113,8 @@ public class RowTranslator<R> extends ColumnsTranslator<R>
     boolean inheritedFields;
     List<Field> cascadeFieldList;
     FieldAccessType fieldAccessType;
+    RowCodec<R> rowCodec;
+    ConstructorTranslator<R> constructorTranslator;
     
     
     /**
@@ -122,19 +130,36 @@ public class RowTranslator<R> extends ColumnsTranslator<R>
         super(table.getRowClass());
         this.table = table;
         
-        if (rowAnnotation != null)
+        TableMetadataRegistry registry = table.getDatabase().getTableMetadataRegistry();
+        RowMetadata<R> rowMetadata = registry != null ? registry.get(table) : null;
+        
+        if (rowMetadata != null)
         {
-            inheritedFields = rowAnnotation.inhertedFields();
-            fieldAccessType = rowAnnotation.fieldAccess();
+            // same row class and configuration has been initialized by some other table
+            initFromMetadata(rowMetadata);
+            primaryKeyWhereTranslator = new PrimaryKeyWhereTranslator<>(this);
         }
         else
         {
-            fieldAccessType = FieldAccessType.Default;
+            if (rowAnnotation != null)
+            {
+                inheritedFields = rowAnnotation.inhertedFields();
+                fieldAccessType = rowAnnotation.fieldAccess();
+            }
+            else
+            {
+                fieldAccessType = FieldAccessType.Default;
+            }
+    
+            constructorTranslator = ConstructorTranslator.newInstance(rowClass);
+            initColumnTranslators();
+            if (constructorTranslator != null) constructorTranslator.initColumns(columnTranslatorList);
+            initUnusedColumnSql(rowClass);
+            primaryKeyWhereTranslator = new PrimaryKeyWhereTranslator<>(this);
+            setCompiled(table.getDatabase().isCompiledRowTranslators());
+            
+            if (registry != null) registry.put(table, new RowMetadata<>(this));
         }
-
-        initColumnTranslators();
-        initUnusedColumnSql(rowClass);
-        primaryKeyWhereTranslator = new PrimaryKeyWhereTranslator<>(this);
         
         if (log.isDebugEnabled())
         {
@@ -148,6 +173,44 @@ public class RowTranslator<R> extends ColumnsTranslator<R>
     }
 
     
+    /**
+     * Initializes this translator from metadata created by some other row translator for the same
+     * row class and configuration. Column translators are shared, not copied.
+     * 
+     * @param rowMetadata metadata from {@link TableMetadataRegistry}
+     * @throws TranslatorException if error
+     * @since 4.4
+     */
+    protected void initFromMetadata(RowMetadata<R> rowMetadata) throws TranslatorException
+    {
+        if (log.isDebugEnabled()) log.debug("init " + rowClass.getCanonicalName() + " from registered metadata");
+        columnTranslatorList = rowMetadata.columnTranslatorList;
+        columnTranslatorMap = rowMetadata.columnTranslatorMap;
+        identityColumnTranslator = rowMetadata.identityColumnTranslator;
+        cascadeFieldList = rowMetadata.cascadeFieldList;
+        unusedColumnInsertNamesSql = rowMetadata.unusedColumnInsertNamesSql;
+        unusedColumnInsertValuesSql = rowMetadata.unusedColumnInsertValuesSql;
+        unusedColumnUpdateSql = rowMetadata.unusedColumnUpdateSql;
+        inheritedFields = rowMetadata.inheritedFields;
+        fieldAccessType = rowMetadata.fieldAccessType;
+        rowCodec = rowMetadata.rowCodec;
+        constructorTranslator = rowMetadata.constructorTranslator;
+        
+        // implicit types are installed into table by initColumnTranslators, table needs them too
+        for (ColumnTranslator<R> c : columnTranslatorList)
+        {
+            try
+            {
+                new ImplicitTypeAnnotationReader(table, c.getField()).install();
+            }
+            catch (Exception e)
+            {
+                throw new TranslatorException("error installing ImplicitType", e);
+            }
+        }
+    }
+    
+    
     /**
      * Gets the field access type to use for all fields in row if no access type has been specified
      * for {@link Column}.
@@ -163,8 +226,145 @@ public class RowTranslator<R> extends ColumnsTranslator<R>
     
     
     /**
-     * Creates a {@link RowField} object with the appropriate field access (either getter/setter method 
-     * or direct access). Typically this method is used to create a field that will receive value from  
+     * Reports if rows are read and written with a {@link RowCodec}.
+     * 
+     * @return true if {@link #getRowCodec()} is used by {@link #read(ResultSet, int, Object)} and
+     * {@link #write(PreparedStatement, int, Object)}
+     * @since 4.4
+     */
+    public boolean isCompiled()
+    {
+        return rowCodec != null;
+    }
+    
+    
+    /**
+     * Sets the compiled mode for reading and writing rows. When true, a {@link RowCodec} is created 
+     * for the columns in this translator and used instead of iterating over column translators. Compiled 
+     * mode is not possible when any column has a custom {@link ColumnTranslator}. In that case the columns
+     * are read and written with column translators as usual and {@link #isCompiled()} returns false.
+     * <p>
+     * Default is {@link Database#isCompiledRowTranslators()}. Invoke this method again with true 
+     * if type translators are modified after construction of this translator.
+     * 
+     * @param compiled true to read and write rows with {@link RowCodec}
+     * @since 4.4
+     */
+    public void setCompiled(boolean compiled)
+    {
+        if (compiled)
+        {
+            rowCodec = RowCodec.newInstance(columnTranslatorList);
+            if (log.isDebugEnabled()) log.debug(rowClass.getCanonicalName() + " compiled=" + isCompiled());
+        }
+        else
+        {
+            rowCodec = null;
+        }
+    }
+    
+    
+    /**
+     * Gets the codec used in compiled mode.
+     * 
+     * @return codec or null if not compiled
+     * @since 4.4
+     * @see #setCompiled(boolean)
+     */
+    public RowCodec<R> getRowCodec()
+    {
+        return rowCodec;
+    }
+    
+    
+    /**
+     * Gets the translator that creates rows with a row constructor.
+     * 
+     * @return translator for constructor annotated with {@link RowConstructor} or canonical constructor
+     * of a record; null if rows are created with {@link Table#newRow()}
+     * @since 4.4
+     */
+    public ConstructorTranslator<R> getConstructorTranslator()
+    {
+        return constructorTranslator;
+    }
+    
+    
+    /**
+     * Reads a new row from a result set. If {@link #getConstructorTranslator()} is not null, then
+     * the row is created by the row constructor with the column values. Otherwise the row is created
+     * with {@link Table#newRow()} and then read with {@link #read(ResultSet, int, Object)}.
+     * 
+     * @param resultSet JDBC result set
+     * @param columnIndex starting column index
+     * @return new row
+     * @throws TranslatorException if error
+     * @since 4.4
+     */
+    public R readNew(ResultSet resultSet, int columnIndex) throws TranslatorException
+    {
+        if (constructorTranslator != null)
+        {
+            return constructorTranslator.read(this, resultSet, columnIndex);
+        }
+        else
+        {
+            R row;
+            
+            try
+            {
+                row = table.newRow();
+            }
+            catch (SormulaException e)
+            {
+                throw new TranslatorException("error creating row", e);
+            }
+            
+            read(resultSet, columnIndex, row);
+            return row;
+        }
+    }
+    
+    
+    /**
+     * {@inheritDoc}
+     * Uses {@link RowCodec} if {@link #isCompiled()} is true.
+     */
+    @Override
+    public int read(ResultSet resultSet, int columnIndex, R row) throws TranslatorException
+    {
+        if (rowCodec != null)
+        {
+            return rowCodec.read(resultSet, columnIndex, row, includeIdentityColumns, includeReadOnlyColumns);
+        }
+        else
+        {
+            return super.read(resultSet, columnIndex, row);
+        }
+    }
+    
+    
+    /**
+     * {@inheritDoc}
+     * Uses {@link RowCodec} if {@link #isCompiled()} is true.
+     */
+    @Override
+    public int write(PreparedStatement preparedStatement, int parameterIndex, R row) throws TranslatorException
+    {
+        if (rowCodec != null)
+        {
+            return rowCodec.write(preparedStatement, parameterIndex, row, includeIdentityColumns, includeReadOnlyColumns);
+        }
+        else
+        {
+            return super.write(preparedStatement, parameterIndex, row);
+        }
+    }
+    
+    
+    /**
+     * Creates a {@link RowField} object with the appropriate field access (getter/setter method, 
+     * direct access, or generated access). Typically this method is used to create a field that will receive value from  
      * a cascade.
      * 
      * @param field create for this field
@@ -185,9 +385,22 @@ public class RowTranslator<R> extends ColumnsTranslator<R>
             // no column annotation specified, test for row annotation
             if (getFieldAccessType() == FieldAccessType.Default)
             {
-                // neither row or column annotation specified, 
-                // use method access for default for backwards compatibility to versions prior to 3.4
-                fat = FieldAccessType.Method;
+                // neither row or column annotation specified, use database default
+                fat = table.getDatabase().getFieldAccessType();
+                
+                if (fat == FieldAccessType.Default)
+                {
+                    if (constructorTranslator != null)
+                    {
+                        // rows created by constructor typically don't have setters
+                        fat = FieldAccessType.Direct;
+                    }
+                    else
+                    {
+                        // use method access for default for backwards compatibility to versions prior to 3.4
+                        fat = FieldAccessType.Method;
+                    }
+                }
             }
             else
             {
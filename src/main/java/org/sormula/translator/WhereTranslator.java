@@ -29,6 +29,9 @@ import org.sormula.annotation.WhereField;
  */
 public class WhereTranslator<R> extends AbstractWhereTranslator<R>
 {
+    Where whereAnnotation;
+    
+    
     /**
      * Constructs and empty where condition. Add conditions with {@link #addColumnTranslator(ColumnTranslator)}
      * and {@link #addColumnTranslator(ColumnTranslator, String, String, String)}.
@@ -55,10 +58,23 @@ public class WhereTranslator<R> extends AbstractWhereTranslator<R>
     public WhereTranslator(RowTranslator<R> rowTranslator, Where whereAnnotation) throws TranslatorException
     {
         super(rowTranslator);
+        this.whereAnnotation = whereAnnotation;
         init(rowTranslator, whereAnnotation);
     }
     
     
+    /**
+     * Gets the annotation that was used to construct this translator.
+     * 
+     * @return where annotation or null if translator was not constructed for an annotation
+     * @since 4.4
+     */
+    public Where getWhereAnnotation()
+    {
+        return whereAnnotation;
+    }
+    
+    
     /**
      * Initializes. Invoked by constructors.
      * 
@@ -21,7 +21,9 @@ import java.sql.ResultSet;
 import java.sql.Types;
 
 import org.sormula.Database;
-import org.sormula.translator.TypeTranslator;
+import org.sormula.reflect.RowField;
+import org.sormula.translator.PrimitiveTypeTranslator;
+import org.sormula.translator.TranslatorException;
 
 
 /**
@@ -31,7 +33,7 @@ import org.sormula.translator.TypeTranslator;
  * @since 1.6 and 2.0
  * @author Jeff Miller
  */
-public class BooleanTranslator implements TypeTranslator<Boolean>
+public class BooleanTranslator implements PrimitiveTypeTranslator<Boolean>
 {
     /**
      * {@inheritDoc}
@@ -52,4 +54,26 @@ public class BooleanTranslator implements TypeTranslator<Boolean>
         if (resultSet.wasNull()) b = null;
         return b;
     }
+    
+    
+    /**
+     * {@inheritDoc}
+     * @since 4.4
+     */
+    public <R> void readField(ResultSet resultSet, int columnIndex, R row, RowField<R, Boolean> rowField) throws Exception
+    {
+        boolean value = resultSet.getBoolean(columnIndex);
+        if (resultSet.wasNull()) throw new TranslatorException("null value for primitive " + rowField.getField());
+        rowField.setBoolean(row, value);
+    }
+    
+    
+    /**
+     * {@inheritDoc}
+     * @since 4.4
+     */
+    public <R> void writeField(PreparedStatement preparedStatement, int parameterIndex, R row, RowField<R, Boolean> rowField) throws Exception
+    {
+        preparedStatement.setBoolean(parameterIndex, rowField.getBoolean(row));
+    }
 }
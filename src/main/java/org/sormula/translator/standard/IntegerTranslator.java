@@ -21,7 +21,9 @@ import java.sql.ResultSet;
 import java.sql.Types;
 
 import org.sormula.Database;
-import org.sormula.translator.TypeTranslator;
+import org.sormula.reflect.RowField;
+import org.sormula.translator.PrimitiveTypeTranslator;
+import org.sormula.translator.TranslatorException;
 
 
 /**
@@ -31,7 +33,7 @@ import org.sormula.translator.TypeTranslator;
  * @since 1.6 and 2.0
  * @author Jeff Miller
  */
-public class IntegerTranslator implements TypeTranslator<Integer>
+public class IntegerTranslator implements PrimitiveTypeTranslator<Integer>
 {
     /**
      * {@inheritDoc}
@@ -52,4 +54,26 @@ public class IntegerTranslator implements TypeTranslator<Integer>
         if (resultSet.wasNull()) i = null;
         return i;
     }
+    
+    
+    /**
+     * {@inheritDoc}
+     * @since 4.4
+     */
+    public <R> void readField(ResultSet resultSet, int columnIndex, R row, RowField<R, Integer> rowField) throws Exception
+    {
+        int value = resultSet.getInt(columnIndex);
+        if (resultSet.wasNull()) throw new TranslatorException("null value for primitive " + rowField.getField());
+        rowField.setInt(row, value);
+    }
+    
+    
+    /**
+     * {@inheritDoc}
+     * @since 4.4
+     */
+    public <R> void writeField(PreparedStatement preparedStatement, int parameterIndex, R row, RowField<R, Integer> rowField) throws Exception
+    {
+        preparedStatement.setInt(parameterIndex, rowField.getInt(row));
+    }
 }
@@ -21,7 +21,9 @@ import java.sql.ResultSet;
 import java.sql.Types;
 
 import org.sormula.Database;
-import org.sormula.translator.TypeTranslator;
+import org.sormula.reflect.RowField;
+import org.sormula.translator.PrimitiveTypeTranslator;
+import org.sormula.translator.TranslatorException;
 
 
 /**
@@ -31,7 +33,7 @@ import org.sormula.translator.TypeTranslator;
  * @since 1.6 and 2.0
  * @author Jeff Miller
  */
-public class LongTranslator implements TypeTranslator<Long>
+public class LongTranslator implements PrimitiveTypeTranslator<Long>
 {
     /**
      * {@inheritDoc}
@@ -52,4 +54,26 @@ public class LongTranslator implements TypeTranslator<Long>
         if (resultSet.wasNull()) l = null;
         return l;
     }
+    
+    
+    /**
+     * {@inheritDoc}
+     * @since 4.4
+     */
+    public <R> void readField(ResultSet resultSet, int columnIndex, R row, RowField<R, Long> rowField) throws Exception
+    {
+        long value = resultSet.getLong(columnIndex);
+        if (resultSet.wasNull()) throw new TranslatorException("null value for primitive " + rowField.getField());
+        rowField.setLong(row, value);
+    }
+    
+    
+    /**
+     * {@inheritDoc}
+     * @since 4.4
+     */
+    public <R> void writeField(PreparedStatement preparedStatement, int parameterIndex, R row, RowField<R, Long> rowField) throws Exception
+    {
+        preparedStatement.setLong(parameterIndex, rowField.getLong(row));
+    }
 }
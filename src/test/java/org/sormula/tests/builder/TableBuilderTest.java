@@ -22,6 +22,7 @@ import org.sormula.Database;
 import org.sormula.SormulaException;
 import org.sormula.Table;
 import org.sormula.builder.TableBuilder;
+import org.sormula.reflect.ConstructorRowFactory;
 import org.sormula.tests.DatabaseTest;
 import org.testng.annotations.Test;
 
@@ -102,4 +103,27 @@ public class TableBuilderTest extends DatabaseTest<BuilderTestRow>
         table = Table.builder(database, BuilderTestRow.class).tableName(overrideTableName).build();
         assert table.getTableName().equals(overrideTableName) : "table name not set properly";
     }
+    
+    
+    @Test
+    public void builderRowFactory() throws SormulaException
+    {
+        Database database = getDatabase();
+        Table<BuilderTestRow> table;
+        
+        // default factory
+        table = Table.builder(database, BuilderTestRow.class).build();
+        assert table.getRowFactory() instanceof ConstructorRowFactory : "default row factory should be ConstructorRowFactory";
+        assert table.newRow() != null : "default row factory did not create row";
+        
+        // custom factory
+        int[] count = new int[1];
+        table = Table.builder(database, BuilderTestRow.class).rowFactory(() -> 
+        {
+            ++count[0];
+            return new BuilderTestRow(0, 0, "from factory");
+        }).build();
+        BuilderTestRow row = table.newRow();
+        assert row.getDescription().equals("from factory") && count[0] == 1 : "row factory was not used";
+    }
 }
@@ -0,0 +1,84 @@
+/* sormula - Simple object relational mapping
+ * Copyright (C) 2011-2020 Jeff Miller
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sormula.tests.cascade;
+
+import java.util.List;
+
+import org.sormula.SormulaException;
+import org.sormula.operation.ArrayListSelectOperation;
+import org.sormula.operation.OperationPlanCache;
+import org.sormula.tests.DatabaseTest;
+import org.testng.annotations.Test;
+
+
+/**
+ * Tests that cascade annotation readers and cascade fields are created once per table and reused
+ * by later operations.
+ * 
+ * @author Jeff Miller
+ */
+@Test(singleThreaded=true, groups="cascade.plan", dependsOnGroups="cascade.select")
+public class CascadePlanTest extends DatabaseTest<SormulaTestParent>
+{
+    @Override
+    protected void open() throws Exception
+    {
+        super.open();
+        createTable(SormulaTestParent.class);
+    }
+
+    
+    @Test
+    public void reusePlan() throws SormulaException
+    {
+        begin();
+        OperationPlanCache operationPlanCache = getTable().getOperationPlanCache();
+        operationPlanCache.clear();
+        
+        List<SormulaTestParent> first;
+        try (ArrayListSelectOperation<SormulaTestParent> op = new ArrayListSelectOperation<>(getTable(), ""))
+        {
+            first = op.selectAll();
+        }
+        
+        int planCount = operationPlanCache.size();
+        assert planCount > 0 : "no cascade plans cached";
+        assert first.size() > 0 : "no rows to test";
+        
+        for (int i = 0; i < 3; ++i)
+        {
+            try (ArrayListSelectOperation<SormulaTestParent> op = new ArrayListSelectOperation<>(getTable(), ""))
+            {
+                List<SormulaTestParent> next = op.selectAll();
+                assert operationPlanCache.size() == planCount : "cascade plans were created again";
+                assert next.size() == first.size() : "wrong number of rows";
+                
+                for (int r = 0; r < next.size(); ++r)
+                {
+                    SormulaTestParent p1 = first.get(r);
+                    SormulaTestParent p2 = next.get(r);
+                    assert p1.getId() == p2.getId() : "different parent";
+                    assert p1.getChildList().size() == p2.getChildList().size() : "different 1:n cascade results";
+                    assert p1.getChildMap().size() == p2.getChildMap().size() : "different map cascade results";
+                    assert (p1.getChild() == null) == (p2.getChild() == null) : "different 1:1 cascade results";
+                }
+            }
+        }
+        
+        commit();
+    }
+}
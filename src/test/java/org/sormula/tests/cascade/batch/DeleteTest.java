@@ -0,0 +1,191 @@
+/* sormula - Simple object relational mapping
+ * Copyright (C) 2011-2020 Jeff Miller
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sormula.tests.cascade.batch;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.sormula.SormulaException;
+import org.sormula.Table;
+import org.sormula.annotation.cascade.DeleteCascade;
+import org.sormula.operation.DeleteOperation;
+import org.sormula.operation.cascade.DeleteCascadeOperation;
+import org.sormula.tests.DatabaseTest;
+import org.testng.annotations.Test;
+
+
+/**
+ * Tests set based delete cascades, {@link DeleteCascade#batched()}.
+ * 
+ * @author Jeff Miller
+ */
+@Test(singleThreaded=true, groups="cascade.batch")
+public class DeleteTest extends DatabaseTest<SormulaBatchTestDeleteParent>
+{
+    static final int PARENTS = 30;
+    static final int GRANDCHILDREN = 2;
+    
+    
+    @Override
+    protected void open() throws Exception
+    {
+        super.open();
+        
+        createTable(SormulaBatchTestDeleteParent.class, 
+            "CREATE TABLE " + getSchemaPrefix() + SormulaBatchTestDeleteParent.class.getSimpleName() + " (" +
+            " parentid INTEGER NOT NULL PRIMARY KEY," +
+            " description VARCHAR(60)" +
+            ")"
+        );
+        
+        DatabaseTest<SormulaBatchTestDeleteChild> child = new DatabaseTest<>();
+        child.openDatabase();
+        child.createTable(SormulaBatchTestDeleteChild.class, 
+            "CREATE TABLE " + getSchemaPrefix() + SormulaBatchTestDeleteChild.class.getSimpleName() + " (" +
+            " id INTEGER NOT NULL PRIMARY KEY," +
+            " parentid INTEGER NOT NULL," +
+            " description VARCHAR(60)" +
+            ")"
+        );
+        child.closeDatabase();
+        
+        DatabaseTest<SormulaBatchTestDeleteGrandchild> grandchild = new DatabaseTest<>();
+        grandchild.openDatabase();
+        grandchild.createTable(SormulaBatchTestDeleteGrandchild.class, 
+            "CREATE TABLE " + getSchemaPrefix() + SormulaBatchTestDeleteGrandchild.class.getSimpleName() + " (" +
+            " id INTEGER NOT NULL PRIMARY KEY," +
+            " childid INTEGER NOT NULL," +
+            " description VARCHAR(60)" +
+            ")"
+        );
+        grandchild.closeDatabase();
+        
+        // parent n has n % 4 children, each child has GRANDCHILDREN grandchildren
+        List<SormulaBatchTestDeleteParent> parents = new ArrayList<>(PARENTS);
+        int childId = 1;
+        int grandchildId = 1;
+        for (int p = 1; p <= PARENTS; ++p)
+        {
+            SormulaBatchTestDeleteParent parent = new SormulaBatchTestDeleteParent(p, "Parent " + p);
+            for (int c = 0; c < p % 4; ++c)
+            {
+                SormulaBatchTestDeleteChild parentChild = new SormulaBatchTestDeleteChild(childId, "Child " + childId);
+                for (int g = 0; g < GRANDCHILDREN; ++g)
+                {
+                    parentChild.add(new SormulaBatchTestDeleteGrandchild(grandchildId, "Grandchild " + grandchildId));
+                    ++grandchildId;
+                }
+                parent.add(parentChild);
+                ++childId;
+            }
+            parents.add(parent);
+        }
+        
+        begin();
+        getTable().insertAll(parents);
+        commit();
+    }
+    
+    
+    @Test
+    public void setBasedDelete() throws SormulaException
+    {
+        begin();
+        List<SormulaBatchTestDeleteParent> parents = selectParents(1, 10);
+        
+        try (DeleteOperation<SormulaBatchTestDeleteParent> operation = new DeleteOperation<>(getTable()))
+        {
+            operation.setRows(parents);
+            operation.execute();
+            assert operation.isBatchedCascades() : "delete cascades were not batched";
+            assert ((DeleteCascadeOperation<?, ?>)operation.getCascadeOperations().get(0)).isSetBased() : "delete cascade is not set based";
+            assert operation.getRowsAffected() == parents.size() : "wrong number of parents deleted";
+        }
+        
+        assertRemaining(11);
+        commit();
+    }
+    
+    
+    @Test(dependsOnMethods="setBasedDelete")
+    public void setBasedBatchDelete() throws SormulaException
+    {
+        begin();
+        List<SormulaBatchTestDeleteParent> parents = selectParents(11, 20);
+        
+        try (DeleteOperation<SormulaBatchTestDeleteParent> operation = new DeleteOperation<>(getTable()))
+        {
+            operation.setBatch(true);
+            operation.setBatchSize(4);
+            operation.setRows(parents);
+            operation.execute();
+            assert operation.isBatchedCascades() : "delete cascades were not batched";
+            assert operation.getRowsAffected() == parents.size() : "wrong number of parents deleted";
+        }
+        
+        assertRemaining(21);
+        commit();
+    }
+    
+    
+    /**
+     * Selects parents without children since set based delete does not need them.
+     */
+    List<SormulaBatchTestDeleteParent> selectParents(int first, int last) throws SormulaException
+    {
+        List<SormulaBatchTestDeleteParent> parents = new ArrayList<>(last - first + 1);
+        
+        for (SormulaBatchTestDeleteParent p : getTable().selectAll())
+        {
+            if (p.getParentId() >= first && p.getParentId() <= last)
+            {
+                p.getChildList().clear();
+                parents.add(p);
+            }
+        }
+        
+        return parents;
+    }
+    
+    
+    void assertRemaining(int firstParentId) throws SormulaException
+    {
+        Table<SormulaBatchTestDeleteChild> childTable = getDatabase().getTable(SormulaBatchTestDeleteChild.class);
+        Table<SormulaBatchTestDeleteGrandchild> grandchildTable = getDatabase().getTable(SormulaBatchTestDeleteGrandchild.class);
+        
+        int expectedChildren = 0;
+        for (int p = firstParentId; p <= PARENTS; ++p) expectedChildren += p % 4;
+        
+        assert getTable().selectCount() == PARENTS - firstParentId + 1 : "wrong number of remaining parents";
+        assert childTable.selectCount() == expectedChildren : "wrong number of remaining children";
+        assert grandchildTable.selectCount() == expectedChildren * GRANDCHILDREN : "wrong number of remaining grandchildren";
+        
+        Set<Integer> childIds = new HashSet<>();
+        for (SormulaBatchTestDeleteChild c : childTable.selectAll())
+        {
+            assert c.getParentId() >= firstParentId : "child " + c.getId() + " of deleted parent remains";
+            childIds.add(c.getId());
+        }
+        
+        for (SormulaBatchTestDeleteGrandchild g : grandchildTable.selectAll())
+        {
+            assert childIds.contains(g.getChildId()) : "grandchild " + g.getId() + " of deleted child remains";
+        }
+    }
+}
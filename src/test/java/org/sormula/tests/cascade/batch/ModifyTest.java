@@ -0,0 +1,149 @@
+/* sormula - Simple object relational mapping
+ * Copyright (C) 2011-2020 Jeff Miller
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sormula.tests.cascade.batch;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.sormula.SormulaException;
+import org.sormula.Table;
+import org.sormula.annotation.cascade.InsertCascade;
+import org.sormula.annotation.cascade.UpdateCascade;
+import org.sormula.operation.InsertOperation;
+import org.sormula.operation.UpdateOperation;
+import org.sormula.tests.DatabaseTest;
+import org.testng.annotations.Test;
+
+
+/**
+ * Tests batched insert and update cascades, {@link InsertCascade#batched()} and {@link UpdateCascade#batched()}.
+ * 
+ * @author Jeff Miller
+ */
+@Test(singleThreaded=true, groups="cascade.batch")
+public class ModifyTest extends DatabaseTest<SormulaBatchTestModifyParent>
+{
+    static final int PARENTS = 25;
+    static final int BATCH_SIZE = 10;
+    
+    
+    @Override
+    protected void open() throws Exception
+    {
+        super.open();
+        
+        createTable(SormulaBatchTestModifyParent.class, 
+            "CREATE TABLE " + getSchemaPrefix() + SormulaBatchTestModifyParent.class.getSimpleName() + " (" +
+            " parentid INTEGER NOT NULL PRIMARY KEY," +
+            " description VARCHAR(60)" +
+            ")"
+        );
+        
+        DatabaseTest<SormulaBatchTestModifyChild> child = new DatabaseTest<>();
+        child.openDatabase();
+        child.createTable(SormulaBatchTestModifyChild.class, 
+            "CREATE TABLE " + getSchemaPrefix() + SormulaBatchTestModifyChild.class.getSimpleName() + " (" +
+            " id INTEGER NOT NULL PRIMARY KEY," +
+            " parentid INTEGER NOT NULL," +
+            " description VARCHAR(60)" +
+            ")"
+        );
+        child.closeDatabase();
+    }
+    
+    
+    @Test
+    public void batchedInsert() throws SormulaException
+    {
+        // parent n has n % 4 children
+        List<SormulaBatchTestModifyParent> parents = new ArrayList<>(PARENTS);
+        int childId = 1;
+        for (int p = 1; p <= PARENTS; ++p)
+        {
+            SormulaBatchTestModifyParent parent = new SormulaBatchTestModifyParent(p, "Parent " + p);
+            for (int c = 0; c < p % 4; ++c)
+            {
+                parent.add(new SormulaBatchTestModifyChild(childId, "Child " + childId));
+                ++childId;
+            }
+            parents.add(parent);
+        }
+        
+        begin();
+        
+        try (InsertOperation<SormulaBatchTestModifyParent> operation = new InsertOperation<>(getTable()))
+        {
+            operation.setBatch(true);
+            operation.setBatchSize(BATCH_SIZE);
+            operation.setRows(parents);
+            operation.execute();
+            assert operation.isBatchedCascades() : "insert cascades were not batched";
+            assert operation.getRowsAffected() == PARENTS : "wrong number of parents inserted";
+        }
+        
+        assertChildren(parents, "Child ");
+        commit();
+    }
+    
+    
+    @Test(dependsOnMethods="batchedInsert")
+    public void batchedUpdate() throws SormulaException
+    {
+        begin();
+        List<SormulaBatchTestModifyParent> parents = getTable().selectAll();
+        
+        for (SormulaBatchTestModifyParent p : parents)
+        {
+            for (SormulaBatchTestModifyChild c : p.getChildList()) c.setDescription("Updated " + c.getId());
+        }
+        
+        try (UpdateOperation<SormulaBatchTestModifyParent> operation = new UpdateOperation<>(getTable()))
+        {
+            operation.setBatch(true);
+            operation.setBatchSize(BATCH_SIZE);
+            operation.setRows(parents);
+            operation.execute();
+            assert operation.isBatchedCascades() : "update cascades were not batched";
+            assert operation.getRowsAffected() == PARENTS : "wrong number of parents updated";
+        }
+        
+        assertChildren(parents, "Updated ");
+        commit();
+    }
+    
+    
+    void assertChildren(List<SormulaBatchTestModifyParent> parents, String descriptionPrefix) throws SormulaException
+    {
+        Table<SormulaBatchTestModifyChild> childTable = getDatabase().getTable(SormulaBatchTestModifyChild.class);
+        int expectedChildren = 0;
+        
+        for (SormulaBatchTestModifyParent p : parents)
+        {
+            expectedChildren += p.getChildList().size();
+            
+            for (SormulaBatchTestModifyChild c : p.getChildList())
+            {
+                SormulaBatchTestModifyChild selected = childTable.select(c.getId());
+                assert selected != null : "child " + c.getId() + " was not inserted";
+                assert selected.getParentId() == p.getParentId() : "child " + c.getId() + " has wrong parent id";
+                assert selected.getDescription().equals(descriptionPrefix + c.getId()) : "child " + c.getId() + " has wrong description";
+            }
+        }
+        
+        assert childTable.selectCount() == expectedChildren : "wrong number of children";
+    }
+}
@@ -0,0 +1,188 @@
+/* sormula - Simple object relational mapping
+ * Copyright (C) 2011-2020 Jeff Miller
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sormula.tests.cascade.batch;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.sormula.SormulaException;
+import org.sormula.annotation.cascade.SelectCascade;
+import org.sormula.operation.ArrayListSelectOperation;
+import org.sormula.operation.cascade.CascadeOperation;
+import org.sormula.operation.cascade.SelectCascadeOperation;
+import org.sormula.tests.DatabaseTest;
+import org.testng.annotations.Test;
+
+
+/**
+ * Tests select cascades with {@link SelectCascade#batched()} true.
+ * 
+ * @author Jeff Miller
+ */
+@Test(singleThreaded=true, groups="cascade.batch")
+public class SelectTest extends DatabaseTest<SormulaBatchTestParent>
+{
+    static final int PARENTS = 40;
+    
+    
+    @Override
+    protected void open() throws Exception
+    {
+        super.open();
+        dropTable(getSchemaPrefix() + SormulaBatchTestChild.class.getSimpleName());
+        
+        createTable(SormulaBatchTestParent.class, 
+            "CREATE TABLE " + getSchemaPrefix() + SormulaBatchTestParent.class.getSimpleName() + " (" +
+            " parentid INTEGER NOT NULL PRIMARY KEY," +
+            " type INTEGER," +
+            " description VARCHAR(60)" +
+            ")"
+        );
+        
+        DatabaseTest<SormulaBatchTestChild> child = new DatabaseTest<>();
+        child.openDatabase();
+        child.createTable(SormulaBatchTestChild.class, 
+            "CREATE TABLE " + getSchemaPrefix() + SormulaBatchTestChild.class.getSimpleName() + " (" +
+            " id INTEGER NOT NULL PRIMARY KEY," +
+            " parentid INTEGER NOT NULL," +
+            " type INTEGER," +
+            " description VARCHAR(60)" +
+            ")"
+        );
+        child.closeDatabase();
+        
+        // parent n has n % 4 children
+        List<SormulaBatchTestParent> parents = new ArrayList<>(PARENTS);
+        int childId = 1;
+        for (int p = 1; p <= PARENTS; ++p)
+        {
+            SormulaBatchTestParent parent = new SormulaBatchTestParent(p, p % 3, "Parent " + p);
+            for (int c = 0; c < p % 4; ++c)
+            {
+                parent.add(new SormulaBatchTestChild(childId, childId % 3, "Child " + childId));
+                ++childId;
+            }
+            parents.add(parent);
+        }
+        
+        begin();
+        getTable().insertAll(parents);
+        commit();
+    }
+    
+    
+    @Test
+    public void batchedSelect() throws SormulaException
+    {
+        begin();
+        
+        try (ArrayListSelectOperation<SormulaBatchTestParent> operation = new ArrayListSelectOperation<>(getTable(), ""))
+        {
+            List<SormulaBatchTestParent> parents = operation.selectAll();
+            assert operation.isBatchedSelectCascades() : "select cascades were not batched";
+            assert parents.size() == PARENTS : "wrong number of parents";
+            
+            for (SormulaBatchTestParent parent : parents)
+            {
+                List<SormulaBatchTestChild> childList = parent.getChildList();
+                assert childList.size() == parent.getParentId() % 4 : "wrong number of children for parent " + parent.getParentId();
+                
+                int previousId = Integer.MAX_VALUE;
+                for (SormulaBatchTestChild c : childList)
+                {
+                    assert c.getParentId() == parent.getParentId() : "child " + c.getId() + " has wrong parent id";
+                    assert c.getParent() == parent : "child " + c.getId() + " has wrong parent reference";
+                    assert c.getId() < previousId : "children are not in target order";
+                    previousId = c.getId();
+                }
+                
+                // two column key
+                int typeCount = 0;
+                for (SormulaBatchTestChild c : childList) if (c.getType() == parent.getType()) ++typeCount;
+                assert parent.getTypeChildren().length == typeCount : "wrong number of type children for parent " + parent.getParentId();
+                
+                for (SormulaBatchTestChild c : parent.getTypeChildren())
+                {
+                    assert c.getParentId() == parent.getParentId() && c.getType() == parent.getType() : 
+                        "child " + c.getId() + " has wrong key for parent " + parent.getParentId();
+                    assert c.getParent() == parent : "type child " + c.getId() + " has wrong parent reference";
+                }
+            }
+        }
+        
+        commit();
+    }
+    
+    
+    @Test
+    public void duplicateKeys() throws SormulaException
+    {
+        begin();
+        
+        try (ArrayListSelectOperation<SormulaBatchTestParent> operation = new ArrayListSelectOperation<>(getTable(), ""))
+        {
+            // parent 7 has 3 children
+            List<SormulaBatchTestParent> parents = new ArrayList<>();
+            parents.add(new SormulaBatchTestParent(7, 1, "Parent 7"));
+            parents.add(new SormulaBatchTestParent(7, 1, "Parent 7 again"));
+            
+            for (CascadeOperation<SormulaBatchTestParent, ?> o : operation.getCascadeOperations())
+            {
+                SelectCascadeOperation<SormulaBatchTestParent, ?> sco = (SelectCascadeOperation<SormulaBatchTestParent, ?>)o;
+                assert sco.isBatched() : "select cascade was not batched";
+                sco.cascade(parents);
+            }
+            
+            SormulaBatchTestParent first = parents.get(0);
+            SormulaBatchTestParent second = parents.get(1);
+            assert first.getChildList().size() == 3 && second.getChildList().size() == 3 : "wrong number of children for same key";
+            assert first.getChildList() != second.getChildList() : "source rows with same key share child list";
+            assert first.getTypeChildren().length == second.getTypeChildren().length : "wrong type children for same key";
+            
+            // each source row is foreign key reference of its own target rows
+            for (SormulaBatchTestParent parent : parents)
+            {
+                for (SormulaBatchTestChild c : parent.getChildList())
+                    assert c.getParent() == parent : "child " + c.getId() + " has wrong parent reference for same key";
+                
+                for (SormulaBatchTestChild c : parent.getTypeChildren())
+                    assert c.getParent() == parent : "type child " + c.getId() + " has wrong parent reference for same key";
+            }
+        }
+        
+        commit();
+    }
+    
+    
+    @Test
+    public void unbatchedSelect() throws SormulaException
+    {
+        begin();
+        
+        // readNext cascades each row as it is read
+        for (SormulaBatchTestParent parent : getTable().selectAll())
+        {
+            SormulaBatchTestParent selected = getTable().select(parent.getParentId());
+            assert selected.getChildList().size() == parent.getChildList().size() : 
+                "batched and unbatched children differ for parent " + parent.getParentId();
+            assert selected.getTypeChildren().length == parent.getTypeChildren().length : 
+                "batched and unbatched type children differ for parent " + parent.getParentId();
+        }
+        
+        commit();
+    }
+}
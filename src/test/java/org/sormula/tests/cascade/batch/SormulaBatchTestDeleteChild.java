@@ -0,0 +1,101 @@
+/* sormula - Simple object relational mapping
+ * Copyright (C) 2011-2020 Jeff Miller
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sormula.tests.cascade.batch;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.sormula.annotation.Column;
+import org.sormula.annotation.cascade.DeleteCascade;
+import org.sormula.annotation.cascade.OneToManyCascade;
+
+
+/**
+ * Child of {@link SormulaBatchTestDeleteParent}.
+ * 
+ * @author Jeff Miller
+ */
+public class SormulaBatchTestDeleteChild
+{
+    @Column(primaryKey=true)
+    int id;
+    int parentId;
+    String description;
+    
+    @OneToManyCascade(deletes=@DeleteCascade(batched=true), foreignKeyValueFields="childId")
+    List<SormulaBatchTestDeleteGrandchild> grandchildList;
+    
+    
+    public SormulaBatchTestDeleteChild()
+    {
+        grandchildList = new ArrayList<>();
+    }
+
+    
+    public SormulaBatchTestDeleteChild(int id, String description)
+    {
+        this();
+        this.id = id;
+        this.description = description;
+    }
+    
+    
+    public void add(SormulaBatchTestDeleteGrandchild grandchild)
+    {
+        grandchildList.add(grandchild);
+    }
+    
+    
+    public int getId()
+    {
+        return id;
+    }
+    public void setId(int id)
+    {
+        this.id = id;
+    }
+    
+
+    public int getParentId()
+    {
+        return parentId;
+    }
+    public void setParentId(int parentId)
+    {
+        this.parentId = parentId;
+    }
+
+
+    public String getDescription()
+    {
+        return description;
+    }
+    public void setDescription(String description)
+    {
+        this.description = description;
+    }
+
+
+    public List<SormulaBatchTestDeleteGrandchild> getGrandchildList()
+    {
+        return grandchildList;
+    }
+    public void setGrandchildList(List<SormulaBatchTestDeleteGrandchild> grandchildList)
+    {
+        this.grandchildList = grandchildList;
+    }
+}
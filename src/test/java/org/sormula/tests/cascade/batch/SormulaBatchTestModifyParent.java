@@ -0,0 +1,96 @@
+/* sormula - Simple object relational mapping
+ * Copyright (C) 2011-2020 Jeff Miller
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sormula.tests.cascade.batch;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.sormula.annotation.Column;
+import org.sormula.annotation.cascade.InsertCascade;
+import org.sormula.annotation.cascade.OneToManyCascade;
+import org.sormula.annotation.cascade.UpdateCascade;
+
+
+/**
+ * Row class for testing batched insert and update cascades.
+ * 
+ * @author Jeff Miller
+ */
+public class SormulaBatchTestModifyParent
+{
+    @Column(primaryKey=true)
+    int parentId;
+    String description;
+    
+    // one batch of children for all parents in a batch
+    @OneToManyCascade(
+            inserts=@InsertCascade(batched=true),
+            updates=@UpdateCascade(batched=true),
+            foreignKeyValueFields="#"
+    )
+    List<SormulaBatchTestModifyChild> childList;
+    
+    
+    public SormulaBatchTestModifyParent()
+    {
+        childList = new ArrayList<>();
+    }
+
+    
+    public SormulaBatchTestModifyParent(int parentId, String description)
+    {
+        this();
+        this.parentId = parentId;
+        this.description = description;
+    }
+    
+    
+    public void add(SormulaBatchTestModifyChild child)
+    {
+        childList.add(child);
+    }
+    
+    
+    public int getParentId()
+    {
+        return parentId;
+    }
+    public void setParentId(int parentId)
+    {
+        this.parentId = parentId;
+    }
+
+
+    public String getDescription()
+    {
+        return description;
+    }
+    public void setDescription(String description)
+    {
+        this.description = description;
+    }
+
+
+    public List<SormulaBatchTestModifyChild> getChildList()
+    {
+        return childList;
+    }
+    public void setChildList(List<SormulaBatchTestModifyChild> childList)
+    {
+        this.childList = childList;
+    }
+}
@@ -0,0 +1,127 @@
+/* sormula - Simple object relational mapping
+ * Copyright (C) 2011-2020 Jeff Miller
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sormula.tests.cascade.batch;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.sormula.annotation.Column;
+import org.sormula.annotation.cascade.Cascade;
+import org.sormula.annotation.cascade.OneToManyCascade;
+import org.sormula.annotation.cascade.SelectCascade;
+
+
+/**
+ * Row class for testing batched select cascades.
+ * 
+ * @author Jeff Miller
+ */
+public class SormulaBatchTestParent
+{
+    @Column(primaryKey=true)
+    int parentId;
+    int type;
+    String description;
+    
+    // one query for all parents with single column key
+    @OneToManyCascade(
+            selects=@SelectCascade(sourceParameterFieldNames="#primaryKeyFields", targetWhereName="#sourceFieldNames", 
+                    targetOrderByName="obIdDescending", batched=true),
+            foreignKeyValueFields="#",
+            foreignKeyReferenceField="parent"
+    )
+    List<SormulaBatchTestChild> childList;
+    
+    // one query for all parents with two column key
+    @Cascade(
+            selects=@SelectCascade(sourceParameterFieldNames={"parentId", "type"}, targetWhereName="byParentType", 
+                    targetOrderByName="obIdDescending", batched=true),
+            foreignKeyReferenceField="parent"
+    )
+    SormulaBatchTestChild[] typeChildren;
+    
+    
+    public SormulaBatchTestParent()
+    {
+        childList = new ArrayList<>();
+    }
+
+    
+    public SormulaBatchTestParent(int parentId, int type, String description)
+    {
+        this();
+        this.parentId = parentId;
+        this.type = type;
+        this.description = description;
+    }
+    
+    
+    public void add(SormulaBatchTestChild child)
+    {
+        childList.add(child);
+    }
+    
+    
+    public int getParentId()
+    {
+        return parentId;
+    }
+    public void setParentId(int parentId)
+    {
+        this.parentId = parentId;
+    }
+    
+    
+    public int getType()
+    {
+        return type;
+    }
+    public void setType(int type)
+    {
+        this.type = type;
+    }
+
+
+    public String getDescription()
+    {
+        return description;
+    }
+    public void setDescription(String description)
+    {
+        this.description = description;
+    }
+
+
+    public List<SormulaBatchTestChild> getChildList()
+    {
+        return childList;
+    }
+    public void setChildList(List<SormulaBatchTestChild> childList)
+    {
+        this.childList = childList;
+    }
+
+
+    public SormulaBatchTestChild[] getTypeChildren()
+    {
+        return typeChildren;
+    }
+    public void setTypeChildren(SormulaBatchTestChild[] typeChildren)
+    {
+        this.typeChildren = typeChildren;
+    }
+}
@@ -0,0 +1,163 @@
+/* sormula - Simple object relational mapping
+ * Copyright (C) 2011-2020 Jeff Miller
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sormula.tests.cascade.join;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.sormula.SormulaException;
+import org.sormula.annotation.cascade.SelectCascade;
+import org.sormula.operation.ArrayListSelectOperation;
+import org.sormula.tests.DatabaseTest;
+import org.testng.annotations.Test;
+
+
+/**
+ * Tests select cascades with {@link SelectCascade#join()} true.
+ * 
+ * @author Jeff Miller
+ */
+@Test(singleThreaded=true, groups="cascade.join")
+public class SelectTest extends DatabaseTest<SormulaJoinTestCustomer>
+{
+    static final int CUSTOMERS = 20;
+    
+    
+    @Override
+    protected void open() throws Exception
+    {
+        super.open();
+        
+        createTable(SormulaJoinTestCustomer.class, 
+            "CREATE TABLE " + getSchemaPrefix() + SormulaJoinTestCustomer.class.getSimpleName() + " (" +
+            " customerid INTEGER NOT NULL PRIMARY KEY," +
+            " name VARCHAR(30)," +
+            " addressid INTEGER," +
+            " accountid INTEGER" +
+            ")"
+        );
+        
+        DatabaseTest<SormulaJoinTestAddress> address = new DatabaseTest<>();
+        address.openDatabase();
+        address.createTable(SormulaJoinTestAddress.class, 
+            "CREATE TABLE " + getSchemaPrefix() + SormulaJoinTestAddress.class.getSimpleName() + " (" +
+            " addressid INTEGER NOT NULL PRIMARY KEY," +
+            " name VARCHAR(30)," +
+            " street VARCHAR(30)" +
+            ")"
+        );
+        address.closeDatabase();
+        
+        DatabaseTest<SormulaJoinTestAccount> account = new DatabaseTest<>();
+        account.openDatabase();
+        account.createTable(SormulaJoinTestAccount.class, 
+            "CREATE TABLE " + getSchemaPrefix() + SormulaJoinTestAccount.class.getSimpleName() + " (" +
+            " accountid INTEGER NOT NULL PRIMARY KEY," +
+            " balance DOUBLE" +
+            ")"
+        );
+        account.closeDatabase();
+        
+        // odd customers have no account
+        List<SormulaJoinTestCustomer> customers = new ArrayList<>(CUSTOMERS);
+        for (int c = 1; c <= CUSTOMERS; ++c)
+        {
+            customers.add(new SormulaJoinTestCustomer(c, "Customer " + (100 + c), 
+                    new SormulaJoinTestAddress(1000 + c, "Address " + c, c + " Main St"),
+                    c % 2 == 0 ? new SormulaJoinTestAccount(c, c * 10.0) : null));
+        }
+        
+        begin();
+        getTable().insertAll(customers);
+        commit();
+    }
+    
+    
+    @Test
+    public void joinedSelect() throws SormulaException
+    {
+        begin();
+        
+        try (ArrayListSelectOperation<SormulaJoinTestCustomer> operation = new ArrayListSelectOperation<>(getTable(), ""))
+        {
+            operation.setOrderBy("obName");
+            List<SormulaJoinTestCustomer> customers = operation.selectAll();
+            assert operation.isJoinedSelectCascades() : "select cascades were not joined";
+            assert operation.getPreparedSql().contains(" LEFT JOIN ") : "sql has no join";
+            assert customers.size() == CUSTOMERS : "wrong number of customers";
+            
+            for (int i = 0; i < customers.size(); ++i)
+            {
+                SormulaJoinTestCustomer c = customers.get(i);
+                assert c.getCustomerId() == i + 1 : "customers are not in order";
+                assert c.getAddress() != null && c.getAddress().getAddressId() == c.getAddressId() : 
+                    "wrong address for customer " + c.getCustomerId();
+                assert c.getAddress().getStreet().equals(c.getCustomerId() + " Main St") : 
+                    "wrong address columns for customer " + c.getCustomerId();
+                
+                if (c.getCustomerId() % 2 == 0)
+                {
+                    assert c.getAccount() != null && c.getAccount().getBalance() == c.getCustomerId() * 10.0 : 
+                        "wrong account for customer " + c.getCustomerId();
+                }
+                else
+                {
+                    assert c.getAccount() == null : "customer " + c.getCustomerId() + " should have no account";
+                }
+            }
+        }
+        
+        commit();
+    }
+    
+    
+    @Test
+    public void joinedSelectWhere() throws SormulaException
+    {
+        begin();
+        
+        // name is column of customer and address
+        List<SormulaJoinTestCustomer> customers = getTable().selectAllWhere("byName", "Customer 104");
+        assert customers.size() == 1 : "wrong number of customers for where";
+        assert customers.get(0).getAddress().getName().equals("Address 4") : "wrong address for where";
+        assert customers.get(0).getAccount().getAccountId() == 4 : "wrong account for where";
+        
+        commit();
+    }
+    
+    
+    @Test
+    public void unjoinedSelect() throws SormulaException
+    {
+        begin();
+        
+        try (ArrayListSelectOperation<SormulaJoinTestCustomer> operation = new ArrayListSelectOperation<>(getTable(), ""))
+        {
+            // cached operations select targets with second select
+            operation.setCached(true);
+            for (SormulaJoinTestCustomer c : operation.selectAll())
+            {
+                assert c.getAddress().getAddressId() == c.getAddressId() : "wrong address without join";
+                assert (c.getAccount() != null) == (c.getCustomerId() % 2 == 0) : "wrong account without join";
+            }
+            
+            assert !operation.getPreparedSql().contains(" LEFT JOIN ") : "cached operation should not join";
+        }
+        
+        commit();
+    }
+}
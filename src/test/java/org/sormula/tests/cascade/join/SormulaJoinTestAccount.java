@@ -0,0 +1,64 @@
+/* sormula - Simple object relational mapping
+ * Copyright (C) 2011-2020 Jeff Miller
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sormula.tests.cascade.join;
+
+import org.sormula.annotation.Column;
+
+
+/**
+ * Account of {@link SormulaJoinTestCustomer}.
+ * 
+ * @author Jeff Miller
+ */
+public class SormulaJoinTestAccount
+{
+    @Column(primaryKey=true)
+    int accountId;
+    double balance;
+    
+    
+    public SormulaJoinTestAccount()
+    {
+    }
+
+    
+    public SormulaJoinTestAccount(int accountId, double balance)
+    {
+        this.accountId = accountId;
+        this.balance = balance;
+    }
+    
+    
+    public int getAccountId()
+    {
+        return accountId;
+    }
+    public void setAccountId(int accountId)
+    {
+        this.accountId = accountId;
+    }
+
+
+    public double getBalance()
+    {
+        return balance;
+    }
+    public void setBalance(double balance)
+    {
+        this.balance = balance;
+    }
+}
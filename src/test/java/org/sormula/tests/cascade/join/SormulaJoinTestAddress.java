@@ -0,0 +1,76 @@
+/* sormula - Simple object relational mapping
+ * Copyright (C) 2011-2020 Jeff Miller
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sormula.tests.cascade.join;
+
+import org.sormula.annotation.Column;
+
+
+/**
+ * Address of {@link SormulaJoinTestCustomer}.
+ * 
+ * @author Jeff Miller
+ */
+public class SormulaJoinTestAddress
+{
+    @Column(primaryKey=true)
+    int addressId;
+    String name;
+    String street;
+    
+    
+    public SormulaJoinTestAddress()
+    {
+    }
+
+    
+    public SormulaJoinTestAddress(int addressId, String name, String street)
+    {
+        this.addressId = addressId;
+        this.name = name;
+        this.street = street;
+    }
+    
+    
+    public int getAddressId()
+    {
+        return addressId;
+    }
+    public void setAddressId(int addressId)
+    {
+        this.addressId = addressId;
+    }
+    
+    
+    public String getName()
+    {
+        return name;
+    }
+    public void setName(String name)
+    {
+        this.name = name;
+    }
+
+
+    public String getStreet()
+    {
+        return street;
+    }
+    public void setStreet(String street)
+    {
+        this.street = street;
+    }
+}
@@ -0,0 +1,126 @@
+/* sormula - Simple object relational mapping
+ * Copyright (C) 2011-2020 Jeff Miller
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sormula.tests.cascade.join;
+
+import org.sormula.annotation.Column;
+import org.sormula.annotation.OrderBy;
+import org.sormula.annotation.Where;
+import org.sormula.annotation.cascade.OneToOneCascade;
+import org.sormula.annotation.cascade.SelectCascade;
+import org.sormula.operation.ScalarSelectOperation;
+
+
+/**
+ * Row class for testing joined select cascades. Address has a column with the same name as
+ * a customer column to test that where and order by are not ambiguous.
+ * 
+ * @author Jeff Miller
+ */
+@Where(name="byName", fieldNames="name")
+@OrderBy(name="obName", ascending="name")
+public class SormulaJoinTestCustomer
+{
+    @Column(primaryKey=true)
+    int customerId;
+    String name;
+    int addressId;
+    int accountId;
+    
+    @OneToOneCascade(selects=@SelectCascade(operation=ScalarSelectOperation.class, 
+            sourceParameterFieldNames="#targetFieldNames", targetWhereName="primaryKey", join=true))
+    SormulaJoinTestAddress address;
+    
+    @OneToOneCascade(selects=@SelectCascade(operation=ScalarSelectOperation.class, 
+            sourceParameterFieldNames="#targetFieldNames", targetWhereName="primaryKey", join=true))
+    SormulaJoinTestAccount account;
+    
+    
+    public SormulaJoinTestCustomer()
+    {
+    }
+
+    
+    public SormulaJoinTestCustomer(int customerId, String name, SormulaJoinTestAddress address, SormulaJoinTestAccount account)
+    {
+        this.customerId = customerId;
+        this.name = name;
+        this.address = address;
+        this.account = account;
+        addressId = address.getAddressId();
+        accountId = customerId; // no account row when account is null
+    }
+    
+    
+    public int getCustomerId()
+    {
+        return customerId;
+    }
+    public void setCustomerId(int customerId)
+    {
+        this.customerId = customerId;
+    }
+    
+    
+    public String getName()
+    {
+        return name;
+    }
+    public void setName(String name)
+    {
+        this.name = name;
+    }
+
+
+    public int getAddressId()
+    {
+        return addressId;
+    }
+    public void setAddressId(int addressId)
+    {
+        this.addressId = addressId;
+    }
+
+
+    public int getAccountId()
+    {
+        return accountId;
+    }
+    public void setAccountId(int accountId)
+    {
+        this.accountId = accountId;
+    }
+
+
+    public SormulaJoinTestAddress getAddress()
+    {
+        return address;
+    }
+    public void setAddress(SormulaJoinTestAddress address)
+    {
+        this.address = address;
+    }
+
+
+    public SormulaJoinTestAccount getAccount()
+    {
+        return account;
+    }
+    public void setAccount(SormulaJoinTestAccount account)
+    {
+        this.account = account;
+    }
+}
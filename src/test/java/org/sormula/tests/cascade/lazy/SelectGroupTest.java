@@ -0,0 +1,86 @@
+/* sormula - Simple object relational mapping
+ * Copyright (C) 2011-2020 Jeff Miller
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sormula.tests.cascade.lazy;
+
+import java.util.List;
+
+import org.sormula.SormulaException;
+import org.sormula.Table;
+import org.sormula.annotation.cascade.SelectCascade;
+import org.sormula.operation.cascade.lazy.LazySelectGroup;
+import org.sormula.tests.DatabaseTest;
+import org.testng.annotations.Test;
+
+
+/**
+ * Tests lazy cascade select annotations for {@link SormulaTestParentLazy5} where {@link SelectCascade#batched()}
+ * is true so that lazy select of one parent selects children of all parents in {@link LazySelectGroup}.
+ * 
+ * @author Jeff Miller
+ */
+@Test(singleThreaded=true, groups="cascade.select", dependsOnGroups="cascade.insert")
+public class SelectGroupTest extends DatabaseTest<SormulaTestParentLazy5>
+{
+    @Override
+    protected void open() throws Exception
+    {
+        super.open();
+        createTable(SormulaTestParentLazy5.class);
+    }
+
+    
+    @Test
+    public void cascadeSelectLazyGroup() throws SormulaException
+    {
+        begin();
+        Table<SormulaTestChildLazy> childTable = getDatabase().getTable(SormulaTestChildLazy.class);
+        List<SormulaTestParentLazy5> parents = getTable().selectAll();
+        assert parents.size() > 1 : "Lazy group: test requires more than one parent";
+        
+        for (SormulaTestParentLazy5 parent : parents)
+        {
+            assert parent.childList == null : "Lazy group: children were selected prematurely";
+            assert parent.getLazySelectGroup() == parents.get(0).getLazySelectGroup() : "Lazy group: parents are not in same group";
+        }
+        LazySelectGroup<SormulaTestParentLazy5> group = parents.get(0).getLazySelectGroup();
+        assert group.getSelectors().size() == parents.size() : "Lazy group: wrong group size";
+        
+        // lazy select of first parent selects children of all parents
+        parents.get(0).getChildList();
+        
+        for (SormulaTestParentLazy5 parent : parents)
+        {
+            assert parent.childList != null : "Lazy group: children were not selected for parent " + parent.getId();
+            assert !parent.isPendingLazySelects() : "Lazy group: parent " + parent.getId() + " has pending lazy selects";
+            List<SormulaTestChildLazy> list = parent.getChildList();
+            assert list == parent.childList : "Lazy group: children were selected twice";
+            
+            for (SormulaTestChildLazy c: list)
+            { 
+                assert c.getParentId() == parent.getId() : "Lazy group: child parent id != parent id";
+            }
+            
+            Integer count = childTable.<Integer>selectCount("parentId", "byParent", parent.getId());
+            assert count == list.size() : "Lazy group: wrong number of children read from cascade";
+            assert parent.getLazySelectGroup() == null : "Lazy group: parent " + parent.getId() + " was kept in group";
+        }
+        
+        assert group.getSelectors().isEmpty() : "Lazy group: group keeps parents with no pending lazy selects";
+        
+        commit();
+    }
+}
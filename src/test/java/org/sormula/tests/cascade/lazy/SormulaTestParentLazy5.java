@@ -0,0 +1,84 @@
+/* sormula - Simple object relational mapping
+ * Copyright (C) 2011-2020 Jeff Miller
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sormula.tests.cascade.lazy;
+
+import java.util.List;
+
+import org.sormula.annotation.Row;
+import org.sormula.annotation.cascade.OneToManyCascade;
+import org.sormula.annotation.cascade.SelectCascade;
+import org.sormula.operation.cascade.lazy.SimpleLazySelector;
+
+
+/**
+ * Row class for testing lazy select cascades that are batched for all rows selected together.
+ * 
+ * @author Jeff Miller
+ */
+@Row(tableName="SormulaTestParentLazy", primaryKeyFields="id")
+public class SormulaTestParentLazy5 extends SimpleLazySelector<SormulaTestParentLazy5>
+{
+    private static final long serialVersionUID = 1L;
+    int id;
+    String description;
+    
+    @OneToManyCascade(selects=@SelectCascade(sourceParameterFieldNames="id", targetWhereName="byParent", lazy=true, batched=true))
+    List<SormulaTestChildLazy> childList;
+    
+    
+    public SormulaTestParentLazy5()
+    {
+    }
+
+    
+    public SormulaTestParentLazy5(int id, String description)
+    {
+        this.id = id;
+        this.description = description;
+    }
+
+    
+    public int getId()
+    {
+        return id;
+    }
+    public void setId(int id)
+    {
+        this.id = id;
+    }
+    
+    
+    public String getDescription()
+    {
+        return description;
+    }
+    public void setDescription(String description)
+    {
+        this.description = description;
+    }
+
+
+    public List<SormulaTestChildLazy> getChildList()
+    {
+        checkLazySelects("childList");
+        return childList;
+    }
+    public void setChildList(List<SormulaTestChildLazy> childList) 
+    {
+        this.childList = childList;
+    }
+}
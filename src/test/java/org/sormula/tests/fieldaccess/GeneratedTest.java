@@ -0,0 +1,160 @@
+/* sormula - Simple object relational mapping
+ * Copyright (C) 2011-2020 Jeff Miller
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sormula.tests.fieldaccess;
+
+import java.util.Map;
+
+import org.sormula.SormulaException;
+import org.sormula.Table;
+import org.sormula.operation.HashMapSelectOperation;
+import org.sormula.reflect.DirectAccessField;
+import org.sormula.reflect.FieldAccessType;
+import org.sormula.reflect.GeneratedAccessField;
+import org.sormula.reflect.MethodAccessField;
+import org.sormula.reflect.RowField;
+import org.sormula.tests.DatabaseTest;
+import org.sormula.translator.AbstractColumnTranslator;
+import org.sormula.translator.ColumnTranslator;
+import org.testng.annotations.Test;
+
+
+/**
+ * Tests {@link FieldAccessType#Generated}.
+ * 
+ * @author Jeff Miller
+ */
+@Test(singleThreaded=true, groups="fieldaccess.generated")
+public class GeneratedTest extends DatabaseTest<SormulaFaTestGenerated>
+{
+    @Override
+    protected void open() throws Exception
+    {
+        super.open();
+        createTable(SormulaFaTestGenerated.class, 
+            "CREATE TABLE " + getSchemaPrefix() + SormulaFaTestGenerated.class.getSimpleName() + " (" +
+            " id INTEGER NOT NULL PRIMARY KEY," +
+            " description VARCHAR(60)," +
+            " active " + getBooleanDDL() + "," +
+            " quantity INTEGER" +
+            ")"
+        );
+    }
+    
+
+    @Test
+    public void insertSelect() throws SormulaException
+    {
+        begin();
+        
+        for (ColumnTranslator<SormulaFaTestGenerated> ct : getTable().getRowTranslator().getColumnTranslatorList())
+        {
+            assert getRowField(getTable(), ct.getField().getName()) instanceof GeneratedAccessField : 
+                ct.getField() + " does not use generated access";
+        }
+        
+        for (int i = 1; i <= 10; ++i)
+        {
+            getTable().insert(new SormulaFaTestGenerated(i, "Generated " + i, i % 2 == 0, i % 3 == 0 ? null : i * 10));
+        }
+        
+        for (SormulaFaTestGenerated row : getTable().selectAll())
+        {
+            assert row.setIdMethodInvoked : "set method not used for id";
+            assert row.description.equals("Generated " + row.id) : "description was not read";
+            assert row.active == (row.id % 2 == 0) : "active was not read";
+            
+            if (row.id % 3 == 0) assert row.quantity == null : "quantity should be null";
+            else assert row.quantity == row.id * 10 : "quantity was not read";
+        }
+        
+        commit();
+    }
+    
+    
+    @Test(dependsOnMethods="insertSelect")
+    public void selectMap() throws SormulaException
+    {
+        begin();
+        Map<Integer, SormulaFaTestGenerated> result;
+        
+        try (HashMapSelectOperation<Integer, SormulaFaTestGenerated> operation = 
+            new HashMapSelectOperation<>(getTable(), "" /*select all*/))
+        {
+            operation.setGetKeyMethodName("getId");
+            result = operation.selectAll();
+        }
+        
+        assert result.size() == 10 : "wrong number of rows in map";
+        for (Map.Entry<Integer, SormulaFaTestGenerated> e : result.entrySet())
+        {
+            assert e.getKey() == e.getValue().getId() : "wrong key " + e.getKey();
+        }
+        
+        commit();
+    }
+    
+    
+    @Test
+    public void databaseDefault() throws SormulaException
+    {
+        FieldAccessType previous = getDatabase().getFieldAccessType();
+        assert previous == FieldAccessType.Default : "database default field access should be Default";
+        
+        try
+        {
+            getDatabase().setFieldAccessType(FieldAccessType.Generated);
+            
+            // childId is Method in column annotation, others are Direct from row annotation
+            Table<SormulaFaTestChild> childTable = new Table<>(getDatabase(), SormulaFaTestChild.class);
+            assert getRowField(childTable, "childId") instanceof MethodAccessField : 
+                "column annotation should override database field access";
+            assert getRowField(childTable, "parentId") instanceof DirectAccessField : 
+                "row annotation should override database field access";
+            
+            // no annotations
+            Table<Unannotated> unannotatedTable = new Table<>(getDatabase(), Unannotated.class);
+            assert getRowField(unannotatedTable, "id") instanceof GeneratedAccessField :
+                "database field access was not used";
+        }
+        finally
+        {
+            getDatabase().setFieldAccessType(previous);
+        }
+    }
+    
+    
+    <T> RowField<T, ?> getRowField(Table<T> table, String fieldName)
+    {
+        return ((AbstractColumnTranslator<T, ?>)table.getRowTranslator().getColumnTranslator(fieldName)).getRowField();
+    }
+    
+    
+    // for database default test
+    public static class Unannotated
+    {
+        int id;
+        
+        public int getId()
+        {
+            return id;
+        }
+        public void setId(int id)
+        {
+            this.id = id;
+        }
+    }
+}
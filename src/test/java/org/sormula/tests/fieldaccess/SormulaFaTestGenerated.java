@@ -0,0 +1,97 @@
+/* sormula - Simple object relational mapping
+ * Copyright (C) 2011-2020 Jeff Miller
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sormula.tests.fieldaccess;
+
+import org.sormula.annotation.Row;
+import org.sormula.annotation.Transient;
+import org.sormula.reflect.FieldAccessType;
+
+
+/**
+ * Row class for testing {@link FieldAccessType#Generated}. Some fields have getter/setter methods
+ * and some do not to test both kinds of generated access.
+ * 
+ * @author Jeff Miller
+ */
+@Row(fieldAccess=FieldAccessType.Generated)
+public class SormulaFaTestGenerated
+{
+    int id;
+    String description;
+    boolean active;
+    Integer quantity;
+    
+    @Transient
+    boolean setIdMethodInvoked; // to confirm method field access
+    
+    
+    public SormulaFaTestGenerated()
+    {
+    }
+
+    
+    public SormulaFaTestGenerated(int id, String description, boolean active, Integer quantity)
+    {
+        this.id = id;
+        this.description = description;
+        this.active = active;
+        this.quantity = quantity;
+    }
+    
+    
+    public int getId()
+    {
+        return id;
+    }
+    public void setId(int id)
+    {
+        this.id = id;
+        setIdMethodInvoked = true;
+    }
+
+    
+    public boolean isActive()
+    {
+        return active;
+    }
+    public void setActive(boolean active)
+    {
+        this.active = active;
+    }
+
+    
+    public Integer getQuantity()
+    {
+        return quantity;
+    }
+    public void setQuantity(Integer quantity)
+    {
+        this.quantity = quantity;
+    }
+    
+    
+    /* omit getters/setters to verify that field is accessed directly
+    public String getDescription()
+    {
+        return description;
+    }
+    public void setDescription(String description)
+    {
+        this.description = description;
+    }
+    */
+}
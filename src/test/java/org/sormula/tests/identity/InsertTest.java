@@ -23,6 +23,7 @@ import org.sormula.Table;
 import org.sormula.annotation.Column;
 import org.sormula.log.SormulaLogger;
 import org.sormula.log.SormulaLoggerFactory;
+import org.sormula.operation.InsertOperation;
 import org.sormula.tests.DatabaseTest;
 import org.testng.annotations.Test;
 
@@ -98,6 +99,43 @@ public class InsertTest extends DatabaseTest<IdentityTest>
     }
     
     
+    @Test
+    public void insertCollectionBatch() throws SormulaException
+    {
+        if (isTestIdentity())
+        {
+            begin();
+            ArrayList<IdentityTest> list = new ArrayList<>();
+            
+            for (int i = 1; i < 10; ++i)
+            {
+                list.add(new IdentityTest(-i, "Insert collection batch " + i));
+            }
+            
+            try (InsertOperation<IdentityTest> operation = new InsertOperation<>(getTable(), true))
+            {
+                operation.setBatch(true);
+                operation.setBatchSize(4); // more than one batch
+                assert operation.insertAll(list) == list.size() : "insert collection batch failed";
+            }
+            
+            if (getDatabase().getDialect().isBatchGeneratedKeys())
+            {
+                int previousId = 0;
+                for (IdentityTest row: list)
+                {
+                    assert row.getId() > previousId : "indentity column was not generated for batch";
+                    assert getTable().select(row.getId()).getDescription().equals(row.getDescription()) : 
+                        "generated key does not match inserted row";
+                    previousId = row.getId();
+                }
+            }
+            
+            commit();
+        }
+    }
+    
+    
     @Test
     public void insertOneNonIdentity() throws SormulaException
     {
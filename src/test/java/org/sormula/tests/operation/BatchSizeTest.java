@@ -0,0 +1,143 @@
+/* sormula - Simple object relational mapping
+ * Copyright (C) 2011-2020 Jeff Miller
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sormula.tests.operation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.sormula.SormulaException;
+import org.sormula.operation.DeleteOperation;
+import org.sormula.operation.InsertOperation;
+import org.sormula.operation.SaveOperation;
+import org.sormula.tests.DatabaseTest;
+import org.testng.annotations.Test;
+
+
+/**
+ * Tests batch modifications that are executed in more than one JDBC batch and batch
+ * modifications of rows from streams.
+ * 
+ * @author Jeff Miller
+ */
+@Test(singleThreaded=true, groups="operation.batch")
+public class BatchSizeTest extends DatabaseTest<SormulaTestBatch>
+{
+    @Override
+    protected void open() throws Exception
+    {
+        super.open();
+        createTable(SormulaTestBatch.class, 
+            "CREATE TABLE " + getSchemaPrefix() + SormulaTestBatch.class.getSimpleName() + " (" +
+            " id INTEGER NOT NULL PRIMARY KEY," +
+            " description VARCHAR(30)" +
+            ")"
+        );
+    }
+    
+    
+    @Test
+    public void batchSize() throws SormulaException
+    {
+        assert getTable().getBatchSize() == 3 : "batch size from Row annotation was not used";
+        
+        begin();
+        List<SormulaTestBatch> rows = new ArrayList<>();
+        for (int i = 1; i <= 10; ++i) rows.add(new SormulaTestBatch(i, "Batch " + i));
+        
+        try (InsertOperation<SormulaTestBatch> op = new InsertOperation<>(getTable(), false))
+        {
+            op.setBatch(true);
+            assert op.getBatchSize() == 3 : "operation batch size is not from table";
+            op.setBatchSize(4);
+            op.setRows(rows);
+            op.execute();
+            assert op.getModifyCounts().length == 10 : "wrong number of modify counts";
+            if (isBatchReturnsUpdateCount()) assert op.getRowsAffected() == 10 : "wrong number of rows affected";
+        }
+        
+        assert getTable().selectCount() == 10 : "wrong number of rows inserted";
+        commit();
+    }
+    
+    
+    @Test(dependsOnMethods="batchSize")
+    public void stream() throws SormulaException
+    {
+        begin();
+        int inserted = getTable().insertAllBatch(IntStream.rangeClosed(11, 20).mapToObj(i -> new SormulaTestBatch(i, "Stream " + i)));
+        if (isBatchReturnsUpdateCount()) assert inserted == 10 : "wrong number of rows inserted from stream";
+        assert getTable().selectCount() == 20 : "wrong number of rows after stream insert";
+        
+        getTable().updateAllBatch(IntStream.rangeClosed(11, 20).mapToObj(i -> new SormulaTestBatch(i, "Updated " + i)));
+        assert getTable().select(15).getDescription().equals("Updated 15") : "row from stream was not updated";
+        commit();
+    }
+    
+    
+    @Test(dependsOnMethods="stream")
+    public void adaptive() throws SormulaException
+    {
+        begin();
+        try (InsertOperation<SormulaTestBatch> op = new InsertOperation<>(getTable(), false))
+        {
+            op.setBatch(true);
+            op.setBatchSize(2);
+            op.setAdaptiveBatchMillis(1);
+            op.modifyAll(IntStream.rangeClosed(21, 70).mapToObj(i -> new SormulaTestBatch(i, "Adaptive " + i)).iterator());
+            assert op.getModifyCounts().length == 50 : "wrong number of modify counts for adaptive batch";
+        }
+        
+        assert getTable().selectCount() == 70 : "wrong number of rows after adaptive insert";
+        commit();
+    }
+    
+    
+    @Test(dependsOnMethods="adaptive")
+    public void saveIterator() throws SormulaException
+    {
+        begin();
+        try (SaveOperation<SormulaTestBatch> op = new SaveOperation<>(getTable()))
+        {
+            // 66 to 70 exist, 71 to 75 are new
+            op.setRows(IntStream.rangeClosed(66, 75).mapToObj(i -> new SormulaTestBatch(i, "Save " + i)).iterator());
+            op.execute();
+            assert op.getRowsAffected() == 10 : "wrong number of rows saved";
+            assert op.getModifyCounts().length == 10 : "wrong number of modify counts for save";
+            for (int c : op.getModifyCounts()) assert c == 1 : "modify count is not 1";
+        }
+        
+        assert getTable().selectCount() == 75 : "wrong number of rows after save";
+        assert getTable().select(68).getDescription().equals("Save 68") : "existing row was not updated";
+        commit();
+    }
+    
+    
+    @Test(dependsOnMethods="saveIterator")
+    public void deleteStream() throws SormulaException
+    {
+        begin();
+        try (DeleteOperation<SormulaTestBatch> op = new DeleteOperation<>(getTable()))
+        {
+            op.setBatch(true);
+            op.modifyAll(getTable().selectAll().iterator());
+        }
+        
+        assert getTable().selectCount() == 0 : "rows were not deleted";
+        commit();
+    }
+}
@@ -0,0 +1,152 @@
+/* sormula - Simple object relational mapping
+ * Copyright (C) 2011-2020 Jeff Miller
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sormula.tests.operation;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.sormula.SormulaException;
+import org.sormula.Table;
+import org.sormula.operation.ScalarSelectOperation;
+import org.sormula.tests.DatabaseTest;
+import org.testng.annotations.Test;
+
+
+/**
+ * Tests {@link Table#forEach(String, boolean, java.util.function.Consumer, Object...)} and 
+ * {@link ScalarSelectOperation#scan(java.util.function.Consumer, boolean)}.
+ * 
+ * @author Jeff Miller
+ */
+@Test(singleThreaded=true, groups="operation.foreach")
+public class ForEachTest extends DatabaseTest<SormulaTestStream>
+{
+    @Override
+    protected void open() throws Exception
+    {
+        super.open();
+        createTable(SormulaTestStream.class, 
+            "CREATE TABLE " + getSchemaPrefix() + SormulaTestStream.class.getSimpleName() + " (" +
+            " id INTEGER NOT NULL PRIMARY KEY," +
+            " type INTEGER," +
+            " description VARCHAR(30)" +
+            ")"
+        );
+        
+        begin();
+        getTable().insertAll(IntStream.rangeClosed(1, 100).mapToObj(i -> new SormulaTestStream(i, i % 3, "ForEach " + i))
+                .collect(Collectors.toList()));
+        commit();
+        
+        // row class with field that is not a column
+        dropTable(getSchemaPrefix() + SormulaTestScan.class.getSimpleName());
+        createTable("CREATE TABLE " + getSchemaPrefix() + SormulaTestScan.class.getSimpleName() + " (" +
+            " id INTEGER NOT NULL PRIMARY KEY," +
+            " description VARCHAR(30)" +
+            ")"
+        );
+        
+        begin();
+        getDatabase().getTable(SormulaTestScan.class).insertAll(IntStream.rangeClosed(1, 10)
+                .mapToObj(i -> new SormulaTestScan(i, "Scan " + i)).collect(Collectors.toList()));
+        commit();
+    }
+    
+    
+    @Test
+    public void forEachNewRows() throws SormulaException
+    {
+        begin();
+        Set<SormulaTestStream> rows = Collections.newSetFromMap(new IdentityHashMap<>());
+        int count = getTable().forEach("", rows::add);
+        assert count == 100 : "forEach count is wrong";
+        assert rows.size() == 100 : "forEach did not create new row for each";
+        assert rows.stream().mapToInt(SormulaTestStream::getId).sum() == 5050 : "forEach rows are not correct";
+        commit();
+    }
+    
+    
+    @Test
+    public void forEachReuseRow() throws SormulaException
+    {
+        begin();
+        Set<SormulaTestStream> rows = Collections.newSetFromMap(new IdentityHashMap<>());
+        AtomicInteger idSum = new AtomicInteger();
+        int count = getTable().forEach("byType", true, r ->
+        {
+            assert r.getType() == 1 : "row does not match where condition";
+            assert r.getDescription().equals("ForEach " + r.getId()) : "reused row was not refilled";
+            rows.add(r);
+            idSum.addAndGet(r.getId());
+        }, 1);
+        
+        assert count == 34 : "forEach count is wrong for where condition";
+        assert rows.size() == 1 : "forEach did not reuse row";
+        assert idSum.get() == IntStream.rangeClosed(1, 100).filter(i -> i % 3 == 1).sum() : "forEach reused rows are not correct";
+        commit();
+    }
+    
+    
+    @Test
+    public void scanMaximum() throws SormulaException
+    {
+        begin();
+        try (ScalarSelectOperation<SormulaTestStream> operation = new ScalarSelectOperation<>(getTable(), ""))
+        {
+            operation.setMaximumRowsRead(10);
+            AtomicInteger count = new AtomicInteger();
+            assert operation.scan(r -> count.incrementAndGet(), true) == 10 : "scan count is wrong for maximum rows";
+            assert count.get() == 10 : "scan did not stop at maximum rows";
+            assert operation.isCascade() : "scan did not restore cascades";
+        }
+        commit();
+    }
+    
+    
+    @Test
+    public void scanNonColumnFields() throws SormulaException
+    {
+        begin();
+        Table<SormulaTestScan> table = getDatabase().getTable(SormulaTestScan.class);
+        try (ScalarSelectOperation<SormulaTestScan> operation = new ScalarSelectOperation<SormulaTestScan>(table, "")
+            {
+                @Override
+                protected void postRead(SormulaTestScan row)
+                {
+                    super.postRead(row);
+                    if (row.getId() % 2 == 0) row.setNote("even");
+                }
+            })
+        {
+            assert !operation.isColumnsOnly() : "non-column field was not found";
+            Set<SormulaTestScan> rows = Collections.newSetFromMap(new IdentityHashMap<>());
+            int count = operation.scan(r ->
+            {
+                assert (r.getId() % 2 == 0) == (r.getNote() != null) : "non-column field kept value from previous row";
+                rows.add(r);
+            }, true);
+            
+            assert count == 10 : "scan count is wrong";
+            assert rows.size() == 10 : "scan reused row that has non-column field";
+        }
+        commit();
+    }
+}
@@ -0,0 +1,177 @@
+/* sormula - Simple object relational mapping
+ * Copyright (C) 2011-2020 Jeff Miller
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sormula.tests.operation;
+
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.sormula.SormulaException;
+import org.sormula.Table;
+import org.sormula.annotation.Column;
+import org.sormula.cache.CacheKey;
+import org.sormula.cache.readwrite.ReadWriteCache;
+import org.sormula.key.HiLoKeyGenerator;
+import org.sormula.key.TimeOrderedKeyGenerator;
+import org.sormula.log.SormulaLogger;
+import org.sormula.log.SormulaLoggerFactory;
+import org.sormula.tests.DatabaseTest;
+import org.testng.annotations.Test;
+
+
+/**
+ * Tests {@link Column#keyGenerator()} with {@link HiLoKeyGenerator} and {@link TimeOrderedKeyGenerator}.
+ * 
+ * @author Jeff Miller
+ */
+@Test(singleThreaded=true, groups="operation.key")
+public class KeyGeneratorTest extends DatabaseTest<SormulaTestHiLo>
+{
+    private static final SormulaLogger log = SormulaLoggerFactory.getClassLogger();
+    boolean sequences;
+    
+    
+    @Override
+    protected void open() throws Exception
+    {
+        super.open();
+        createTable(SormulaTestHiLo.class, 
+            "CREATE TABLE " + getSchemaPrefix() + SormulaTestHiLo.class.getSimpleName() + " (" +
+            " id BIGINT NOT NULL PRIMARY KEY," +
+            " description VARCHAR(30)" +
+            ")"
+        );
+        
+        sequences = getDatabase().getDialect().getNextSequenceValueSql("s") != null;
+        if (sequences)
+        {
+            // drop sequence from previous test
+            try (Connection connection = getConnection(); Statement statement = connection.createStatement())
+            {
+                statement.executeUpdate("DROP SEQUENCE SormulaTestHiLo_seq");
+                if (isUseTransacation()) connection.commit();
+            }
+            catch (Exception e)
+            {
+                if (log.isDebugEnabled()) log.debug("sequence did not exist " + e.getMessage());
+            }
+            
+            createTable("CREATE SEQUENCE SormulaTestHiLo_seq START WITH 1 INCREMENT BY 1");
+        }
+        else
+        {
+            log.info("skipping hi/lo key tests since no sequences " + getClass());
+        }
+        
+        Table<SormulaTestTimeKey> timeKeyTable = getDatabase().getTable(SormulaTestTimeKey.class);
+        dropTable(timeKeyTable.getQualifiedTableName());
+        createTable("CREATE TABLE " + timeKeyTable.getQualifiedTableName() + " (" +
+            " id BIGINT NOT NULL PRIMARY KEY," +
+            " description VARCHAR(30)" +
+            ")"
+        );
+    }
+    
+    
+    @Test
+    public void hiLoBatch() throws SormulaException
+    {
+        if (sequences)
+        {
+            begin();
+            List<SormulaTestHiLo> rows = new ArrayList<>();
+            for (int i = 0; i < 25; ++i) rows.add(new SormulaTestHiLo("HiLo " + i));
+            
+            assert getTable().insertAllBatch(rows) == rows.size() : "hi/lo batch insert failed";
+            
+            Set<Long> keys = new HashSet<>();
+            for (SormulaTestHiLo row: rows)
+            {
+                assert row.getId() > 0 : "key was not generated";
+                assert keys.add(row.getId()) : "duplicate key " + row.getId();
+            }
+            
+            // keys within a block are consecutive
+            assert rows.get(9).getId() == rows.get(0).getId() + 9 : "keys of block are not consecutive";
+            
+            assert getTable().selectCount() == rows.size() : "wrong number of rows inserted";
+            assert getTable().select(rows.get(24).getId()).getDescription().equals("HiLo 24") : "row of generated key not found";
+            commit();
+        }
+    }
+    
+    
+    @Test(dependsOnMethods="hiLoBatch")
+    public void hiLoExistingKey() throws SormulaException
+    {
+        if (sequences)
+        {
+            begin();
+            SormulaTestHiLo row = new SormulaTestHiLo("existing key");
+            row.setId(1_000_000);
+            assert getTable().insert(row) == 1 : "insert with key failed";
+            assert row.getId() == 1_000_000 : "existing key was replaced";
+            commit();
+        }
+    }
+    
+    
+    @Test
+    public void timeOrderedCached() throws SormulaException
+    {
+        Table<SormulaTestTimeKey> table = getDatabase().getTable(SormulaTestTimeKey.class);
+        List<SormulaTestTimeKey> rows = new ArrayList<>();
+        for (int i = 0; i < 10; ++i) rows.add(new SormulaTestTimeKey("Time " + i));
+        
+        begin();
+        assert table.insertAll(rows) == rows.size() : "time ordered insert failed";
+        
+        long previousId = 0;
+        for (SormulaTestTimeKey row: rows)
+        {
+            assert row.getId() != null && row.getId() > previousId : "time ordered keys are not increasing";
+            previousId = row.getId();
+        }
+        
+        ReadWriteCache<SormulaTestTimeKey> cache = (ReadWriteCache<SormulaTestTimeKey>)table.getCache();
+        assert cache.getUncommitted(new CacheKey(new Object[] { rows.get(0).getId() })) != null : "insert was not deferred by cache";
+        commit();
+        
+        begin();
+        table.getCache().evictAll();
+        assert table.select(rows.get(5).getId()).getDescription().equals("Time 5") : "cached insert was not written";
+        commit();
+    }
+    
+    
+    @Test
+    public void timeOrderedInt() throws SormulaException
+    {
+        try
+        {
+            getDatabase().getTable(SormulaTestTimeKeyInt.class);
+            throw new AssertionError("int key was accepted by time ordered key generator");
+        }
+        catch (SormulaException e)
+        {
+            // expected since keys are too large for int
+        }
+    }
+}
@@ -0,0 +1,131 @@
+/* sormula - Simple object relational mapping
+ * Copyright (C) 2011-2020 Jeff Miller
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sormula.tests.operation;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.sormula.SormulaException;
+import org.sormula.dialect.Dialect;
+import org.sormula.dialect.HsqlDialect;
+import org.sormula.operation.ArrayListSelectOperation;
+import org.sormula.operation.ScalarSelectOperation;
+import org.sormula.tests.DatabaseTest;
+import org.testng.annotations.Test;
+
+
+/**
+ * Tests {@link ScalarSelectOperation#setMaximumRowsRead(int)} and {@link ScalarSelectOperation#setOffset(int)}
+ * in sql with {@link Dialect#getLimitSql(int, int, boolean)}.
+ * 
+ * @author Jeff Miller
+ */
+@Test(singleThreaded=true, groups="operation.limit")
+public class LimitTest extends DatabaseTest<SormulaTestLimit>
+{
+    @Override
+    protected void open() throws Exception
+    {
+        super.open();
+        createTable(SormulaTestLimit.class, 
+            "CREATE TABLE " + getSchemaPrefix() + SormulaTestLimit.class.getSimpleName() + " (" +
+            " id INTEGER NOT NULL PRIMARY KEY," +
+            " type INTEGER," +
+            " description VARCHAR(30)" +
+            ")"
+        );
+        
+        begin();
+        getTable().insertAll(IntStream.rangeClosed(1, 50).mapToObj(i -> new SormulaTestLimit(i, i % 2, "Limit " + i))
+                .collect(Collectors.toList()));
+        commit();
+    }
+    
+    
+    @Test
+    public void dialectSql()
+    {
+        assert new Dialect().getLimitSql(0, 10, false) == null : "unknown database should not limit sql";
+        Dialect dialect = new HsqlDialect();
+        assert dialect.getLimitSql(0, 10, false).equals("FETCH FIRST 10 ROWS ONLY") : "standard limit sql";
+        assert dialect.getLimitSql(20, 10, true).equals("OFFSET 20 ROWS FETCH FIRST 10 ROWS ONLY") : "standard offset sql";
+        assert dialect.getLimitSql(20, Integer.MAX_VALUE, true).equals("OFFSET 20 ROWS") : "standard offset only sql";
+        assert Dialect.newInstance("MySQL").getLimitSql(20, 10, true).equals("LIMIT 10 OFFSET 20") : "MySQL limit sql";
+        assert Dialect.newInstance("Microsoft SQL Server").getLimitSql(0, 10, false) == null : "SQL Server requires order by";
+    }
+    
+    
+    @Test
+    public void maximumRowsSql() throws SormulaException
+    {
+        begin();
+        try (ArrayListSelectOperation<SormulaTestLimit> operation = new ArrayListSelectOperation<>(getTable(), "byTypeLimited"))
+        {
+            operation.setOrderBy("obId");
+            operation.setSqlLimit(true);
+            List<SormulaTestLimit> list = operation.selectAll(1);
+            assert list.size() == 4 : "wrong number of rows for maximum rows";
+            assert list.get(0).getId() == 1 && list.get(3).getId() == 7 : "wrong rows for maximum rows";
+            assert operation.getPreparedSql().endsWith(operation.getLimitSql()) : "limit was not added to sql";
+            
+            // different maximum requires different sql
+            operation.setMaximumRowsRead(2);
+            list = operation.selectAll(0);
+            assert list.size() == 2 : "wrong number of rows for changed maximum rows";
+            assert list.get(1).getId() == 4 : "wrong rows for changed maximum rows";
+            assert operation.getPreparedSql().endsWith(operation.getLimitSql()) : "changed limit was not in sql";
+        }
+        commit();
+    }
+    
+    
+    @Test
+    public void offsetSql() throws SormulaException
+    {
+        begin();
+        try (ScalarSelectOperation<SormulaTestLimit> operation = ScalarSelectOperation.builderScalar(getTable())
+                .where("").orderBy("obId").offset(10).maximumRowsRead(5).sqlLimit(true).build())
+        {
+            operation.execute();
+            assert operation.getLimitSql() != null : "offset was not added to sql";
+            
+            int id = 11;
+            for (SormulaTestLimit r : operation) assert r.getId() == id++ : "wrong row for offset";
+            assert id == 16 : "wrong number of rows for offset";
+        }
+        commit();
+    }
+    
+    
+    @Test
+    public void offsetNoSql() throws SormulaException
+    {
+        begin();
+        try (ArrayListSelectOperation<SormulaTestLimit> operation = new ArrayListSelectOperation<>(getTable(), ""))
+        {
+            operation.setOrderBy("obId");
+            operation.setOffset(45);
+            operation.setSqlLimit(false);
+            List<SormulaTestLimit> list = operation.selectAll();
+            assert operation.getLimitSql() == null : "limit was added to sql when sql limit is false";
+            assert list.size() == 5 : "wrong number of rows for offset in result set";
+            assert list.get(0).getId() == 46 : "wrong rows for offset in result set";
+        }
+        commit();
+    }
+}
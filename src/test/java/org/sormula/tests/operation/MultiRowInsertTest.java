@@ -0,0 +1,141 @@
+/* sormula - Simple object relational mapping
+ * Copyright (C) 2011-2020 Jeff Miller
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sormula.tests.operation;
+
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.sormula.Database;
+import org.sormula.SormulaException;
+import org.sormula.dialect.Dialect;
+import org.sormula.dialect.HsqlDialect;
+import org.sormula.dialect.MariaDbDialect;
+import org.sormula.dialect.MySqlDialect;
+import org.sormula.dialect.OracleDialect;
+import org.sormula.operation.InsertOperation;
+import org.sormula.tests.DatabaseTest;
+import org.testng.annotations.Test;
+
+
+/**
+ * Tests {@link InsertOperation#setMultiRowSize(int)}.
+ * 
+ * @author Jeff Miller
+ */
+@Test(singleThreaded=true, groups="operation.multirow")
+public class MultiRowInsertTest extends DatabaseTest<SormulaTestBasic>
+{
+    @Override
+    protected void open() throws Exception
+    {
+        super.open();
+        
+        // own table since other tests also use row class
+        createTable(SormulaTestBasic.class);
+        getTable().setTableName("SormulaTestMultiRow");
+        createTable(SormulaTestBasic.class, 
+            "CREATE TABLE " + getSchemaPrefix() + getTable().getTableName() + " (" +
+            " id INTEGER NOT NULL PRIMARY KEY," +
+            " description VARCHAR(30)" +
+            ")"
+        );
+    }
+    
+    
+    @Test
+    public void dialectConnection() throws SormulaException
+    {
+        try (Database database = new Database((Connection)null))
+        {
+            assert database.getDialect().getClass() == Dialect.class : "standard dialect was not used without connection";
+            database.setConnection(getDatabase().getConnection());
+            assert database.getDialect().getClass() == getDatabase().getDialect().getClass() : "dialect was not chosen from connection";
+        }
+    }
+    
+    
+    @Test
+    public void dialect()
+    {
+        assert getDatabase().getDialect() != null : "no dialect";
+        assert Dialect.newInstance("HSQL Database Engine") instanceof HsqlDialect : "wrong dialect for HSQLDB";
+        assert Dialect.newInstance("MariaDB") instanceof MariaDbDialect : "wrong dialect for MariaDB";
+        assert Dialect.newInstance("MySQL").getClass() == MySqlDialect.class : "wrong dialect for MySQL";
+        assert Dialect.newInstance("MySQL").getNextSequenceValueSql("s") == null : "MySQL has no sequences";
+        assert Dialect.newInstance("MariaDB").getNextSequenceValueSql("s") != null : "MariaDB has sequences";
+        assert !Dialect.newInstance("Oracle").isMultiRowInsert() : "Oracle does not support multi-row insert";
+        assert Dialect.newInstance(null).getClass() == Dialect.class : "standard dialect was not used for unknown product";
+        assert Dialect.newInstance("Oracle") instanceof OracleDialect : "wrong dialect for Oracle";
+    }
+    
+    
+    @Test(dependsOnMethods="dialect")
+    public void multiRowInsert() throws SormulaException
+    {
+        begin();
+        List<SormulaTestBasic> rows = new ArrayList<>();
+        for (int i = 1; i <= 25; ++i) rows.add(new SormulaTestBasic(i, "Multi " + i));
+        
+        try (InsertOperation<SormulaTestBasic> op = new InsertOperation<>(getTable()))
+        {
+            op.setMultiRowSize(10);
+            op.setRows(rows);
+            op.execute();
+            assert op.getRowsAffected() == 25 : "wrong number of rows affected";
+            assert op.getModifyCounts().length == 25 : "wrong number of modify counts";
+            for (int c : op.getModifyCounts()) assert c == 1 : "modify count is not 1";
+        }
+        
+        assert getTable().selectCount() == 25 : "wrong number of rows inserted";
+        assert getTable().select(25).getDescription().equals("Multi 25") : "last row of partial group was not inserted";
+        commit();
+    }
+    
+    
+    @Test(dependsOnMethods="multiRowInsert")
+    public void parameterLimit() throws SormulaException
+    {
+        Dialect dialect = getDatabase().getDialect();
+        getDatabase().setDialect(new Dialect()
+        {
+            @Override
+            public int getMaxParameters()
+            {
+                return 5; // 2 rows per statement
+            }
+        });
+        
+        try
+        {
+            begin();
+            try (InsertOperation<SormulaTestBasic> op = InsertOperation.builder(getTable()).multiRowSize(100).build())
+            {
+                op.modifyAll(IntStream.rangeClosed(26, 32).mapToObj(i -> new SormulaTestBasic(i, "Limit " + i)).iterator());
+                assert op.getRowsAffected() == 7 : "wrong number of rows affected with parameter limit";
+            }
+            
+            assert getTable().selectCount() == 32 : "wrong number of rows inserted with parameter limit";
+            commit();
+        }
+        finally
+        {
+            getDatabase().setDialect(dialect);
+        }
+    }
+}
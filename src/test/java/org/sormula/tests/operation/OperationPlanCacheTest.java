@@ -0,0 +1,114 @@
+/* sormula - Simple object relational mapping
+ * Copyright (C) 2011-2020 Jeff Miller
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sormula.tests.operation;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.sormula.SormulaException;
+import org.sormula.operation.ArrayListSelectOperation;
+import org.sormula.operation.OperationPlanCache;
+import org.sormula.tests.DatabaseTest;
+import org.testng.annotations.Test;
+
+
+/**
+ * Tests that operations share translators and sql from {@link OperationPlanCache}.
+ * 
+ * @author Jeff Miller
+ */
+@Test(singleThreaded=true, groups="operation.plan")
+public class OperationPlanCacheTest extends DatabaseTest<SormulaTestPlan>
+{
+    @Override
+    protected void open() throws Exception
+    {
+        super.open();
+        createTable(SormulaTestPlan.class, 
+            "CREATE TABLE " + getSchemaPrefix() + SormulaTestPlan.class.getSimpleName() + " (" +
+            " id INTEGER NOT NULL PRIMARY KEY," +
+            " type INTEGER," +
+            " description VARCHAR(30)" +
+            ")"
+        );
+    }
+    
+    
+    @Test
+    public void sharedPlan() throws SormulaException
+    {
+        begin();
+        for (int i = 1; i <= 10; ++i)
+        {
+            getTable().insert(new SormulaTestPlan(i, i % 2, "Plan " + (char)('z' - i)));
+        }
+        
+        List<SormulaTestPlan> first;
+        String firstSql;
+        try (ArrayListSelectOperation<SormulaTestPlan> op = new ArrayListSelectOperation<>(getTable(), "byType"))
+        {
+            op.setOrderBy("obDescription");
+            first = op.selectAll(1);
+            firstSql = op.getPreparedSql();
+            
+            try (ArrayListSelectOperation<SormulaTestPlan> op2 = new ArrayListSelectOperation<>(getTable(), "byType"))
+            {
+                op2.setOrderBy("obDescription");
+                List<SormulaTestPlan> second = op2.selectAll(1);
+                assert op.getWhereTranslator() == op2.getWhereTranslator() : "where translator is not shared";
+                assert op.getWhereTranslator().getParameters() == null : "parameters were kept by shared where translator";
+                assert firstSql == op2.getPreparedSql() : "sql is not shared";
+                assert first.size() == 5 && second.size() == 5 : "wrong number of rows";
+                assert first.get(0).getId() == second.get(0).getId() : "wrong order";
+            }
+        }
+        
+        assert firstSql.contains("ORDER BY") : "order by missing from cached sql";
+        commit();
+    }
+    
+    
+    @Test(dependsOnMethods="sharedPlan")
+    public void collectionOperand() throws SormulaException
+    {
+        begin();
+        
+        try (ArrayListSelectOperation<SormulaTestPlan> op = new ArrayListSelectOperation<>(getTable(), "idIn");
+             ArrayListSelectOperation<SormulaTestPlan> op2 = new ArrayListSelectOperation<>(getTable(), "idIn"))
+        {
+            assert op.selectAll(Arrays.asList(1, 2, 3)).size() == 3 : "wrong number of rows for 3 ids";
+            assert op2.selectAll(Arrays.asList(4, 5)).size() == 2 : "wrong number of rows for 2 ids";
+            assert op.getWhereTranslator() != op2.getWhereTranslator() : "collection where translator must not be shared";
+        }
+        
+        commit();
+    }
+    
+    
+    @Test(dependsOnMethods="collectionOperand")
+    public void tableName() throws SormulaException
+    {
+        OperationPlanCache operationPlanCache = getTable().getOperationPlanCache();
+        assert operationPlanCache.size() > 0 : "no plans cached";
+        getTable().setTableName(getTable().getTableName());
+        assert operationPlanCache.size() == 0 : "plans were not cleared when table name changed";
+        
+        begin();
+        assert getTable().selectAll().size() == 10 : "select failed after table name changed";
+        commit();
+    }
+}
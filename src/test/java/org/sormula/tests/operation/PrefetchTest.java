@@ -0,0 +1,246 @@
+/* sormula - Simple object relational mapping
+ * Copyright (C) 2011-2020 Jeff Miller
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sormula.tests.operation;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.sormula.SormulaException;
+import org.sormula.operation.OperationException;
+import org.sormula.operation.PrefetchSelectIterator;
+import org.sormula.operation.ScalarSelectOperation;
+import org.sormula.operation.UncheckedOperationException;
+import org.sormula.tests.DatabaseTest;
+import org.testng.annotations.Test;
+
+
+/**
+ * Tests {@link PrefetchSelectIterator} and {@link ScalarSelectOperation#setPrefetchSize(int)}.
+ * 
+ * @author Jeff Miller
+ */
+@Test(singleThreaded=true, groups="operation.prefetch")
+public class PrefetchTest extends DatabaseTest<SormulaTestStream>
+{
+    @Override
+    protected void open() throws Exception
+    {
+        super.open();
+        createTable(SormulaTestStream.class, 
+            "CREATE TABLE " + getSchemaPrefix() + SormulaTestStream.class.getSimpleName() + " (" +
+            " id INTEGER NOT NULL PRIMARY KEY," +
+            " type INTEGER," +
+            " description VARCHAR(30)" +
+            ")"
+        );
+        
+        begin();
+        getTable().insertAll(IntStream.rangeClosed(1, 100).mapToObj(i -> new SormulaTestStream(i, i % 3, "Prefetch " + i))
+                .collect(Collectors.toList()));
+        commit();
+    }
+    
+    
+    @Test
+    public void prefetchIterator() throws SormulaException
+    {
+        begin();
+        try (ScalarSelectOperation<SormulaTestStream> operation = ScalarSelectOperation.builderScalar(getTable())
+                .where("").orderBy("").prefetchSize(8).build())
+        {
+            Iterator<SormulaTestStream> iterator = operation.iterator();
+            assert iterator instanceof PrefetchSelectIterator : "prefetch size did not create prefetch iterator";
+            
+            try (PrefetchSelectIterator<SormulaTestStream> prefetchIterator = (PrefetchSelectIterator<SormulaTestStream>)iterator)
+            {
+                List<SormulaTestStream> list = new ArrayList<>();
+                prefetchIterator.forEachRemaining(list::add);
+                assert list.size() == 100 : "prefetch iterator did not read all rows";
+                assert list.stream().mapToInt(SormulaTestStream::getId).sum() == 5050 : "prefetch iterator rows are not correct";
+                assert !prefetchIterator.hasNext() : "prefetch iterator has rows after end";
+            }
+        }
+        commit();
+    }
+    
+    
+    @Test
+    public void prefetchStream() throws SormulaException
+    {
+        begin();
+        try (ScalarSelectOperation<SormulaTestStream> operation = new ScalarSelectOperation<>(getTable(), "byType"))
+        {
+            operation.setPrefetchSize(4);
+            operation.setParameters(2);
+            
+            try (Stream<SormulaTestStream> rows = operation.stream())
+            {
+                List<SormulaTestStream> list = rows.collect(Collectors.toList());
+                assert list.size() == 33 : "wrong number of rows streamed with prefetch";
+                for (SormulaTestStream r : list) assert r.getType() == 2 : "row does not match where condition";
+            }
+        }
+        commit();
+    }
+    
+    
+    @Test
+    public void prefetchClose() throws SormulaException
+    {
+        begin();
+        try (ScalarSelectOperation<SormulaTestStream> operation = new ScalarSelectOperation<>(getTable(), ""))
+        {
+            operation.setPrefetchSize(3);
+            
+            try (Stream<SormulaTestStream> rows = operation.stream())
+            {
+                assert rows.limit(5).count() == 5 : "limit of prefetch stream failed";
+            }
+            
+            // producer stops after close, at most capacity rows ahead plus one waiting to be queued 
+            assert operation.getRowsReadCount() <= 5 + 3 + 1 : "prefetch read too many rows";
+            
+            // operation may be used again after stream is closed
+            operation.setParameters();
+            try (Stream<SormulaTestStream> rows = operation.stream())
+            {
+                assert rows.count() == 100 : "prefetch stream from operation used again failed";
+            }
+        }
+        commit();
+    }
+    
+    
+    @Test
+    public void prefetchError() throws SormulaException
+    {
+        begin();
+        ScalarSelectOperation<SormulaTestStream> operation = new ScalarSelectOperation<SormulaTestStream>(getTable(), "")
+        {
+            @Override
+            public SormulaTestStream readNext() throws OperationException
+            {
+                SormulaTestStream row = super.readNext();
+                if (row != null && getRowsReadCount() == 10) throw new OperationException("test error");
+                return row;
+            }
+        };
+        operation.setPrefetchSize(4);
+        
+        int count = 0;
+        try (PrefetchSelectIterator<SormulaTestStream> iterator = (PrefetchSelectIterator<SormulaTestStream>)operation.iterator())
+        {
+            while (iterator.hasNext())
+            {
+                iterator.next();
+                ++count;
+            }
+            
+            assert false : "producer error was not propagated";
+        }
+        catch (UncheckedOperationException e)
+        {
+            assert e.getCause().getMessage().equals("test error") : "wrong producer error propagated";
+            assert count == 9 : "rows read prior to error were not consumed";
+        }
+        commit();
+    }
+    
+    
+    @Test
+    public void prefetchCloseOtherThread() throws Exception
+    {
+        begin();
+        ExecutorService threads = Executors.newFixedThreadPool(2);
+        CountDownLatch producerRelease = new CountDownLatch(1);
+        
+        try (ScalarSelectOperation<SormulaTestStream> operation = new ScalarSelectOperation<>(getTable(), ""))
+        {
+            // producer does not start until released so consumer waits for first row
+            PrefetchSelectIterator<SormulaTestStream> iterator = new PrefetchSelectIterator<>(operation, 2, producer ->
+                new Thread(() ->
+                {
+                    try
+                    {
+                        producerRelease.await();
+                        producer.run();
+                    }
+                    catch (InterruptedException e)
+                    {
+                        Thread.currentThread().interrupt();
+                    }
+                }).start());
+            
+            operation.execute();
+            Future<Boolean> consumer = threads.submit(iterator::hasNext);
+            Thread.sleep(100); // consumer waits in hasNext
+            
+            // close in another thread, then let producer see that it was cancelled
+            Future<?> closer = threads.submit(() -> { iterator.close(); return null; });
+            Thread.sleep(100);
+            producerRelease.countDown();
+            
+            closer.get(5, TimeUnit.SECONDS);
+            assert !consumer.get(5, TimeUnit.SECONDS) : "waiting consumer got row after close";
+        }
+        finally
+        {
+            producerRelease.countDown();
+            threads.shutdownNow();
+        }
+        commit();
+    }
+    
+    
+    @Test
+    public void prefetchRejected() throws SormulaException
+    {
+        begin();
+        try (ScalarSelectOperation<SormulaTestStream> operation = new ScalarSelectOperation<>(getTable(), ""))
+        {
+            PrefetchSelectIterator<SormulaTestStream> iterator = new PrefetchSelectIterator<>(operation, 2, producer -> 
+            {
+                throw new RejectedExecutionException("test rejected");
+            });
+            
+            try
+            {
+                iterator.hasNext();
+                assert false : "rejected producer was not reported";
+            }
+            catch (UncheckedOperationException e)
+            {
+                assert e.getCause().getCause() instanceof RejectedExecutionException : "wrong error for rejected producer";
+            }
+            
+            // must not wait for producer that never ran
+            iterator.close();
+            assert !iterator.hasNext() : "rejected iterator has rows";
+        }
+        commit();
+    }
+}
@@ -0,0 +1,216 @@
+/* sormula - Simple object relational mapping
+ * Copyright (C) 2011-2020 Jeff Miller
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sormula.tests.operation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.sormula.Table;
+import org.sormula.flow.SelectPublisher;
+import org.sormula.flow.Subscriber;
+import org.sormula.flow.Subscription;
+import org.sormula.tests.DatabaseTest;
+import org.testng.annotations.Test;
+
+
+/**
+ * Tests {@link Table#publisher(String, Object...)} and {@link SelectPublisher}.
+ * 
+ * @author Jeff Miller
+ */
+@Test(singleThreaded=true, groups="operation.publisher")
+public class PublisherTest extends DatabaseTest<SormulaTestStream>
+{
+    @Override
+    protected void open() throws Exception
+    {
+        super.open();
+        
+        // own table since other tests also use row class
+        createTable(SormulaTestStream.class);
+        getTable().setTableName("SormulaTestPublisher");
+        createTable(SormulaTestStream.class, 
+            "CREATE TABLE " + getSchemaPrefix() + getTable().getTableName() + " (" +
+            " id INTEGER NOT NULL PRIMARY KEY," +
+            " type INTEGER," +
+            " description VARCHAR(30)" +
+            ")"
+        );
+        
+        begin();
+        getTable().insertAll(IntStream.rangeClosed(1, 60).mapToObj(i -> new SormulaTestStream(i, i % 3, "Publisher " + i))
+                .collect(Collectors.toList()));
+        commit();
+    }
+    
+    
+    @Test
+    public void publishAll() throws Exception
+    {
+        begin();
+        TestSubscriber subscriber = new TestSubscriber(7, Integer.MAX_VALUE);
+        getTable().publisher("").subscribe(subscriber);
+        subscriber.await();
+        
+        assert subscriber.error == null : "publisher error " + subscriber.error;
+        assert subscriber.completed : "onComplete was not invoked";
+        assert subscriber.rows.size() == 60 : "wrong number of rows published";
+        assert subscriber.rows.stream().mapToInt(SormulaTestStream::getId).sum() == 1830 : "published rows are not correct";
+        commit();
+    }
+    
+    
+    @Test
+    public void publishWhere() throws Exception
+    {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        
+        try
+        {
+            begin();
+            SelectPublisher<SormulaTestStream> publisher = new SelectPublisher<>(
+                    getTable().publisher("byType", 1).getSelectOperation(), executor);
+            assert publisher.getSelectOperation().getFetchSize() == 7 : "fetch size from where annotation was not used";
+            
+            TestSubscriber subscriber = new TestSubscriber(1, Integer.MAX_VALUE);
+            publisher.subscribe(subscriber);
+            subscriber.await();
+            
+            assert subscriber.error == null : "publisher error " + subscriber.error;
+            assert subscriber.rows.size() == 20 : "wrong number of rows published for where condition";
+            for (SormulaTestStream r : subscriber.rows) assert r.getType() == 1 : "row does not match where condition";
+            commit();
+        }
+        finally
+        {
+            executor.shutdown();
+        }
+    }
+    
+    
+    @Test
+    public void publishCancel() throws Exception
+    {
+        begin();
+        SelectPublisher<SormulaTestStream> publisher = getTable().publisher("");
+        TestSubscriber subscriber = new TestSubscriber(3, 10);
+        publisher.subscribe(subscriber);
+        subscriber.await();
+        
+        assert subscriber.error == null : "publisher error " + subscriber.error;
+        assert !subscriber.completed : "onComplete was invoked after cancel";
+        assert subscriber.rows.size() == 10 : "rows were published after cancel";
+        assert publisher.getSelectOperation().getRowsReadCount() <= 12 : "more rows were read than were requested";
+        commit();
+    }
+    
+    
+    @Test
+    public void publishSecondSubscriber() throws Exception
+    {
+        begin();
+        SelectPublisher<SormulaTestStream> publisher = getTable().publisher("");
+        TestSubscriber subscriber = new TestSubscriber(Long.MAX_VALUE, Integer.MAX_VALUE);
+        publisher.subscribe(subscriber);
+        subscriber.await();
+        assert subscriber.rows.size() == 60 : "wrong number of rows published with unbounded demand";
+
+        TestSubscriber subscriber2 = new TestSubscriber(1, Integer.MAX_VALUE);
+        publisher.subscribe(subscriber2);
+        subscriber2.await();
+        assert subscriber2.error instanceof IllegalStateException : "second subscriber was not rejected";
+        commit();
+    }
+    
+    
+    /**
+     * Requests rows in batches and cancels after a maximum number of rows.
+     */
+    static class TestSubscriber implements Subscriber<SormulaTestStream>
+    {
+        long batchSize;
+        int maximumRows;
+        Subscription subscription;
+        List<SormulaTestStream> rows = new ArrayList<>();
+        long outstanding;
+        volatile boolean completed;
+        volatile Throwable error;
+        CountDownLatch latch = new CountDownLatch(1);
+        
+        
+        TestSubscriber(long batchSize, int maximumRows)
+        {
+            this.batchSize = batchSize;
+            this.maximumRows = maximumRows;
+        }
+        
+        
+        void await() throws InterruptedException
+        {
+            assert latch.await(30, TimeUnit.SECONDS) : "subscriber timed out";
+        }
+        
+        
+        @Override
+        public void onSubscribe(Subscription subscription)
+        {
+            this.subscription = subscription;
+            outstanding = batchSize;
+            subscription.request(batchSize);
+        }
+        
+        
+        @Override
+        public void onNext(SormulaTestStream row)
+        {
+            rows.add(row);
+            
+            if (rows.size() == maximumRows)
+            {
+                subscription.cancel();
+                latch.countDown();
+            }
+            else if (--outstanding == 0)
+            {
+                outstanding = batchSize;
+                subscription.request(batchSize);
+            }
+        }
+        
+        
+        @Override
+        public void onError(Throwable throwable)
+        {
+            error = throwable;
+            latch.countDown();
+        }
+        
+        
+        @Override
+        public void onComplete()
+        {
+            completed = true;
+            latch.countDown();
+        }
+    }
+}
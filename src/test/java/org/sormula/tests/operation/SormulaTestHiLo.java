@@ -0,0 +1,66 @@
+/* sormula - Simple object relational mapping
+ * Copyright (C) 2011-2020 Jeff Miller
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sormula.tests.operation;
+
+import org.sormula.annotation.Column;
+import org.sormula.annotation.KeySequence;
+import org.sormula.key.HiLoKeyGenerator;
+
+
+/**
+ * Row class for testing {@link HiLoKeyGenerator}.
+ * 
+ * @author Jeff Miller
+ */
+public class SormulaTestHiLo
+{
+    @Column(primaryKey=true, keyGenerator=HiLoKeyGenerator.class)
+    @KeySequence(name="SormulaTestHiLo_seq", allocationSize=10)
+    long id;
+    String description;
+    
+    
+    public SormulaTestHiLo()
+    {
+    }
+
+    
+    public SormulaTestHiLo(String description)
+    {
+        this.description = description;
+    }
+    
+    
+    public long getId()
+    {
+        return id;
+    }
+    public void setId(long id)
+    {
+        this.id = id;
+    }
+    
+    
+    public String getDescription()
+    {
+        return description;
+    }
+    public void setDescription(String description)
+    {
+        this.description = description;
+    }
+}
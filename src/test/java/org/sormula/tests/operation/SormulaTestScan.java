@@ -0,0 +1,80 @@
+/* sormula - Simple object relational mapping
+ * Copyright (C) 2011-2020 Jeff Miller
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sormula.tests.operation;
+
+import org.sormula.annotation.Column;
+import org.sormula.annotation.Transient;
+
+
+/**
+ * Row class with a field that is not a column. Used to test that scanned rows are not 
+ * reused when reading a row does not set all fields.
+ * 
+ * @author Jeff Miller
+ */
+public class SormulaTestScan
+{
+    @Column(primaryKey=true)
+    int id;
+    String description;
+    
+    // not read from database
+    @Transient
+    String note;
+    
+    
+    public SormulaTestScan()
+    {
+    }
+
+    
+    public SormulaTestScan(int id, String description)
+    {
+        this.id = id;
+        this.description = description;
+    }
+    
+    
+    public int getId()
+    {
+        return id;
+    }
+    public void setId(int id)
+    {
+        this.id = id;
+    }
+    
+    
+    public String getDescription()
+    {
+        return description;
+    }
+    public void setDescription(String description)
+    {
+        this.description = description;
+    }
+    
+    
+    public String getNote()
+    {
+        return note;
+    }
+    public void setNote(String note)
+    {
+        this.note = note;
+    }
+}
@@ -0,0 +1,67 @@
+/* sormula - Simple object relational mapping
+ * Copyright (C) 2011-2020 Jeff Miller
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sormula.tests.operation;
+
+import org.sormula.annotation.Column;
+import org.sormula.annotation.cache.Cached;
+import org.sormula.cache.readwrite.ReadWriteCache;
+import org.sormula.key.TimeOrderedKeyGenerator;
+
+
+/**
+ * Row class for testing {@link TimeOrderedKeyGenerator} with deferred cache inserts.
+ * 
+ * @author Jeff Miller
+ */
+@Cached(type=ReadWriteCache.class)
+public class SormulaTestTimeKey
+{
+    @Column(primaryKey=true, keyGenerator=TimeOrderedKeyGenerator.class)
+    Long id;
+    String description;
+    
+    
+    public SormulaTestTimeKey()
+    {
+    }
+
+    
+    public SormulaTestTimeKey(String description)
+    {
+        this.description = description;
+    }
+    
+    
+    public Long getId()
+    {
+        return id;
+    }
+    public void setId(Long id)
+    {
+        this.id = id;
+    }
+    
+    
+    public String getDescription()
+    {
+        return description;
+    }
+    public void setDescription(String description)
+    {
+        this.description = description;
+    }
+}
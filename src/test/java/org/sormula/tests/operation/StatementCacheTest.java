@@ -0,0 +1,138 @@
+/* sormula - Simple object relational mapping
+ * Copyright (C) 2011-2020 Jeff Miller
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sormula.tests.operation;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.sormula.SormulaException;
+import org.sormula.StatementCache;
+import org.sormula.tests.DatabaseTest;
+import org.testng.annotations.Test;
+
+
+/**
+ * Tests {@link StatementCache} with table convenience methods.
+ * 
+ * @author Jeff Miller
+ */
+@Test(singleThreaded=true, groups="operation.statementcache")
+public class StatementCacheTest extends DatabaseTest<SormulaTestBasic>
+{
+    @Override
+    protected void open() throws Exception
+    {
+        super.open();
+        getDatabase().setStatementCacheSize(4);
+        
+        // own table since other tests also use row class
+        createTable(SormulaTestBasic.class);
+        getTable().setTableName("SormulaTestStatementCache");
+        createTable(SormulaTestBasic.class, 
+            "CREATE TABLE " + getSchemaPrefix() + getTable().getTableName() + " (" +
+            " id INTEGER NOT NULL PRIMARY KEY," +
+            " description VARCHAR(30)" +
+            ")"
+        );
+    }
+    
+    
+    @Test
+    public void reuse() throws SormulaException
+    {
+        StatementCache statementCache = getDatabase().getStatementCache();
+        begin();
+        
+        for (int i = 1; i <= 10; ++i)
+        {
+            assert getTable().insert(new SormulaTestBasic(i, "Cache " + i)) == 1 : "insert failed";
+        }
+        
+        int misses = statementCache.getMisses();
+        int hits = statementCache.getHits();
+        for (int i = 1; i <= 10; ++i)
+        {
+            SormulaTestBasic row = getTable().select(i);
+            assert row != null && row.getDescription().equals("Cache " + i) : "wrong row selected " + i;
+            row.setDescription("Updated " + i);
+            assert getTable().update(row) == 1 : "update failed";
+        }
+        
+        assert statementCache.getMisses() == misses + 2 : "select and update should be prepared once";
+        assert statementCache.getHits() == hits + 18 : "select and update should be reused";
+        assert getTable().select(3).getDescription().equals("Updated 3") : "update was not written";
+        
+        commit();
+    }
+    
+    
+    @Test(dependsOnMethods="reuse")
+    public void batch() throws SormulaException
+    {
+        StatementCache statementCache = getDatabase().getStatementCache();
+        begin();
+        
+        for (int b = 0; b < 3; ++b)
+        {
+            List<SormulaTestBasic> list = new ArrayList<>();
+            for (int i = 1; i <= 5; ++i) list.add(new SormulaTestBasic(100 + b * 10 + i, "Batch " + i));
+            int hits = statementCache.getHits();
+            getTable().insertAllBatch(list);
+            if (b > 0) assert statementCache.getHits() == hits + 1 : "batch statement was not reused";
+        }
+        
+        assert getTable().selectCount() == 25 : "wrong number of rows after batches";
+        commit();
+    }
+    
+    
+    @Test(dependsOnMethods="batch")
+    public void invalidate() throws SormulaException
+    {
+        StatementCache statementCache = getDatabase().getStatementCache();
+        begin();
+        getTable().select(1);
+        commit();
+        assert statementCache.size() > 0 : "no statements cached";
+        
+        getDatabase().setConnection(getDatabase().getConnection());
+        assert statementCache.size() == 0 : "statements were not cleared for new connection";
+        
+        begin();
+        assert getTable().select(1) != null : "select failed after connection change";
+        commit();
+    }
+    
+    
+    @Test(dependsOnMethods="invalidate")
+    public void maximumSize() throws SormulaException
+    {
+        StatementCache statementCache = getDatabase().getStatementCache();
+        begin();
+        
+        // more distinct statements than cache size
+        getTable().select(1);
+        getTable().selectAll();
+        getTable().selectCount();
+        getTable().selectMax("id");
+        getTable().selectMin("id");
+        getTable().selectAvg("id");
+        assert statementCache.size() == statementCache.getMaximumSize() : "cache exceeded maximum size";
+        
+        commit();
+    }
+}
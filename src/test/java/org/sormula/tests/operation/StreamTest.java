@@ -0,0 +1,214 @@
+/* sormula - Simple object relational mapping
+ * Copyright (C) 2011-2020 Jeff Miller
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sormula.tests.operation;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.sormula.SormulaException;
+import org.sormula.Table;
+import org.sormula.StatementCache;
+import org.sormula.dialect.Dialect;
+import org.sormula.operation.OperationException;
+import org.sormula.operation.ScalarSelectOperation;
+import org.sormula.tests.DatabaseTest;
+import org.testng.annotations.Test;
+
+
+/**
+ * Tests {@link Table#stream(String, Object...)} and {@link ScalarSelectOperation#stream()}.
+ * 
+ * @author Jeff Miller
+ */
+@Test(singleThreaded=true, groups="operation.stream")
+public class StreamTest extends DatabaseTest<SormulaTestStream>
+{
+    @Override
+    protected void open() throws Exception
+    {
+        super.open();
+        createTable(SormulaTestStream.class, 
+            "CREATE TABLE " + getSchemaPrefix() + SormulaTestStream.class.getSimpleName() + " (" +
+            " id INTEGER NOT NULL PRIMARY KEY," +
+            " type INTEGER," +
+            " description VARCHAR(30)" +
+            ")"
+        );
+        
+        begin();
+        getTable().insertAll(IntStream.rangeClosed(1, 100).mapToObj(i -> new SormulaTestStream(i, i % 3, "Stream " + i))
+                .collect(Collectors.toList()));
+        commit();
+    }
+    
+    
+    @Test
+    public void streamAll() throws SormulaException
+    {
+        begin();
+        try (Stream<SormulaTestStream> rows = getTable().stream(""))
+        {
+            assert rows.mapToInt(SormulaTestStream::getId).sum() == 5050 : "stream did not read all rows";
+        }
+        commit();
+    }
+    
+    
+    @Test
+    public void streamWhere() throws SormulaException
+    {
+        begin();
+        try (Stream<SormulaTestStream> rows = getTable().stream("byType", 2))
+        {
+            List<SormulaTestStream> list = rows.collect(Collectors.toList());
+            assert list.size() == 33 : "wrong number of rows streamed for where condition";
+            for (SormulaTestStream r : list) assert r.getType() == 2 : "row does not match where condition";
+        }
+        commit();
+    }
+    
+    
+    @Test
+    public void streamPartialClose() throws SormulaException
+    {
+        begin();
+        try (ScalarSelectOperation<SormulaTestStream> operation = new ScalarSelectOperation<>(getTable(), ""))
+        {
+            try (Stream<SormulaTestStream> rows = operation.stream())
+            {
+                assert operation.getFetchSize() == ScalarSelectOperation.DEFAULT_STREAM_FETCH_SIZE : "default stream fetch size was not used";
+                assert rows.limit(5).count() == 5 : "limit of stream failed";
+            }
+            
+            assert operation.getFetchSize() == 0 : "fetch size was not restored when stream was closed";
+            assert operation.getRowsReadCount() == 5 : "stream read more rows than were consumed";
+            
+            // operation may be used again after stream is closed
+            operation.setParameters();
+            assert operation.stream().count() == 100 : "stream from operation used again failed";
+        }
+        commit();
+    }
+    
+    
+    @Test
+    public void streamAutoCommitOff() throws Exception
+    {
+        Dialect dialect = getDatabase().getDialect();
+        Connection connection = getDatabase().getConnection();
+        boolean autoCommit = connection.getAutoCommit();
+        
+        try
+        {
+            getDatabase().setDialect(new Dialect()
+            {
+                @Override
+                public boolean isStreamAutoCommitOff()
+                {
+                    return true;
+                }
+            });
+            connection.setAutoCommit(true);
+            
+            try (Stream<SormulaTestStream> rows = getTable().stream(""))
+            {
+                assert connection.getAutoCommit() : "auto commit was changed for stream";
+                assert rows.count() == 100 : "wrong number of rows streamed";
+            }
+            
+            assert connection.getAutoCommit() : "auto commit was changed when stream was closed";
+        }
+        finally
+        {
+            connection.setAutoCommit(autoCommit);
+            getDatabase().setDialect(dialect);
+        }
+    }
+    
+    
+    @Test
+    public void streamStatementCache() throws Exception
+    {
+        Dialect dialect = getDatabase().getDialect();
+        int[] fetchSizes = new int[1];
+        
+        try
+        {
+            getDatabase().setStatementCacheSize(4);
+            getDatabase().setDialect(new Dialect()
+            {
+                @Override
+                public int getStreamFetchSize(int fetchSize)
+                {
+                    return 7;
+                }
+            });
+            StatementCache statementCache = getDatabase().getStatementCache();
+            begin();
+            
+            try (ScalarSelectOperation<SormulaTestStream> operation = new ScalarSelectOperation<>(getTable(), ""))
+            {
+                // statement is prepared and cached for default fetch size prior to stream
+                operation.execute();
+                
+                try (Stream<SormulaTestStream> rows = operation.stream())
+                {
+                    assert operation.getFetchSize() == 7 : "stream fetch size was not used";
+                    assert rows.count() == 100 : "wrong number of rows streamed";
+                }
+                
+                assert operation.getFetchSize() == 0 : "fetch size was not restored when stream was closed";
+            }
+            
+            // statement for default fetch size is reused with its fetch size unchanged
+            int hits = statementCache.getHits();
+            try (ScalarSelectOperation<SormulaTestStream> operation = new ScalarSelectOperation<SormulaTestStream>(getTable(), "")
+            {
+                @Override
+                public void execute() throws OperationException
+                {
+                    super.execute();
+                    
+                    try
+                    {
+                        fetchSizes[0] = getPreparedStatement().getFetchSize();
+                    }
+                    catch (SQLException e)
+                    {
+                        throw new OperationException("error getting fetch size", e);
+                    }
+                }
+            })
+            {
+                operation.execute();
+            }
+            
+            assert statementCache.getHits() == hits + 1 : "cached statement was not reused";
+            assert fetchSizes[0] == 0 : "cached statement has fetch size of stream";
+            commit();
+        }
+        finally
+        {
+            getDatabase().setStatementCacheSize(0);
+            getDatabase().setDialect(dialect);
+        }
+    }
+}
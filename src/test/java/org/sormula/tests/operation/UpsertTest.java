@@ -0,0 +1,142 @@
+/* sormula - Simple object relational mapping
+ * Copyright (C) 2011-2020 Jeff Miller
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sormula.tests.operation;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.sormula.SormulaException;
+import org.sormula.dialect.DerbyDialect;
+import org.sormula.dialect.Dialect;
+import org.sormula.dialect.H2Dialect;
+import org.sormula.dialect.MariaDbDialect;
+import org.sormula.dialect.MySqlDialect;
+import org.sormula.dialect.PostgreSqlDialect;
+import org.sormula.dialect.UpsertSql;
+import org.sormula.operation.SaveOperation;
+import org.sormula.tests.DatabaseTest;
+import org.testng.annotations.Test;
+
+
+/**
+ * Tests {@link SaveOperation#setUpsert(boolean)} and upsert sql of dialects.
+ * 
+ * @author Jeff Miller
+ */
+@Test(singleThreaded=true, groups="operation.upsert")
+public class UpsertTest extends DatabaseTest<SormulaTestBasic>
+{
+    @Override
+    protected void open() throws Exception
+    {
+        super.open();
+        
+        // own table since other tests also use row class
+        createTable(SormulaTestBasic.class);
+        getTable().setTableName("SormulaTestUpsert");
+        createTable(SormulaTestBasic.class, 
+            "CREATE TABLE " + getSchemaPrefix() + getTable().getTableName() + " (" +
+            " id INTEGER NOT NULL PRIMARY KEY," +
+            " description VARCHAR(30)" +
+            ")"
+        );
+    }
+    
+    
+    @Test
+    public void dialectSql()
+    {
+        List<String> columns = Arrays.asList("id", "description");
+        List<String> keys = Arrays.asList("id");
+        
+        UpsertSql postgres = new PostgreSqlDialect().createUpsertSql("t", columns, keys);
+        assert postgres.getSql().equals("INSERT INTO t (id, description) VALUES (?, ?) ON CONFLICT (id) DO UPDATE SET description = EXCLUDED.description") : 
+            "wrong PostgreSQL sql " + postgres.getSql();
+        assert postgres.isColumnOrder() : "PostgreSQL parameters are not in column order";
+        
+        UpsertSql mysql = new MySqlDialect().createUpsertSql("t", columns, keys);
+        assert mysql.getSql().equals("INSERT INTO t (id, description) VALUES (?, ?) AS sormula_new ON DUPLICATE KEY UPDATE description = sormula_new.description") : 
+            "wrong MySQL sql " + mysql.getSql();
+        
+        UpsertSql mariadb = new MariaDbDialect().createUpsertSql("t", columns, keys);
+        assert mariadb.getSql().endsWith(") ON DUPLICATE KEY UPDATE description = VALUES(description)") : "wrong MariaDB sql " + mariadb.getSql();
+        
+        UpsertSql h2 = new H2Dialect().createUpsertSql("t", columns, keys);
+        assert h2.getSql().equals("MERGE INTO t (id, description) KEY (id) VALUES (?, ?)") : "wrong H2 sql " + h2.getSql();
+        
+        UpsertSql derby = new DerbyDialect().createUpsertSql("t", columns, keys);
+        assert derby.getSql().startsWith("MERGE INTO t t USING SYSIBM.SYSDUMMY1 ON (t.id = ?)") : "wrong Derby sql " + derby.getSql();
+        assert Arrays.equals(derby.getParameterColumns(), new int[] {0, 1, 0, 1}) : "wrong Derby parameters";
+        
+        assert new Dialect().createUpsertSql("t", columns, keys) == null : "standard dialect has no upsert";
+    }
+    
+    
+    @Test(dependsOnMethods="dialectSql")
+    public void upsert() throws SormulaException
+    {
+        begin();
+        getTable().insertAll(IntStream.rangeClosed(1, 5).mapToObj(i -> new SormulaTestBasic(i, "Insert " + i)).collect(Collectors.toList()));
+        
+        // 3 to 5 exist, 6 to 8 are new
+        try (SaveOperation<SormulaTestBasic> op = new SaveOperation<>(getTable()))
+        {
+            op.setUpsert(true);
+            op.setRows(IntStream.rangeClosed(3, 8).mapToObj(i -> new SormulaTestBasic(i, "Upsert " + i)).collect(Collectors.toList()));
+            op.execute();
+            
+            if (getDatabase().getDialect().createUpsertSql("t", Arrays.asList("id"), Arrays.asList("id")) != null)
+            {
+                // upsert statement was used
+                assert op.getPreparedSql() != null : "upsert statement was not used";
+            }
+            
+            assert op.getRowsAffected() == 6 : "wrong number of rows saved";
+            for (int c : op.getModifyCounts()) assert c == 1 : "modify count is not 1";
+        }
+        
+        assert getTable().selectCount() == 8 : "wrong number of rows after upsert";
+        assert getTable().select(4).getDescription().equals("Upsert 4") : "existing row was not updated";
+        assert getTable().select(8).getDescription().equals("Upsert 8") : "new row was not inserted";
+        assert getTable().select(1).getDescription().equals("Insert 1") : "row that was not saved was changed";
+        commit();
+    }
+    
+    
+    @Test(dependsOnMethods="upsert")
+    public void upsertBatch() throws SormulaException
+    {
+        getDatabase().setUpsert(true);
+        
+        try
+        {
+            begin();
+            // 7 and 8 exist, 9 and 10 are new
+            getTable().saveAllBatch(IntStream.rangeClosed(7, 10).mapToObj(i -> new SormulaTestBasic(i, "Batch " + i)).collect(Collectors.toList()));
+            assert getTable().selectCount() == 10 : "wrong number of rows after batch upsert";
+            assert getTable().select(7).getDescription().equals("Batch 7") : "existing row was not updated in batch";
+            assert getTable().select(10).getDescription().equals("Batch 10") : "new row was not inserted in batch";
+            commit();
+        }
+        finally
+        {
+            getDatabase().setUpsert(false);
+        }
+    }
+}
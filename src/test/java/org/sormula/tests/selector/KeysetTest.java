@@ -0,0 +1,140 @@
+/* sormula - Simple object relational mapping
+ * Copyright (C) 2011-2020 Jeff Miller
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sormula.tests.selector;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.sormula.SormulaException;
+import org.sormula.selector.KeysetPaginatedSelector;
+import org.sormula.tests.DatabaseTest;
+import org.testng.annotations.Test;
+
+
+/**
+ * Tests {@link KeysetPaginatedSelector}.
+ * 
+ * @author Jeff Miller
+ */
+@Test(singleThreaded=true, groups="selector.keyset")
+public class KeysetTest extends DatabaseTest<SormulaTestKeyset>
+{
+    List<SormulaTestKeyset> all;
+    
+    
+    @Override
+    protected void open() throws Exception
+    {
+        super.open();
+        createTable(SormulaTestKeyset.class, 
+            "CREATE TABLE " + getSchemaPrefix() + SormulaTestKeyset.class.getSimpleName() + " (" +
+            " id INTEGER NOT NULL PRIMARY KEY," +
+            " type INTEGER," +
+            " description VARCHAR(30)" +
+            ")"
+        );
+        
+        all = IntStream.rangeClosed(1, 53).mapToObj(i -> new SormulaTestKeyset(i, i % 4, "Keyset " + i))
+                .collect(Collectors.toList());
+        begin();
+        getTable().insertAll(all);
+        commit();
+    }
+    
+    
+    @Test
+    public void forwardBackward() throws SormulaException
+    {
+        begin();
+        try (KeysetPaginatedSelector<SormulaTestKeyset> selector = new KeysetPaginatedSelector<>(10, getTable(), "obId"))
+        {
+            selector.setTotalCount(true);
+            List<Integer> ids = new ArrayList<>();
+            
+            for (List<SormulaTestKeyset> page = selector.selectPage(); page.size() > 0; page = selector.nextPage())
+            {
+                assert page.size() == Math.min(10, 53 - ids.size()) : "wrong page size for page " + selector.getPageNumber();
+                page.forEach(r -> ids.add(r.getId()));
+            }
+            
+            assert selector.getTotalCount() == 53 : "wrong total count";
+            assert selector.getPageNumber() == 6 : "page number changed by empty page";
+            assert ids.equals(IntStream.rangeClosed(1, 53).boxed().collect(Collectors.toList())) : "forward pages are not correct";
+            
+            for (int pageNumber = 5; pageNumber >= 1; --pageNumber)
+            {
+                List<SormulaTestKeyset> page = selector.previousPage();
+                assert selector.getPageNumber() == pageNumber : "wrong page number moving backward";
+                assert page.size() == 10 : "wrong page size moving backward";
+                assert page.get(0).getId() == (pageNumber - 1) * 10 + 1 : "wrong first row of page moving backward";
+            }
+            
+            assert selector.selectPage().get(9).getId() == 10 : "select current page again failed";
+        }
+        commit();
+    }
+    
+    
+    @Test
+    public void whereDescending() throws SormulaException
+    {
+        pages("obTypeIdDescending", Comparator.comparing(SormulaTestKeyset::getType).thenComparing(SormulaTestKeyset::getId).reversed());
+    }
+    
+    
+    @Test
+    public void whereMixed() throws SormulaException
+    {
+        pages("obTypeMixed", Comparator.comparing(SormulaTestKeyset::getType).thenComparing(SormulaTestKeyset::getId, Comparator.reverseOrder()));
+    }
+    
+    
+    void pages(String orderByName, Comparator<SormulaTestKeyset> comparator) throws SormulaException
+    {
+        List<Integer> expected = all.stream().sorted(comparator).map(SormulaTestKeyset::getId).collect(Collectors.toList());
+        
+        begin();
+        try (KeysetPaginatedSelector<SormulaTestKeyset> selector = new KeysetPaginatedSelector<>(7, getTable(), orderByName))
+        {
+            List<Integer> ids = new ArrayList<>();
+            for (List<SormulaTestKeyset> page = selector.selectPage(); page.size() > 0; page = selector.nextPage())
+            {
+                page.forEach(r -> ids.add(r.getId()));
+            }
+            assert ids.equals(expected) : orderByName + " pages are not correct";
+            
+            // where condition
+            selector.setWhere("byType");
+            selector.setParameters(2);
+            selector.setTotalCount(true);
+            ids.clear();
+            for (List<SormulaTestKeyset> page = selector.firstPage(); page.size() > 0; page = selector.nextPage())
+            {
+                page.forEach(r -> ids.add(r.getId()));
+            }
+            
+            List<Integer> expectedType = all.stream().filter(r -> r.getType() == 2).sorted(comparator)
+                    .map(SormulaTestKeyset::getId).collect(Collectors.toList());
+            assert ids.equals(expectedType) : orderByName + " pages for where condition are not correct";
+            assert selector.getTotalCount() == expectedType.size() : "wrong total count for where condition";
+        }
+        commit();
+    }
+}
@@ -0,0 +1,105 @@
+/* sormula - Simple object relational mapping
+ * Copyright (C) 2011-2020 Jeff Miller
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sormula.tests.translator;
+
+import java.util.List;
+
+import org.sormula.SormulaException;
+import org.sormula.annotation.RowConstructor;
+import org.sormula.tests.DatabaseTest;
+import org.sormula.translator.ConstructorTranslator;
+import org.testng.annotations.Test;
+
+
+/**
+ * Tests {@link ConstructorTranslator} with immutable rows created with {@link RowConstructor}.
+ * 
+ * @author Jeff Miller
+ */
+@Test(singleThreaded=true, groups="translator")
+public class ConstructorTest extends DatabaseTest<SormulaTestImmutable>
+{
+    @Override
+    protected void open() throws Exception
+    {
+        super.open();
+        createTable(SormulaTestImmutable.class, 
+            "CREATE TABLE " + getSchemaPrefix() + SormulaTestImmutable.class.getSimpleName() + " (" +
+            " id INTEGER NOT NULL PRIMARY KEY," +
+            " description VARCHAR(30)," +
+            " quantity INTEGER," +
+            " note VARCHAR(30)" +
+            ")"
+        );
+    }
+    
+    
+    @Test
+    public void insertSelect() throws SormulaException
+    {
+        begin();
+        assert getTable().getRowTranslator().getConstructorTranslator() != null : "row constructor was not found";
+        
+        for (int i = 1; i <= 10; ++i)
+        {
+            SormulaTestImmutable row = new SormulaTestImmutable(i, "description " + i, i * 10);
+            row.setNote("note " + i);
+            getTable().insert(row);
+        }
+        
+        List<SormulaTestImmutable> rows = getTable().selectAll();
+        assert rows.size() == 10 : "wrong number of rows selected";
+        
+        for (SormulaTestImmutable r : rows)
+        {
+            assert ("description " + r.getId()).equals(r.getDescription()) : "wrong description for " + r.getId();
+            assert r.getQuantity() == r.getId() * 10 : "wrong quantity for " + r.getId();
+            assert ("note " + r.getId()).equals(r.getNote()) : "wrong note for " + r.getId();
+        }
+        
+        commit();
+    }
+    
+    
+    @Test(dependsOnMethods="insertSelect")
+    public void updateDelete() throws SormulaException
+    {
+        begin();
+        
+        SormulaTestImmutable row = new SormulaTestImmutable(5, "updated", 555);
+        assert getTable().update(row) == 1 : "row was not updated";
+        
+        SormulaTestImmutable selected = getTable().select(5);
+        assert selected.getDescription().equals("updated") && selected.getQuantity() == 555 : "wrong updated values";
+        assert selected.getNote() == null : "note should be null after update";
+        
+        assert getTable().delete(selected) == 1 : "row was not deleted";
+        assert getTable().select(5) == null : "row was not deleted";
+        
+        commit();
+    }
+    
+    
+    @Test(dependsOnMethods="updateDelete")
+    public void aggregate() throws SormulaException
+    {
+        begin();
+        assert getTable().<Integer>selectMax("quantity") == 100 : "wrong max";
+        assert getTable().selectCount() == 9 : "wrong count";
+        commit();
+    }
+}
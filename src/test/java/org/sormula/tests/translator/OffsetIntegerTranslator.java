@@ -0,0 +1,41 @@
+/* sormula - Simple object relational mapping
+ * Copyright (C) 2011-2020 Jeff Miller
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sormula.tests.translator;
+
+import java.sql.ResultSet;
+
+import org.sormula.translator.standard.IntegerTranslator;
+
+
+/**
+ * Subclass of {@link IntegerTranslator} that overrides read but not readField. Used by {@link PrimitiveTranslatorTest}
+ * to test that overridden read is used for primitive fields.
+ * 
+ * @author Jeff Miller
+ */
+public class OffsetIntegerTranslator extends IntegerTranslator
+{
+    public static final int OFFSET = 1000;
+    
+    
+    @Override
+    public Integer read(ResultSet resultSet, int columnIndex) throws Exception
+    {
+        Integer i = super.read(resultSet, columnIndex);
+        return i != null ? i + OFFSET : null;
+    }
+}
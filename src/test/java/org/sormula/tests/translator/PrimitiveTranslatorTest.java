@@ -0,0 +1,117 @@
+/* sormula - Simple object relational mapping
+ * Copyright (C) 2011-2020 Jeff Miller
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sormula.tests.translator;
+
+import org.sormula.SormulaException;
+import org.sormula.Table;
+import org.sormula.tests.DatabaseTest;
+import org.sormula.translator.PrimitiveTypeTranslator;
+import org.testng.annotations.Test;
+
+
+/**
+ * Tests {@link PrimitiveTypeTranslator} for all primitive types and field access types.
+ * 
+ * @author Jeff Miller
+ */
+@Test(singleThreaded=true, groups="translator")
+public class PrimitiveTranslatorTest extends DatabaseTest<SormulaTestPrimitive>
+{
+    @Override
+    protected void open() throws Exception
+    {
+        super.open();
+        createTable(SormulaTestPrimitive.class, 
+            "CREATE TABLE " + getSchemaPrefix() + SormulaTestPrimitive.class.getSimpleName() + " (" +
+            " id INTEGER NOT NULL PRIMARY KEY," +
+            " testLong BIGINT," +
+            " testDouble DOUBLE PRECISION," +
+            " testFloat REAL," +
+            " testShort SMALLINT," +
+            " testByte SMALLINT," +
+            " testBoolean " + getBooleanDDL() + "," +
+            " testWrapper INTEGER" +
+            ")"
+        );
+    }
+    
+    
+    @Test
+    public void insertSelect() throws SormulaException
+    {
+        begin();
+        
+        for (int i = 1; i <= 10; ++i)
+        {
+            getTable().insert(new SormulaTestPrimitive(i, i % 3 == 0 ? null : i));
+        }
+        
+        for (SormulaTestPrimitive r : getTable().selectAll())
+        {
+            SormulaTestPrimitive expected = new SormulaTestPrimitive(r.id, r.id % 3 == 0 ? null : r.id);
+            assert r.testLong == expected.testLong : "wrong long for " + r.id;
+            assert r.testDouble == expected.testDouble : "wrong double for " + r.id;
+            assert r.testFloat == expected.testFloat : "wrong float for " + r.id;
+            assert r.testShort == expected.testShort : "wrong short for " + r.id;
+            assert r.testByte == expected.testByte : "wrong byte for " + r.id;
+            assert r.testBoolean == expected.testBoolean : "wrong boolean for " + r.id;
+            
+            if (expected.testWrapper == null) assert r.testWrapper == null : "wrapper should be null for " + r.id;
+            else assert r.testWrapper.equals(expected.testWrapper) : "wrong wrapper for " + r.id;
+        }
+        
+        commit();
+    }
+    
+    
+    @Test(dependsOnMethods="insertSelect")
+    public void nullPrimitive() throws SormulaException
+    {
+        begin();
+        Table<SormulaTestPrimitiveNull> nullTable = getDatabase().getTable(SormulaTestPrimitiveNull.class);
+        assert nullTable.select(1).testPrimitive == 1 : "wrong value for non null primitive";
+        
+        try
+        {
+            nullTable.select(3);
+            assert false : "null was read into primitive field";
+        }
+        catch (SormulaException e)
+        {
+            // expected
+        }
+        finally
+        {
+            rollback();
+        }
+    }
+    
+    
+    @Test(dependsOnMethods="insertSelect")
+    public void overriddenRead() throws SormulaException
+    {
+        begin();
+        Table<SormulaTestPrimitiveOffset> offsetTable = getDatabase().getTable(SormulaTestPrimitiveOffset.class);
+        
+        for (SormulaTestPrimitiveOffset r : offsetTable.selectAll())
+        {
+            assert r.id > OffsetIntegerTranslator.OFFSET : "overridden read was not used for primitive field";
+        }
+        
+        commit();
+    }
+}
@@ -0,0 +1,95 @@
+/* sormula - Simple object relational mapping
+ * Copyright (C) 2011-2020 Jeff Miller
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sormula.tests.translator;
+
+import java.util.List;
+
+import org.sormula.SormulaException;
+import org.sormula.Table;
+import org.sormula.tests.DatabaseTest;
+import org.sormula.translator.RowCodec;
+import org.testng.annotations.Test;
+
+
+/**
+ * Tests {@link RowCodec} with compiled row translators.
+ * 
+ * @author Jeff Miller
+ */
+@Test(singleThreaded=true, groups="translator")
+public class RowCodecTest extends DatabaseTest<SormulaTestCodec>
+{
+    @Override
+    protected void open() throws Exception
+    {
+        super.open();
+        getDatabase().setCompiledRowTranslators(true);
+        createTable(SormulaTestCodec.class, 
+            "CREATE TABLE " + getSchemaPrefix() + SormulaTestCodec.class.getSimpleName() + " (" +
+            " id INTEGER NOT NULL PRIMARY KEY," +
+            " description VARCHAR(30)," +
+            " amount DOUBLE PRECISION," +
+            " count INTEGER," +
+            " code SMALLINT," +
+            " optional INTEGER" +
+            ")"
+        );
+    }
+    
+    
+    @Test
+    public void compiled() throws SormulaException
+    {
+        assert getTable().getRowTranslator().isCompiled() : "row translator is not compiled";
+        
+        // custom column translator can't be compiled
+        Table<SormulaTest1> customTable = new Table<>(getDatabase(), SormulaTest1.class);
+        assert !customTable.getRowTranslator().isCompiled() : "row translator with custom column translator is compiled";
+    }
+    
+    
+    @Test(dependsOnMethods="compiled")
+    public void insertUpdateSelect() throws SormulaException
+    {
+        begin();
+        
+        for (int i = 1; i <= 20; ++i)
+        {
+            getTable().insert(new SormulaTestCodec(i, "Codec " + i, i * 1.5, i % 4 == 0 ? null : (long)i * 100, 
+                    (short)(i % 7), i % 2 == 0 ? null : i));
+        }
+        
+        SormulaTestCodec updated = getTable().select(5);
+        updated.setDescription("Updated");
+        assert getTable().update(updated) == 1 : "row was not updated";
+        
+        List<SormulaTestCodec> rows = getTable().selectAll();
+        assert rows.size() == 20 : "wrong number of rows selected";
+        
+        for (SormulaTestCodec r : rows)
+        {
+            int i = r.getId();
+            assert r.getDescription().equals(i == 5 ? "Updated" : "Codec " + i) : "wrong description for " + i;
+            assert r.getAmount() == i * 1.5 : "wrong amount for " + i;
+            assert i % 4 == 0 ? r.getCount() == null : r.getCount() == i * 100 : "wrong count for " + i;
+            assert r.getCode() == i % 7 : "wrong code for " + i;
+            assert i % 2 == 0 ? r.getOptional() == null : r.getOptional() == i : "wrong optional for " + i;
+        }
+        
+        commit();
+    }
+}
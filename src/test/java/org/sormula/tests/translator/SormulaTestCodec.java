@@ -0,0 +1,102 @@
+/* sormula - Simple object relational mapping
+ * Copyright (C) 2011-2020 Jeff Miller
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sormula.tests.translator;
+
+import org.sormula.annotation.Column;
+
+
+/**
+ * Row class for {@link RowCodecTest}.
+ * 
+ * @author Jeff Miller
+ */
+public class SormulaTestCodec
+{
+    @Column(primaryKey=true)
+    int id;
+    String description;
+    double amount;
+    Long count;
+    short code;
+    Integer optional;
+    
+    
+    public SormulaTestCodec()
+    {
+    }
+    
+    
+    public SormulaTestCodec(int id, String description, double amount, Long count, short code, Integer optional)
+    {
+        this.id = id;
+        this.description = description;
+        this.amount = amount;
+        this.count = count;
+        this.code = code;
+        this.optional = optional;
+    }
+    
+    
+    public int getId()
+    {
+        return id;
+    }
+    public void setId(int id)
+    {
+        this.id = id;
+    }
+    public String getDescription()
+    {
+        return description;
+    }
+    public void setDescription(String description)
+    {
+        this.description = description;
+    }
+    public double getAmount()
+    {
+        return amount;
+    }
+    public void setAmount(double amount)
+    {
+        this.amount = amount;
+    }
+    public Long getCount()
+    {
+        return count;
+    }
+    public void setCount(Long count)
+    {
+        this.count = count;
+    }
+    public short getCode()
+    {
+        return code;
+    }
+    public void setCode(short code)
+    {
+        this.code = code;
+    }
+    public Integer getOptional()
+    {
+        return optional;
+    }
+    public void setOptional(Integer optional)
+    {
+        this.optional = optional;
+    }
+}
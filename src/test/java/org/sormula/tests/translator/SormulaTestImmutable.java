@@ -0,0 +1,74 @@
+/* sormula - Simple object relational mapping
+ * Copyright (C) 2011-2020 Jeff Miller
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sormula.tests.translator;
+
+import org.sormula.annotation.Column;
+import org.sormula.annotation.RowConstructor;
+
+
+/**
+ * Immutable row class for {@link ConstructorTest}. Rows are created with constructor
+ * annotated with {@link RowConstructor}. Column that is not a constructor parameter is set 
+ * after row is constructed.
+ * 
+ * @author Jeff Miller
+ */
+public class SormulaTestImmutable
+{
+    @Column(primaryKey=true)
+    final int id;
+    final String description;
+    final int quantity;
+    String note;
+    
+    
+    @RowConstructor(fieldNames={"id", "description", "quantity"})
+    public SormulaTestImmutable(int id, String description, int quantity)
+    {
+        this.id = id;
+        this.description = description;
+        this.quantity = quantity;
+    }
+
+
+    public int getId()
+    {
+        return id;
+    }
+    
+    
+    public String getDescription()
+    {
+        return description;
+    }
+
+    
+    public int getQuantity()
+    {
+        return quantity;
+    }
+    
+    
+    public String getNote()
+    {
+        return note;
+    }
+    public void setNote(String note)
+    {
+        this.note = note;
+    }
+}
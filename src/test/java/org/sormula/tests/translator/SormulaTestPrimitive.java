@@ -0,0 +1,96 @@
+/* sormula - Simple object relational mapping
+ * Copyright (C) 2011-2020 Jeff Miller
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sormula.tests.translator;
+
+import org.sormula.annotation.Column;
+import org.sormula.reflect.FieldAccessType;
+
+
+/**
+ * Row class for {@link PrimitiveTranslatorTest}. Primitive fields use each type of field access.
+ * 
+ * @author Jeff Miller
+ */
+public class SormulaTestPrimitive
+{
+    @Column(primaryKey=true)
+    int id;
+    
+    @Column(fieldAccess=FieldAccessType.Direct)
+    long testLong;
+    
+    @Column(fieldAccess=FieldAccessType.Generated)
+    double testDouble;
+    
+    @Column(fieldAccess=FieldAccessType.Generated)
+    float testFloat;
+    
+    @Column(fieldAccess=FieldAccessType.Direct)
+    short testShort;
+    
+    byte testByte;
+    
+    @Column(fieldAccess=FieldAccessType.Generated)
+    boolean testBoolean;
+    
+    @Column(fieldAccess=FieldAccessType.Generated)
+    Integer testWrapper;
+    
+    
+    public SormulaTestPrimitive()
+    {
+    }
+    
+    
+    public SormulaTestPrimitive(int id, Integer testWrapper)
+    {
+        this.id = id;
+        testLong = id * 1000000000L;
+        testDouble = id + 0.25;
+        testFloat = id + 0.5f;
+        testShort = (short)id;
+        testByte = (byte)(id % 100);
+        testBoolean = id % 2 == 0;
+        this.testWrapper = testWrapper;
+    }
+    
+    
+    public int getId()
+    {
+        return id;
+    }
+    public void setId(int id)
+    {
+        this.id = id;
+    }
+    public byte getTestByte()
+    {
+        return testByte;
+    }
+    public void setTestByte(byte testByte)
+    {
+        this.testByte = testByte;
+    }
+    public boolean isTestBoolean()
+    {
+        return testBoolean;
+    }
+    public void setTestBoolean(boolean testBoolean)
+    {
+        this.testBoolean = testBoolean;
+    }
+}
@@ -0,0 +1,37 @@
+/* sormula - Simple object relational mapping
+ * Copyright (C) 2011-2020 Jeff Miller
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sormula.tests.translator;
+
+import org.sormula.annotation.Column;
+import org.sormula.annotation.Row;
+import org.sormula.reflect.FieldAccessType;
+
+
+/**
+ * Row class for {@link PrimitiveTranslatorTest} that reads a column with null values into a primitive field.
+ * 
+ * @author Jeff Miller
+ */
+@Row(tableName="SormulaTestPrimitive", fieldAccess=FieldAccessType.Direct)
+public class SormulaTestPrimitiveNull
+{
+    @Column(primaryKey=true)
+    int id;
+    
+    @Column(name="testWrapper")
+    int testPrimitive;
+}
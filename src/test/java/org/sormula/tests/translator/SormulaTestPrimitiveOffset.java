@@ -0,0 +1,36 @@
+/* sormula - Simple object relational mapping
+ * Copyright (C) 2011-2020 Jeff Miller
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sormula.tests.translator;
+
+import org.sormula.annotation.Column;
+import org.sormula.annotation.ExplicitType;
+import org.sormula.annotation.Row;
+import org.sormula.reflect.FieldAccessType;
+
+
+/**
+ * Row class for {@link PrimitiveTranslatorTest} that reads a primitive field with {@link OffsetIntegerTranslator}.
+ * 
+ * @author Jeff Miller
+ */
+@Row(tableName="SormulaTestPrimitive", fieldAccess=FieldAccessType.Direct)
+@ExplicitType(type=int.class, translator=OffsetIntegerTranslator.class)
+public class SormulaTestPrimitiveOffset
+{
+    @Column(primaryKey=true)
+    int id;
+}
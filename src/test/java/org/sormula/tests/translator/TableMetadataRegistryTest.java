@@ -0,0 +1,98 @@
+/* sormula - Simple object relational mapping
+ * Copyright (C) 2011-2020 Jeff Miller
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sormula.tests.translator;
+
+import java.util.List;
+
+import org.sormula.Database;
+import org.sormula.SormulaException;
+import org.sormula.Table;
+import org.sormula.TableMetadataRegistry;
+import org.sormula.tests.DatabaseTest;
+import org.testng.annotations.Test;
+
+
+/**
+ * Tests {@link TableMetadataRegistry} shared by more than one {@link Database}.
+ * 
+ * @author Jeff Miller
+ */
+@Test(singleThreaded=true, groups="translator")
+public class TableMetadataRegistryTest extends DatabaseTest<SormulaTestRegistry>
+{
+    TableMetadataRegistry registry;
+    
+    
+    @Override
+    protected void open() throws Exception
+    {
+        super.open();
+        registry = new TableMetadataRegistry();
+        getDatabase().setTableMetadataRegistry(registry);
+        createTable(SormulaTestRegistry.class, 
+            "CREATE TABLE " + getSchemaPrefix() + SormulaTestRegistry.class.getSimpleName() + " (" +
+            " id INTEGER NOT NULL PRIMARY KEY," +
+            " description VARCHAR(30)" +
+            ")"
+        );
+    }
+    
+    
+    @Test
+    public void sharedMetadata() throws SormulaException
+    {
+        assert registry.size() == 1 : "metadata was not registered";
+        
+        begin();
+        for (int i = 1; i <= 10; ++i)
+        {
+            getTable().insert(new SormulaTestRegistry(i, "Registry " + i));
+        }
+        commit();
+        
+        try (Database database = new Database(getDatabase().getConnection(), getDatabase().getSchema()))
+        {
+            database.setTableMetadataRegistry(registry);
+            Table<SormulaTestRegistry> table = database.getTable(SormulaTestRegistry.class);
+            assert registry.size() == 1 : "metadata was registered more than once";
+            assert table.getRowTranslator().getColumnTranslatorList().get(0) == 
+                    getTable().getRowTranslator().getColumnTranslatorList().get(0) : "column translators are not shared";
+            
+            List<SormulaTestRegistry> rows = table.selectAll();
+            assert rows.size() == 10 : "wrong number of rows selected with shared metadata";
+            for (SormulaTestRegistry r : rows)
+            {
+                assert r.getDescription().equals("Registry " + r.getId()) : "wrong description for " + r.getId();
+            }
+            
+            assert table.select(3).getId() == 3 : "primary key select failed with shared metadata";
+        }
+    }
+    
+    
+    @Test(dependsOnMethods="sharedMetadata")
+    public void differentConfiguration() throws SormulaException
+    {
+        try (Database database = new Database(getDatabase().getConnection(), getDatabase().getSchema()))
+        {
+            database.setTableMetadataRegistry(registry);
+            database.setCompiledRowTranslators(!getDatabase().isCompiledRowTranslators());
+            database.getTable(SormulaTestRegistry.class);
+            assert registry.size() == 2 : "different configuration must not use same metadata";
+        }
+    }
+}